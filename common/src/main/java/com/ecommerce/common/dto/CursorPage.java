@@ -0,0 +1,98 @@
+package com.ecommerce.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游標分頁結果 DTO，遵循 SRP 原則
+ * 以 nextCursor 取代頁碼，總筆數僅在呼叫端要求時提供估計值
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    private List<T> items;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalEstimate;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> items, int size, String nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    /**
+     * 由多查一筆的結果建立分頁
+     * 查詢以 size + 1 為上限，多出的那一筆只用來判斷是否還有下一頁
+     */
+    public static <T> CursorPage<T> fromLookahead(List<T> rows, int size, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, size, null);
+        }
+        List<T> page = rows.subList(0, size);
+        return new CursorPage<>(List.copyOf(page), size, cursorOf.apply(page.get(size - 1)).encode());
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        CursorPage<R> mapped = new CursorPage<>(items.stream().map(mapper).toList(), size, nextCursor);
+        mapped.setTotalEstimate(totalEstimate);
+        return mapped;
+    }
+
+    public CursorPage<T> withTotalEstimate(Long totalEstimate) {
+        this.totalEstimate = totalEstimate;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return items == null || items.isEmpty();
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getTotalEstimate() {
+        return totalEstimate;
+    }
+
+    public void setTotalEstimate(Long totalEstimate) {
+        this.totalEstimate = totalEstimate;
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.common.dto;
+
+import com.ecommerce.common.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 分頁游標，遵循 SRP 原則
+ * 保存上一頁最後一筆資料的排序鍵，下一頁以 WHERE (排序鍵) > (游標) 接續查詢，
+ * 不需 OFFSET 掃過前面所有資料，也不需另外計算總筆數
+ * 對外以 Base64url 字串傳遞，客戶端應視為不透明的值
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "\u001F";
+
+    private final List<String> keys;
+
+    private PageCursor(List<String> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * 以排序鍵建立游標，鍵的順序需與查詢的 ORDER BY 一致
+     */
+    public static PageCursor of(Object... keys) {
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = Objects.requireNonNull(keys[i], "cursor key").toString();
+            if (values[i].contains(SEPARATOR)) {
+                throw new IllegalArgumentException("Cursor key contains reserved separator: " + values[i]);
+            }
+        }
+        return new PageCursor(List.of(values));
+    }
+
+    /**
+     * 解析客戶端傳入的游標；空值代表第一頁，回傳 null
+     */
+    public static PageCursor decode(String token, int expectedKeys) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+
+        String[] parts = decoded.split(SEPARATOR, -1);
+        if (parts.length != expectedKeys + 1 || !VERSION.equals(parts[0])) {
+            throw invalidCursor();
+        }
+        return new PageCursor(List.of(Arrays.copyOfRange(parts, 1, parts.length)));
+    }
+
+    /**
+     * 驗證每頁筆數，未指定時使用預設值
+     */
+    public static int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("size", "每頁筆數必須介於 1 到 " + MAX_PAGE_SIZE + " 之間");
+        }
+        return size;
+    }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + String.join(SEPARATOR, keys);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getString(int index) {
+        return keys.get(index);
+    }
+
+    public LocalDateTime getDateTime(int index) {
+        try {
+            return LocalDateTime.parse(keys.get(index));
+        } catch (DateTimeParseException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static ValidationException invalidCursor() {
+        return new ValidationException("cursor", "無效的分頁游標");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return keys.equals(((PageCursor) o).keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return keys.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PageCursor" + keys;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.common.dto;
+
+import com.ecommerce.common.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分頁游標測試
+ */
+@DisplayName("分頁游標測試")
+class PageCursorTest {
+
+    @Test
+    @DisplayName("應該能還原編碼後的排序鍵")
+    void shouldRoundTripKeys() {
+        // Given
+        LocalDateTime orderDate = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000);
+        String token = PageCursor.of(orderDate, "ORDER-001").encode();
+
+        // When
+        PageCursor cursor = PageCursor.decode(token, 2);
+
+        // Then
+        assertEquals(orderDate, cursor.getDateTime(0));
+        assertEquals("ORDER-001", cursor.getString(1));
+        assertFalse(token.contains("ORDER"));
+    }
+
+    @Test
+    @DisplayName("空游標應該代表第一頁")
+    void shouldTreatBlankTokenAsFirstPage() {
+        assertNull(PageCursor.decode(null, 1));
+        assertNull(PageCursor.decode("  ", 1));
+    }
+
+    @Test
+    @DisplayName("格式錯誤或鍵數量不符的游標應該拋出驗證異常")
+    void shouldRejectMalformedTokens() {
+        String token = PageCursor.of("PROD-1").encode();
+
+        assertThrows(ValidationException.class, () -> PageCursor.decode("%%%", 1));
+        assertThrows(ValidationException.class, () -> PageCursor.decode(token, 2));
+        assertThrows(ValidationException.class, () -> PageCursor.decode(token, 1).getDateTime(0));
+    }
+
+    @Test
+    @DisplayName("每頁筆數應該限制在允許範圍內")
+    void shouldResolvePageSize() {
+        assertEquals(PageCursor.DEFAULT_PAGE_SIZE, PageCursor.resolvePageSize(null));
+        assertEquals(50, PageCursor.resolvePageSize(50));
+        assertThrows(ValidationException.class, () -> PageCursor.resolvePageSize(0));
+        assertThrows(ValidationException.class, () -> PageCursor.resolvePageSize(PageCursor.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("多查的一筆應該只用來判斷是否有下一頁")
+    void shouldBuildPageFromLookaheadRow() {
+        // When
+        CursorPage<String> fullPage = CursorPage.fromLookahead(List.of("A", "B", "C"), 2, PageCursor::of);
+        CursorPage<String> lastPage = CursorPage.fromLookahead(List.of("A"), 2, PageCursor::of);
+
+        // Then
+        assertEquals(List.of("A", "B"), fullPage.getItems());
+        assertTrue(fullPage.isHasNext());
+        assertEquals("B", PageCursor.decode(fullPage.getNextCursor(), 1).getString(0));
+        assertFalse(lastPage.isHasNext());
+        assertNull(lastPage.getNextCursor());
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.order.application.port.in;
 
+import com.ecommerce.common.dto.CursorPage;
 import com.ecommerce.order.application.dto.CreateOrderRequest;
 import com.ecommerce.order.application.dto.OrderDto;
 import com.ecommerce.order.domain.model.OrderStatus;
@@ -58,6 +59,12 @@ public interface OrderManagementUseCase {
      */
     List<OrderDto> getCustomerOrders(String customerId);
     
+    /**
+     * 以游標分頁取得客戶訂單（由新到舊），status 為 null 時不篩選
+     * includeTotal 為 true 時才額外計算總筆數
+     */
+    CursorPage<OrderDto> getCustomerOrders(String customerId, OrderStatus status, String cursor, int size, boolean includeTotal);
+    
     /**
      * 取得客戶指定狀態的訂單
      */
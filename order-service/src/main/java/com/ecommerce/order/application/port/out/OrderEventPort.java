@@ -2,6 +2,8 @@ package com.ecommerce.order.application.port.out;
 
 import com.ecommerce.order.domain.model.Order;
 
+import java.time.LocalDateTime;
+
 /**
  * 訂單事件端口
  * 定義訂單事件發布的介面
@@ -38,6 +40,11 @@ public interface OrderEventPort {
      */
     void publishOrderCancelled(Order order, String reason);
     
+    /**
+     * 發布訂單取消事件（供批次取消使用，不需載入完整訂單）
+     */
+    void publishOrderCancelled(String orderId, String customerId, String reason, LocalDateTime cancelledDate);
+    
     /**
      * 發布訂單退款事件
      */
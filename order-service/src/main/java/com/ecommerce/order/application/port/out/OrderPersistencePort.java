@@ -33,6 +33,18 @@ public interface OrderPersistencePort {
      */
     List<Order> findByCustomerIdAndStatus(String customerId, OrderStatus status);
     
+    /**
+     * 以 Keyset 分頁查找客戶訂單（依訂單日期與訂單ID由新到舊）
+     * beforeOrderDate 與 beforeOrderId 為上一頁最後一筆，皆為 null 時查詢第一頁；status 為 null 時不篩選
+     */
+    List<Order> findByCustomerIdBefore(String customerId, OrderStatus status,
+                                       LocalDateTime beforeOrderDate, String beforeOrderId, int limit);
+    
+    /**
+     * 統計客戶的訂單數量，status 為 null 時不篩選
+     */
+    long countByCustomerId(String customerId, OrderStatus status);
+    
     /**
      * 根據客戶ID和日期範圍查找訂單
      */
@@ -1,5 +1,8 @@
 package com.ecommerce.order.application.port.out;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 商品服務端口
  * 定義與商品服務互動的介面
@@ -21,6 +24,12 @@ public interface ProductServicePort {
      */
     void reserveStock(String productId, Integer quantity);
     
+    /**
+     * 批次檢查商品可用性並預留庫存
+     * 單一請求完成整個購物車，全部成功或全部不預留
+     */
+    StockReservationResult checkAndReserveStock(List<StockReservationItem> items);
+    
     /**
      * 確認庫存預留（扣減庫存）
      */
@@ -31,6 +40,12 @@ public interface ProductServicePort {
      */
     void releaseStockReservation(String productId, Integer quantity);
     
+    /**
+     * 批次釋放庫存預留
+     * 單一請求釋放多個商品；已不在預留中的數量會被略過，重複釋放不會讓可用庫存超出實際數量
+     */
+    void releaseStockReservations(List<StockReservationItem> items);
+    
     /**
      * 取得商品資訊
      */
@@ -74,4 +89,58 @@ public interface ProductServicePort {
         public Integer getAvailableStock() { return availableStock; }
         public void setAvailableStock(Integer availableStock) { this.availableStock = availableStock; }
     }
-}
\ No newline at end of file
+    
+    /**
+     * 批次預留項目
+     */
+    class StockReservationItem {
+        private String productId;
+        private Integer quantity;
+        
+        // Constructors
+        public StockReservationItem() {}
+        
+        public StockReservationItem(String productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+        
+        // Getters and Setters
+        public String getProductId() { return productId; }
+        public void setProductId(String productId) { this.productId = productId; }
+        
+        public Integer getQuantity() { return quantity; }
+        public void setQuantity(Integer quantity) { this.quantity = quantity; }
+    }
+    
+    /**
+     * 批次預留結果
+     */
+    class StockReservationResult {
+        private boolean reserved;
+        private List<String> unavailableProductIds = new ArrayList<>();
+        
+        // Constructors
+        public StockReservationResult() {}
+        
+        public StockReservationResult(boolean reserved, List<String> unavailableProductIds) {
+            this.reserved = reserved;
+            this.unavailableProductIds = unavailableProductIds;
+        }
+        
+        public static StockReservationResult reserved() {
+            return new StockReservationResult(true, List.of());
+        }
+        
+        public static StockReservationResult rejected(List<String> unavailableProductIds) {
+            return new StockReservationResult(false, unavailableProductIds);
+        }
+        
+        // Getters and Setters
+        public boolean isReserved() { return reserved; }
+        public void setReserved(boolean reserved) { this.reserved = reserved; }
+        
+        public List<String> getUnavailableProductIds() { return unavailableProductIds; }
+        public void setUnavailableProductIds(List<String> unavailableProductIds) { this.unavailableProductIds = unavailableProductIds; }
+    }
+}
@@ -1,6 +1,8 @@
 package com.ecommerce.order.application.usecase;
 
 import com.ecommerce.common.architecture.UseCase;
+import com.ecommerce.common.dto.CursorPage;
+import com.ecommerce.common.dto.PageCursor;
 import com.ecommerce.order.application.dto.CreateOrderRequest;
 import com.ecommerce.order.application.dto.OrderDto;
 import com.ecommerce.order.application.mapper.OrderMapper;
@@ -17,15 +19,20 @@ import com.ecommerce.order.domain.model.Order;
 import com.ecommerce.order.domain.model.OrderStatus;
 import com.ecommerce.order.domain.service.CartDomainService;
 import com.ecommerce.order.domain.service.OrderDomainService;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 訂單管理服務
  * 實作訂單相關的業務邏輯
  */
 @UseCase
+@Transactional
 public class OrderManagementService implements OrderManagementUseCase {
     
     private final OrderPersistencePort orderPersistencePort;
@@ -58,17 +65,6 @@ public class OrderManagementService implements OrderManagementUseCase {
         // 驗證購物車是否可以建立訂單
         cartDomainService.validateCartForOrder(cart);
         
-        // 驗證所有商品的庫存
-        for (Cart.CartItem cartItem : cart.getCartItems()) {
-            if (!productServicePort.isProductAvailable(cartItem.getProductId())) {
-                throw new InvalidOrderStateException("Product is not available: " + cartItem.getProductName());
-            }
-            
-            if (!productServicePort.hasAvailableStock(cartItem.getProductId(), cartItem.getQuantity())) {
-                throw new InvalidOrderStateException("Insufficient stock for product: " + cartItem.getProductName());
-            }
-        }
-        
         // 從購物車建立訂單
         Order order = cart.convertToOrder(
             request.getCustomerName(),
@@ -89,10 +85,8 @@ public class OrderManagementService implements OrderManagementUseCase {
         // 驗證訂單金額
         orderDomainService.validateOrderAmount(order);
         
-        // 預留庫存
-        for (Cart.CartItem cartItem : cart.getCartItems()) {
-            productServicePort.reserveStock(cartItem.getProductId(), cartItem.getQuantity());
-        }
+        // 一次請求完成商品可用性、庫存檢查與預留（全部成功或全部不預留）
+        reserveCartStock(cart);
         
         // 儲存訂單
         Order savedOrder = orderPersistencePort.save(order);
@@ -212,6 +206,27 @@ public class OrderManagementService implements OrderManagementUseCase {
         return OrderMapper.toDtoList(orders);
     }
     
+    @Override
+    public CursorPage<OrderDto> getCustomerOrders(String customerId, OrderStatus status, String cursor,
+                                                  int size, boolean includeTotal) {
+        int pageSize = PageCursor.resolvePageSize(size);
+        PageCursor position = PageCursor.decode(cursor, 2);
+        
+        // 多查一筆以判斷是否還有下一頁，不需另外執行 COUNT
+        List<Order> orders = orderPersistencePort.findByCustomerIdBefore(customerId, status,
+            position != null ? position.getDateTime(0) : null,
+            position != null ? position.getString(1) : null,
+            pageSize + 1);
+        
+        CursorPage<OrderDto> page = CursorPage.fromLookahead(orders, pageSize,
+                order -> PageCursor.of(order.getOrderDate(), order.getOrderId()))
+            .map(OrderMapper::toDto);
+        if (includeTotal) {
+            page.withTotalEstimate(orderPersistencePort.countByCustomerId(customerId, status));
+        }
+        return page;
+    }
+    
     @Override
     public List<OrderDto> getCustomerOrdersByStatus(String customerId, OrderStatus status) {
         List<Order> orders = orderPersistencePort.findByCustomerIdAndStatus(customerId, status);
@@ -241,19 +256,40 @@ public class OrderManagementService implements OrderManagementUseCase {
     public List<OrderDto> cancelExpiredOrders(int timeoutHours) {
         List<Order> expiredOrders = orderDomainService.cancelExpiredOrders(timeoutHours);
         
-        // 為每個取消的訂單釋放庫存預留
+        // 依商品彙總所有取消訂單的數量，以一次批次請求釋放庫存預留
+        Map<String, Integer> releasedQuantities = new LinkedHashMap<>();
         for (Order order : expiredOrders) {
             for (var orderItem : order.getOrderItems()) {
-                productServicePort.releaseStockReservation(orderItem.getProductId(), orderItem.getQuantity());
+                releasedQuantities.merge(orderItem.getProductId(), orderItem.getQuantity(), Integer::sum);
             }
             // 發布訂單取消事件
             orderEventPort.publishOrderCancelled(order, "自動取消：超時未付款");
         }
+        productServicePort.releaseStockReservations(releasedQuantities.entrySet().stream()
+            .map(entry -> new ProductServicePort.StockReservationItem(entry.getKey(), entry.getValue()))
+            .toList());
         
         return OrderMapper.toDtoList(expiredOrders);
     }
     
     // Private helper methods
+    private void reserveCartStock(Cart cart) {
+        List<ProductServicePort.StockReservationItem> items = cart.getCartItems().stream()
+            .map(item -> new ProductServicePort.StockReservationItem(item.getProductId(), item.getQuantity()))
+            .toList();
+        
+        ProductServicePort.StockReservationResult result = productServicePort.checkAndReserveStock(items);
+        
+        if (!result.isReserved()) {
+            String unavailableProducts = cart.getCartItems().stream()
+                .filter(item -> result.getUnavailableProductIds().contains(item.getProductId()))
+                .map(Cart.CartItem::getProductName)
+                .distinct()
+                .collect(Collectors.joining(", "));
+            throw new InvalidOrderStateException("Products are not available or out of stock: " + unavailableProducts);
+        }
+    }
+    
     private Order getOrderByIdAndCustomer(String orderId, String customerId) {
         Order order = orderPersistencePort.findById(orderId)
             .orElseThrow(() -> OrderNotFoundException.byOrderId(orderId));
@@ -8,8 +8,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 商品服務適配器
@@ -113,6 +116,31 @@ public class ProductServiceAdapter implements ProductServicePort {
         }
     }
     
+    @Override
+    public StockReservationResult checkAndReserveStock(List<StockReservationItem> items) {
+        String url = productServiceBaseUrl + "/api/v1/stock/batch/check-and-reserve";
+        try {
+            ResponseEntity<BatchReservationResponse> response =
+                restTemplate.postForEntity(url, items, BatchReservationResponse.class);
+            
+            BatchReservationResponse body = response.getBody();
+            if (response.getStatusCode() == HttpStatus.OK && body != null && body.getData() != null
+                    && body.getData().isReserved()) {
+                return StockReservationResult.reserved();
+            }
+            throw new RuntimeException("Unexpected batch reservation response: " + response.getStatusCode());
+        } catch (HttpClientErrorException.Conflict e) {
+            // 商品服務以 409 回報不可預留的項目，此時沒有任何庫存被預留
+            BatchReservationResponse body = e.getResponseBodyAs(BatchReservationResponse.class);
+            List<String> unavailableProductIds = body != null && body.getData() != null
+                ? body.getData().getUnavailableItems().stream().map(UnavailableItem::getProductId).toList()
+                : items.stream().map(StockReservationItem::getProductId).toList();
+            return StockReservationResult.rejected(unavailableProductIds);
+        } catch (RestClientException e) {
+            throw new RuntimeException("Error reserving stock in batch: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public void confirmStockReservation(String productId, Integer quantity) {
         try {
@@ -145,6 +173,24 @@ public class ProductServiceAdapter implements ProductServicePort {
         }
     }
     
+    @Override
+    public void releaseStockReservations(List<StockReservationItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        
+        String url = productServiceBaseUrl + "/api/v1/stock/batch/release";
+        try {
+            ResponseEntity<Void> response = restTemplate.postForEntity(url, items, Void.class);
+            
+            if (response.getStatusCode() != HttpStatus.OK) {
+                throw new RuntimeException("Failed to release stock reservations in batch: " + response.getStatusCode());
+            }
+        } catch (RestClientException e) {
+            throw new RuntimeException("Error releasing stock reservations in batch: " + e.getMessage(), e);
+        }
+    }
+    
     // Internal DTOs for API communication
     private static class ProductResponse {
         private boolean success;
@@ -218,6 +264,54 @@ public class ProductServiceAdapter implements ProductServicePort {
         public void setMessage(String message) { this.message = message; }
     }
     
+    private static class BatchReservationResponse {
+        private boolean success;
+        private BatchReservationData data;
+        private String message;
+        
+        // Getters and setters
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean success) { this.success = success; }
+        
+        public BatchReservationData getData() { return data; }
+        public void setData(BatchReservationData data) { this.data = data; }
+        
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+    
+    private static class BatchReservationData {
+        private boolean reserved;
+        private List<UnavailableItem> unavailableItems = new ArrayList<>();
+        
+        // Getters and setters
+        public boolean isReserved() { return reserved; }
+        public void setReserved(boolean reserved) { this.reserved = reserved; }
+        
+        public List<UnavailableItem> getUnavailableItems() { return unavailableItems; }
+        public void setUnavailableItems(List<UnavailableItem> unavailableItems) { this.unavailableItems = unavailableItems; }
+    }
+    
+    private static class UnavailableItem {
+        private String productId;
+        private Integer requestedQuantity;
+        private Integer availableQuantity;
+        private String reason;
+        
+        // Getters and setters
+        public String getProductId() { return productId; }
+        public void setProductId(String productId) { this.productId = productId; }
+        
+        public Integer getRequestedQuantity() { return requestedQuantity; }
+        public void setRequestedQuantity(Integer requestedQuantity) { this.requestedQuantity = requestedQuantity; }
+        
+        public Integer getAvailableQuantity() { return availableQuantity; }
+        public void setAvailableQuantity(Integer availableQuantity) { this.availableQuantity = availableQuantity; }
+        
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+    }
+    
     private static class StockReservationRequest {
         private Integer quantity;
         
@@ -3,22 +3,27 @@ package com.ecommerce.order.infrastructure.adapter.messaging;
 import com.ecommerce.common.architecture.EventPublisher;
 import com.ecommerce.order.application.port.out.OrderEventPort;
 import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.infrastructure.adapter.persistence.entity.OrderOutboxJpaEntity;
+import com.ecommerce.order.infrastructure.adapter.persistence.repository.OrderOutboxJpaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
  * 訂單事件發布器
- * 負責發布訂單相關事件到訊息佇列
+ * 將訂單事件寫入 Outbox 表，與訂單異動在同一個交易中提交
+ * 實際送往訊息佇列由 OrderOutboxRelay 在背景批次完成
  */
 @EventPublisher
 @Component
+@Transactional
 public class OrderEventPublisher implements OrderEventPort {
     
-    private final RabbitTemplate rabbitTemplate;
+    private final OrderOutboxJpaRepository outboxRepository;
     private final ObjectMapper objectMapper;
     
     // Exchange and routing key constants
@@ -31,8 +36,8 @@ public class OrderEventPublisher implements OrderEventPort {
     private static final String ORDER_CANCELLED_ROUTING_KEY = "order.cancelled";
     private static final String ORDER_REFUNDED_ROUTING_KEY = "order.refunded";
     
-    public OrderEventPublisher(RabbitTemplate rabbitTemplate, ObjectMapper objectMapper) {
-        this.rabbitTemplate = rabbitTemplate;
+    public OrderEventPublisher(OrderOutboxJpaRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
         this.objectMapper = objectMapper;
     }
     
@@ -47,7 +52,7 @@ public class OrderEventPublisher implements OrderEventPort {
             order.getOrderDate()
         );
         
-        publishEvent(ORDER_CREATED_ROUTING_KEY, event);
+        publishEvent(ORDER_CREATED_ROUTING_KEY, order.getOrderId(), event);
     }
     
     @Override
@@ -59,7 +64,7 @@ public class OrderEventPublisher implements OrderEventPort {
             order.getConfirmedDate()
         );
         
-        publishEvent(ORDER_CONFIRMED_ROUTING_KEY, event);
+        publishEvent(ORDER_CONFIRMED_ROUTING_KEY, order.getOrderId(), event);
     }
     
     @Override
@@ -73,7 +78,7 @@ public class OrderEventPublisher implements OrderEventPort {
             order.getShippingAddress()
         );
         
-        publishEvent(ORDER_PAID_ROUTING_KEY, event);
+        publishEvent(ORDER_PAID_ROUTING_KEY, order.getOrderId(), event);
     }
     
     @Override
@@ -85,7 +90,7 @@ public class OrderEventPublisher implements OrderEventPort {
             order.getShippedDate()
         );
         
-        publishEvent(ORDER_SHIPPED_ROUTING_KEY, event);
+        publishEvent(ORDER_SHIPPED_ROUTING_KEY, order.getOrderId(), event);
     }
     
     @Override
@@ -96,19 +101,19 @@ public class OrderEventPublisher implements OrderEventPort {
             order.getDeliveredDate()
         );
         
-        publishEvent(ORDER_DELIVERED_ROUTING_KEY, event);
+        publishEvent(ORDER_DELIVERED_ROUTING_KEY, order.getOrderId(), event);
     }
     
     @Override
     public void publishOrderCancelled(Order order, String reason) {
-        OrderCancelledEvent event = new OrderCancelledEvent(
-            order.getOrderId(),
-            order.getCustomerId(),
-            reason,
-            order.getCancelledDate()
-        );
+        publishOrderCancelled(order.getOrderId(), order.getCustomerId(), reason, order.getCancelledDate());
+    }
+    
+    @Override
+    public void publishOrderCancelled(String orderId, String customerId, String reason, LocalDateTime cancelledDate) {
+        OrderCancelledEvent event = new OrderCancelledEvent(orderId, customerId, reason, cancelledDate);
         
-        publishEvent(ORDER_CANCELLED_ROUTING_KEY, event);
+        publishEvent(ORDER_CANCELLED_ROUTING_KEY, orderId, event);
     }
     
     @Override
@@ -121,16 +126,20 @@ public class OrderEventPublisher implements OrderEventPort {
             LocalDateTime.now()
         );
         
-        publishEvent(ORDER_REFUNDED_ROUTING_KEY, event);
+        publishEvent(ORDER_REFUNDED_ROUTING_KEY, order.getOrderId(), event);
     }
     
-    private void publishEvent(String routingKey, Object event) {
+    private void publishEvent(String routingKey, String orderId, Object event) {
+        String payload;
         try {
-            rabbitTemplate.convertAndSend(ORDER_EXCHANGE, routingKey, event);
-        } catch (Exception e) {
-            // Log error but don't fail the main operation
-            System.err.println("Failed to publish event: " + routingKey + ", error: " + e.getMessage());
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            // 無法序列化的事件無法重送，讓訂單交易一併回滾
+            throw new IllegalStateException("Failed to serialize order event: " + routingKey, e);
         }
+        
+        outboxRepository.save(new OrderOutboxJpaEntity(
+            orderId, event.getClass().getName(), ORDER_EXCHANGE, routingKey, payload));
     }
     
     // Event classes
@@ -0,0 +1,248 @@
+package com.ecommerce.order.infrastructure.adapter.messaging;
+
+import com.ecommerce.order.infrastructure.adapter.persistence.entity.OrderOutboxJpaEntity;
+import com.ecommerce.order.infrastructure.adapter.persistence.repository.OrderOutboxJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 訂單事件 Outbox 轉發器
+ * 在背景以批次方式將 Outbox 中待送的事件送往 RabbitMQ，並等待 publisher confirm 後才標記為已發布
+ * 語意為至少一次送達：確認逾時或被拒的事件會保留在 Outbox 中，以指數退避延後重送，
+ * 消費端應以 messageId 去除重複；超過重試上限的事件會被擱置並記錄錯誤日誌與 order.outbox.parked 指標，
+ * 不再阻擋後續事件
+ */
+@Component
+@ConditionalOnProperty(prefix = "order.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    static final String MESSAGE_ID_PREFIX = "order-outbox-";
+    static final String TYPE_ID_HEADER = "__TypeId__";
+
+    // 單次排程最多連續處理的批次數，避免大量積壓時長時間佔住排程執行緒
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final OrderOutboxJpaRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Duration retention;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+
+    public OrderOutboxRelay(OrderOutboxJpaRepository outboxRepository,
+                            RabbitTemplate rabbitTemplate,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${order.outbox.batch-size:100}") int batchSize,
+                            @Value("${order.outbox.confirm-timeout:5s}") Duration confirmTimeout,
+                            @Value("${order.outbox.retention:24h}") Duration retention,
+                            @Value("${order.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${order.outbox.retry-backoff:1s}") Duration retryBackoff,
+                            @Value("${order.outbox.max-retry-backoff:10m}") Duration maxRetryBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.retention = retention;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+
+        Gauge.builder("order.outbox.backlog", backlog, AtomicLong::get)
+            .description("Outbox 中尚未發布的訂單事件數")
+            .register(meterRegistry);
+        Gauge.builder("order.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+            .description("最早一筆待發布事件已等待的時間")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("order.outbox.parked", parked, AtomicLong::get)
+            .description("超過重試上限而擱置、需要人工處理的訂單事件數")
+            .register(meterRegistry);
+        this.publishedCounter = Counter.builder("order.outbox.published")
+            .description("經 broker 確認的訂單事件數")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("order.outbox.publish.failures")
+            .description("被拒或確認逾時、等待重送的訂單事件數")
+            .register(meterRegistry);
+        this.parkedCounter = Counter.builder("order.outbox.parked.events")
+            .description("超過重試上限而被擱置的訂單事件數")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 轉發待送事件；每批在獨立交易中鎖定資料列，多個實例可同時執行而不會重複處理同一批
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.relay-interval:500}")
+    public void relayPendingEvents() {
+        try {
+            int batches = 0;
+            while (batches++ < MAX_BATCHES_PER_RUN && Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()))) {
+                // 整批皆已確認且可能還有積壓，繼續下一批
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Order outbox relay run failed: {}", e.getMessage());
+        } finally {
+            refreshBacklogMetrics();
+        }
+    }
+
+    /**
+     * 清除超過保留期限的已發布事件
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.cleanup-interval:3600000}")
+    public void purgePublishedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deletePublishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            logger.info("Purged {} published order outbox events before {}", deleted, cutoff);
+        }
+    }
+
+    /**
+     * 送出一批事件並等待確認
+     * @return 整批都已確認且批次已滿（可能仍有積壓）時回傳 true
+     */
+    boolean relayBatch() {
+        List<OrderOutboxJpaEntity> batch = outboxRepository.lockPendingBatch(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        // 先全部送出再一併等待確認，一批只需一次 broker 往返的等待
+        List<CorrelationData> confirmations = new ArrayList<>(batch.size());
+        for (OrderOutboxJpaEntity event : batch) {
+            CorrelationData correlation = new CorrelationData(String.valueOf(event.getOutboxId()));
+            try {
+                rabbitTemplate.send(event.getExchange(), event.getRoutingKey(), toMessage(event), correlation);
+            } catch (AmqpException e) {
+                correlation.getFuture().completeExceptionally(e);
+            }
+            confirmations.add(correlation);
+        }
+
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        List<Long> confirmedIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OrderOutboxJpaEntity event = batch.get(i);
+            String failure = awaitConfirm(confirmations.get(i), deadline);
+            if (failure == null) {
+                confirmedIds.add(event.getOutboxId());
+            } else {
+                recordFailure(event, failure);
+            }
+        }
+
+        if (!confirmedIds.isEmpty()) {
+            outboxRepository.markPublished(confirmedIds, LocalDateTime.now());
+            publishedCounter.increment(confirmedIds.size());
+        }
+        return confirmedIds.size() == batchSize;
+    }
+
+    private void recordFailure(OrderOutboxJpaEntity event, String failure) {
+        failedCounter.increment();
+        LocalDateTime now = LocalDateTime.now();
+        if (event.getAttempts() + 1 >= maxAttempts) {
+            event.park(failure, now);
+            parkedCounter.increment();
+            logger.error("Order event {} ({}) parked after {} attempts, manual replay required: {}",
+                event.getOutboxId(), event.getRoutingKey(), event.getAttempts(), failure);
+            return;
+        }
+        event.recordFailure(failure, now.plus(backoffAfter(event.getAttempts() + 1)));
+        logger.warn("Order event {} ({}) not confirmed, will retry at {}: {}",
+            event.getOutboxId(), event.getRoutingKey(), event.getNextAttemptAt(), failure);
+    }
+
+    /**
+     * 第 n 次失敗後的重送延遲：retryBackoff * 2^(n-1)，上限為 maxRetryBackoff
+     */
+    Duration backoffAfter(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        Duration backoff = retryBackoff.multipliedBy(1L << doublings);
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    void refreshBacklogMetrics() {
+        List<Object[]> summary = outboxRepository.summarizePending();
+        Object[] row = summary.isEmpty() ? null : summary.get(0);
+        long pending = row != null && row[0] != null ? ((Number) row[0]).longValue() : 0L;
+        LocalDateTime oldest = row != null ? (LocalDateTime) row[1] : null;
+
+        backlog.set(pending);
+        lagMillis.set(pending > 0 && oldest != null
+            ? Math.max(0L, Duration.between(oldest, LocalDateTime.now()).toMillis())
+            : 0L);
+        parked.set(outboxRepository.countParked());
+    }
+
+    private String awaitConfirm(CorrelationData correlation, long deadline) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                .get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return confirm.isAck() ? null : "nack: " + confirm.getReason();
+        } catch (TimeoutException e) {
+            return "confirm timeout after " + confirmTimeout.toMillis() + "ms";
+        } catch (ExecutionException e) {
+            return e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted while awaiting confirm";
+        }
+    }
+
+    private Message toMessage(OrderOutboxJpaEntity event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setMessageId(MESSAGE_ID_PREFIX + event.getOutboxId());
+        properties.setHeader(TYPE_ID_HEADER, event.getEventType());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setTimestamp(Timestamp.valueOf(event.getCreatedAt()));
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    long getBacklog() {
+        return backlog.get();
+    }
+}
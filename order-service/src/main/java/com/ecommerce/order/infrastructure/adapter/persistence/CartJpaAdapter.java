@@ -6,45 +6,69 @@ import com.ecommerce.order.domain.model.Cart;
 import com.ecommerce.order.infrastructure.adapter.persistence.entity.CartJpaEntity;
 import com.ecommerce.order.infrastructure.adapter.persistence.mapper.CartJpaMapper;
 import com.ecommerce.order.infrastructure.adapter.persistence.repository.CartJpaRepository;
+import com.ecommerce.order.infrastructure.scheduling.CartExpiryTracker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * 購物車 JPA 適配器
  * 實作購物車持久化輸出埠
+ * 寫入與刪除只清除受影響購物車的快取鍵（購物車ID與客戶ID），不影響其他客戶的快取
+ * 預設的購物車儲存方式，order.cart.store=redis 時改用 {@link CartRedisAdapter}
+ * 儲存與刪除時同步更新 {@link CartExpiryTracker}，過期購物車由時間輪到期後批次刪除
  */
 @PersistenceAdapter
+@ConditionalOnProperty(prefix = "order.cart", name = "store", havingValue = "jpa", matchIfMissing = true)
 @Transactional
 public class CartJpaAdapter implements CartPersistencePort {
     
+    private static final String CARTS_CACHE = "carts";
+    private static final String CUSTOMER_CARTS_CACHE = "customerCarts";
+    
     private final CartJpaRepository cartJpaRepository;
+    private final CacheManager cacheManager;
+    private final CartExpiryTracker cartExpiryTracker;
     
-    public CartJpaAdapter(CartJpaRepository cartJpaRepository) {
+    public CartJpaAdapter(CartJpaRepository cartJpaRepository, CacheManager cacheManager,
+                          CartExpiryTracker cartExpiryTracker) {
         this.cartJpaRepository = cartJpaRepository;
+        this.cacheManager = cacheManager;
+        this.cartExpiryTracker = cartExpiryTracker;
     }
     
     @Override
-    @CacheEvict(value = {"carts", "customerCarts"}, allEntries = true)
+    @Caching(evict = {
+        @CacheEvict(value = CARTS_CACHE, key = "#cart.cartId"),
+        @CacheEvict(value = CUSTOMER_CARTS_CACHE, key = "#cart.customerId")
+    })
     public Cart save(Cart cart) {
         CartJpaEntity entity = CartJpaMapper.toJpaEntity(cart);
         CartJpaEntity savedEntity = cartJpaRepository.save(entity);
+        cartExpiryTracker.track(savedEntity.getCartId(), savedEntity.getExpiryDate(), savedEntity.getLastUpdated());
         return CartJpaMapper.toDomainObject(savedEntity);
     }
     
     @Override
-    @Cacheable(value = "carts", key = "#cartId")
+    @Cacheable(value = CARTS_CACHE, key = "#cartId", unless = "#result == null")
     public Optional<Cart> findById(String cartId) {
         return cartJpaRepository.findById(cartId)
             .map(CartJpaMapper::toDomainObject);
     }
     
     @Override
-    @Cacheable(value = "customerCarts", key = "#customerId")
+    @Cacheable(value = CUSTOMER_CARTS_CACHE, key = "#customerId", unless = "#result == null")
     public Optional<Cart> findByCustomerId(String customerId) {
         return cartJpaRepository.findByCustomerId(customerId)
             .map(CartJpaMapper::toDomainObject);
@@ -76,25 +100,87 @@ public class CartJpaAdapter implements CartPersistencePort {
     }
     
     @Override
-    @CacheEvict(value = {"carts", "customerCarts"}, allEntries = true)
+    @Caching(evict = {
+        @CacheEvict(value = CARTS_CACHE, key = "#cart.cartId"),
+        @CacheEvict(value = CUSTOMER_CARTS_CACHE, key = "#cart.customerId")
+    })
     public void delete(Cart cart) {
         cartJpaRepository.deleteById(cart.getCartId());
+        cartExpiryTracker.untrack(cart.getCartId());
     }
     
     @Override
-    @CacheEvict(value = {"carts", "customerCarts"}, allEntries = true)
     public void deleteById(String cartId) {
+        // 只有購物車ID，先查出客戶ID才能清除對應的客戶快取
+        cartJpaRepository.findById(cartId)
+            .ifPresent(entity -> evictCart(entity.getCartId(), entity.getCustomerId()));
         cartJpaRepository.deleteById(cartId);
+        cartExpiryTracker.untrack(cartId);
     }
     
-    @CacheEvict(value = {"carts", "customerCarts"}, allEntries = true)
     public void deleteByCustomerId(String customerId) {
+        cartJpaRepository.findByCustomerId(customerId)
+            .ifPresent(entity -> {
+                evictCart(entity.getCartId(), entity.getCustomerId());
+                cartExpiryTracker.untrack(entity.getCartId());
+            });
         cartJpaRepository.deleteByCustomerId(customerId);
     }
     
-    @CacheEvict(value = {"carts", "customerCarts"}, allEntries = true)
     public void deleteExpiredCarts() {
-        cartJpaRepository.deleteExpiredCarts(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        cartJpaRepository.findExpiredCarts(now)
+            .forEach(entity -> evictCart(entity.getCartId(), entity.getCustomerId()));
+        cartJpaRepository.deleteExpiredCarts(now);
+    }
+    
+    /**
+     * 批次刪除時間輪到期的購物車，只鎖定購物車資料列，不載入購物車項目
+     * 其他實例可能已延長購物車，刪除前以資料庫中的時間再次確認，尚未到期的購物車依新的時間重新追蹤
+     * 正被其他交易鎖定而跳過的購物車不會刪除，以 {@link ExpiredCartDeletion#skippedCartIds()} 回傳給呼叫端稍後重試
+     * @return 實際刪除的購物車數量與被跳過的購物車ID
+     */
+    public ExpiredCartDeletion deleteExpiredCarts(List<String> cartIds) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime abandonedBefore = cartExpiryTracker.abandonedBefore(now);
+        
+        List<String> expiredCartIds = new ArrayList<>(cartIds.size());
+        Set<String> lockedCartIds = new HashSet<>();
+        for (CartJpaEntity entity : cartJpaRepository.lockByCartIdIn(cartIds)) {
+            lockedCartIds.add(entity.getCartId());
+            if (entity.getExpiryDate().isBefore(now) || entity.getLastUpdated().isBefore(abandonedBefore)) {
+                expiredCartIds.add(entity.getCartId());
+                evictCart(entity.getCartId(), entity.getCustomerId());
+            } else {
+                cartExpiryTracker.track(entity.getCartId(), entity.getExpiryDate(), entity.getLastUpdated());
+            }
+        }
+        
+        List<String> skippedCartIds = findSkippedCartIds(cartIds, lockedCartIds);
+        if (expiredCartIds.isEmpty()) {
+            return new ExpiredCartDeletion(0, skippedCartIds);
+        }
+        cartJpaRepository.deleteItemsByCartIdIn(expiredCartIds);
+        return new ExpiredCartDeletion(cartJpaRepository.deleteByCartIdIn(expiredCartIds), skippedCartIds);
+    }
+    
+    /**
+     * 找出未鎖定到但仍存在的購物車，即被 SKIP LOCKED 跳過者；已被刪除的購物車不再重試
+     */
+    private List<String> findSkippedCartIds(List<String> cartIds, Set<String> lockedCartIds) {
+        if (lockedCartIds.size() == cartIds.size()) {
+            return List.of();
+        }
+        List<String> notLocked = cartIds.stream()
+            .filter(cartId -> !lockedCartIds.contains(cartId))
+            .toList();
+        return cartJpaRepository.findCartIdsIn(notLocked);
+    }
+    
+    /**
+     * 過期購物車批次刪除結果
+     */
+    public record ExpiredCartDeletion(int deleted, List<String> skippedCartIds) {
     }
     
     public long countByCustomerId(String customerId) {
@@ -152,6 +238,20 @@ public class CartJpaAdapter implements CartPersistencePort {
         return new CartStats(totalCarts, activeCarts, averageValue);
     }
     
+    // 私有輔助方法
+    
+    private void evictCart(String cartId, String customerId) {
+        evict(CARTS_CACHE, cartId);
+        evict(CUSTOMER_CARTS_CACHE, customerId);
+    }
+    
+    private void evict(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+    
     /**
      * 購物車統計資訊
      */
@@ -0,0 +1,78 @@
+package com.ecommerce.order.infrastructure.adapter.persistence;
+
+import com.ecommerce.common.architecture.PersistenceAdapter;
+import com.ecommerce.order.application.port.out.CartPersistencePort;
+import com.ecommerce.order.domain.model.Cart;
+import com.ecommerce.order.infrastructure.adapter.persistence.mapper.CartRedisMapper;
+import com.ecommerce.order.infrastructure.adapter.persistence.repository.CartHashRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 購物車 Redis 適配器
+ * 實作購物車持久化輸出埠，以 order.cart.store=redis 啟用
+ * 購物車存成 Redis 雜湊並在到期時間自動過期，不寫入資料庫，也不需要排程清理過期購物車
+ */
+@PersistenceAdapter
+@ConditionalOnProperty(prefix = "order.cart", name = "store", havingValue = "redis")
+public class CartRedisAdapter implements CartPersistencePort {
+
+    private final CartHashRepository cartHashRepository;
+
+    public CartRedisAdapter(CartHashRepository cartHashRepository) {
+        this.cartHashRepository = cartHashRepository;
+    }
+
+    @Override
+    public Cart save(Cart cart) {
+        cartHashRepository.save(
+            cart.getCartId(),
+            cart.getCustomerId(),
+            CartRedisMapper.toHash(cart),
+            cart.getExpiryDate().atZone(ZoneId.systemDefault()).toInstant()
+        );
+        return cart;
+    }
+
+    @Override
+    public Optional<Cart> findById(String cartId) {
+        return Optional.ofNullable(CartRedisMapper.toDomainObject(cartId, cartHashRepository.findFields(cartId)));
+    }
+
+    @Override
+    public Optional<Cart> findByCustomerId(String customerId) {
+        // 客戶換了新購物車後，舊購物車可能仍在存活時間內，只回傳客戶索引指向且屬於該客戶的購物車
+        return cartHashRepository.findCartIdByCustomerId(customerId)
+            .flatMap(this::findById)
+            .filter(cart -> customerId.equals(cart.getCustomerId()));
+    }
+
+    @Override
+    public void delete(Cart cart) {
+        cartHashRepository.delete(cart.getCartId(), cart.getCustomerId());
+    }
+
+    @Override
+    public void deleteById(String cartId) {
+        Map<String, String> fields = cartHashRepository.findFields(cartId);
+        if (!fields.isEmpty()) {
+            Cart cart = CartRedisMapper.toDomainObject(cartId, fields);
+            cartHashRepository.delete(cartId, cart.getCustomerId());
+        }
+    }
+
+    @Override
+    public boolean existsById(String cartId) {
+        return cartHashRepository.existsById(cartId);
+    }
+
+    @Override
+    public boolean existsByCustomerId(String customerId) {
+        return cartHashRepository.findCartIdByCustomerId(customerId)
+            .map(cartHashRepository::existsById)
+            .orElse(false);
+    }
+}
@@ -7,6 +7,7 @@ import com.ecommerce.order.domain.model.OrderStatus;
 import com.ecommerce.order.infrastructure.adapter.persistence.entity.OrderJpaEntity;
 import com.ecommerce.order.infrastructure.adapter.persistence.mapper.OrderJpaMapper;
 import com.ecommerce.order.infrastructure.adapter.persistence.repository.OrderJpaRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -52,6 +53,23 @@ public class OrderJpaAdapter implements OrderPersistencePort {
         return OrderJpaMapper.toDomainObjectList(entities);
     }
     
+    @Override
+    public List<Order> findByCustomerIdBefore(String customerId, OrderStatus status,
+                                              LocalDateTime beforeOrderDate, String beforeOrderId, int limit) {
+        PageRequest firstRows = PageRequest.of(0, limit);
+        List<OrderJpaEntity> entities = beforeOrderDate == null
+            ? orderJpaRepository.findCustomerOrdersFirstPage(customerId, status, firstRows)
+            : orderJpaRepository.findCustomerOrdersBefore(customerId, status, beforeOrderDate, beforeOrderId, firstRows);
+        return OrderJpaMapper.toDomainObjectList(entities);
+    }
+    
+    @Override
+    public long countByCustomerId(String customerId, OrderStatus status) {
+        return status == null
+            ? orderJpaRepository.countByCustomerId(customerId)
+            : orderJpaRepository.countByCustomerIdAndStatus(customerId, status);
+    }
+    
     public List<Order> findByStatus(OrderStatus status) {
         List<OrderJpaEntity> entities = orderJpaRepository.findByStatusOrderByOrderDateDesc(status);
         return OrderJpaMapper.toDomainObjectList(entities);
@@ -12,7 +12,10 @@ import java.util.List;
  * 訂單 JPA 實體
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_customer_date", columnList = "customer_id, order_date, order_id"),
+    @Index(name = "idx_orders_status_date", columnList = "status, order_date")
+})
 public class OrderJpaEntity {
     
     @Id
@@ -0,0 +1,170 @@
+package com.ecommerce.order.infrastructure.adapter.persistence.mapper;
+
+import com.ecommerce.order.domain.model.Cart;
+import com.ecommerce.order.infrastructure.adapter.persistence.repository.CartHashRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 購物車 Redis 映射器
+ * 負責領域物件與購物車雜湊欄位之間的轉換；每個商品項目以 JSON 存在各自的欄位，
+ * 單一商品的異動只改寫該欄位
+ */
+public class CartRedisMapper {
+
+    private static final String CUSTOMER_ID = "customerId";
+    private static final String TOTAL_AMOUNT = "totalAmount";
+    private static final String LAST_UPDATED = "lastUpdated";
+    private static final String EXPIRY_DATE = "expiryDate";
+    private static final String CREATED_AT = "createdAt";
+    private static final String UPDATED_AT = "updatedAt";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    /**
+     * 將領域物件轉換為雜湊欄位
+     */
+    public static Map<String, String> toHash(Cart cart) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(CUSTOMER_ID, cart.getCustomerId());
+        fields.put(TOTAL_AMOUNT, cart.getTotalAmount().toPlainString());
+        putIfPresent(fields, LAST_UPDATED, cart.getLastUpdated());
+        putIfPresent(fields, EXPIRY_DATE, cart.getExpiryDate());
+        putIfPresent(fields, CREATED_AT, cart.getCreatedAt());
+        putIfPresent(fields, UPDATED_AT, cart.getUpdatedAt());
+
+        List<Cart.CartItem> cartItems = cart.getCartItems();
+        for (int position = 0; position < cartItems.size(); position++) {
+            Cart.CartItem cartItem = cartItems.get(position);
+            fields.put(itemField(cartItem.getProductId()), writeItem(cartItem, position));
+        }
+        return fields;
+    }
+
+    /**
+     * 將雜湊欄位轉換為領域物件
+     */
+    public static Cart toDomainObject(String cartId, Map<String, String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+
+        Cart cart = Cart.create(fields.get(CUSTOMER_ID));
+        setField(Cart.class, cart, "cartId", cartId);
+        setField(Cart.class, cart, "totalAmount", new BigDecimal(fields.get(TOTAL_AMOUNT)));
+        setField(Cart.class, cart, "lastUpdated", parseDateTime(fields.get(LAST_UPDATED)));
+        setField(Cart.class, cart, "expiryDate", parseDateTime(fields.get(EXPIRY_DATE)));
+        cart.setCreatedAt(parseDateTime(fields.get(CREATED_AT)));
+        cart.setUpdatedAt(parseDateTime(fields.get(UPDATED_AT)));
+
+        List<CartItemValue> itemValues = new ArrayList<>();
+        fields.forEach((field, value) -> {
+            if (field.startsWith(CartHashRepository.ITEM_FIELD_PREFIX)) {
+                itemValues.add(readItem(value));
+            }
+        });
+        itemValues.sort(Comparator.comparingInt(CartItemValue::position));
+
+        List<Cart.CartItem> cartItems = new ArrayList<>(itemValues.size());
+        for (CartItemValue itemValue : itemValues) {
+            cartItems.add(toCartItem(cartId, itemValue));
+        }
+        setField(Cart.class, cart, "cartItems", cartItems);
+
+        return cart;
+    }
+
+    /**
+     * 商品項目的欄位名稱
+     */
+    public static String itemField(String productId) {
+        return CartHashRepository.ITEM_FIELD_PREFIX + productId;
+    }
+
+    // 私有輔助方法
+
+    private static Cart.CartItem toCartItem(String cartId, CartItemValue itemValue) {
+        Cart.CartItem cartItem = Cart.CartItem.create(
+            itemValue.productId(),
+            itemValue.productName(),
+            itemValue.unitPrice(),
+            itemValue.quantity(),
+            itemValue.productSpecifications()
+        );
+        setField(Cart.CartItem.class, cartItem, "cartItemId", itemValue.cartItemId());
+        setField(Cart.CartItem.class, cartItem, "cartId", cartId);
+        cartItem.setCreatedAt(itemValue.createdAt());
+        cartItem.setUpdatedAt(itemValue.updatedAt());
+        return cartItem;
+    }
+
+    private static String writeItem(Cart.CartItem cartItem, int position) {
+        CartItemValue itemValue = new CartItemValue(
+            cartItem.getCartItemId(),
+            cartItem.getProductId(),
+            cartItem.getProductName(),
+            cartItem.getUnitPrice(),
+            cartItem.getQuantity(),
+            cartItem.getProductSpecifications(),
+            position,
+            cartItem.getCreatedAt(),
+            cartItem.getUpdatedAt()
+        );
+        try {
+            return OBJECT_MAPPER.writeValueAsString(itemValue);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cart item " + cartItem.getCartItemId(), e);
+        }
+    }
+
+    private static CartItemValue readItem(String value) {
+        try {
+            return OBJECT_MAPPER.readValue(value, CartItemValue.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize cart item: " + value, e);
+        }
+    }
+
+    private static void putIfPresent(Map<String, String> fields, String field, LocalDateTime value) {
+        if (value != null) {
+            fields.put(field, value.toString());
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+
+    private static void setField(Class<?> type, Object target, String name, Object value) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to map cart hash to domain object", e);
+        }
+    }
+
+    /**
+     * 商品項目欄位的 JSON 內容；總價由單價與數量重新計算，不另外保存
+     */
+    private record CartItemValue(String cartItemId, String productId, String productName, BigDecimal unitPrice,
+                                 Integer quantity, String productSpecifications, int position,
+                                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.order.infrastructure.adapter.persistence.repository;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 購物車雜湊儲存庫
+ * 每個購物車存成一個雜湊，表頭欄位與每個商品項目各佔一個欄位，另以客戶ID索引指向購物車ID
+ */
+public interface CartHashRepository {
+
+    /**
+     * 商品項目欄位的前綴，欄位名稱為前綴加上商品ID
+     */
+    String ITEM_FIELD_PREFIX = "item:";
+
+    /**
+     * 讀取購物車的所有欄位，購物車不存在或已過期時回傳空的 Map
+     */
+    Map<String, String> findFields(String cartId);
+
+    /**
+     * 根據客戶ID查找購物車ID
+     */
+    Optional<String> findCartIdByCustomerId(String customerId);
+
+    /**
+     * 以單一原子操作寫入欄位、移除不在 fields 中的商品項目欄位，並將購物車與客戶索引設為在 expireAt 過期
+     */
+    void save(String cartId, String customerId, Map<String, String> fields, Instant expireAt);
+
+    /**
+     * 刪除購物車；客戶索引仍指向此購物車時一併刪除
+     */
+    void delete(String cartId, String customerId);
+
+    boolean existsById(String cartId);
+}
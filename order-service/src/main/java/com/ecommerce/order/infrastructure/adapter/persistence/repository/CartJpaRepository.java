@@ -1,9 +1,14 @@
 package com.ecommerce.order.infrastructure.adapter.persistence.repository;
 
 import com.ecommerce.order.infrastructure.adapter.persistence.entity.CartJpaEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -55,6 +60,41 @@ public interface CartJpaRepository extends JpaRepository<CartJpaEntity, String>
     @Query("DELETE FROM CartJpaEntity c WHERE c.expiryDate < :now")
     void deleteExpiredCarts(@Param("now") LocalDateTime now);
     
+    /**
+     * 依購物車ID順序讀取到期時間，回傳 [cartId, expiryDate, lastUpdated]（Keyset 分頁，不載入購物車項目）
+     */
+    @Query("SELECT c.cartId, c.expiryDate, c.lastUpdated FROM CartJpaEntity c " +
+           "WHERE c.cartId > :afterCartId ORDER BY c.cartId")
+    List<Object[]> findExpiryDeadlinesAfter(@Param("afterCartId") String afterCartId, Pageable pageable);
+    
+    /**
+     * 鎖定指定的購物車，已被其他交易鎖定的購物車會被跳過
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM CartJpaEntity c WHERE c.cartId IN :cartIds")
+    List<CartJpaEntity> lockByCartIdIn(@Param("cartIds") List<String> cartIds);
+    
+    /**
+     * 查詢指定購物車中仍存在的購物車ID，不加鎖
+     */
+    @Query("SELECT c.cartId FROM CartJpaEntity c WHERE c.cartId IN :cartIds")
+    List<String> findCartIdsIn(@Param("cartIds") List<String> cartIds);
+    
+    /**
+     * 刪除指定購物車的所有項目
+     */
+    @Modifying
+    @Query("DELETE FROM CartItemJpaEntity ci WHERE ci.cart.cartId IN :cartIds")
+    int deleteItemsByCartIdIn(@Param("cartIds") List<String> cartIds);
+    
+    /**
+     * 刪除指定的購物車，呼叫前需先刪除其項目
+     */
+    @Modifying
+    @Query("DELETE FROM CartJpaEntity c WHERE c.cartId IN :cartIds")
+    int deleteByCartIdIn(@Param("cartIds") List<String> cartIds);
+    
     /**
      * 統計客戶的購物車數量
      */
@@ -2,8 +2,14 @@ package com.ecommerce.order.infrastructure.adapter.persistence.repository;
 
 import com.ecommerce.order.domain.model.OrderStatus;
 import com.ecommerce.order.infrastructure.adapter.persistence.entity.OrderJpaEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -22,6 +28,29 @@ public interface OrderJpaRepository extends JpaRepository<OrderJpaEntity, String
      */
     List<OrderJpaEntity> findByCustomerIdOrderByOrderDateDesc(String customerId);
     
+    /**
+     * 查找客戶訂單的第一頁（依訂單日期與訂單ID由新到舊），狀態為 null 時不篩選
+     */
+    @Query("SELECT o FROM OrderJpaEntity o WHERE o.customerId = :customerId " +
+           "AND (:status IS NULL OR o.status = :status) " +
+           "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<OrderJpaEntity> findCustomerOrdersFirstPage(@Param("customerId") String customerId,
+                                                     @Param("status") OrderStatus status,
+                                                     Pageable pageable);
+    
+    /**
+     * 從游標位置接續查找客戶訂單（Keyset 分頁，不使用 OFFSET）
+     */
+    @Query("SELECT o FROM OrderJpaEntity o WHERE o.customerId = :customerId " +
+           "AND (:status IS NULL OR o.status = :status) " +
+           "AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.orderId < :orderId)) " +
+           "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<OrderJpaEntity> findCustomerOrdersBefore(@Param("customerId") String customerId,
+                                                  @Param("status") OrderStatus status,
+                                                  @Param("orderDate") LocalDateTime orderDate,
+                                                  @Param("orderId") String orderId,
+                                                  Pageable pageable);
+    
     /**
      * 根據客戶ID和狀態查找訂單
      */
@@ -49,11 +78,50 @@ public interface OrderJpaRepository extends JpaRepository<OrderJpaEntity, String
     @Query("SELECT o FROM OrderJpaEntity o WHERE o.status IN ('PENDING', 'CONFIRMED') AND o.orderDate < :cutoffTime")
     List<OrderJpaEntity> findPendingOrdersOlderThan(@Param("cutoffTime") LocalDateTime cutoffTime);
     
+    /**
+     * 鎖定一批逾時未付款的訂單（依訂單日期），已被其他實例鎖定的訂單會被跳過
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OrderJpaEntity o WHERE o.status IN ('PENDING', 'CONFIRMED') AND o.orderDate < :cutoffTime " +
+           "ORDER BY o.orderDate")
+    List<OrderJpaEntity> lockExpiredBatch(@Param("cutoffTime") LocalDateTime cutoffTime, Pageable pageable);
+    
+    /**
+     * 以單一 UPDATE 取消訂單，只更新仍為待處理或已確認狀態的訂單
+     */
+    @Modifying
+    @Query("UPDATE OrderJpaEntity o SET o.status = com.ecommerce.order.domain.model.OrderStatus.CANCELLED, " +
+           "o.cancelledDate = :cancelledDate, o.cancellationReason = :reason, o.updatedAt = :cancelledDate " +
+           "WHERE o.orderId IN :orderIds AND o.status IN ('PENDING', 'CONFIRMED')")
+    int cancelOrders(@Param("orderIds") List<String> orderIds,
+                     @Param("reason") String reason,
+                     @Param("cancelledDate") LocalDateTime cancelledDate);
+    
+    /**
+     * 依商品彙總指定訂單的項目數量，回傳 [productId, sum(quantity)]
+     */
+    @Query("SELECT oi.productId, SUM(oi.quantity) FROM OrderItemJpaEntity oi " +
+           "WHERE oi.order.orderId IN :orderIds GROUP BY oi.productId")
+    List<Object[]> sumItemQuantitiesByProduct(@Param("orderIds") List<String> orderIds);
+    
+    /**
+     * 統計逾時未付款的訂單數量與最早一筆的訂單日期，回傳 [count, min(orderDate)]
+     */
+    @Query("SELECT COUNT(o), MIN(o.orderDate) FROM OrderJpaEntity o " +
+           "WHERE o.status IN ('PENDING', 'CONFIRMED') AND o.orderDate < :cutoffTime")
+    List<Object[]> summarizeExpired(@Param("cutoffTime") LocalDateTime cutoffTime);
+    
     /**
      * 統計客戶的訂單數量
      */
     long countByCustomerId(String customerId);
     
+    /**
+     * 統計客戶指定狀態的訂單數量
+     */
+    long countByCustomerIdAndStatus(String customerId, OrderStatus status);
+    
     /**
      * 統計指定狀態的訂單數量
      */
@@ -0,0 +1,58 @@
+package com.ecommerce.order.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.order.infrastructure.adapter.persistence.entity.OrderOutboxJpaEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 訂單事件 Outbox JPA Repository
+ */
+@Repository
+public interface OrderOutboxJpaRepository extends JpaRepository<OrderOutboxJpaEntity, Long> {
+    
+    /**
+     * 鎖定一批已到重送時間的待送事件（依寫入順序），已擱置或已被其他轉發器鎖定的資料列會被跳過
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OrderOutboxJpaEntity o WHERE o.publishedAt IS NULL AND o.parkedAt IS NULL " +
+           "AND o.nextAttemptAt <= :now ORDER BY o.outboxId")
+    List<OrderOutboxJpaEntity> lockPendingBatch(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * 將已確認送達的事件標記為已發布
+     */
+    @Modifying
+    @Query("UPDATE OrderOutboxJpaEntity o SET o.publishedAt = :publishedAt WHERE o.outboxId IN :outboxIds")
+    int markPublished(@Param("outboxIds") List<Long> outboxIds, @Param("publishedAt") LocalDateTime publishedAt);
+    
+    /**
+     * 統計待送事件數量與最早一筆的寫入時間，回傳 [count, min(createdAt)]
+     */
+    @Query("SELECT COUNT(o), MIN(o.createdAt) FROM OrderOutboxJpaEntity o WHERE o.publishedAt IS NULL AND o.parkedAt IS NULL")
+    List<Object[]> summarizePending();
+    
+    /**
+     * 統計超過重試上限而擱置的事件數量
+     */
+    @Query("SELECT COUNT(o) FROM OrderOutboxJpaEntity o WHERE o.parkedAt IS NOT NULL")
+    long countParked();
+    
+    /**
+     * 刪除保留期限之前已發布的事件
+     */
+    @Modifying
+    @Query("DELETE FROM OrderOutboxJpaEntity o WHERE o.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,103 @@
+package com.ecommerce.order.infrastructure.adapter.persistence.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 以 Redis 雜湊實作的購物車儲存庫
+ * 寫入與刪除以 Lua 腳本在 Redis 端一次完成，其他請求不會讀到只寫了一半的購物車；
+ * 過期交給 Redis 的 key 存活時間處理，不需要排程清理
+ */
+@Repository
+@ConditionalOnProperty(prefix = "order.cart", name = "store", havingValue = "redis")
+public class RedisCartHashRepository implements CartHashRepository {
+
+    private static final String CART_KEY_PREFIX = "order:cart:";
+    private static final String CUSTOMER_KEY_PREFIX = "order:cart:customer:";
+
+    // KEYS[1] 購物車雜湊、KEYS[2] 客戶索引；ARGV[1] 過期時間（epoch 毫秒）、ARGV[2] 購物車ID，其後為欄位與值
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+        local keep = {}
+        for i = 3, #ARGV, 2 do
+            keep[ARGV[i]] = true
+            redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+        end
+        for _, field in ipairs(redis.call('HKEYS', KEYS[1])) do
+            if string.sub(field, 1, %d) == '%s' and not keep[field] then
+                redis.call('HDEL', KEYS[1], field)
+            end
+        end
+        redis.call('PEXPIREAT', KEYS[1], ARGV[1])
+        redis.call('SET', KEYS[2], ARGV[2])
+        redis.call('PEXPIREAT', KEYS[2], ARGV[1])
+        return 1
+        """.formatted(ITEM_FIELD_PREFIX.length(), ITEM_FIELD_PREFIX), Long.class);
+
+    // KEYS[1] 購物車雜湊、KEYS[2] 客戶索引；ARGV[1] 購物車ID
+    private static final RedisScript<Long> DELETE_SCRIPT = new DefaultRedisScript<>("""
+        redis.call('DEL', KEYS[1])
+        if redis.call('GET', KEYS[2]) == ARGV[1] then
+            redis.call('DEL', KEYS[2])
+        end
+        return 1
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisCartHashRepository(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Map<String, String> findFields(String cartId) {
+        HashOperations<String, String, String> hashOperations = redisTemplate.opsForHash();
+        return hashOperations.entries(cartKey(cartId));
+    }
+
+    @Override
+    public Optional<String> findCartIdByCustomerId(String customerId) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(customerKey(customerId)));
+    }
+
+    @Override
+    public void save(String cartId, String customerId, Map<String, String> fields, Instant expireAt) {
+        List<String> args = new ArrayList<>(2 + fields.size() * 2);
+        args.add(String.valueOf(expireAt.toEpochMilli()));
+        args.add(cartId);
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        redisTemplate.execute(SAVE_SCRIPT, List.of(cartKey(cartId), customerKey(customerId)), args.toArray());
+    }
+
+    @Override
+    public void delete(String cartId, String customerId) {
+        redisTemplate.execute(DELETE_SCRIPT, List.of(cartKey(cartId), customerKey(customerId)), cartId);
+    }
+
+    @Override
+    public boolean existsById(String cartId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(cartKey(cartId)));
+    }
+
+    // 私有輔助方法
+
+    private static String cartKey(String cartId) {
+        return CART_KEY_PREFIX + cartId;
+    }
+
+    private static String customerKey(String customerId) {
+        return CUSTOMER_KEY_PREFIX + customerId;
+    }
+}
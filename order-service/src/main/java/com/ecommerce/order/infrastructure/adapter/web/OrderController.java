@@ -1,5 +1,7 @@
 package com.ecommerce.order.infrastructure.adapter.web;
 
+import com.ecommerce.common.dto.CursorPage;
+import com.ecommerce.common.dto.PageCursor;
 import com.ecommerce.common.response.ApiResponse;
 import com.ecommerce.order.application.dto.CreateOrderRequest;
 import com.ecommerce.order.application.dto.OrderDto;
@@ -122,6 +124,19 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success("Customer orders retrieved successfully", orders));
     }
     
+    @GetMapping("/customers/{customerId}/cursor")
+    @Operation(summary = "以游標分頁獲取客戶訂單", description = "依訂單日期由新到舊分頁，使用上一頁回傳的 nextCursor 取得下一頁")
+    public ResponseEntity<ApiResponse<CursorPage<OrderDto>>> getCustomerOrdersWithCursor(
+            @Parameter(description = "客戶ID") @PathVariable String customerId,
+            @Parameter(description = "訂單狀態") @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "上一頁回傳的游標") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每頁筆數") @RequestParam(defaultValue = "" + PageCursor.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = "是否回傳總筆數") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        CursorPage<OrderDto> orders = orderManagementUseCase.getCustomerOrders(customerId, status, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success("Customer orders retrieved successfully", orders));
+    }
+    
     @GetMapping("/customers/{customerId}/status/{status}")
     @Operation(summary = "根據狀態獲取客戶訂單", description = "獲取指定客戶特定狀態的訂單")
     public ResponseEntity<ApiResponse<List<OrderDto>>> getCustomerOrdersByStatus(
@@ -0,0 +1,18 @@
+package com.ecommerce.order.infrastructure.cache;
+
+/**
+ * 快取失效通知發布者
+ * 本機寫入或清除快取後通知其他實例移除各自的本機快取
+ */
+public interface CacheInvalidationPublisher {
+
+    /**
+     * 通知其他實例移除指定快取鍵
+     */
+    void publishEvict(String cacheName, Object key);
+
+    /**
+     * 通知其他實例清空指定快取
+     */
+    void publishClear(String cacheName);
+}
@@ -0,0 +1,242 @@
+package com.ecommerce.order.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 兩層快取
+ * L1 為程序內的有界快取，L2 為各實例共用的 Redis 快取；讀取先查 L1，未命中再查 L2 並回填 L1
+ * L1 保存序列化後的副本，每次命中都還原成新的物件，呼叫端修改取得的物件不會影響快取內容
+ * 寫入與清除會同時作用於兩層並通知其他實例移除各自的 L1；
+ * 通知可能因連線中斷而遺失，因此 L1 另設較短的存活時間作為過時資料的上限
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final Cache remoteCache;
+    private final RedisSerializer<Object> serializer;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final int localMaxEntries;
+    private final long localTimeToLiveNanos;
+    private final LongSupplier ticker;
+
+    // 由 this 鎖保護，存取順序的 LRU
+    private final LinkedHashMap<String, LocalEntry> localEntries = new LinkedHashMap<>(16, 0.75f, true);
+    // 每次移除 L1 時遞增；讀取 L2 期間若有移除發生，讀到的值可能已過時，不回填 L1
+    private final AtomicLong invalidationSequence = new AtomicLong();
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoLevelCache(String name, Cache remoteCache, RedisSerializer<Object> serializer,
+                         CacheInvalidationPublisher invalidationPublisher,
+                         int localMaxEntries, Duration localTimeToLive, MeterRegistry meterRegistry) {
+        this(name, remoteCache, serializer, invalidationPublisher, localMaxEntries, localTimeToLive,
+             meterRegistry, System::nanoTime);
+    }
+
+    TwoLevelCache(String name, Cache remoteCache, RedisSerializer<Object> serializer,
+                  CacheInvalidationPublisher invalidationPublisher,
+                  int localMaxEntries, Duration localTimeToLive, MeterRegistry meterRegistry,
+                  LongSupplier ticker) {
+        this.name = name;
+        this.remoteCache = remoteCache;
+        this.serializer = serializer;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localMaxEntries = localMaxEntries;
+        this.localTimeToLiveNanos = localTimeToLive.toNanos();
+        this.ticker = ticker;
+
+        this.localHits = requestCounter(meterRegistry, "local", "hit");
+        this.localMisses = requestCounter(meterRegistry, "local", "miss");
+        this.remoteHits = requestCounter(meterRegistry, "remote", "hit");
+        this.remoteMisses = requestCounter(meterRegistry, "remote", "miss");
+        Gauge.builder("order.cache.hit.ratio", this, cache -> hitRatio(cache.localHits, cache.localMisses))
+            .description("本機快取命中率")
+            .tag("cache", name)
+            .tag("level", "local")
+            .register(meterRegistry);
+        Gauge.builder("order.cache.hit.ratio", this, cache -> hitRatio(cache.remoteHits, cache.remoteMisses))
+            .description("本機未命中後 Redis 快取的命中率")
+            .tag("cache", name)
+            .tag("level", "remote")
+            .register(meterRegistry);
+        Gauge.builder("order.cache.local.size", this, TwoLevelCache::getLocalSize)
+            .description("本機快取的項目數")
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        byte[] localValue = getLocal(localKey);
+        if (localValue != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(serializer.deserialize(localValue));
+        }
+        localMisses.increment();
+
+        long sequence = invalidationSequence.get();
+        ValueWrapper remoteValue = remoteCache.get(key);
+        if (remoteValue == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+
+        if (remoteValue.get() != null) {
+            putLocal(localKey, serializer.serialize(remoteValue.get()), sequence);
+        }
+        return remoteValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        evictLocal(localKey(key));
+        invalidationPublisher.publishEvict(name, key);
+        if (value != null) {
+            putLocal(localKey(key), serializer.serialize(value), invalidationSequence.get());
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        evictLocal(localKey(key));
+        invalidationPublisher.publishEvict(name, key);
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        clearLocal();
+        invalidationPublisher.publishClear(name);
+    }
+
+    /**
+     * 只移除本機快取的項目，收到其他實例的失效通知時使用
+     */
+    public void evictLocal(String key) {
+        synchronized (this) {
+            invalidationSequence.incrementAndGet();
+            localEntries.remove(key);
+        }
+    }
+
+    /**
+     * 只清空本機快取，收到其他實例的失效通知時使用
+     */
+    public void clearLocal() {
+        synchronized (this) {
+            invalidationSequence.incrementAndGet();
+            localEntries.clear();
+        }
+    }
+
+    public synchronized int getLocalSize() {
+        return localEntries.size();
+    }
+
+    // 私有輔助方法
+
+    private synchronized byte[] getLocal(String key) {
+        LocalEntry entry = localEntries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (ticker.getAsLong() - entry.storedAt() >= localTimeToLiveNanos) {
+            localEntries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private synchronized void putLocal(String key, byte[] value, long expectedSequence) {
+        if (invalidationSequence.get() != expectedSequence) {
+            return;
+        }
+
+        localEntries.put(key, new LocalEntry(value, ticker.getAsLong()));
+        Iterator<Map.Entry<String, LocalEntry>> eldest = localEntries.entrySet().iterator();
+        while (localEntries.size() > localMaxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter requestCounter(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("order.cache.requests")
+            .description("兩層快取各層的查詢次數")
+            .tag("cache", name)
+            .tag("level", level)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static double hitRatio(Counter hits, Counter misses) {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private record LocalEntry(byte[] value, long storedAt) {
+    }
+}
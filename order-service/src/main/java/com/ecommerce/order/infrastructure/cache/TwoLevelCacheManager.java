@@ -0,0 +1,126 @@
+package com.ecommerce.order.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 兩層快取管理器
+ * 以 Redis 快取管理器提供的快取作為 L2，為每個快取建立對應的 {@link TwoLevelCache}
+ * 失效通知透過 Redis pub/sub 頻道廣播，訊息格式為「實例ID|E|快取名稱|鍵」或「實例ID|C|快取名稱」，
+ * 各實例收到其他實例的通知後只移除自己的 L1，自己發出的通知則忽略
+ * 回傳的快取包裝為交易感知，交易中的寫入與清除延到提交後才執行，避免其他實例讀回未提交前的舊資料
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener, CacheInvalidationPublisher {
+
+    public static final String INVALIDATION_CHANNEL = "order:cache:invalidation";
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final CacheManager remoteCacheManager;
+    private final RedisSerializer<Object> valueSerializer;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int localMaxEntries;
+    private final Duration localTimeToLive;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Cache> transactionAwareCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, RedisSerializer<Object> valueSerializer,
+                                StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+                                int localMaxEntries, Duration localTimeToLive) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.valueSerializer = valueSerializer;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.localMaxEntries = localMaxEntries;
+        this.localTimeToLive = localTimeToLive;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = transactionAwareCaches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return transactionAwareCaches.computeIfAbsent(name, cacheName -> {
+            TwoLevelCache twoLevelCache = new TwoLevelCache(cacheName, remoteCache, valueSerializer, this,
+                                                            localMaxEntries, localTimeToLive, meterRegistry);
+            caches.put(cacheName, twoLevelCache);
+            return new TransactionAwareCacheDecorator(twoLevelCache);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(transactionAwareCaches.keySet());
+    }
+
+    @Override
+    public void publishEvict(String cacheName, Object key) {
+        publish(String.join("|", instanceId, EVICT, cacheName, String.valueOf(key)));
+    }
+
+    @Override
+    public void publishClear(String cacheName) {
+        publish(String.join("|", instanceId, CLEAR, cacheName));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        // 鍵本身可能含有分隔字元，只切出前三個欄位
+        String[] parts = body.split("\\|", 4);
+        if (parts.length < 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return; // 本實例尚未使用此快取，沒有 L1 需要移除
+        }
+
+        if (EVICT.equals(parts[1]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        } else if (CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else {
+            logger.warn("Ignoring malformed cache invalidation message: {}", body);
+        }
+    }
+
+    // 私有輔助方法
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (RuntimeException e) {
+            // Redis 資料已更新，其他實例的 L1 最晚在存活時間到期後失效，不讓通知失敗影響寫入
+            logger.warn("Failed to publish cache invalidation {}: {}", message, e.getMessage());
+        }
+    }
+}
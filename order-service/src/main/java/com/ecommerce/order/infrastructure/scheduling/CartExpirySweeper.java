@@ -0,0 +1,75 @@
+package com.ecommerce.order.infrastructure.scheduling;
+
+import com.ecommerce.order.infrastructure.adapter.persistence.CartJpaAdapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 過期購物車清除器
+ * 每一格從 {@link CartExpiryTracker} 取出到期的購物車，分批交給資料庫刪除；
+ * 每格的成本只與該格到期的購物車數量有關，與購物車總數無關
+ */
+@Component
+@ConditionalOnProperty(prefix = "order.cart", name = "store", havingValue = "jpa", matchIfMissing = true)
+public class CartExpirySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartExpirySweeper.class);
+
+    // 刪除失敗（例如資料庫暫時無法連線）或被其他交易鎖定的購物車延後重試的時間
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final CartExpiryTracker cartExpiryTracker;
+    private final CartJpaAdapter cartJpaAdapter;
+    private final int batchSize;
+
+    private final Counter expiredCounter;
+    private final Counter failedCounter;
+
+    public CartExpirySweeper(CartExpiryTracker cartExpiryTracker,
+                             CartJpaAdapter cartJpaAdapter,
+                             MeterRegistry meterRegistry,
+                             @Value("${order.cart.expiry.batch-size:500}") int batchSize) {
+        this.cartExpiryTracker = cartExpiryTracker;
+        this.cartJpaAdapter = cartJpaAdapter;
+        this.batchSize = batchSize;
+
+        this.expiredCounter = Counter.builder("order.cart.expiry.deleted")
+            .description("到期後被刪除的購物車數")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("order.cart.expiry.failures")
+            .description("刪除失敗、延後重試的購物車數")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 刪除到期的購物車
+     */
+    @Scheduled(fixedDelayString = "${order.cart.expiry.tick-interval:1000}")
+    public void expireDueCarts() {
+        List<String> dueCartIds = cartExpiryTracker.pollExpired();
+        for (int from = 0; from < dueCartIds.size(); from += batchSize) {
+            List<String> batch = dueCartIds.subList(from, Math.min(from + batchSize, dueCartIds.size()));
+            try {
+                CartJpaAdapter.ExpiredCartDeletion deletion = cartJpaAdapter.deleteExpiredCarts(batch);
+                expiredCounter.increment(deletion.deleted());
+                if (!deletion.skippedCartIds().isEmpty()) {
+                    // 正被其他交易鎖定的購物車（例如使用者正在更新）稍後再確認是否到期
+                    cartExpiryTracker.retryLater(deletion.skippedCartIds(), RETRY_DELAY);
+                }
+            } catch (RuntimeException e) {
+                failedCounter.increment(batch.size());
+                cartExpiryTracker.retryLater(batch, RETRY_DELAY);
+                logger.warn("Failed to delete {} expired carts, will retry: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.order.infrastructure.scheduling;
+
+import com.ecommerce.order.infrastructure.adapter.persistence.repository.CartJpaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 購物車到期追蹤器
+ * 以階層式時間輪記錄每個購物車的到期時間：到期日與最後更新時間加上閒置期限兩者較早者
+ * 啟動時以 keyset 分頁讀取購物車ID與兩個時間欄位建立時間輪，之後每次儲存購物車時更新
+ * 只在購物車存於資料庫時啟用；存於 Redis 時由 key 的存活時間負責過期
+ */
+@Component
+@ConditionalOnProperty(prefix = "order.cart", name = "store", havingValue = "jpa", matchIfMissing = true)
+public class CartExpiryTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartExpiryTracker.class);
+
+    private static final int SEED_PAGE_SIZE = 5000;
+
+    private final CartJpaRepository cartJpaRepository;
+    private final Duration abandonedAfter;
+    private final HierarchicalTimingWheel<String> wheel;
+
+    public CartExpiryTracker(CartJpaRepository cartJpaRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${order.cart.expiry.tick-interval:1000}") long tickMillis,
+                             @Value("${order.cart.expiry.abandoned-after:30d}") Duration abandonedAfter) {
+        this.cartJpaRepository = cartJpaRepository;
+        this.abandonedAfter = abandonedAfter;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, System.currentTimeMillis());
+
+        Gauge.builder("order.cart.expiry.tracked", this, CartExpiryTracker::size)
+            .description("到期時間輪中追蹤的購物車數")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 啟動後從資料庫建立時間輪，並定期重新同步其他實例建立或延長的購物車
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${order.cart.expiry.resync-interval:21600000}",
+               fixedDelayString = "${order.cart.expiry.resync-interval:21600000}")
+    public void seed() {
+        long start = System.nanoTime();
+        int seeded = 0;
+        String afterCartId = "";
+        List<Object[]> page;
+        do {
+            page = cartJpaRepository.findExpiryDeadlinesAfter(afterCartId, PageRequest.of(0, SEED_PAGE_SIZE));
+            for (Object[] row : page) {
+                afterCartId = (String) row[0];
+                track(afterCartId, (LocalDateTime) row[1], (LocalDateTime) row[2]);
+            }
+            seeded += page.size();
+        } while (page.size() == SEED_PAGE_SIZE);
+
+        logger.info("Seeded cart expiry wheel with {} carts in {} ms", seeded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 追蹤或更新購物車的到期時間
+     */
+    public void track(String cartId, LocalDateTime expiryDate, LocalDateTime lastUpdated) {
+        LocalDateTime abandonedAt = lastUpdated.plus(abandonedAfter);
+        LocalDateTime deadline = expiryDate.isBefore(abandonedAt) ? expiryDate : abandonedAt;
+        long deadlineMillis = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        synchronized (wheel) {
+            wheel.schedule(cartId, deadlineMillis);
+        }
+    }
+
+    /**
+     * 刪除失敗的購物車延後重試
+     */
+    public void retryLater(List<String> cartIds, Duration delay) {
+        long retryAtMillis = System.currentTimeMillis() + delay.toMillis();
+        synchronized (wheel) {
+            cartIds.forEach(cartId -> wheel.schedule(cartId, retryAtMillis));
+        }
+    }
+
+    /**
+     * 停止追蹤已刪除的購物車
+     */
+    public void untrack(String cartId) {
+        synchronized (wheel) {
+            wheel.cancel(cartId);
+        }
+    }
+
+    /**
+     * 取出到目前為止已到期的購物車ID
+     */
+    public List<String> pollExpired() {
+        synchronized (wheel) {
+            return wheel.advance(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 最後更新時間早於此時間的購物車視為閒置
+     */
+    public LocalDateTime abandonedBefore(LocalDateTime now) {
+        return now.minus(abandonedAfter);
+    }
+
+    public int size() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecommerce.order.infrastructure.scheduling;
+
+import com.ecommerce.order.application.port.out.OrderEventPort;
+import com.ecommerce.order.application.port.out.ProductServicePort;
+import com.ecommerce.order.infrastructure.adapter.persistence.entity.OrderJpaEntity;
+import com.ecommerce.order.infrastructure.adapter.persistence.repository.OrderJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 逾時訂單清除器
+ * 依 (status, order_date) 索引分批鎖定逾時未付款的訂單，每批以單一 UPDATE 取消，
+ * 並將整批訂單的商品數量依商品彙總後，以一次批次請求釋放庫存預留
+ * 每批在獨立交易中鎖定資料列並跳過已被鎖定的訂單，多個實例可同時執行而不會重複取消同一筆訂單
+ */
+@Component
+@ConditionalOnProperty(prefix = "order.expired-sweeper", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ExpiredOrderSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredOrderSweeper.class);
+
+    static final String CANCELLATION_REASON = "自動取消：超時未付款";
+
+    // 單次排程最多連續處理的批次數，避免大量積壓時長時間佔住排程執行緒
+    private static final int MAX_CHUNKS_PER_RUN = 20;
+
+    private final OrderJpaRepository orderJpaRepository;
+    private final OrderEventPort orderEventPort;
+    private final ProductServicePort productServicePort;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration paymentTimeout;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter cancelledCounter;
+    private final Counter releasedUnitsCounter;
+    private final Counter failedCounter;
+
+    public ExpiredOrderSweeper(OrderJpaRepository orderJpaRepository,
+                               OrderEventPort orderEventPort,
+                               ProductServicePort productServicePort,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${order.expired-sweeper.chunk-size:200}") int chunkSize,
+                               @Value("${order.payment.timeout-minutes:30}") long paymentTimeoutMinutes) {
+        this.orderJpaRepository = orderJpaRepository;
+        this.orderEventPort = orderEventPort;
+        this.productServicePort = productServicePort;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.paymentTimeout = Duration.ofMinutes(paymentTimeoutMinutes);
+
+        Gauge.builder("order.expired.backlog", backlog, AtomicLong::get)
+            .description("已逾時但尚未取消的訂單數")
+            .register(meterRegistry);
+        Gauge.builder("order.expired.lag", lagMillis, value -> value.get() / 1000.0)
+            .description("最早一筆逾時訂單超過付款期限的時間")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        this.cancelledCounter = Counter.builder("order.expired.cancelled")
+            .description("因逾時未付款而取消的訂單數")
+            .register(meterRegistry);
+        this.releasedUnitsCounter = Counter.builder("order.expired.released.units")
+            .description("取消逾時訂單後釋放的庫存數量")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("order.expired.sweep.failures")
+            .description("回滾並等待下一輪重試的批次數")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 取消逾時未付款的訂單；批次已滿時繼續處理下一批，直到積壓清空或達到單次上限
+     */
+    @Scheduled(fixedDelayString = "${order.expired-sweeper.interval:60000}")
+    public void sweepExpiredOrders() {
+        LocalDateTime cutoffTime = LocalDateTime.now().minus(paymentTimeout);
+        try {
+            int chunks = 0;
+            while (chunks++ < MAX_CHUNKS_PER_RUN
+                    && Boolean.TRUE.equals(transactionTemplate.execute(status -> sweepChunk(cutoffTime)))) {
+                // 批次已滿，可能還有積壓，繼續下一批
+            }
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            logger.warn("Expired order sweep failed, chunk will be retried: {}", e.getMessage());
+        } finally {
+            refreshBacklogMetrics(cutoffTime);
+        }
+    }
+
+    /**
+     * 取消一批逾時訂單並釋放其庫存預留
+     * 釋放庫存放在最後：商品服務呼叫失敗時整批回滾，訂單維持未取消並於下一輪重試
+     * @return 批次已滿（可能仍有積壓）時回傳 true
+     */
+    boolean sweepChunk(LocalDateTime cutoffTime) {
+        List<OrderJpaEntity> chunk = orderJpaRepository.lockExpiredBatch(cutoffTime, PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            return false;
+        }
+
+        List<String> orderIds = chunk.stream().map(OrderJpaEntity::getOrderId).toList();
+        LocalDateTime cancelledDate = LocalDateTime.now();
+        orderJpaRepository.cancelOrders(orderIds, CANCELLATION_REASON, cancelledDate);
+        for (OrderJpaEntity order : chunk) {
+            orderEventPort.publishOrderCancelled(order.getOrderId(), order.getCustomerId(), CANCELLATION_REASON, cancelledDate);
+        }
+
+        List<ProductServicePort.StockReservationItem> releases = orderJpaRepository.sumItemQuantitiesByProduct(orderIds)
+            .stream()
+            .map(row -> new ProductServicePort.StockReservationItem((String) row[0], ((Number) row[1]).intValue()))
+            .toList();
+        productServicePort.releaseStockReservations(releases);
+
+        cancelledCounter.increment(chunk.size());
+        releasedUnitsCounter.increment(releases.stream().mapToInt(ProductServicePort.StockReservationItem::getQuantity).sum());
+        logger.debug("Cancelled {} expired orders, released stock for {} products", chunk.size(), releases.size());
+        return chunk.size() == chunkSize;
+    }
+
+    void refreshBacklogMetrics(LocalDateTime cutoffTime) {
+        List<Object[]> summary = orderJpaRepository.summarizeExpired(cutoffTime);
+        Object[] row = summary.isEmpty() ? null : summary.get(0);
+        long expired = row != null && row[0] != null ? ((Number) row[0]).longValue() : 0L;
+        LocalDateTime oldest = row != null ? (LocalDateTime) row[1] : null;
+
+        backlog.set(expired);
+        lagMillis.set(expired > 0 && oldest != null
+            ? Math.max(0L, Duration.between(oldest, cutoffTime).toMillis())
+            : 0L);
+    }
+}
@@ -0,0 +1,185 @@
+package com.ecommerce.order.infrastructure.scheduling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 階層式時間輪
+ * 以 4 層、每層 64 格的時間輪追蹤各個 key 的到期時間；排程、重新排程與取消皆為 O(1)，
+ * 每前進一格只處理該格內到期的 key，較高層的格子在低層轉完一圈時才往下攤分，
+ * 每格的成本與追蹤中的 key 總數無關
+ * 超出最高層範圍的到期時間先放在最高層最晚的格子，轉到時再依實際到期時間重新放置
+ * 非執行緒安全，由呼叫端負責同步
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long HORIZON_TICKS = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final Node<K>[][] wheels;
+    private final Node<K> due = new Node<>(null, 0L);
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        this.wheels = new Node[LEVELS][SLOTS];
+        for (Node<K>[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = new Node<>(null, 0L);
+            }
+        }
+    }
+
+    /**
+     * 排程或重新排程 key 的到期時間（epoch 毫秒），已在追蹤中的 key 以新的到期時間取代
+     */
+    public void schedule(K key, long deadlineMillis) {
+        Node<K> previous = nodes.remove(key);
+        if (previous != null) {
+            previous.unlink();
+        }
+
+        // 無條件進位到下一格，確保不會在到期時間之前被取出
+        Node<K> node = new Node<>(key, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        nodes.put(key, node);
+        if (node.deadlineTick <= currentTick) {
+            due.append(node);
+        } else {
+            place(node);
+        }
+    }
+
+    /**
+     * 取消追蹤
+     * @return key 原本在追蹤中時回傳 true
+     */
+    public boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.unlink();
+        return true;
+    }
+
+    /**
+     * 前進到指定時間並取出所有已到期的 key，取出的 key 不再被追蹤
+     */
+    public List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        drain(due, expired);
+
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            drain(wheels[0][(int) (currentTick & SLOT_MASK)], expired);
+        }
+        return expired;
+    }
+
+    /**
+     * 追蹤中的 key 數量
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    public boolean contains(K key) {
+        return nodes.containsKey(key);
+    }
+
+    // 私有輔助方法
+
+    private void cascade() {
+        // 低層轉完一圈時，把上一層目前這格的 key 依剩餘時間重新放到較低層
+        for (int level = 1; level < LEVELS; level++) {
+            if (((currentTick >> (SLOT_BITS * (level - 1))) & SLOT_MASK) != 0) {
+                return;
+            }
+            Node<K> head = wheels[level][(int) ((currentTick >> (SLOT_BITS * level)) & SLOT_MASK)];
+            Node<K> node = head.next;
+            head.clear();
+            while (node != head) {
+                Node<K> next = node.next;
+                place(node);
+                node = next;
+            }
+        }
+    }
+
+    private void place(Node<K> node) {
+        long deadlineTick = node.deadlineTick;
+        long delta = deadlineTick - currentTick;
+        if (delta >= HORIZON_TICKS) {
+            deadlineTick = currentTick + HORIZON_TICKS - 1;
+            delta = HORIZON_TICKS - 1;
+        }
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        wheels[level][(int) ((deadlineTick >> (SLOT_BITS * level)) & SLOT_MASK)].append(node);
+    }
+
+    private void drain(Node<K> head, List<K> expired) {
+        Node<K> node = head.next;
+        head.clear();
+        while (node != head) {
+            Node<K> next = node.next;
+            node.prev = null;
+            node.next = null;
+            nodes.remove(node.key);
+            expired.add(node.key);
+            node = next;
+        }
+    }
+
+    /**
+     * 雙向環狀串列節點；每個格子以一個不帶 key 的節點作為串列頭
+     */
+    private static final class Node<K> {
+        private final K key;
+        private final long deadlineTick;
+        private Node<K> prev = this;
+        private Node<K> next = this;
+
+        private Node(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+
+        private void append(Node<K> node) {
+            node.prev = prev;
+            node.next = this;
+            prev.next = node;
+            prev = node;
+        }
+
+        private void unlink() {
+            if (prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+
+        private void clear() {
+            prev = this;
+            next = this;
+        }
+    }
+}
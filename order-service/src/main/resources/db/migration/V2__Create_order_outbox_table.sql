@@ -0,0 +1,17 @@
+-- 創建訂單事件 Outbox 表（與訂單同交易寫入，由轉發器批次發布）
+CREATE TABLE order_outbox (
+    outbox_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_id VARCHAR(50) NOT NULL,
+    event_type VARCHAR(200) NOT NULL,
+    exchange_name VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    published_at DATETIME(6),
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    next_attempt_at DATETIME(6) NOT NULL,
+    parked_at DATETIME(6),
+    
+    INDEX idx_order_outbox_pending (published_at, parked_at, next_attempt_at)
+);
@@ -1,5 +1,7 @@
 package com.ecommerce.order.application.usecase;
 
+import com.ecommerce.common.dto.CursorPage;
+import com.ecommerce.common.dto.PageCursor;
 import com.ecommerce.order.application.dto.CreateOrderRequest;
 import com.ecommerce.order.application.dto.OrderDto;
 import com.ecommerce.order.application.port.out.CartPersistencePort;
@@ -85,8 +87,8 @@ class OrderManagementServiceTest {
             Order expectedOrder = createTestOrder();
 
             when(cartPersistencePort.findByCustomerId(CUSTOMER_ID)).thenReturn(Optional.of(cart));
-            when(productServicePort.isProductAvailable(PRODUCT_ID)).thenReturn(true);
-            when(productServicePort.hasAvailableStock(PRODUCT_ID, 1)).thenReturn(true);
+            when(productServicePort.checkAndReserveStock(anyList()))
+                .thenReturn(ProductServicePort.StockReservationResult.reserved());
             when(orderDomainService.calculateShippingFee(any(Order.class))).thenReturn(new BigDecimal("60"));
             when(orderDomainService.calculateTaxAmount(any(Order.class))).thenReturn(new BigDecimal("1798"));
             when(orderPersistencePort.save(any(Order.class))).thenReturn(expectedOrder);
@@ -100,8 +102,12 @@ class OrderManagementServiceTest {
             assertEquals(CUSTOMER_ID, result.getCustomerId());
             assertEquals(OrderStatus.PENDING, result.getStatus());
 
-            // 驗證庫存預留
-            verify(productServicePort).reserveStock(PRODUCT_ID, 1);
+            // 驗證庫存以單一批次請求預留
+            verify(productServicePort).checkAndReserveStock(argThat(items ->
+                items.size() == 1 && PRODUCT_ID.equals(items.get(0).getProductId()) && items.get(0).getQuantity() == 1));
+            verify(productServicePort, never()).isProductAvailable(anyString());
+            verify(productServicePort, never()).hasAvailableStock(anyString(), anyInt());
+            verify(productServicePort, never()).reserveStock(anyString(), anyInt());
             
             // 驗證購物車清空
             verify(cartPersistencePort).save(argThat(savedCart -> savedCart.getCartItems().isEmpty()));
@@ -130,11 +136,16 @@ class OrderManagementServiceTest {
             Cart cart = createTestCart();
 
             when(cartPersistencePort.findByCustomerId(CUSTOMER_ID)).thenReturn(Optional.of(cart));
-            when(productServicePort.isProductAvailable(PRODUCT_ID)).thenReturn(false);
+            when(orderDomainService.calculateShippingFee(any(Order.class))).thenReturn(new BigDecimal("60"));
+            when(orderDomainService.calculateTaxAmount(any(Order.class))).thenReturn(new BigDecimal("1798"));
+            when(productServicePort.checkAndReserveStock(anyList()))
+                .thenReturn(ProductServicePort.StockReservationResult.rejected(List.of(PRODUCT_ID)));
 
             // When & Then
-            assertThrows(InvalidOrderStateException.class, () -> 
+            InvalidOrderStateException exception = assertThrows(InvalidOrderStateException.class, () -> 
                 orderManagementService.createOrderFromCart(CUSTOMER_ID, request));
+            assertTrue(exception.getMessage().contains(PRODUCT_NAME));
+            verify(orderPersistencePort, never()).save(any(Order.class));
         }
 
         @Test
@@ -145,12 +156,15 @@ class OrderManagementServiceTest {
             Cart cart = createTestCart();
 
             when(cartPersistencePort.findByCustomerId(CUSTOMER_ID)).thenReturn(Optional.of(cart));
-            when(productServicePort.isProductAvailable(PRODUCT_ID)).thenReturn(true);
-            when(productServicePort.hasAvailableStock(PRODUCT_ID, 1)).thenReturn(false);
+            when(orderDomainService.calculateShippingFee(any(Order.class))).thenReturn(new BigDecimal("60"));
+            when(orderDomainService.calculateTaxAmount(any(Order.class))).thenReturn(new BigDecimal("1798"));
+            when(productServicePort.checkAndReserveStock(anyList()))
+                .thenReturn(ProductServicePort.StockReservationResult.rejected(List.of(PRODUCT_ID)));
 
             // When & Then
             assertThrows(InvalidOrderStateException.class, () -> 
                 orderManagementService.createOrderFromCart(CUSTOMER_ID, request));
+            verify(cartPersistencePort, never()).save(any(Cart.class));
         }
 
         @Test
@@ -368,6 +382,47 @@ class OrderManagementServiceTest {
             assertEquals(2, result.size());
         }
 
+        @Test
+        @DisplayName("應該以游標分頁取得客戶訂單並回傳下一頁游標")
+        void shouldGetCustomerOrdersPageWithNextCursor() {
+            // Given
+            Order first = createTestOrder();
+            Order second = createTestOrder();
+            Order lookahead = createTestOrder();
+            when(orderPersistencePort.findByCustomerIdBefore(CUSTOMER_ID, null, null, null, 3))
+                .thenReturn(Arrays.asList(first, second, lookahead));
+
+            // When
+            CursorPage<OrderDto> result = orderManagementService.getCustomerOrders(CUSTOMER_ID, null, null, 2, false);
+
+            // Then
+            assertEquals(2, result.getItems().size());
+            assertTrue(result.isHasNext());
+            assertEquals(PageCursor.of(second.getOrderDate(), second.getOrderId()).encode(), result.getNextCursor());
+            assertNull(result.getTotalEstimate());
+            verify(orderPersistencePort, never()).countByCustomerId(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("應該從游標位置接續查詢客戶訂單")
+        void shouldResumeCustomerOrdersFromCursor() {
+            // Given
+            LocalDateTime orderDate = LocalDateTime.of(2025, 3, 1, 10, 0);
+            String cursor = PageCursor.of(orderDate, "ORDER-009").encode();
+            when(orderPersistencePort.findByCustomerIdBefore(CUSTOMER_ID, OrderStatus.PENDING, orderDate, "ORDER-009", 21))
+                .thenReturn(Arrays.asList(createTestOrder()));
+            when(orderPersistencePort.countByCustomerId(CUSTOMER_ID, OrderStatus.PENDING)).thenReturn(21L);
+
+            // When
+            CursorPage<OrderDto> result = orderManagementService.getCustomerOrders(
+                CUSTOMER_ID, OrderStatus.PENDING, cursor, 20, true);
+
+            // Then
+            assertEquals(1, result.getItems().size());
+            assertFalse(result.isHasNext());
+            assertEquals(21L, result.getTotalEstimate());
+        }
+
         @Test
         @DisplayName("應該成功取得客戶指定狀態的訂單")
         void shouldGetCustomerOrdersByStatusSuccessfully() {
@@ -458,7 +513,7 @@ class OrderManagementServiceTest {
     class ExpiredOrderHandlingTest {
 
         @Test
-        @DisplayName("應該成功取消超時訂單並釋放庫存")
+        @DisplayName("應該成功取消超時訂單並批次釋放庫存")
         void shouldCancelExpiredOrdersAndReleaseStock() {
             // Given
             List<Order> expiredOrders = Arrays.asList(createTestOrder(), createTestOrder());
@@ -470,8 +525,12 @@ class OrderManagementServiceTest {
             // Then
             assertEquals(2, result.size());
             
-            // 驗證每個訂單都釋放了庫存
-            verify(productServicePort, times(2)).releaseStockReservation(anyString(), anyInt());
+            // 驗證同一商品的數量彙總後以一次批次請求釋放
+            verify(productServicePort).releaseStockReservations(argThat(items ->
+                items.size() == 1
+                    && "PROD-001".equals(items.get(0).getProductId())
+                    && items.get(0).getQuantity() == 2));
+            verify(productServicePort, never()).releaseStockReservation(anyString(), anyInt());
             
             // 驗證每個訂單都發布了取消事件
             verify(orderEventPort, times(2)).publishOrderCancelled(any(Order.class), eq("自動取消：超時未付款"));
@@ -0,0 +1,56 @@
+package com.ecommerce.order.infrastructure.adapter.messaging;
+
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 測試用的嵌入式 broker 替身
+ * 記錄送出的訊息並依設定立即回覆 publisher confirm（ack / nack / 不回覆 / 連線失敗）
+ */
+class InMemoryRabbitBroker extends RabbitTemplate {
+
+    private final List<Message> delivered = new ArrayList<>();
+    private final Set<String> nackRoutingKeys = new HashSet<>();
+    private final Set<String> silentRoutingKeys = new HashSet<>();
+    private boolean down;
+
+    @Override
+    public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+        if (down) {
+            throw new AmqpConnectException(new ConnectException("broker unavailable"));
+        }
+        if (silentRoutingKeys.contains(routingKey)) {
+            return;
+        }
+        if (nackRoutingKeys.contains(routingKey)) {
+            correlationData.getFuture().complete(new CorrelationData.Confirm(false, "queue full"));
+            return;
+        }
+        delivered.add(message);
+        correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+    }
+
+    void nack(String routingKey) {
+        nackRoutingKeys.add(routingKey);
+    }
+
+    void neverConfirm(String routingKey) {
+        silentRoutingKeys.add(routingKey);
+    }
+
+    void setDown(boolean down) {
+        this.down = down;
+    }
+
+    List<Message> getDelivered() {
+        return delivered;
+    }
+}
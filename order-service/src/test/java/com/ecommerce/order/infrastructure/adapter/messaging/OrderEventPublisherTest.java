@@ -0,0 +1,91 @@
+package com.ecommerce.order.infrastructure.adapter.messaging;
+
+import com.ecommerce.order.domain.model.Order;
+import com.ecommerce.order.domain.model.OrderItem;
+import com.ecommerce.order.infrastructure.adapter.persistence.entity.OrderOutboxJpaEntity;
+import com.ecommerce.order.infrastructure.adapter.persistence.repository.OrderOutboxJpaRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 訂單事件發布器測試
+ * 驗證事件只寫入 Outbox，不直接呼叫 broker
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("訂單事件發布器測試")
+class OrderEventPublisherTest {
+
+    @Mock
+    private OrderOutboxJpaRepository outboxRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private OrderEventPublisher orderEventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        orderEventPublisher = new OrderEventPublisher(outboxRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("訂單建立事件應該寫入 Outbox")
+    void shouldWriteOrderCreatedEventToOutbox() throws Exception {
+        // Given
+        Order order = createTestOrder();
+
+        // When
+        orderEventPublisher.publishOrderCreated(order);
+
+        // Then
+        ArgumentCaptor<OrderOutboxJpaEntity> captor = ArgumentCaptor.forClass(OrderOutboxJpaEntity.class);
+        verify(outboxRepository).save(captor.capture());
+        OrderOutboxJpaEntity outbox = captor.getValue();
+
+        assertEquals(order.getOrderId(), outbox.getAggregateId());
+        assertEquals("order.exchange", outbox.getExchange());
+        assertEquals("order.created", outbox.getRoutingKey());
+        assertEquals(OrderEventPublisher.OrderCreatedEvent.class.getName(), outbox.getEventType());
+        assertNull(outbox.getPublishedAt());
+
+        JsonNode payload = objectMapper.readTree(outbox.getPayload());
+        assertEquals(order.getOrderId(), payload.get("orderId").asText());
+        assertEquals("CUST-001", payload.get("customerId").asText());
+    }
+
+    @Test
+    @DisplayName("每個事件應該使用各自的路由鍵")
+    void shouldUseRoutingKeyPerEvent() {
+        // Given
+        Order order = createTestOrder();
+
+        // When
+        orderEventPublisher.publishOrderCancelled(order, "客戶取消");
+
+        // Then
+        ArgumentCaptor<OrderOutboxJpaEntity> captor = ArgumentCaptor.forClass(OrderOutboxJpaEntity.class);
+        verify(outboxRepository).save(captor.capture());
+        assertEquals("order.cancelled", captor.getValue().getRoutingKey());
+        assertTrue(captor.getValue().getPayload().contains("客戶取消"));
+    }
+
+    private Order createTestOrder() {
+        Order order = Order.create("CUST-001", "Rex Wang", "rex@example.com",
+                                 "台北市信義區信義路五段7號", "台北市信義區信義路五段7號");
+        order.addOrderItem(OrderItem.create("PROD-001", "iPhone 17 Pro",
+                                           new BigDecimal("35900"), 1, "256GB 黑色"));
+        return order;
+    }
+}
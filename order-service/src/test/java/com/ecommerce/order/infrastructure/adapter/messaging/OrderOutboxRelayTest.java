@@ -0,0 +1,221 @@
+package com.ecommerce.order.infrastructure.adapter.messaging;
+
+import com.ecommerce.order.infrastructure.adapter.persistence.entity.OrderOutboxJpaEntity;
+import com.ecommerce.order.infrastructure.adapter.persistence.repository.OrderOutboxJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 訂單事件 Outbox 轉發器測試
+ * 以 InMemoryRabbitBroker 取代真實 RabbitMQ，驗證批次送出、確認與重試行為
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("訂單事件 Outbox 轉發器測試")
+class OrderOutboxRelayTest {
+
+    @Mock
+    private OrderOutboxJpaRepository outboxRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final InMemoryRabbitBroker broker = new InMemoryRabbitBroker();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrderOutboxRelay createRelay(int batchSize) {
+        return new OrderOutboxRelay(outboxRepository, broker, transactionManager, meterRegistry,
+            batchSize, Duration.ofMillis(50), Duration.ofHours(24), 3, Duration.ofSeconds(1), Duration.ofMinutes(10));
+    }
+
+    @Nested
+    @DisplayName("批次轉發測試")
+    class RelayBatchTest {
+
+        @Test
+        @DisplayName("broker 確認後應該一次標記整批為已發布")
+        void shouldMarkConfirmedEventsAsPublished() {
+            // Given
+            OrderOutboxRelay relay = createRelay(10);
+            OrderOutboxJpaEntity created = outboxEvent(1L, "order.created");
+            OrderOutboxJpaEntity paid = outboxEvent(2L, "order.paid");
+            when(outboxRepository.lockPendingBatch(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(created, paid));
+
+            // When
+            boolean more = relay.relayBatch();
+
+            // Then
+            assertFalse(more);
+            verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+            assertEquals(2, broker.getDelivered().size());
+
+            Message message = broker.getDelivered().get(0);
+            MessageProperties properties = message.getMessageProperties();
+            assertEquals(MessageProperties.CONTENT_TYPE_JSON, properties.getContentType());
+            assertEquals("order-outbox-1", properties.getMessageId());
+            assertEquals(created.getEventType(), properties.getHeaders().get("__TypeId__"));
+            assertEquals(created.getPayload(), new String(message.getBody(), StandardCharsets.UTF_8));
+            assertEquals(2.0, meterRegistry.get("order.outbox.published").counter().count());
+        }
+
+        @Test
+        @DisplayName("被拒絕的事件應該保留待送並記錄失敗原因")
+        void shouldKeepNackedEventPending() {
+            // Given
+            OrderOutboxRelay relay = createRelay(2);
+            OrderOutboxJpaEntity created = outboxEvent(1L, "order.created");
+            OrderOutboxJpaEntity paid = outboxEvent(2L, "order.paid");
+            broker.nack("order.paid");
+            when(outboxRepository.lockPendingBatch(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(created, paid));
+
+            // When
+            boolean more = relay.relayBatch();
+
+            // Then
+            assertFalse(more);
+            verify(outboxRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+            assertNull(paid.getPublishedAt());
+            assertEquals(1, paid.getAttempts());
+            assertTrue(paid.getLastError().contains("queue full"));
+            assertTrue(paid.getNextAttemptAt().isAfter(LocalDateTime.now()));
+            assertFalse(paid.isParked());
+            assertEquals(1.0, meterRegistry.get("order.outbox.publish.failures").counter().count());
+        }
+
+        @Test
+        @DisplayName("達到重試上限的事件應該被擱置且不再重送")
+        void shouldParkEventAfterMaxAttempts() {
+            // Given
+            OrderOutboxRelay relay = createRelay(10);
+            OrderOutboxJpaEntity poison = outboxEvent(4L, "order.cancelled");
+            poison.setAttempts(2);
+            broker.nack("order.cancelled");
+            when(outboxRepository.lockPendingBatch(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(poison));
+
+            // When
+            relay.relayBatch();
+
+            // Then
+            verify(outboxRepository, never()).markPublished(anyList(), any());
+            assertTrue(poison.isParked());
+            assertEquals(3, poison.getAttempts());
+            assertEquals(1.0, meterRegistry.get("order.outbox.parked.events").counter().count());
+        }
+
+        @Test
+        @DisplayName("確認逾時的事件應該等待下次重送")
+        void shouldTreatMissingConfirmAsFailure() {
+            // Given
+            OrderOutboxRelay relay = createRelay(10);
+            OrderOutboxJpaEntity shipped = outboxEvent(3L, "order.shipped");
+            broker.neverConfirm("order.shipped");
+            when(outboxRepository.lockPendingBatch(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(shipped));
+
+            // When
+            relay.relayBatch();
+
+            // Then
+            verify(outboxRepository, never()).markPublished(anyList(), any());
+            assertEquals(1, shipped.getAttempts());
+            assertTrue(shipped.getLastError().contains("timeout"));
+        }
+
+        @Test
+        @DisplayName("broker 無法連線時不應該標記任何事件")
+        void shouldKeepAllEventsPendingWhenBrokerIsDown() {
+            // Given
+            OrderOutboxRelay relay = createRelay(10);
+            OrderOutboxJpaEntity created = outboxEvent(1L, "order.created");
+            broker.setDown(true);
+            when(outboxRepository.lockPendingBatch(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(created));
+
+            // When
+            relay.relayBatch();
+
+            // Then
+            verify(outboxRepository, never()).markPublished(anyList(), any());
+            assertEquals(1, created.getAttempts());
+            assertTrue(broker.getDelivered().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("排程轉發測試")
+    class RelayPendingEventsTest {
+
+        @Test
+        @DisplayName("批次已滿時應該繼續處理下一批直到積壓清空")
+        void shouldDrainBacklogAcrossBatches() {
+            // Given
+            OrderOutboxRelay relay = createRelay(2);
+            when(outboxRepository.lockPendingBatch(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(outboxEvent(1L, "order.created"), outboxEvent(2L, "order.confirmed")))
+                .thenReturn(List.of(outboxEvent(3L, "order.paid")));
+            when(outboxRepository.summarizePending()).thenReturn(Collections.singletonList(new Object[]{0L, null}));
+
+            // When
+            relay.relayPendingEvents();
+
+            // Then
+            verify(outboxRepository, times(2)).lockPendingBatch(any(LocalDateTime.class), any(Pageable.class));
+            assertEquals(3, broker.getDelivered().size());
+            assertEquals(0.0, meterRegistry.get("order.outbox.backlog").gauge().value());
+        }
+
+        @Test
+        @DisplayName("重送延遲應該隨失敗次數加倍且不超過上限")
+        void shouldBackOffExponentially() {
+            // Given
+            OrderOutboxRelay relay = createRelay(10);
+
+            // When & Then
+            assertEquals(Duration.ofSeconds(1), relay.backoffAfter(1));
+            assertEquals(Duration.ofSeconds(2), relay.backoffAfter(2));
+            assertEquals(Duration.ofSeconds(8), relay.backoffAfter(4));
+            assertEquals(Duration.ofMinutes(10), relay.backoffAfter(20));
+        }
+
+        @Test
+        @DisplayName("應該以最早待送事件計算延遲指標")
+        void shouldExposeBacklogAndLag() {
+            // Given
+            OrderOutboxRelay relay = createRelay(10);
+            LocalDateTime oldest = LocalDateTime.now().minusSeconds(30);
+            when(outboxRepository.summarizePending()).thenReturn(Collections.singletonList(new Object[]{5L, oldest}));
+            when(outboxRepository.countParked()).thenReturn(2L);
+
+            // When
+            relay.refreshBacklogMetrics();
+
+            // Then
+            assertEquals(5.0, meterRegistry.get("order.outbox.backlog").gauge().value());
+            assertEquals(2.0, meterRegistry.get("order.outbox.parked").gauge().value());
+            assertTrue(meterRegistry.get("order.outbox.lag").gauge().value() >= 30.0);
+        }
+    }
+
+    private OrderOutboxJpaEntity outboxEvent(Long outboxId, String routingKey) {
+        OrderOutboxJpaEntity event = new OrderOutboxJpaEntity(
+            "ORDER-" + outboxId, OrderEventPublisher.OrderCreatedEvent.class.getName(),
+            "order.exchange", routingKey, "{\"orderId\":\"ORDER-" + outboxId + "\"}");
+        event.setOutboxId(outboxId);
+        return event;
+    }
+}
@@ -0,0 +1,160 @@
+package com.ecommerce.order.infrastructure.adapter.persistence;
+
+import com.ecommerce.order.domain.model.Cart;
+import com.ecommerce.order.infrastructure.adapter.persistence.mapper.CartRedisMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 購物車 Redis 適配器測試
+ * 以 InMemoryCartHashRepository 取代真實 Redis，驗證雜湊欄位、客戶索引與過期行為
+ */
+@DisplayName("購物車 Redis 適配器測試")
+class CartRedisAdapterTest {
+
+    private static final String CUSTOMER_ID = "CUST-001";
+
+    private final InMemoryCartHashRepository cartHashRepository = new InMemoryCartHashRepository();
+    private final CartRedisAdapter cartRedisAdapter = new CartRedisAdapter(cartHashRepository);
+
+    @Test
+    @DisplayName("儲存後應能以客戶ID取回相同內容的購物車")
+    void shouldRestoreSavedCartByCustomerId() {
+        // Given
+        Cart cart = createCart();
+
+        // When
+        cartRedisAdapter.save(cart);
+        Optional<Cart> found = cartRedisAdapter.findByCustomerId(CUSTOMER_ID);
+
+        // Then
+        assertTrue(found.isPresent());
+        Cart restored = found.get();
+        assertEquals(cart.getCartId(), restored.getCartId());
+        assertEquals(CUSTOMER_ID, restored.getCustomerId());
+        assertEquals(new BigDecimal("1100.00"), restored.getTotalAmount());
+        assertEquals(cart.getExpiryDate(), restored.getExpiryDate());
+        assertEquals(List.of("PROD-001", "PROD-002"),
+            restored.getCartItems().stream().map(Cart.CartItem::getProductId).toList());
+
+        Cart.CartItem original = cart.findCartItemByProductId("PROD-001");
+        Cart.CartItem restoredItem = restored.findCartItemByProductId("PROD-001");
+        assertEquals(original.getCartItemId(), restoredItem.getCartItemId());
+        assertEquals(cart.getCartId(), restoredItem.getCartId());
+        assertEquals(2, restoredItem.getQuantity());
+        assertEquals(new BigDecimal("1000.00"), restoredItem.getTotalPrice());
+        assertEquals("黑色", restoredItem.getProductSpecifications());
+    }
+
+    @Test
+    @DisplayName("每個商品項目應存在各自的欄位，異動一項不改寫其他項目")
+    void shouldStoreEachItemInItsOwnField() {
+        // Given
+        Cart cart = createCart();
+        cartRedisAdapter.save(cart);
+        String untouchedItem = cartHashRepository.findFields(cart.getCartId())
+            .get(CartRedisMapper.itemField("PROD-002"));
+
+        // When
+        cart.updateItemQuantity("PROD-001", 5);
+        cartRedisAdapter.save(cart);
+
+        // Then
+        Map<String, String> fields = cartHashRepository.findFields(cart.getCartId());
+        assertEquals(untouchedItem, fields.get(CartRedisMapper.itemField("PROD-002")));
+        assertEquals(5, cartRedisAdapter.findById(cart.getCartId()).get()
+            .findCartItemByProductId("PROD-001").getQuantity());
+    }
+
+    @Test
+    @DisplayName("移除商品後應刪除該商品的欄位")
+    void shouldRemoveFieldOfRemovedItem() {
+        // Given
+        Cart cart = createCart();
+        cartRedisAdapter.save(cart);
+
+        // When
+        cart.removeItem("PROD-001");
+        cartRedisAdapter.save(cart);
+
+        // Then
+        Map<String, String> fields = cartHashRepository.findFields(cart.getCartId());
+        assertFalse(fields.containsKey(CartRedisMapper.itemField("PROD-001")));
+        assertTrue(fields.containsKey(CartRedisMapper.itemField("PROD-002")));
+        assertEquals(new BigDecimal("100.00"), cartRedisAdapter.findById(cart.getCartId()).get().getTotalAmount());
+    }
+
+    @Test
+    @DisplayName("到期時間後購物車與客戶索引應自動過期")
+    void shouldExpireCartAtExpiryDate() {
+        // Given
+        Cart cart = createCart();
+        cartRedisAdapter.save(cart);
+
+        // When
+        cartHashRepository.advanceTo(cart.getExpiryDate().atZone(ZoneId.systemDefault()).toInstant());
+
+        // Then
+        assertFalse(cartRedisAdapter.existsById(cart.getCartId()));
+        assertFalse(cartRedisAdapter.existsByCustomerId(CUSTOMER_ID));
+        assertTrue(cartRedisAdapter.findByCustomerId(CUSTOMER_ID).isEmpty());
+    }
+
+    @Test
+    @DisplayName("延長到期時間後應依新的到期時間過期")
+    void shouldFollowExtendedExpiryDate() {
+        // Given
+        Cart cart = createCart();
+        cartRedisAdapter.save(cart);
+        Instant originalExpiry = cart.getExpiryDate().atZone(ZoneId.systemDefault()).toInstant();
+
+        // When
+        cart.extendExpiry(30);
+        cartRedisAdapter.save(cart);
+        cartHashRepository.advanceTo(originalExpiry);
+
+        // Then
+        assertTrue(cartRedisAdapter.existsById(cart.getCartId()));
+    }
+
+    @Test
+    @DisplayName("根據購物車ID刪除時應一併刪除客戶索引")
+    void shouldDeleteCartAndCustomerIndex() {
+        // Given
+        Cart cart = createCart();
+        cartRedisAdapter.save(cart);
+
+        // When
+        cartRedisAdapter.deleteById(cart.getCartId());
+
+        // Then
+        assertFalse(cartRedisAdapter.existsById(cart.getCartId()));
+        assertFalse(cartRedisAdapter.existsByCustomerId(CUSTOMER_ID));
+        assertEquals(0, cartHashRepository.getStoredCartCount());
+    }
+
+    @Test
+    @DisplayName("查詢不存在的購物車時應回傳空值")
+    void shouldReturnEmptyWhenCartNotFound() {
+        assertTrue(cartRedisAdapter.findById("CART-NONEXISTENT").isEmpty());
+        assertTrue(cartRedisAdapter.findByCustomerId("CUST-NONEXISTENT").isEmpty());
+    }
+
+    // 輔助方法
+
+    private Cart createCart() {
+        Cart cart = Cart.create(CUSTOMER_ID);
+        cart.addItem("PROD-001", "iPhone 保護殼", new BigDecimal("500.00"), 2, "黑色");
+        cart.addItem("PROD-002", "充電線", new BigDecimal("100.00"), 1, null);
+        return cart;
+    }
+}
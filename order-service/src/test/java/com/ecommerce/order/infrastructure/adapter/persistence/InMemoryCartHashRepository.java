@@ -0,0 +1,87 @@
+package com.ecommerce.order.infrastructure.adapter.persistence;
+
+import com.ecommerce.order.infrastructure.adapter.persistence.repository.CartHashRepository;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 測試用的 Redis 替身
+ * 以與 Lua 腳本相同的語意保存購物車雜湊與客戶索引，並依可調整的目前時間判斷過期
+ */
+class InMemoryCartHashRepository implements CartHashRepository {
+
+    private final Map<String, Map<String, String>> carts = new HashMap<>();
+    private final Map<String, Instant> cartExpiries = new HashMap<>();
+    private final Map<String, String> customerIndex = new HashMap<>();
+    private final Map<String, Instant> customerExpiries = new HashMap<>();
+    private Instant now = Instant.now();
+
+    @Override
+    public Map<String, String> findFields(String cartId) {
+        purgeExpired();
+        return new LinkedHashMap<>(carts.getOrDefault(cartId, Map.of()));
+    }
+
+    @Override
+    public Optional<String> findCartIdByCustomerId(String customerId) {
+        purgeExpired();
+        return Optional.ofNullable(customerIndex.get(customerId));
+    }
+
+    @Override
+    public void save(String cartId, String customerId, Map<String, String> fields, Instant expireAt) {
+        Map<String, String> hash = carts.computeIfAbsent(cartId, id -> new LinkedHashMap<>());
+        hash.keySet().removeIf(field -> field.startsWith(ITEM_FIELD_PREFIX) && !fields.containsKey(field));
+        hash.putAll(fields);
+        cartExpiries.put(cartId, expireAt);
+        customerIndex.put(customerId, cartId);
+        customerExpiries.put(customerId, expireAt);
+        purgeExpired();
+    }
+
+    @Override
+    public void delete(String cartId, String customerId) {
+        carts.remove(cartId);
+        cartExpiries.remove(cartId);
+        if (cartId.equals(customerIndex.get(customerId))) {
+            customerIndex.remove(customerId);
+            customerExpiries.remove(customerId);
+        }
+    }
+
+    @Override
+    public boolean existsById(String cartId) {
+        purgeExpired();
+        return carts.containsKey(cartId);
+    }
+
+    void advanceTo(Instant now) {
+        this.now = now;
+    }
+
+    int getStoredCartCount() {
+        purgeExpired();
+        return carts.size();
+    }
+
+    private void purgeExpired() {
+        cartExpiries.entrySet().removeIf(entry -> {
+            boolean expired = !entry.getValue().isAfter(now);
+            if (expired) {
+                carts.remove(entry.getKey());
+            }
+            return expired;
+        });
+        customerExpiries.entrySet().removeIf(entry -> {
+            boolean expired = !entry.getValue().isAfter(now);
+            if (expired) {
+                customerIndex.remove(entry.getKey());
+            }
+            return expired;
+        });
+    }
+}
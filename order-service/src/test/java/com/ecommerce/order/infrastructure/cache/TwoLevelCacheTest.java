@@ -0,0 +1,319 @@
+package com.ecommerce.order.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 兩層快取測試
+ * 以 ConcurrentMapCache 取代 Redis 作為 L2，驗證 L1 回填、存活時間、容量上限與失效通知
+ */
+@DisplayName("兩層快取測試")
+class TwoLevelCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountingCache remoteCache = new CountingCache("carts");
+    private final RecordingPublisher publisher = new RecordingPublisher();
+    private final AtomicLong ticker = new AtomicLong();
+
+    @Nested
+    @DisplayName("讀取測試")
+    class ReadTest {
+
+        @Test
+        @DisplayName("L2 命中後應回填 L1，之後的讀取不再查詢 L2")
+        void shouldBackfillLocalCacheFromRemoteHit() {
+            // Given
+            TwoLevelCache cache = createCache(10, Duration.ofSeconds(30));
+            remoteCache.put("CART-1", cartItems("P1"));
+
+            // When
+            Cache.ValueWrapper first = cache.get("CART-1");
+            Cache.ValueWrapper second = cache.get("CART-1");
+
+            // Then
+            assertEquals(cartItems("P1"), first.get());
+            assertEquals(cartItems("P1"), second.get());
+            assertEquals(1, remoteCache.lookups);
+            assertEquals(1.0, requestCount("local", "hit"));
+            assertEquals(1.0, requestCount("local", "miss"));
+            assertEquals(1.0, requestCount("remote", "hit"));
+            assertEquals(0.5, meterRegistry.get("order.cache.hit.ratio").tag("level", "local").gauge().value());
+        }
+
+        @Test
+        @DisplayName("兩層都未命中時應回傳 null 且不回填 L1")
+        void shouldReturnNullWhenBothLevelsMiss() {
+            // Given
+            TwoLevelCache cache = createCache(10, Duration.ofSeconds(30));
+
+            // When
+            Cache.ValueWrapper result = cache.get("CART-404");
+
+            // Then
+            assertNull(result);
+            assertEquals(0, cache.getLocalSize());
+            assertEquals(1.0, requestCount("remote", "miss"));
+        }
+
+        @Test
+        @DisplayName("L1 每次命中都應回傳獨立的副本")
+        @SuppressWarnings("unchecked")
+        void shouldReturnIndependentCopyOnLocalHit() {
+            // Given
+            TwoLevelCache cache = createCache(10, Duration.ofSeconds(30));
+            cache.put("CART-1", cartItems("P1"));
+
+            // When
+            List<String> first = (List<String>) cache.get("CART-1").get();
+            first.add("P2");
+
+            // Then
+            assertEquals(cartItems("P1"), cache.get("CART-1").get());
+        }
+
+        @Test
+        @DisplayName("L1 項目超過存活時間後應重新查詢 L2")
+        void shouldReloadFromRemoteAfterLocalTimeToLive() {
+            // Given
+            TwoLevelCache cache = createCache(10, Duration.ofSeconds(30));
+            remoteCache.put("CART-1", cartItems("P1"));
+            cache.get("CART-1");
+
+            // When
+            ticker.addAndGet(TimeUnit.SECONDS.toNanos(30));
+            cache.get("CART-1");
+
+            // Then
+            assertEquals(2, remoteCache.lookups);
+        }
+
+        @Test
+        @DisplayName("L1 超過容量上限時應淘汰最久未使用的項目")
+        void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+            // Given
+            TwoLevelCache cache = createCache(2, Duration.ofSeconds(30));
+            cache.put("CART-1", cartItems("P1"));
+            cache.put("CART-2", cartItems("P2"));
+            cache.get("CART-1");
+
+            // When
+            cache.put("CART-3", cartItems("P3"));
+            cache.get("CART-1");
+            cache.get("CART-2");
+
+            // Then
+            assertEquals(2, cache.getLocalSize());
+            assertEquals(1, remoteCache.lookups);
+        }
+
+        @Test
+        @DisplayName("讀取 L2 期間發生失效時不應把讀到的舊值回填 L1")
+        void shouldNotBackfillValueReadBeforeConcurrentInvalidation() {
+            // Given
+            TwoLevelCache cache = createCache(10, Duration.ofSeconds(30));
+            remoteCache.put("CART-1", cartItems("P1"));
+            remoteCache.onLookup = () -> cache.evictLocal("CART-1");
+
+            // When
+            cache.get("CART-1");
+            remoteCache.onLookup = null;
+            cache.get("CART-1");
+
+            // Then
+            assertEquals(2, remoteCache.lookups);
+        }
+    }
+
+    @Nested
+    @DisplayName("寫入與清除測試")
+    class WriteTest {
+
+        @Test
+        @DisplayName("清除快取鍵時應同時清除兩層並只通知該鍵")
+        void shouldEvictBothLevelsAndPublishKey() {
+            // Given
+            TwoLevelCache cache = createCache(10, Duration.ofSeconds(30));
+            cache.put("CART-1", cartItems("P1"));
+            cache.put("CART-2", cartItems("P2"));
+            publisher.messages.clear();
+
+            // When
+            cache.evict("CART-1");
+
+            // Then
+            assertNull(remoteCache.get("CART-1"));
+            assertNotNull(remoteCache.get("CART-2"));
+            assertEquals(1, cache.getLocalSize());
+            assertEquals(List.of("evict:carts:CART-1"), publisher.messages);
+        }
+
+        @Test
+        @DisplayName("寫入時應更新兩層並通知其他實例")
+        void shouldPutBothLevelsAndPublishKey() {
+            // Given
+            TwoLevelCache cache = createCache(10, Duration.ofSeconds(30));
+
+            // When
+            cache.put("CART-1", cartItems("P1"));
+
+            // Then
+            assertEquals(cartItems("P1"), remoteCache.get("CART-1").get());
+            assertEquals(1, cache.getLocalSize());
+            assertEquals(List.of("evict:carts:CART-1"), publisher.messages);
+        }
+
+        @Test
+        @DisplayName("只移除 L1 時下次讀取應回到 L2 且不發出通知")
+        void shouldOnlyDropLocalEntryOnRemoteInvalidation() {
+            // Given
+            TwoLevelCache cache = createCache(10, Duration.ofSeconds(30));
+            cache.put("CART-1", cartItems("P1"));
+            publisher.messages.clear();
+
+            // When
+            cache.evictLocal("CART-1");
+            Cache.ValueWrapper result = cache.get("CART-1");
+
+            // Then
+            assertEquals(cartItems("P1"), result.get());
+            assertEquals(1, remoteCache.lookups);
+            assertTrue(publisher.messages.isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("跨實例失效測試")
+    class CrossInstanceTest {
+
+        @Test
+        @DisplayName("一個實例清除快取鍵後，其他實例的 L1 應一併移除")
+        void shouldInvalidateOtherInstancesLocalCache() {
+            // Given
+            ConcurrentMapCacheManager sharedRedis = new ConcurrentMapCacheManager();
+            InMemoryPubSub pubSub = new InMemoryPubSub();
+            TwoLevelCacheManager instanceA = pubSub.join(sharedRedis);
+            TwoLevelCacheManager instanceB = pubSub.join(sharedRedis);
+
+            instanceA.getCache("carts").put("CART-1", cartItems("P1"));
+            assertEquals(cartItems("P1"), instanceB.getCache("carts").get("CART-1").get());
+
+            // When
+            instanceA.getCache("carts").put("CART-1", cartItems("P1", "P2"));
+
+            // Then
+            assertEquals(cartItems("P1", "P2"), instanceB.getCache("carts").get("CART-1").get());
+        }
+
+        @Test
+        @DisplayName("清空快取時其他實例的 L1 應全部移除")
+        void shouldClearOtherInstancesLocalCache() {
+            // Given
+            ConcurrentMapCacheManager sharedRedis = new ConcurrentMapCacheManager();
+            InMemoryPubSub pubSub = new InMemoryPubSub();
+            TwoLevelCacheManager instanceA = pubSub.join(sharedRedis);
+            TwoLevelCacheManager instanceB = pubSub.join(sharedRedis);
+            instanceA.getCache("carts").put("CART-1", cartItems("P1"));
+            instanceB.getCache("carts").get("CART-1");
+
+            // When
+            instanceA.getCache("carts").clear();
+
+            // Then
+            assertNull(instanceB.getCache("carts").get("CART-1"));
+        }
+    }
+
+    // 輔助方法
+
+    private TwoLevelCache createCache(int maxEntries, Duration timeToLive) {
+        return new TwoLevelCache("carts", remoteCache, new JdkSerializationRedisSerializer(), publisher,
+            maxEntries, timeToLive, meterRegistry, ticker::get);
+    }
+
+    private double requestCount(String level, String result) {
+        return meterRegistry.get("order.cache.requests").tag("level", level).tag("result", result).counter().count();
+    }
+
+    private static ArrayList<String> cartItems(String... productIds) {
+        return new ArrayList<>(List.of(productIds));
+    }
+
+    /**
+     * 記錄查詢次數的 L2，可在查詢時插入動作模擬併發失效
+     */
+    private static class CountingCache extends ConcurrentMapCache {
+
+        private int lookups;
+        private Runnable onLookup;
+
+        CountingCache(String name) {
+            super(name, false);
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            lookups++;
+            if (onLookup != null) {
+                onLookup.run();
+            }
+            return super.lookup(key);
+        }
+    }
+
+    private static class RecordingPublisher implements CacheInvalidationPublisher {
+
+        private final List<String> messages = new ArrayList<>();
+
+        @Override
+        public void publishEvict(String cacheName, Object key) {
+            messages.add("evict:" + cacheName + ":" + key);
+        }
+
+        @Override
+        public void publishClear(String cacheName) {
+            messages.add("clear:" + cacheName);
+        }
+    }
+
+    /**
+     * 以同步投遞取代 Redis pub/sub，每個加入的實例都會收到所有訊息（包含自己發出的）
+     */
+    private class InMemoryPubSub {
+
+        private final List<TwoLevelCacheManager> subscribers = new ArrayList<>();
+
+        TwoLevelCacheManager join(ConcurrentMapCacheManager sharedRedis) {
+            StringRedisTemplate template = new StringRedisTemplate() {
+                @Override
+                public Long convertAndSend(String channel, Object message) {
+                    DefaultMessage redisMessage = new DefaultMessage(
+                        channel.getBytes(StandardCharsets.UTF_8),
+                        message.toString().getBytes(StandardCharsets.UTF_8));
+                    subscribers.forEach(subscriber -> subscriber.onMessage(redisMessage, null));
+                    return (long) subscribers.size();
+                }
+            };
+            TwoLevelCacheManager manager = new TwoLevelCacheManager(sharedRedis, new JdkSerializationRedisSerializer(),
+                template, meterRegistry, 10, Duration.ofMinutes(5));
+            subscribers.add(manager);
+            return manager;
+        }
+    }
+}
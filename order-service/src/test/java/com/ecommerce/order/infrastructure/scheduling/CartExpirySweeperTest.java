@@ -0,0 +1,90 @@
+package com.ecommerce.order.infrastructure.scheduling;
+
+import com.ecommerce.order.infrastructure.adapter.persistence.CartJpaAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 過期購物車清除器測試
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("過期購物車清除器測試")
+class CartExpirySweeperTest {
+
+    @Mock
+    private CartExpiryTracker cartExpiryTracker;
+    @Mock
+    private CartJpaAdapter cartJpaAdapter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CartExpirySweeper createSweeper(int batchSize) {
+        return new CartExpirySweeper(cartExpiryTracker, cartJpaAdapter, meterRegistry, batchSize);
+    }
+
+    @Test
+    @DisplayName("被其他交易鎖定而跳過的購物車應該重新排入時間輪")
+    void shouldRetrySkippedCarts() {
+        // Given
+        CartExpirySweeper sweeper = createSweeper(10);
+        when(cartExpiryTracker.pollExpired()).thenReturn(List.of("CART-1", "CART-2", "CART-3"));
+        when(cartJpaAdapter.deleteExpiredCarts(List.of("CART-1", "CART-2", "CART-3")))
+            .thenReturn(new CartJpaAdapter.ExpiredCartDeletion(2, List.of("CART-2")));
+
+        // When
+        sweeper.expireDueCarts();
+
+        // Then
+        verify(cartExpiryTracker).retryLater(eq(List.of("CART-2")), any(Duration.class));
+        assertEquals(2.0, meterRegistry.get("order.cart.expiry.deleted").counter().count());
+        assertEquals(0.0, meterRegistry.get("order.cart.expiry.failures").counter().count());
+    }
+
+    @Test
+    @DisplayName("全部刪除時不應該重新排入時間輪")
+    void shouldNotRetryWhenAllCartsDeleted() {
+        // Given
+        CartExpirySweeper sweeper = createSweeper(10);
+        when(cartExpiryTracker.pollExpired()).thenReturn(List.of("CART-1"));
+        when(cartJpaAdapter.deleteExpiredCarts(List.of("CART-1")))
+            .thenReturn(new CartJpaAdapter.ExpiredCartDeletion(1, List.of()));
+
+        // When
+        sweeper.expireDueCarts();
+
+        // Then
+        verify(cartExpiryTracker, never()).retryLater(anyList(), any(Duration.class));
+        assertEquals(1.0, meterRegistry.get("order.cart.expiry.deleted").counter().count());
+    }
+
+    @Test
+    @DisplayName("刪除失敗時應該將整批購物車重新排入時間輪")
+    void shouldRetryWholeBatchWhenDeleteFails() {
+        // Given
+        CartExpirySweeper sweeper = createSweeper(2);
+        when(cartExpiryTracker.pollExpired()).thenReturn(List.of("CART-1", "CART-2", "CART-3"));
+        when(cartJpaAdapter.deleteExpiredCarts(List.of("CART-1", "CART-2")))
+            .thenThrow(new IllegalStateException("database unavailable"));
+        when(cartJpaAdapter.deleteExpiredCarts(List.of("CART-3")))
+            .thenReturn(new CartJpaAdapter.ExpiredCartDeletion(1, List.of()));
+
+        // When
+        sweeper.expireDueCarts();
+
+        // Then
+        verify(cartExpiryTracker).retryLater(eq(List.of("CART-1", "CART-2")), any(Duration.class));
+        assertEquals(1.0, meterRegistry.get("order.cart.expiry.deleted").counter().count());
+        assertEquals(2.0, meterRegistry.get("order.cart.expiry.failures").counter().count());
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.order.infrastructure.scheduling;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 購物車到期 JMH 基準測試
+ * 比較時間輪每前進一格的成本與每次掃描全部到期時間的成本；購物車到期時間平均分布在 7 天內，
+ * 到期的購物車以新的到期時間重新排程，維持追蹤數量不變
+ * 時間輪每格的成本只隨該格到期的數量變化，全表掃描的成本隨購物車總數線性成長
+ * 執行方式：./gradlew :order-service:jmhCartExpiry
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CartExpiryWheelBenchmark {
+
+    private static final long TICK_MILLIS = 1000L;
+    private static final long CART_LIFETIME_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    @Param({"100000", "1000000", "4000000"})
+    public int carts;
+
+    private HierarchicalTimingWheel<String> wheel;
+    private long wheelNow;
+
+    private String[] scanCartIds;
+    private long[] scanDeadlines;
+    private long scanNow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 0L);
+        scanCartIds = new String[carts];
+        scanDeadlines = new long[carts];
+        for (int i = 0; i < carts; i++) {
+            String cartId = String.format("CART-%08d", i);
+            long deadline = 1 + (long) (random.nextDouble() * CART_LIFETIME_MILLIS);
+            wheel.schedule(cartId, deadline);
+            scanCartIds[i] = cartId;
+            scanDeadlines[i] = deadline;
+        }
+        wheelNow = 0L;
+        scanNow = 0L;
+    }
+
+    @Benchmark
+    public void timingWheelTick(Blackhole blackhole) {
+        wheelNow += TICK_MILLIS;
+        List<String> expired = wheel.advance(wheelNow);
+        for (String cartId : expired) {
+            wheel.schedule(cartId, wheelNow + CART_LIFETIME_MILLIS);
+        }
+        blackhole.consume(expired);
+    }
+
+    @Benchmark
+    public void fullScanTick(Blackhole blackhole) {
+        scanNow += TICK_MILLIS;
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < scanDeadlines.length; i++) {
+            if (scanDeadlines[i] <= scanNow) {
+                expired.add(scanCartIds[i]);
+                scanDeadlines[i] = scanNow + CART_LIFETIME_MILLIS;
+            }
+        }
+        blackhole.consume(expired);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CartExpiryWheelBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
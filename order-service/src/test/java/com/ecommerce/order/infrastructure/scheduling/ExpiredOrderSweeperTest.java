@@ -0,0 +1,197 @@
+package com.ecommerce.order.infrastructure.scheduling;
+
+import com.ecommerce.order.application.port.out.OrderEventPort;
+import com.ecommerce.order.application.port.out.ProductServicePort;
+import com.ecommerce.order.infrastructure.adapter.persistence.entity.OrderJpaEntity;
+import com.ecommerce.order.infrastructure.adapter.persistence.repository.OrderJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 逾時訂單清除器測試
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("逾時訂單清除器測試")
+class ExpiredOrderSweeperTest {
+
+    @Mock
+    private OrderJpaRepository orderJpaRepository;
+    @Mock
+    private OrderEventPort orderEventPort;
+    @Mock
+    private ProductServicePort productServicePort;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ExpiredOrderSweeper createSweeper(int chunkSize) {
+        return new ExpiredOrderSweeper(orderJpaRepository, orderEventPort, productServicePort,
+            transactionManager, meterRegistry, chunkSize, 30);
+    }
+
+    @Nested
+    @DisplayName("批次取消測試")
+    class SweepChunkTest {
+
+        @Test
+        @DisplayName("應該以單一 UPDATE 取消整批訂單並以一次請求釋放彙總後的庫存")
+        void shouldCancelChunkAndReleaseAggregatedStock() {
+            // Given
+            ExpiredOrderSweeper sweeper = createSweeper(10);
+            LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(30);
+            when(orderJpaRepository.lockExpiredBatch(eq(cutoffTime), any(Pageable.class)))
+                .thenReturn(List.of(expiredOrder("ORDER-1", "CUST-1"), expiredOrder("ORDER-2", "CUST-2")));
+            when(orderJpaRepository.sumItemQuantitiesByProduct(List.of("ORDER-1", "ORDER-2")))
+                .thenReturn(List.of(new Object[]{"PROD-001", 3L}, new Object[]{"PROD-002", 1L}));
+
+            // When
+            boolean more = sweeper.sweepChunk(cutoffTime);
+
+            // Then
+            assertFalse(more);
+            verify(orderJpaRepository).cancelOrders(eq(List.of("ORDER-1", "ORDER-2")),
+                eq(ExpiredOrderSweeper.CANCELLATION_REASON), any(LocalDateTime.class));
+            verify(orderEventPort).publishOrderCancelled(eq("ORDER-1"), eq("CUST-1"),
+                eq(ExpiredOrderSweeper.CANCELLATION_REASON), any(LocalDateTime.class));
+            verify(orderEventPort).publishOrderCancelled(eq("ORDER-2"), eq("CUST-2"),
+                eq(ExpiredOrderSweeper.CANCELLATION_REASON), any(LocalDateTime.class));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<ProductServicePort.StockReservationItem>> releases = ArgumentCaptor.forClass(List.class);
+            verify(productServicePort).releaseStockReservations(releases.capture());
+            assertEquals(List.of("PROD-001", "PROD-002"),
+                releases.getValue().stream().map(ProductServicePort.StockReservationItem::getProductId).toList());
+            assertEquals(3, releases.getValue().get(0).getQuantity());
+            verify(productServicePort, never()).releaseStockReservation(anyString(), anyInt());
+
+            assertEquals(2.0, meterRegistry.get("order.expired.cancelled").counter().count());
+            assertEquals(4.0, meterRegistry.get("order.expired.released.units").counter().count());
+        }
+
+        @Test
+        @DisplayName("沒有逾時訂單時不應該更新訂單或呼叫商品服務")
+        void shouldDoNothingWhenNoExpiredOrders() {
+            // Given
+            ExpiredOrderSweeper sweeper = createSweeper(10);
+            when(orderJpaRepository.lockExpiredBatch(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+            // When
+            boolean more = sweeper.sweepChunk(LocalDateTime.now());
+
+            // Then
+            assertFalse(more);
+            verify(orderJpaRepository, never()).cancelOrders(anyList(), anyString(), any());
+            verifyNoInteractions(productServicePort, orderEventPort);
+        }
+
+        @Test
+        @DisplayName("商品服務釋放失敗時應該拋出例外讓整批交易回滾")
+        void shouldPropagateReleaseFailure() {
+            // Given
+            ExpiredOrderSweeper sweeper = createSweeper(10);
+            when(orderJpaRepository.lockExpiredBatch(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(expiredOrder("ORDER-1", "CUST-1")));
+            when(orderJpaRepository.sumItemQuantitiesByProduct(anyList()))
+                .thenReturn(Collections.singletonList(new Object[]{"PROD-001", 1L}));
+            doThrow(new RuntimeException("product service unavailable"))
+                .when(productServicePort).releaseStockReservations(anyList());
+
+            // When & Then
+            assertThrows(RuntimeException.class, () -> sweeper.sweepChunk(LocalDateTime.now()));
+            assertEquals(0.0, meterRegistry.get("order.expired.cancelled").counter().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("排程清除測試")
+    class SweepExpiredOrdersTest {
+
+        @Test
+        @DisplayName("批次已滿時應該繼續處理下一批直到積壓清空")
+        void shouldDrainBacklogAcrossChunks() {
+            // Given
+            ExpiredOrderSweeper sweeper = createSweeper(2);
+            when(orderJpaRepository.lockExpiredBatch(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(expiredOrder("ORDER-1", "CUST-1"), expiredOrder("ORDER-2", "CUST-1")))
+                .thenReturn(List.of(expiredOrder("ORDER-3", "CUST-2")));
+            when(orderJpaRepository.sumItemQuantitiesByProduct(anyList()))
+                .thenReturn(Collections.singletonList(new Object[]{"PROD-001", 1L}));
+            when(orderJpaRepository.summarizeExpired(any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(new Object[]{0L, null}));
+
+            // When
+            sweeper.sweepExpiredOrders();
+
+            // Then
+            verify(orderJpaRepository, times(2)).lockExpiredBatch(any(LocalDateTime.class), any(Pageable.class));
+            verify(productServicePort, times(2)).releaseStockReservations(anyList());
+            assertEquals(3.0, meterRegistry.get("order.expired.cancelled").counter().count());
+            assertEquals(0.0, meterRegistry.get("order.expired.backlog").gauge().value());
+        }
+
+        @Test
+        @DisplayName("批次失敗時應該記錄失敗並保留積壓指標")
+        void shouldRecordFailedChunk() {
+            // Given
+            ExpiredOrderSweeper sweeper = createSweeper(10);
+            when(orderJpaRepository.lockExpiredBatch(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(expiredOrder("ORDER-1", "CUST-1")));
+            when(orderJpaRepository.sumItemQuantitiesByProduct(anyList()))
+                .thenReturn(Collections.singletonList(new Object[]{"PROD-001", 1L}));
+            doThrow(new RuntimeException("product service unavailable"))
+                .when(productServicePort).releaseStockReservations(anyList());
+            when(orderJpaRepository.summarizeExpired(any(LocalDateTime.class)))
+                .thenReturn(Collections.singletonList(new Object[]{1L, LocalDateTime.now().minusHours(1)}));
+
+            // When
+            sweeper.sweepExpiredOrders();
+
+            // Then
+            assertEquals(1.0, meterRegistry.get("order.expired.sweep.failures").counter().count());
+            assertEquals(1.0, meterRegistry.get("order.expired.backlog").gauge().value());
+        }
+
+        @Test
+        @DisplayName("應該以最早一筆逾時訂單超過付款期限的時間計算延遲指標")
+        void shouldExposeBacklogAndLag() {
+            // Given
+            ExpiredOrderSweeper sweeper = createSweeper(10);
+            LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(30);
+            when(orderJpaRepository.summarizeExpired(cutoffTime))
+                .thenReturn(Collections.singletonList(new Object[]{5L, cutoffTime.minusSeconds(90)}));
+
+            // When
+            sweeper.refreshBacklogMetrics(cutoffTime);
+
+            // Then
+            assertEquals(5.0, meterRegistry.get("order.expired.backlog").gauge().value());
+            assertEquals(90.0, meterRegistry.get("order.expired.lag").gauge().value());
+        }
+    }
+
+    private OrderJpaEntity expiredOrder(String orderId, String customerId) {
+        OrderJpaEntity order = new OrderJpaEntity();
+        order.setOrderId(orderId);
+        order.setCustomerId(customerId);
+        order.setOrderDate(LocalDateTime.now().minusHours(2));
+        return order;
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.order.infrastructure.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 階層式時間輪測試
+ */
+@DisplayName("階層式時間輪測試")
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000L;
+
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0L);
+
+    @Test
+    @DisplayName("應該在到期時間到達時才取出 key")
+    void shouldExpireAtDeadline() {
+        // Given
+        wheel.schedule("CART-1", 5 * TICK);
+
+        // When & Then
+        assertTrue(wheel.advance(4 * TICK).isEmpty());
+        assertEquals(List.of("CART-1"), wheel.advance(5 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("到期時間不在格子邊界時應該延到下一格才取出")
+    void shouldRoundDeadlineUpToNextTick() {
+        // Given
+        wheel.schedule("CART-1", 2 * TICK + 1);
+
+        // When & Then
+        assertTrue(wheel.advance(2 * TICK).isEmpty());
+        assertEquals(List.of("CART-1"), wheel.advance(3 * TICK));
+    }
+
+    @Test
+    @DisplayName("較高層的 key 應該逐層往下並在正確的時間到期")
+    void shouldCascadeFromHigherLevels() {
+        // Given
+        long[] deadlines = {63, 64, 65, 4095, 4096, 4097, 262_143, 262_144, 300_000};
+        for (long deadline : deadlines) {
+            wheel.schedule("CART-" + deadline, deadline * TICK);
+        }
+
+        // When & Then
+        for (long deadline : deadlines) {
+            assertTrue(wheel.advance((deadline - 1) * TICK).isEmpty(), "expired early: " + deadline);
+            assertEquals(List.of("CART-" + deadline), wheel.advance(deadline * TICK));
+        }
+    }
+
+    @Test
+    @DisplayName("超出最高層範圍的到期時間應該在轉到後重新放置並準時到期")
+    void shouldHandleDeadlinesBeyondHorizon() {
+        // Given
+        long deadline = (1L << 24) + 12_345;
+        wheel.schedule("CART-1", deadline * TICK);
+
+        // When & Then
+        assertTrue(wheel.advance((deadline - 1) * TICK).isEmpty());
+        assertEquals(List.of("CART-1"), wheel.advance(deadline * TICK));
+    }
+
+    @Test
+    @DisplayName("重新排程應該以新的到期時間取代原本的到期時間")
+    void shouldReplaceDeadlineOnReschedule() {
+        // Given
+        wheel.schedule("CART-1", 10 * TICK);
+
+        // When
+        wheel.schedule("CART-1", 100 * TICK);
+
+        // Then
+        assertTrue(wheel.advance(99 * TICK).isEmpty());
+        assertEquals(List.of("CART-1"), wheel.advance(100 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("取消後不應該再取出 key")
+    void shouldNotExpireCancelledKey() {
+        // Given
+        wheel.schedule("CART-1", 10 * TICK);
+        wheel.schedule("CART-2", 10 * TICK);
+
+        // When
+        boolean cancelled = wheel.cancel("CART-1");
+
+        // Then
+        assertTrue(cancelled);
+        assertFalse(wheel.cancel("CART-1"));
+        assertEquals(List.of("CART-2"), wheel.advance(10 * TICK));
+    }
+
+    @Test
+    @DisplayName("已過期的到期時間應該在下一次前進時立即取出")
+    void shouldExpirePastDeadlineOnNextAdvance() {
+        // Given
+        wheel.advance(50 * TICK);
+
+        // When
+        wheel.schedule("CART-1", 10 * TICK);
+
+        // Then
+        assertTrue(wheel.contains("CART-1"));
+        assertEquals(List.of("CART-1"), wheel.advance(50 * TICK));
+    }
+
+    @Test
+    @DisplayName("大量隨機到期時間應該全部在各自的到期格取出")
+    void shouldExpireRandomDeadlinesOnTime() {
+        // Given
+        Random random = new Random(7);
+        int count = 2000;
+        long[] deadlines = new long[count];
+        for (int i = 0; i < count; i++) {
+            deadlines[i] = 1 + random.nextInt(20_000);
+            wheel.schedule("CART-" + i, deadlines[i] * TICK);
+        }
+
+        // When
+        List<String> expiredInOrder = new ArrayList<>();
+        for (long tick = 1; tick <= 20_000; tick++) {
+            for (String cartId : wheel.advance(tick * TICK)) {
+                int index = Integer.parseInt(cartId.substring("CART-".length()));
+                assertEquals(deadlines[index], tick, "wrong tick for " + cartId);
+                expiredInOrder.add(cartId);
+            }
+        }
+
+        // Then
+        assertEquals(count, expiredInOrder.size());
+        assertEquals(0, wheel.size());
+    }
+}
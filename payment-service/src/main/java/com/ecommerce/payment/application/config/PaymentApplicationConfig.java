@@ -1,9 +1,16 @@
 package com.ecommerce.payment.application.config;
 
 import com.ecommerce.payment.application.port.out.PaymentGatewayPort;
+import com.ecommerce.payment.application.port.out.PaymentIdempotencyPort;
 import com.ecommerce.payment.application.port.out.PaymentNotificationPort;
 import com.ecommerce.payment.application.port.out.PaymentPersistencePort;
+import com.ecommerce.payment.application.port.out.PaymentRetryQueuePort;
+import com.ecommerce.payment.application.port.out.PaymentStatusLogPort;
+import com.ecommerce.payment.application.service.BankTransferReconciliationService;
+import com.ecommerce.payment.application.service.GatewayHealthMonitor;
+import com.ecommerce.payment.application.service.PaymentIdempotencyService;
 import com.ecommerce.payment.application.service.PaymentNotificationService;
+import com.ecommerce.payment.application.service.PaymentRecoveryService;
 import com.ecommerce.payment.application.service.PaymentRetryService;
 import com.ecommerce.payment.application.strategy.BankTransferPaymentStrategy;
 import com.ecommerce.payment.application.strategy.CreditCardPaymentStrategy;
@@ -11,18 +18,20 @@ import com.ecommerce.payment.application.strategy.PaymentStrategy;
 import com.ecommerce.payment.application.strategy.PaymentStrategyFactory;
 import com.ecommerce.payment.application.usecase.PaymentProcessingService;
 import com.ecommerce.payment.domain.service.PaymentDomainService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * 付款應用層配置
  * 配置應用層的服務和策略
  */
 @Configuration
-@EnableAsync
 public class PaymentApplicationConfig {
     
     /**
@@ -33,20 +42,35 @@ public class PaymentApplicationConfig {
         return new PaymentStrategyFactory(strategies);
     }
     
+    /**
+     * 配置閘道健康監控
+     */
+    @Bean
+    public GatewayHealthMonitor gatewayHealthMonitor(
+            @Value("${payment.gateway.health.window-size:10}") int windowSize,
+            @Value("${payment.gateway.health.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${payment.gateway.health.minimum-probes:5}") int minimumProbes,
+            @Value("${payment.gateway.health.open-duration:30s}") Duration openDuration,
+            @Value("${payment.gateway.health.half-open-probes:2}") int halfOpenProbes) {
+        return new GatewayHealthMonitor(windowSize, failureRateThreshold, minimumProbes, openDuration, halfOpenProbes);
+    }
+    
     /**
      * 配置信用卡付款策略
      */
     @Bean
-    public CreditCardPaymentStrategy creditCardPaymentStrategy(PaymentGatewayPort paymentGatewayPort) {
-        return new CreditCardPaymentStrategy(paymentGatewayPort);
+    public CreditCardPaymentStrategy creditCardPaymentStrategy(PaymentGatewayPort paymentGatewayPort,
+                                                               GatewayHealthMonitor gatewayHealthMonitor) {
+        return new CreditCardPaymentStrategy(paymentGatewayPort, gatewayHealthMonitor);
     }
     
     /**
      * 配置銀行轉帳付款策略
      */
     @Bean
-    public BankTransferPaymentStrategy bankTransferPaymentStrategy(PaymentGatewayPort paymentGatewayPort) {
-        return new BankTransferPaymentStrategy(paymentGatewayPort);
+    public BankTransferPaymentStrategy bankTransferPaymentStrategy(PaymentGatewayPort paymentGatewayPort,
+                                                                   GatewayHealthMonitor gatewayHealthMonitor) {
+        return new BankTransferPaymentStrategy(paymentGatewayPort, gatewayHealthMonitor);
     }
     
     /**
@@ -54,16 +78,56 @@ public class PaymentApplicationConfig {
      */
     @Bean
     public PaymentRetryService paymentRetryService(PaymentStrategyFactory strategyFactory,
-                                                 PaymentDomainService paymentDomainService) {
-        return new PaymentRetryService(strategyFactory, paymentDomainService);
+                                                 PaymentDomainService paymentDomainService,
+                                                 PaymentRetryQueuePort paymentRetryQueuePort) {
+        return new PaymentRetryService(strategyFactory, paymentDomainService, paymentRetryQueuePort);
     }
     
     /**
      * 配置付款通知服務
      */
     @Bean
-    public PaymentNotificationService paymentNotificationService(PaymentNotificationPort paymentNotificationPort) {
-        return new PaymentNotificationService(paymentNotificationPort);
+    public PaymentNotificationService paymentNotificationService(
+            PaymentNotificationPort paymentNotificationPort,
+            @Qualifier("paymentNotificationExecutor") Executor paymentNotificationExecutor) {
+        return new PaymentNotificationService(paymentNotificationPort, paymentNotificationExecutor);
+    }
+    
+    /**
+     * 配置付款復原服務
+     */
+    @Bean
+    public PaymentRecoveryService paymentRecoveryService(
+            PaymentPersistencePort paymentPersistencePort,
+            PaymentStatusLogPort paymentStatusLogPort,
+            @Value("${payment.recovery.timeout:30m}") Duration paymentTimeout,
+            @Value("${payment.recovery.batch-size:100}") int batchSize) {
+        return new PaymentRecoveryService(paymentPersistencePort, paymentStatusLogPort, paymentTimeout, batchSize);
+    }
+    
+    /**
+     * 配置銀行轉帳對帳服務
+     */
+    @Bean
+    public BankTransferReconciliationService bankTransferReconciliationService(
+            PaymentPersistencePort paymentPersistencePort,
+            PaymentGatewayPort paymentGatewayPort,
+            PaymentStatusLogPort paymentStatusLogPort,
+            PaymentNotificationPort paymentNotificationPort,
+            @Value("${payment.reconciliation.recheck-interval:5m}") Duration recheckInterval,
+            @Value("${payment.reconciliation.batch-size:100}") int batchSize) {
+        return new BankTransferReconciliationService(paymentPersistencePort, paymentGatewayPort,
+            paymentStatusLogPort, paymentNotificationPort, recheckInterval, batchSize);
+    }
+    
+    /**
+     * 配置付款冪等服務
+     */
+    @Bean
+    public PaymentIdempotencyService paymentIdempotencyService(
+            PaymentIdempotencyPort paymentIdempotencyPort,
+            @Value("${payment.idempotency.ttl:24h}") Duration ttl) {
+        return new PaymentIdempotencyService(paymentIdempotencyPort, ttl);
     }
     
     /**
@@ -75,14 +139,16 @@ public class PaymentApplicationConfig {
             PaymentNotificationPort paymentNotificationPort,
             PaymentDomainService paymentDomainService,
             PaymentStrategyFactory strategyFactory,
-            PaymentRetryService retryService) {
+            PaymentRetryService retryService,
+            PaymentStatusLogPort paymentStatusLogPort) {
         
         return new PaymentProcessingService(
             paymentPersistencePort,
             paymentNotificationPort,
             paymentDomainService,
             strategyFactory,
-            retryService
+            retryService,
+            paymentStatusLogPort
         );
     }
 }
\ No newline at end of file
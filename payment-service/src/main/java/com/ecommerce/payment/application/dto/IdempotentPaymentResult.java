@@ -0,0 +1,20 @@
+package com.ecommerce.payment.application.dto;
+
+/**
+ * 冪等鍵對應的已完成付款結果
+ * 保存原始請求的指紋，用於判斷同一冪等鍵是否被不同的付款請求重複使用
+ */
+public class IdempotentPaymentResult {
+    
+    private final String requestFingerprint;
+    private final PaymentResponse response;
+    
+    public IdempotentPaymentResult(String requestFingerprint, PaymentResponse response) {
+        this.requestFingerprint = requestFingerprint;
+        this.response = response;
+    }
+    
+    public String getRequestFingerprint() { return requestFingerprint; }
+    
+    public PaymentResponse getResponse() { return response; }
+}
@@ -1,10 +1,13 @@
 package com.ecommerce.payment.application.port.in;
 
+import com.ecommerce.common.dto.CursorPage;
 import com.ecommerce.payment.application.dto.PaymentRequest;
 import com.ecommerce.payment.application.dto.PaymentResponse;
 import com.ecommerce.payment.application.dto.RefundRequest;
 import com.ecommerce.payment.application.dto.RefundResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 付款處理使用案例輸入埠
  * 定義付款相關的業務操作
@@ -16,11 +19,22 @@ public interface PaymentProcessingUseCase {
      */
     PaymentResponse processPayment(PaymentRequest request);
     
+    /**
+     * 非同步處理付款請求
+     * 交易建立後即返回，閘道回應後才完成交易狀態更新與通知
+     */
+    CompletableFuture<PaymentResponse> processPaymentAsync(PaymentRequest request);
+    
     /**
      * 查詢付款狀態
      */
     PaymentResponse getPaymentStatus(String transactionId);
     
+    /**
+     * 以游標分頁查詢客戶付款紀錄（由新到舊）
+     */
+    CursorPage<PaymentResponse> getCustomerPayments(String customerId, String cursor, int size, boolean includeTotal);
+    
     /**
      * 取消付款
      */
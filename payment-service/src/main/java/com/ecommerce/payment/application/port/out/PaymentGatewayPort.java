@@ -4,6 +4,12 @@ import com.ecommerce.payment.application.dto.GatewayPaymentRequest;
 import com.ecommerce.payment.application.dto.GatewayPaymentResponse;
 import com.ecommerce.payment.application.dto.GatewayRefundRequest;
 import com.ecommerce.payment.application.dto.GatewayRefundResponse;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 付款閘道輸出埠
@@ -26,6 +32,12 @@ public interface PaymentGatewayPort {
      */
     GatewayPaymentResponse processBankTransferPayment(GatewayPaymentRequest request);
     
+    /**
+     * 非同步處理付款，依請求的付款方式分派
+     * 回傳時閘道尚未回應，等待閘道回應期間不佔用呼叫端執行緒
+     */
+    CompletableFuture<GatewayPaymentResponse> processPaymentAsync(GatewayPaymentRequest request);
+    
     /**
      * 處理退款
      */
@@ -36,8 +48,30 @@ public interface PaymentGatewayPort {
      */
     GatewayPaymentResponse queryPaymentStatus(String gatewayTransactionId);
     
+    /**
+     * 批次查詢付款狀態，以閘道交易ID為鍵回傳，閘道查無的交易不包含在結果中
+     * 預設逐筆查詢；支援批次查詢的閘道應覆寫為一次往返查詢整批交易
+     */
+    default Map<String, GatewayPaymentResponse> queryPaymentStatuses(List<String> gatewayTransactionIds) {
+        Map<String, GatewayPaymentResponse> statuses = new LinkedHashMap<>();
+        for (String gatewayTransactionId : gatewayTransactionIds) {
+            GatewayPaymentResponse status = queryPaymentStatus(gatewayTransactionId);
+            if (status != null) {
+                statuses.put(gatewayTransactionId, status);
+            }
+        }
+        return statuses;
+    }
+    
     /**
      * 檢查閘道連線狀態
      */
     boolean isGatewayHealthy();
+    
+    /**
+     * 檢查指定付款方式的閘道連線狀態，預設與整體閘道狀態相同
+     */
+    default boolean isGatewayHealthy(PaymentMethod paymentMethod) {
+        return isGatewayHealthy();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.ecommerce.payment.application.port.out;
+
+import com.ecommerce.payment.application.dto.IdempotentPaymentResult;
+import com.ecommerce.payment.application.dto.PaymentResponse;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 付款冪等鍵輸出埠
+ * 持久化已完成付款的冪等鍵與回應，客戶端以同一冪等鍵重送時直接回傳原始結果
+ */
+public interface PaymentIdempotencyPort {
+    
+    /**
+     * 查詢尚未過期的冪等鍵結果
+     */
+    Optional<IdempotentPaymentResult> findCompleted(String idempotencyKey, LocalDateTime now);
+    
+    /**
+     * 保存冪等鍵結果；冪等鍵已存在時保留先寫入的結果
+     */
+    void saveCompleted(String idempotencyKey, String requestFingerprint, PaymentResponse response,
+                       LocalDateTime expiresAt);
+    
+    /**
+     * 刪除已過期的冪等鍵
+     */
+    int purgeExpired(LocalDateTime now);
+}
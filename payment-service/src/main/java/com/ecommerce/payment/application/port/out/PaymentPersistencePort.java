@@ -1,8 +1,12 @@
 package com.ecommerce.payment.application.port.out;
 
+import com.ecommerce.payment.domain.model.PaymentMethod;
 import com.ecommerce.payment.domain.model.PaymentTransaction;
 import com.ecommerce.payment.domain.repository.PaymentRepository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * 付款持久化輸出埠
  * 繼承領域倉儲介面，提供資料存取功能
@@ -10,4 +14,27 @@ import com.ecommerce.payment.domain.repository.PaymentRepository;
 public interface PaymentPersistencePort extends PaymentRepository {
     // 繼承所有 PaymentRepository 的方法
     // 可以在此添加應用層特定的資料存取需求
-}
\ No newline at end of file
+    
+    /**
+     * 以 Keyset 分頁查找客戶付款交易（依建立時間與交易ID由新到舊）
+     * beforeCreatedAt 與 beforeTransactionId 為上一頁最後一筆，皆為 null 時查詢第一頁
+     */
+    List<PaymentTransaction> findByCustomerIdBefore(String customerId, LocalDateTime beforeCreatedAt,
+                                                    String beforeTransactionId, int limit);
+    
+    /**
+     * 統計客戶的付款交易數量
+     */
+    long countByCustomerId(String customerId);
+    
+    /**
+     * 領取一批待對帳的付款交易：指定付款方式、待處理或處理中、已有閘道交易ID，且從未對帳或上次領取早於 checkedBefore
+     * 領取時記錄領取時間，多個實例同時對帳時不會領取到同一筆，仍未清算的交易在 checkedBefore 之後才會再被領取
+     */
+    List<PaymentTransaction> claimForReconciliation(PaymentMethod paymentMethod, LocalDateTime checkedBefore, int limit);
+    
+    /**
+     * 在同一個資料庫交易中批次儲存付款交易
+     */
+    List<PaymentTransaction> saveAll(List<PaymentTransaction> transactions);
+}
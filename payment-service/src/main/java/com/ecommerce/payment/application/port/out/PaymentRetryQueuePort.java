@@ -0,0 +1,64 @@
+package com.ecommerce.payment.application.port.out;
+
+import com.ecommerce.payment.domain.model.PaymentMethod;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 付款重試佇列輸出埠
+ * 將待重試的付款持久化，由背景排程在到期後領取執行，服務重啟後排程中的重試不會遺失
+ */
+public interface PaymentRetryQueuePort {
+    
+    /**
+     * 排入一筆重試；同一交易已有待執行的重試時改為更新其次數與到期時間
+     */
+    void enqueue(String transactionId, PaymentMethod paymentMethod, int attemptNumber, LocalDateTime dueAt);
+    
+    /**
+     * 鎖定並領取一批已到期的重試，領取後在租約期間不會再被其他實例領取
+     */
+    List<ClaimedRetry> claimDue(LocalDateTime now, int limit, Duration lease, String claimedBy);
+    
+    /**
+     * 將領取中的重試重新排程；租約已被其他實例取得時回傳 false
+     */
+    boolean reschedule(ClaimedRetry retry, int attemptNumber, LocalDateTime dueAt, String lastError);
+    
+    /**
+     * 將領取中的重試標記為完成；租約已被其他實例取得時回傳 false
+     */
+    boolean complete(ClaimedRetry retry);
+    
+    /**
+     * 將領取中的重試標記為放棄；租約已被其他實例取得時回傳 false
+     */
+    boolean exhaust(ClaimedRetry retry, String lastError);
+    
+    /**
+     * 統計待執行的重試
+     */
+    QueueSummary summarizePending();
+    
+    /**
+     * 刪除保留期限之前已結束的重試，回傳刪除筆數
+     */
+    int purgeFinishedBefore(LocalDateTime cutoff);
+    
+    /**
+     * 已領取重試的快照，領取交易提交後在執行緒池中使用
+     */
+    record ClaimedRetry(Long retryId, String claimToken, String transactionId,
+                        PaymentMethod paymentMethod, int attemptNumber, LocalDateTime dueAt) {
+    }
+    
+    /**
+     * 待執行重試的數量與最早一筆的到期時間
+     */
+    record QueueSummary(long pending, LocalDateTime earliestDueAt) {
+        
+        public static final QueueSummary EMPTY = new QueueSummary(0L, null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.payment.application.port.out;
+
+import com.ecommerce.payment.domain.model.PaymentTransaction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 付款狀態日誌輸出埠
+ * 以只新增的日誌記錄付款的中間狀態，付款交易本身只在取得最終狀態後寫入一次
+ */
+public interface PaymentStatusLogPort {
+    
+    /**
+     * 記錄付款意圖（處理中）
+     * 不加入呼叫端的交易，送往閘道前即已提交，作為當機後找出卡住付款的依據
+     */
+    void recordIntent(PaymentTransaction transaction);
+    
+    /**
+     * 記錄付款的最終狀態
+     */
+    void recordOutcome(PaymentTransaction transaction);
+    
+    /**
+     * 查找開始時間早於 startedBefore 且尚未記錄最終狀態的付款，依付款意圖重建為處理中的交易
+     */
+    List<PaymentTransaction> findUnfinishedPayments(LocalDateTime startedBefore, int limit);
+    
+    /**
+     * 刪除保留期限之前的日誌
+     */
+    int purgeRecordedBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.payment.application.service;
+
+import com.ecommerce.payment.application.dto.GatewayPaymentResponse;
+import com.ecommerce.payment.application.dto.PaymentNotification;
+import com.ecommerce.payment.application.port.out.PaymentGatewayPort;
+import com.ecommerce.payment.application.port.out.PaymentNotificationPort;
+import com.ecommerce.payment.application.port.out.PaymentPersistencePort;
+import com.ecommerce.payment.application.port.out.PaymentStatusLogPort;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import com.ecommerce.payment.domain.model.PaymentTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 銀行轉帳對帳服務
+ * 領取一批等待清算的銀行轉帳，以一次批次查詢向閘道取得整批狀態，
+ * 已清算或已失敗的交易以一次批次寫入更新後記錄狀態日誌並通知客戶，仍未清算的交易留待下次領取
+ */
+public class BankTransferReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BankTransferReconciliationService.class);
+
+    private static final String GATEWAY_FAILED_STATUS = "FAILED";
+
+    private final PaymentPersistencePort paymentPersistencePort;
+    private final PaymentGatewayPort paymentGatewayPort;
+    private final PaymentStatusLogPort paymentStatusLogPort;
+    private final PaymentNotificationPort paymentNotificationPort;
+    private final Duration recheckInterval;
+    private final int batchSize;
+
+    public BankTransferReconciliationService(PaymentPersistencePort paymentPersistencePort,
+                                             PaymentGatewayPort paymentGatewayPort,
+                                             PaymentStatusLogPort paymentStatusLogPort,
+                                             PaymentNotificationPort paymentNotificationPort,
+                                             Duration recheckInterval,
+                                             int batchSize) {
+        this.paymentPersistencePort = paymentPersistencePort;
+        this.paymentGatewayPort = paymentGatewayPort;
+        this.paymentStatusLogPort = paymentStatusLogPort;
+        this.paymentNotificationPort = paymentNotificationPort;
+        this.recheckInterval = recheckInterval;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 對帳下一批銀行轉帳，整批只呼叫一次閘道
+     */
+    public BatchResult reconcileNextBatch() {
+        List<PaymentTransaction> claimed = paymentPersistencePort.claimForReconciliation(
+            PaymentMethod.BANK_TRANSFER, LocalDateTime.now().minus(recheckInterval), batchSize);
+        if (claimed.isEmpty()) {
+            return BatchResult.EMPTY;
+        }
+
+        List<String> gatewayTransactionIds = claimed.stream()
+            .map(PaymentTransaction::getGatewayTransactionId)
+            .distinct()
+            .collect(Collectors.toList());
+        Map<String, GatewayPaymentResponse> statuses = paymentGatewayPort.queryPaymentStatuses(gatewayTransactionIds);
+
+        List<PaymentTransaction> settled = new ArrayList<>();
+        int succeeded = 0;
+        int failed = 0;
+        for (PaymentTransaction transaction : claimed) {
+            GatewayPaymentResponse status = statuses.get(transaction.getGatewayTransactionId());
+            if (status == null || !(status.isSuccessful() || GATEWAY_FAILED_STATUS.equals(status.getStatus()))) {
+                // 仍在清算中、查詢逾時或網路錯誤：留待下次對帳
+                continue;
+            }
+            if (transaction.isPending()) {
+                transaction.startProcessing();
+            }
+            if (status.isSuccessful()) {
+                transaction.markAsSuccess(transaction.getGatewayTransactionId(), status.getResponseMessage());
+                succeeded++;
+            } else {
+                transaction.markAsFailed(status.getResponseCode(), status.getResponseMessage());
+                failed++;
+            }
+            settled.add(transaction);
+        }
+
+        if (!settled.isEmpty()) {
+            for (PaymentTransaction transaction : paymentPersistencePort.saveAll(settled)) {
+                recordSettlement(transaction);
+            }
+        }
+        return new BatchResult(claimed.size(), succeeded, failed, claimed.size() - settled.size());
+    }
+
+    // Private helper methods
+    private void recordSettlement(PaymentTransaction transaction) {
+        // 交易已寫入，日誌或通知失敗不應該回復對帳結果
+        try {
+            paymentStatusLogPort.recordOutcome(transaction);
+            if (transaction.isSuccessful()) {
+                paymentNotificationPort.sendPaymentSuccessNotification(PaymentNotification.paymentSuccess(
+                    transaction.getTransactionId(),
+                    transaction.getOrderId(),
+                    transaction.getCustomerId(),
+                    null, // 需要從客戶服務取得 email
+                    transaction.getAmount(),
+                    transaction.getPaymentMethod(),
+                    transaction.getGatewayTransactionId(),
+                    null
+                ));
+            } else {
+                paymentNotificationPort.sendPaymentFailureNotification(PaymentNotification.paymentFailure(
+                    transaction.getTransactionId(),
+                    transaction.getOrderId(),
+                    transaction.getCustomerId(),
+                    null, // 需要從客戶服務取得 email
+                    transaction.getAmount(),
+                    transaction.getPaymentMethod(),
+                    transaction.getFailureReason()
+                ));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to record settlement of bank transfer {}: {}",
+                transaction.getTransactionId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 一批對帳的結果
+     */
+    public record BatchResult(int claimed, int succeeded, int failed, int pending) {
+
+        static final BatchResult EMPTY = new BatchResult(0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,166 @@
+package com.ecommerce.payment.application.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * 閘道斷路器
+ * 由背景健康探測的結果驅動，以最近 N 次探測的失敗率決定狀態：
+ * CLOSED 時失敗率達門檻即開啟；OPEN 經過開啟時間後轉為 HALF_OPEN，
+ * HALF_OPEN 連續數次探測成功才關閉，任一次失敗立即重新開啟
+ * 只有 CLOSED 時允許付款流量；狀態以 volatile 欄位保存，讀取不需加鎖
+ */
+public class GatewayCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int windowSize;
+    private final double failureRateThreshold;
+    private final int minimumProbes;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+
+    // 最近 windowSize 次探測結果的環狀緩衝區，true 表示失敗
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private volatile State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenSuccesses;
+    private volatile LocalDateTime lastProbeAt;
+    private volatile boolean lastProbeHealthy = true;
+
+    public GatewayCircuitBreaker(String name, int windowSize, double failureRateThreshold,
+                                 int minimumProbes, Duration openDuration, int halfOpenProbes) {
+        this(name, windowSize, failureRateThreshold, minimumProbes, openDuration, halfOpenProbes, System::nanoTime);
+    }
+
+    GatewayCircuitBreaker(String name, int windowSize, double failureRateThreshold,
+                          int minimumProbes, Duration openDuration, int halfOpenProbes, LongSupplier nanoClock) {
+        if (windowSize <= 0 || minimumProbes <= 0 || halfOpenProbes <= 0) {
+            throw new IllegalArgumentException("Window size, minimum probes and half-open probes must be positive");
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("Failure rate threshold must be between 0 and 100");
+        }
+        this.name = name;
+        this.windowSize = windowSize;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumProbes = Math.min(minimumProbes, windowSize);
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.nanoClock = nanoClock;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * 是否允許付款流量通過
+     */
+    public boolean isCallPermitted() {
+        return state == State.CLOSED;
+    }
+
+    /**
+     * 記錄一次健康探測的結果並更新狀態
+     */
+    public synchronized void recordProbe(boolean healthy) {
+        lastProbeAt = LocalDateTime.now();
+        lastProbeHealthy = healthy;
+
+        switch (state) {
+            case CLOSED:
+                record(!healthy);
+                if (windowCount >= minimumProbes && failureRate() >= failureRateThreshold) {
+                    open();
+                }
+                break;
+            case OPEN:
+                if (nanoClock.getAsLong() - openedAtNanos < openDurationNanos) {
+                    break;
+                }
+                state = State.HALF_OPEN;
+                halfOpenSuccesses = 0;
+                recordHalfOpenProbe(healthy);
+                break;
+            case HALF_OPEN:
+                recordHalfOpenProbe(healthy);
+                break;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 目前視窗內的失敗率（百分比）
+     */
+    public synchronized double getFailureRate() {
+        return failureRate();
+    }
+
+    public LocalDateTime getLastProbeAt() {
+        return lastProbeAt;
+    }
+
+    public boolean isLastProbeHealthy() {
+        return lastProbeHealthy;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Private helper methods
+
+    private void recordHalfOpenProbe(boolean healthy) {
+        if (!healthy) {
+            open();
+            return;
+        }
+        halfOpenSuccesses++;
+        if (halfOpenSuccesses >= halfOpenProbes) {
+            resetWindow();
+            state = State.CLOSED;
+        }
+    }
+
+    private void open() {
+        openedAtNanos = nanoClock.getAsLong();
+        state = State.OPEN;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == windowSize) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+
+    private void resetWindow() {
+        Arrays.fill(window, false);
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    private double failureRate() {
+        return windowCount == 0 ? 0.0 : windowFailures * 100.0 / windowCount;
+    }
+}
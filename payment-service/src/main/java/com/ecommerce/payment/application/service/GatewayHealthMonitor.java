@@ -0,0 +1,48 @@
+package com.ecommerce.payment.application.service;
+
+import com.ecommerce.payment.domain.model.PaymentMethod;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 閘道健康監控
+ * 每種付款方式各自一個 {@link GatewayCircuitBreaker}，由背景探測寫入結果；
+ * 付款策略只讀取快取的斷路器狀態，不在請求路徑上呼叫閘道健康檢查
+ */
+public class GatewayHealthMonitor {
+
+    private final Map<PaymentMethod, GatewayCircuitBreaker> circuitBreakers = new EnumMap<>(PaymentMethod.class);
+
+    public GatewayHealthMonitor(int windowSize, double failureRateThreshold, int minimumProbes,
+                                Duration openDuration, int halfOpenProbes) {
+        for (PaymentMethod method : PaymentMethod.values()) {
+            circuitBreakers.put(method, new GatewayCircuitBreaker(
+                method.name(), windowSize, failureRateThreshold, minimumProbes, openDuration, halfOpenProbes));
+        }
+    }
+
+    /**
+     * 指定付款方式的閘道是否可接受付款流量
+     */
+    public boolean isAvailable(PaymentMethod paymentMethod) {
+        return circuitBreakers.get(paymentMethod).isCallPermitted();
+    }
+
+    /**
+     * 記錄指定付款方式的健康探測結果
+     */
+    public void recordProbe(PaymentMethod paymentMethod, boolean healthy) {
+        circuitBreakers.get(paymentMethod).recordProbe(healthy);
+    }
+
+    public GatewayCircuitBreaker getCircuitBreaker(PaymentMethod paymentMethod) {
+        return circuitBreakers.get(paymentMethod);
+    }
+
+    public Map<PaymentMethod, GatewayCircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+}
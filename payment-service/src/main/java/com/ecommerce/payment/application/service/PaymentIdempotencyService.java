@@ -0,0 +1,158 @@
+package com.ecommerce.payment.application.service;
+
+import com.ecommerce.common.exception.ValidationException;
+import com.ecommerce.payment.application.dto.IdempotentPaymentResult;
+import com.ecommerce.payment.application.dto.PaymentRequest;
+import com.ecommerce.payment.application.dto.PaymentResponse;
+import com.ecommerce.payment.application.port.out.PaymentIdempotencyPort;
+import com.ecommerce.payment.domain.exception.IdempotencyKeyReusedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 付款冪等服務
+ * 客戶端以同一冪等鍵重送付款時不再建立新交易或呼叫閘道：
+ * 處理中的請求由後到的請求共用同一個結果，已完成的請求直接回傳保存的原始回應
+ * 處理中的冪等鍵只保存在本機記憶體，已完成的冪等鍵持久化並在保存期限後過期
+ */
+public class PaymentIdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentIdempotencyService.class);
+
+    private final PaymentIdempotencyPort paymentIdempotencyPort;
+    private final Duration ttl;
+    private final ConcurrentMap<String, InFlightPayment> inFlight = new ConcurrentHashMap<>();
+
+    public PaymentIdempotencyService(PaymentIdempotencyPort paymentIdempotencyPort, Duration ttl) {
+        this.paymentIdempotencyPort = paymentIdempotencyPort;
+        this.ttl = ttl;
+    }
+
+    /**
+     * 以冪等鍵提交付款
+     * 同一冪等鍵只會執行一次 payment，其餘請求取得相同的回應
+     */
+    public CompletableFuture<PaymentResponse> submit(String idempotencyKey, PaymentRequest request,
+                                                     Supplier<CompletableFuture<PaymentResponse>> payment) {
+        validateKey(idempotencyKey);
+        String fingerprint = fingerprint(request);
+
+        InFlightPayment created = new InFlightPayment(fingerprint);
+        InFlightPayment existing = inFlight.putIfAbsent(idempotencyKey, created);
+        if (existing != null) {
+            // 與處理中的請求合併等待
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw IdempotencyKeyReusedException.forKey(idempotencyKey);
+            }
+            return existing.response.copy();
+        }
+
+        try {
+            Optional<IdempotentPaymentResult> completed =
+                paymentIdempotencyPort.findCompleted(idempotencyKey, LocalDateTime.now());
+            if (completed.isPresent()) {
+                if (!completed.get().getRequestFingerprint().equals(fingerprint)) {
+                    throw IdempotencyKeyReusedException.forKey(idempotencyKey);
+                }
+                inFlight.remove(idempotencyKey, created);
+                created.response.complete(completed.get().getResponse());
+                return created.response.copy();
+            }
+
+            payment.get().whenComplete((response, error) -> {
+                if (error == null) {
+                    storeCompleted(idempotencyKey, fingerprint, response);
+                }
+                // 先保存再移除，之後到達的請求一定能查到已完成的結果
+                inFlight.remove(idempotencyKey, created);
+                if (error != null) {
+                    created.response.completeExceptionally(error);
+                } else {
+                    created.response.complete(response);
+                }
+            });
+            return created.response.copy();
+        } catch (RuntimeException e) {
+            inFlight.remove(idempotencyKey, created);
+            created.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 刪除已過期的冪等鍵
+     */
+    public int purgeExpiredKeys() {
+        return paymentIdempotencyPort.purgeExpired(LocalDateTime.now());
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    // Private helper methods
+    private void validateKey(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new ValidationException("Idempotency-Key", "must not be blank");
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key", "must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private void storeCompleted(String idempotencyKey, String fingerprint, PaymentResponse response) {
+        // 未建立交易的失敗（驗證失敗或送出付款前的系統錯誤）沒有呼叫閘道，允許客戶端以同一冪等鍵重送
+        if (response == null || response.getTransactionId() == null) {
+            return;
+        }
+        try {
+            paymentIdempotencyPort.saveCompleted(idempotencyKey, fingerprint, response, LocalDateTime.now().plus(ttl));
+        } catch (RuntimeException e) {
+            // 付款已完成，保存失敗只影響之後的重送判斷，不影響本次回應
+            logger.warn("Failed to store idempotency key {}: {}", idempotencyKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 請求指紋只包含識別付款的欄位，不包含卡號等敏感資料
+     */
+    private String fingerprint(PaymentRequest request) {
+        String canonical = String.join("|",
+            String.valueOf(request.getOrderId()),
+            String.valueOf(request.getCustomerId()),
+            request.getAmount() != null ? request.getAmount().stripTrailingZeros().toPlainString() : "null",
+            String.valueOf(request.getPaymentMethod()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 處理中的付款；回傳給呼叫端的都是 response 的複本，個別請求取消時不影響其他等待者
+     */
+    private static final class InFlightPayment {
+        private final String fingerprint;
+        private final CompletableFuture<PaymentResponse> response = new CompletableFuture<>();
+
+        private InFlightPayment(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
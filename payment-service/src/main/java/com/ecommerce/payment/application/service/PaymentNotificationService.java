@@ -1,33 +1,43 @@
 package com.ecommerce.payment.application.service;
 
-import com.ecommerce.common.architecture.DomainService;
 import com.ecommerce.payment.application.dto.PaymentNotification;
 import com.ecommerce.payment.application.port.out.PaymentNotificationPort;
 import com.ecommerce.payment.domain.event.*;
 import com.ecommerce.payment.domain.model.PaymentTransaction;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 付款通知服務
  * 處理付款狀態變更的通知邏輯
+ * 通知在專用的有界執行緒池上發送，不使用共用的 ForkJoinPool；
+ * 同一客戶尚未發送的通知合併為一個批次任務，重複的通知（同一交易、同一類型）只發送一次
  */
-@DomainService
 public class PaymentNotificationService {
     
     private final PaymentNotificationPort paymentNotificationPort;
+    private final Executor deliveryExecutor;
+    private final ConcurrentMap<String, CustomerBatch> pendingBatches = new ConcurrentHashMap<>();
     
-    public PaymentNotificationService(PaymentNotificationPort paymentNotificationPort) {
+    public PaymentNotificationService(PaymentNotificationPort paymentNotificationPort, Executor deliveryExecutor) {
         this.paymentNotificationPort = paymentNotificationPort;
+        this.deliveryExecutor = deliveryExecutor;
     }
     
     /**
      * 處理付款成功事件
      */
     @EventListener
-    @Async
     public void handlePaymentSuccessEvent(PaymentSuccessEvent event) {
         try {
             PaymentNotification notification = PaymentNotification.paymentSuccess(
@@ -41,7 +51,11 @@ public class PaymentNotificationService {
                 null // 遮罩卡號
             );
             
-            paymentNotificationPort.sendPaymentSuccessNotification(notification);
+            deliver(notification, () -> paymentNotificationPort.sendPaymentSuccessNotification(notification))
+                .exceptionally(e -> {
+                    handleNotificationError("PaymentSuccess", event.getTransactionId(), asException(e));
+                    return null;
+                });
             
         } catch (Exception e) {
             handleNotificationError("PaymentSuccess", event.getTransactionId(), e);
@@ -52,7 +66,6 @@ public class PaymentNotificationService {
      * 處理付款失敗事件
      */
     @EventListener
-    @Async
     public void handlePaymentFailedEvent(PaymentFailedEvent event) {
         try {
             PaymentNotification notification = PaymentNotification.paymentFailure(
@@ -65,7 +78,11 @@ public class PaymentNotificationService {
                 event.getFailureReason()
             );
             
-            paymentNotificationPort.sendPaymentFailureNotification(notification);
+            deliver(notification, () -> paymentNotificationPort.sendPaymentFailureNotification(notification))
+                .exceptionally(e -> {
+                    handleNotificationError("PaymentFailed", event.getTransactionId(), asException(e));
+                    return null;
+                });
             
         } catch (Exception e) {
             handleNotificationError("PaymentFailed", event.getTransactionId(), e);
@@ -76,7 +93,6 @@ public class PaymentNotificationService {
      * 處理退款成功事件
      */
     @EventListener
-    @Async
     public void handlePaymentRefundedEvent(PaymentRefundedEvent event) {
         try {
             PaymentNotification notification = PaymentNotification.refundSuccess(
@@ -90,7 +106,11 @@ public class PaymentNotificationService {
                 "Refund processed"
             );
             
-            paymentNotificationPort.sendRefundSuccessNotification(notification);
+            deliver(notification, () -> paymentNotificationPort.sendRefundSuccessNotification(notification))
+                .exceptionally(e -> {
+                    handleNotificationError("PaymentRefunded", event.getTransactionId(), asException(e));
+                    return null;
+                });
             
         } catch (Exception e) {
             handleNotificationError("PaymentRefunded", event.getTransactionId(), e);
@@ -101,10 +121,9 @@ public class PaymentNotificationService {
      * 發送即時付款狀態通知
      */
     public CompletableFuture<Void> sendPaymentStatusNotification(PaymentTransaction transaction) {
-        return CompletableFuture.runAsync(() -> {
+        PaymentNotification notification = createNotificationFromTransaction(transaction);
+        return deliver(notification, () -> {
             try {
-                PaymentNotification notification = createNotificationFromTransaction(transaction);
-                
                 switch (transaction.getStatus()) {
                     case SUCCESS:
                         paymentNotificationPort.sendPaymentSuccessNotification(notification);
@@ -132,17 +151,19 @@ public class PaymentNotificationService {
     
     /**
      * 發送批量付款狀態通知
+     * 不在通知執行緒上等待其他通知，避免有界執行緒池互相等待而卡住
      */
     public CompletableFuture<Void> sendBatchPaymentNotifications(PaymentTransaction... transactions) {
-        return CompletableFuture.runAsync(() -> {
-            for (PaymentTransaction transaction : transactions) {
-                try {
-                    sendPaymentStatusNotification(transaction).join();
-                } catch (Exception e) {
-                    handleNotificationError("BatchPayment", transaction.getTransactionId(), e);
-                }
-            }
-        });
+        CompletableFuture<?>[] deliveries = new CompletableFuture<?>[transactions.length];
+        for (int i = 0; i < transactions.length; i++) {
+            PaymentTransaction transaction = transactions[i];
+            deliveries[i] = sendPaymentStatusNotification(transaction)
+                .exceptionally(e -> {
+                    handleNotificationError("BatchPayment", transaction.getTransactionId(), asException(e));
+                    return null;
+                });
+        }
+        return CompletableFuture.allOf(deliveries);
     }
     
     /**
@@ -150,16 +171,16 @@ public class PaymentNotificationService {
      */
     public CompletableFuture<Void> sendPaymentReminderNotification(String customerId, String orderId, 
                                                                   String customerEmail) {
-        return CompletableFuture.runAsync(() -> {
+        // 創建提醒通知
+        PaymentNotification notification = new PaymentNotification();
+        notification.setCustomerId(customerId);
+        notification.setOrderId(orderId);
+        notification.setCustomerEmail(customerEmail);
+        notification.setNotificationType(PaymentNotification.NotificationType.PAYMENT_FAILURE);
+        notification.setDescription("Payment reminder for order: " + orderId);
+        
+        return deliver(notification, () -> {
             try {
-                // 創建提醒通知
-                PaymentNotification notification = new PaymentNotification();
-                notification.setCustomerId(customerId);
-                notification.setOrderId(orderId);
-                notification.setCustomerEmail(customerEmail);
-                notification.setNotificationType(PaymentNotification.NotificationType.PAYMENT_FAILURE);
-                notification.setDescription("Payment reminder for order: " + orderId);
-                
                 // 這裡可以擴展為專門的提醒通知
                 paymentNotificationPort.sendPaymentFailureNotification(notification);
                 
@@ -173,18 +194,18 @@ public class PaymentNotificationService {
      * 發送付款超時通知
      */
     public CompletableFuture<Void> sendPaymentTimeoutNotification(PaymentTransaction transaction) {
-        return CompletableFuture.runAsync(() -> {
+        PaymentNotification notification = PaymentNotification.paymentFailure(
+            transaction.getTransactionId(),
+            transaction.getOrderId(),
+            transaction.getCustomerId(),
+            null, // 需要從客戶服務取得 email
+            transaction.getAmount(),
+            transaction.getPaymentMethod(),
+            "Payment timeout"
+        );
+        
+        return deliver(notification, () -> {
             try {
-                PaymentNotification notification = PaymentNotification.paymentFailure(
-                    transaction.getTransactionId(),
-                    transaction.getOrderId(),
-                    transaction.getCustomerId(),
-                    null, // 需要從客戶服務取得 email
-                    transaction.getAmount(),
-                    transaction.getPaymentMethod(),
-                    "Payment timeout"
-                );
-                
                 paymentNotificationPort.sendPaymentFailureNotification(notification);
                 
             } catch (Exception e) {
@@ -210,18 +231,83 @@ public class PaymentNotificationService {
      * 重新發送失敗的通知
      */
     public CompletableFuture<Boolean> resendNotification(PaymentTransaction transaction) {
-        return CompletableFuture.supplyAsync(() -> {
+        try {
+            return sendPaymentStatusNotification(transaction)
+                .handle((ignored, e) -> {
+                    if (e != null) {
+                        handleNotificationError("ResendNotification", transaction.getTransactionId(), asException(e));
+                        return false;
+                    }
+                    return true;
+                });
+        } catch (Exception e) {
+            handleNotificationError("ResendNotification", transaction.getTransactionId(), e);
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+    
+    /**
+     * 目前等待發送、尚未開始處理的客戶批次數
+     */
+    public int getPendingCustomerBatches() {
+        return pendingBatches.size();
+    }
+    
+    // Private helper methods
+    /**
+     * 將通知加入客戶的待發送批次
+     * 客戶沒有待發送批次時才提交一個發送任務；任務開始前加入的通知由同一個任務一起發送，
+     * 執行緒池越忙，每個任務合併的通知越多
+     */
+    private CompletableFuture<Void> deliver(PaymentNotification notification, Runnable delivery) {
+        String customerId = notification.getCustomerId();
+        if (customerId == null) {
             try {
-                sendPaymentStatusNotification(transaction).join();
-                return true;
-            } catch (Exception e) {
-                handleNotificationError("ResendNotification", transaction.getTransactionId(), e);
-                return false;
+                return CompletableFuture.runAsync(delivery, deliveryExecutor);
+            } catch (RejectedExecutionException e) {
+                // 執行緒池已關閉時在目前執行緒發送
+                return CompletableFuture.runAsync(delivery, Runnable::run);
             }
+        }
+        
+        String coalescingKey = notification.getTransactionId() != null
+            ? notification.getTransactionId() + ":" + notification.getNotificationType()
+            : null;
+        List<CompletableFuture<Void>> added = new ArrayList<>(1);
+        boolean[] newBatch = new boolean[1];
+        pendingBatches.compute(customerId, (id, batch) -> {
+            if (batch == null) {
+                batch = new CustomerBatch();
+                newBatch[0] = true;
+            }
+            added.add(batch.add(coalescingKey, delivery));
+            return batch;
         });
+        
+        if (newBatch[0]) {
+            try {
+                deliveryExecutor.execute(() -> flush(customerId));
+            } catch (RejectedExecutionException e) {
+                // 執行緒池已關閉時在目前執行緒發送，不遺失已接受的通知
+                flush(customerId);
+            }
+        }
+        return added.get(0);
     }
     
-    // Private helper methods
+    private void flush(String customerId) {
+        CustomerBatch batch = pendingBatches.remove(customerId);
+        if (batch != null) {
+            batch.deliverAll();
+        }
+    }
+    
+    private static Exception asException(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+    }
+    
+
     private PaymentNotification createNotificationFromTransaction(PaymentTransaction transaction) {
         PaymentNotification notification = new PaymentNotification();
         notification.setTransactionId(transaction.getTransactionId());
@@ -279,4 +365,37 @@ public class PaymentNotificationService {
         // 3. 觸發重試機制
         // 4. 發送警報給運維團隊
     }
+    
+    /**
+     * 單一客戶待發送的通知，只在 pendingBatches 的 compute 內加入，移出後由發送任務獨佔
+     */
+    private static final class CustomerBatch {
+        private final Map<Object, PendingDelivery> deliveries = new LinkedHashMap<>();
+        
+        private CompletableFuture<Void> add(String coalescingKey, Runnable delivery) {
+            // 沒有合併鍵的通知各自發送
+            Object key = coalescingKey != null ? coalescingKey : new Object();
+            return deliveries.computeIfAbsent(key, k -> new PendingDelivery(delivery)).completion;
+        }
+        
+        private void deliverAll() {
+            for (PendingDelivery pending : deliveries.values()) {
+                try {
+                    pending.delivery.run();
+                    pending.completion.complete(null);
+                } catch (RuntimeException e) {
+                    pending.completion.completeExceptionally(e);
+                }
+            }
+        }
+    }
+    
+    private static final class PendingDelivery {
+        private final Runnable delivery;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        
+        private PendingDelivery(Runnable delivery) {
+            this.delivery = delivery;
+        }
+    }
 }
\ No newline at end of file
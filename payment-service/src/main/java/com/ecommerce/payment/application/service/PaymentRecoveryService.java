@@ -0,0 +1,73 @@
+package com.ecommerce.payment.application.service;
+
+import com.ecommerce.payment.application.port.out.PaymentPersistencePort;
+import com.ecommerce.payment.application.port.out.PaymentStatusLogPort;
+import com.ecommerce.payment.domain.model.PaymentTransaction;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 付款復原服務
+ * 找出已記錄付款意圖、超過逾時仍沒有最終狀態的付款（處理中當機或閘道無回應），
+ * 交易已寫入最終狀態時補記日誌，否則將交易以逾時失敗寫入
+ */
+public class PaymentRecoveryService {
+
+    private final PaymentPersistencePort paymentPersistencePort;
+    private final PaymentStatusLogPort paymentStatusLogPort;
+    private final Duration paymentTimeout;
+    private final int batchSize;
+
+    public PaymentRecoveryService(PaymentPersistencePort paymentPersistencePort,
+                                  PaymentStatusLogPort paymentStatusLogPort,
+                                  Duration paymentTimeout,
+                                  int batchSize) {
+        this.paymentPersistencePort = paymentPersistencePort;
+        this.paymentStatusLogPort = paymentStatusLogPort;
+        this.paymentTimeout = paymentTimeout;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 處理一批卡住的付款
+     * @return 本批處理的付款數
+     */
+    public int recoverStuckPayments() {
+        LocalDateTime startedBefore = LocalDateTime.now().minus(paymentTimeout);
+        List<PaymentTransaction> unfinished = paymentStatusLogPort.findUnfinishedPayments(startedBefore, batchSize);
+
+        for (PaymentTransaction intent : unfinished) {
+            Optional<PaymentTransaction> persisted = paymentPersistencePort.findById(intent.getTransactionId());
+            if (persisted.isPresent() && isOutcomeWritten(persisted.get())) {
+                // 最終狀態（或等待清算）已寫入，但狀態日誌尚未記錄
+                paymentStatusLogPort.recordOutcome(persisted.get());
+                continue;
+            }
+
+            PaymentTransaction transaction = persisted.orElse(intent);
+            if (transaction.isPending()) {
+                transaction.startProcessing();
+            }
+            transaction.markAsFailed("Payment timeout",
+                "Transaction timed out after " + paymentTimeout.toMinutes() + " minutes");
+            paymentStatusLogPort.recordOutcome(paymentPersistencePort.save(transaction));
+        }
+        return unfinished.size();
+    }
+
+    /**
+     * 刪除保留期限之前的狀態日誌
+     */
+    public int purgeStatusLog(Duration retention) {
+        return paymentStatusLogPort.purgeRecordedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    // Private helper methods
+    private boolean isOutcomeWritten(PaymentTransaction transaction) {
+        // 等待清算的付款由對帳排程結束，不以逾時失敗處理
+        return transaction.isAwaitingSettlement() || (!transaction.isProcessing() && !transaction.isPending());
+    }
+}
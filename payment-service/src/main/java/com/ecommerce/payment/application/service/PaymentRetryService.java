@@ -3,30 +3,27 @@ package com.ecommerce.payment.application.service;
 import com.ecommerce.common.architecture.DomainService;
 import com.ecommerce.payment.application.dto.GatewayPaymentRequest;
 import com.ecommerce.payment.application.dto.GatewayPaymentResponse;
+import com.ecommerce.payment.application.port.out.PaymentRetryQueuePort;
 import com.ecommerce.payment.application.strategy.PaymentStrategy;
 import com.ecommerce.payment.application.strategy.PaymentStrategyFactory;
 import com.ecommerce.payment.domain.exception.PaymentProcessingException;
 import com.ecommerce.payment.domain.model.PaymentFailureReason;
-import com.ecommerce.payment.domain.model.PaymentMethod;
 import com.ecommerce.payment.domain.model.PaymentTransaction;
 import com.ecommerce.payment.domain.service.PaymentDomainService;
 
 import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 /**
  * 付款重試服務
- * 處理付款失敗的重試邏輯
+ * 處理付款失敗的重試邏輯；排程的重試寫入持久化的重試佇列，由背景排程器到期後執行
  */
 @DomainService
 public class PaymentRetryService {
     
     private final PaymentStrategyFactory strategyFactory;
     private final PaymentDomainService paymentDomainService;
-    private final ScheduledExecutorService scheduler;
+    private final PaymentRetryQueuePort retryQueuePort;
     
     // 重試配置
     private static final int MAX_RETRY_ATTEMPTS = 3;
@@ -35,10 +32,11 @@ public class PaymentRetryService {
     private static final double BACKOFF_MULTIPLIER = 2.0;
     
     public PaymentRetryService(PaymentStrategyFactory strategyFactory,
-                             PaymentDomainService paymentDomainService) {
+                             PaymentDomainService paymentDomainService,
+                             PaymentRetryQueuePort retryQueuePort) {
         this.strategyFactory = strategyFactory;
         this.paymentDomainService = paymentDomainService;
-        this.scheduler = Executors.newScheduledThreadPool(5);
+        this.retryQueuePort = retryQueuePort;
     }
     
     /**
@@ -91,73 +89,50 @@ public class PaymentRetryService {
     
     /**
      * 排程重試付款
+     * 依指數退避計算到期時間並寫入重試佇列，回傳預定執行時間；
+     * 閘道目前不可用時仍可排程，重試排程器會在斷路器關閉前延後執行
      */
-    public CompletableFuture<GatewayPaymentResponse> scheduleRetryPayment(PaymentTransaction transaction,
-                                                                         GatewayPaymentRequest request,
-                                                                         int attemptNumber) {
-        if (!canRetryPayment(transaction)) {
-            return CompletableFuture.failedFuture(
-                new PaymentProcessingException(
-                    "Payment cannot be retried",
-                    PaymentFailureReason.LIMIT_EXCEEDED
-                )
+    public LocalDateTime scheduleRetryPayment(PaymentTransaction transaction, int attemptNumber) {
+        if (attemptNumber > MAX_RETRY_ATTEMPTS || !isRetryCandidate(transaction)) {
+            throw new PaymentProcessingException(
+                "Payment cannot be retried",
+                PaymentFailureReason.LIMIT_EXCEEDED
             );
         }
         
-        long delaySeconds = calculateRetryDelay(attemptNumber);
-        
-        CompletableFuture<GatewayPaymentResponse> future = new CompletableFuture<>();
-        
-        scheduler.schedule(() -> {
-            try {
-                GatewayPaymentResponse response = retryPayment(transaction, request);
-                future.complete(response);
-            } catch (Exception e) {
-                future.completeExceptionally(e);
-            }
-        }, delaySeconds, TimeUnit.SECONDS);
-        
-        return future;
+        LocalDateTime dueAt = getNextRetryTime(attemptNumber);
+        retryQueuePort.enqueue(transaction.getTransactionId(), transaction.getPaymentMethod(), attemptNumber, dueAt);
+        return dueAt;
     }
     
     /**
      * 自動重試付款（使用指數退避）
+     * 排入第一次重試；後續重試由重試排程器依執行結果繼續排程
      */
-    public CompletableFuture<GatewayPaymentResponse> autoRetryPayment(PaymentTransaction transaction,
-                                                                     GatewayPaymentRequest request) {
-        return autoRetryPayment(transaction, request, 1);
+    public LocalDateTime autoRetryPayment(PaymentTransaction transaction) {
+        return scheduleRetryPayment(transaction, 1);
     }
     
-    private CompletableFuture<GatewayPaymentResponse> autoRetryPayment(PaymentTransaction transaction,
-                                                                      GatewayPaymentRequest request,
-                                                                      int attemptNumber) {
-        if (attemptNumber > MAX_RETRY_ATTEMPTS || !canRetryPayment(transaction)) {
-            return CompletableFuture.failedFuture(
-                new PaymentProcessingException(
-                    "Maximum retry attempts reached",
-                    PaymentFailureReason.LIMIT_EXCEEDED
-                )
-            );
-        }
-        
-        return scheduleRetryPayment(transaction, request, attemptNumber)
-            .thenCompose(response -> {
-                if (response.isSuccessful()) {
-                    return CompletableFuture.completedFuture(response);
-                } else if (response.isRetryable() && attemptNumber < MAX_RETRY_ATTEMPTS) {
-                    // 繼續重試
-                    return autoRetryPayment(transaction, request, attemptNumber + 1);
-                } else {
-                    // 不可重試或達到最大重試次數
-                    return CompletableFuture.completedFuture(response);
-                }
-            });
+    /**
+     * 第 attemptNumber 次重試失敗後是否還能再排程
+     */
+    public boolean hasRemainingAttempts(int attemptNumber) {
+        return attemptNumber < MAX_RETRY_ATTEMPTS;
     }
     
     /**
      * 檢查是否可以重試付款
      */
     public boolean canRetryPayment(PaymentTransaction transaction) {
+        // 檢查策略是否可用
+        return isRetryCandidate(transaction)
+            && strategyFactory.isStrategyAvailable(transaction.getPaymentMethod());
+    }
+    
+    /**
+     * 檢查交易本身是否可以重試，不考慮閘道目前是否可用
+     */
+    public boolean isRetryCandidate(PaymentTransaction transaction) {
         if (transaction == null) {
             return false;
         }
@@ -167,18 +142,18 @@ public class PaymentRetryService {
             return false;
         }
         
-        // 檢查重試次數限制
-        if (!paymentDomainService.canRetryPayment(transaction.getOrderId())) {
+        // 已送出、等待清算的轉帳由對帳排程處理，重新送出會重複扣款
+        if (transaction.isAwaitingSettlement()) {
             return false;
         }
         
-        // 檢查付款方式是否支援重試
-        if (!strategyFactory.isSupported(transaction.getPaymentMethod())) {
+        // 檢查重試次數限制
+        if (!paymentDomainService.canRetryPayment(transaction.getOrderId())) {
             return false;
         }
         
-        // 檢查策略是否可用
-        return strategyFactory.isStrategyAvailable(transaction.getPaymentMethod());
+        // 檢查付款方式是否支援重試
+        return strategyFactory.isSupported(transaction.getPaymentMethod());
     }
     
     /**
@@ -219,21 +194,6 @@ public class PaymentRetryService {
         return LocalDateTime.now().plusSeconds(delaySeconds);
     }
     
-    /**
-     * 關閉重試服務
-     */
-    public void shutdown() {
-        scheduler.shutdown();
-        try {
-            if (!scheduler.awaitTermination(60, TimeUnit.SECONDS)) {
-                scheduler.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            scheduler.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-    }
-    
     // Private helper methods
     private long calculateRetryDelay(int attemptNumber) {
         if (attemptNumber <= 1) {
@@ -7,9 +7,11 @@ import com.ecommerce.payment.application.dto.GatewayPaymentResponse;
 import com.ecommerce.payment.application.dto.GatewayRefundRequest;
 import com.ecommerce.payment.application.dto.GatewayRefundResponse;
 import com.ecommerce.payment.application.port.out.PaymentGatewayPort;
+import com.ecommerce.payment.application.service.GatewayHealthMonitor;
 import com.ecommerce.payment.domain.model.PaymentMethod;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 銀行轉帳付款策略實作
@@ -19,13 +21,16 @@ import java.math.BigDecimal;
 public class BankTransferPaymentStrategy implements PaymentStrategy {
     
     private final PaymentGatewayPort paymentGatewayPort;
+    private final GatewayHealthMonitor gatewayHealthMonitor;
     
     // 銀行轉帳付款限制
     private static final BigDecimal MIN_AMOUNT = new BigDecimal("10");
     private static final BigDecimal MAX_AMOUNT = new BigDecimal("1000000");
     
-    public BankTransferPaymentStrategy(PaymentGatewayPort paymentGatewayPort) {
+    public BankTransferPaymentStrategy(PaymentGatewayPort paymentGatewayPort,
+                                       GatewayHealthMonitor gatewayHealthMonitor) {
         this.paymentGatewayPort = paymentGatewayPort;
+        this.gatewayHealthMonitor = gatewayHealthMonitor;
     }
     
     @Override
@@ -70,6 +75,35 @@ public class BankTransferPaymentStrategy implements PaymentStrategy {
         }
     }
     
+    @Override
+    public CompletableFuture<GatewayPaymentResponse> processPaymentAsync(GatewayPaymentRequest request) {
+        try {
+            // 驗證請求
+            validatePaymentRequest(request);
+        } catch (RuntimeException e) {
+            // 驗證失敗時不會呼叫閘道，沿用同步處理的錯誤回應
+            return CompletableFuture.completedFuture(processPayment(request));
+        }
+        
+        // 檢查閘道可用性
+        if (!isAvailable()) {
+            return CompletableFuture.completedFuture(
+                GatewayPaymentResponse.networkError(request.getMerchantReference(), request.getAmount()));
+        }
+        
+        // 非同步處理銀行轉帳付款，閘道回應前不佔用呼叫端執行緒
+        return paymentGatewayPort.processPaymentAsync(request)
+            .exceptionally(e -> GatewayPaymentResponse.failure(
+                null,
+                request.getMerchantReference(),
+                request.getAmount(),
+                "SYSTEM_ERROR",
+                "System error occurred",
+                "Unexpected error: " + e.getMessage(),
+                true
+            ));
+    }
+    
     @Override
     public GatewayRefundResponse processRefund(GatewayRefundRequest request) {
         try {
@@ -141,13 +175,12 @@ public class BankTransferPaymentStrategy implements PaymentStrategy {
         }
     }
     
+    /**
+     * 讀取背景探測快取的斷路器狀態，不在請求路徑上呼叫閘道健康檢查
+     */
     @Override
     public boolean isAvailable() {
-        try {
-            return paymentGatewayPort.isGatewayHealthy();
-        } catch (Exception e) {
-            return false;
-        }
+        return gatewayHealthMonitor.isAvailable(PaymentMethod.BANK_TRANSFER);
     }
     
     @Override
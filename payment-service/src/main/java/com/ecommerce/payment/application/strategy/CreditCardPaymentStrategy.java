@@ -7,12 +7,15 @@ import com.ecommerce.payment.application.dto.GatewayPaymentResponse;
 import com.ecommerce.payment.application.dto.GatewayRefundRequest;
 import com.ecommerce.payment.application.dto.GatewayRefundResponse;
 import com.ecommerce.payment.application.port.out.PaymentGatewayPort;
+import com.ecommerce.payment.application.service.GatewayHealthMonitor;
 import com.ecommerce.payment.domain.exception.PaymentProcessingException;
 import com.ecommerce.payment.domain.model.PaymentFailureReason;
 import com.ecommerce.payment.domain.model.PaymentMethod;
 
 import java.math.BigDecimal;
 import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 信用卡付款策略實作
@@ -22,13 +25,16 @@ import java.time.YearMonth;
 public class CreditCardPaymentStrategy implements PaymentStrategy {
     
     private final PaymentGatewayPort paymentGatewayPort;
+    private final GatewayHealthMonitor gatewayHealthMonitor;
     
     // 信用卡付款限制
     private static final BigDecimal MIN_AMOUNT = new BigDecimal("1");
     private static final BigDecimal MAX_AMOUNT = new BigDecimal("100000");
     
-    public CreditCardPaymentStrategy(PaymentGatewayPort paymentGatewayPort) {
+    public CreditCardPaymentStrategy(PaymentGatewayPort paymentGatewayPort,
+                                     GatewayHealthMonitor gatewayHealthMonitor) {
         this.paymentGatewayPort = paymentGatewayPort;
+        this.gatewayHealthMonitor = gatewayHealthMonitor;
     }
     
     @Override
@@ -50,36 +56,29 @@ public class CreditCardPaymentStrategy implements PaymentStrategy {
             // 處理信用卡付款
             return paymentGatewayPort.processCreditCardPayment(request);
             
-        } catch (ValidationException e) {
-            return GatewayPaymentResponse.failure(
-                null, 
-                request.getMerchantReference(), 
-                request.getAmount(),
-                "VALIDATION_ERROR", 
-                e.getMessage(),
-                "Validation failed: " + e.getMessage(),
-                false
-            );
-        } catch (PaymentProcessingException e) {
-            return GatewayPaymentResponse.failure(
-                null,
-                request.getMerchantReference(),
-                request.getAmount(),
-                e.getFailureReason().name(),
-                e.getMessage(),
-                e.getFailureReason().getDescription(),
-                e.isRetryable()
-            );
         } catch (Exception e) {
-            return GatewayPaymentResponse.failure(
-                null,
-                request.getMerchantReference(),
-                request.getAmount(),
-                "SYSTEM_ERROR",
-                "System error occurred",
-                "Unexpected error: " + e.getMessage(),
-                true
-            );
+            return failureResponse(request, e);
+        }
+    }
+    
+    @Override
+    public CompletableFuture<GatewayPaymentResponse> processPaymentAsync(GatewayPaymentRequest request) {
+        try {
+            // 驗證請求
+            validatePaymentRequest(request);
+            
+            // 檢查閘道可用性
+            if (!isAvailable()) {
+                return CompletableFuture.completedFuture(
+                    GatewayPaymentResponse.networkError(request.getMerchantReference(), request.getAmount()));
+            }
+            
+            // 非同步處理信用卡付款，閘道回應前不佔用呼叫端執行緒
+            return paymentGatewayPort.processPaymentAsync(request)
+                .exceptionally(e -> failureResponse(request, e instanceof CompletionException ? e.getCause() : e));
+            
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(failureResponse(request, e));
         }
     }
     
@@ -154,13 +153,12 @@ public class CreditCardPaymentStrategy implements PaymentStrategy {
         }
     }
     
+    /**
+     * 讀取背景探測快取的斷路器狀態，不在請求路徑上呼叫閘道健康檢查
+     */
     @Override
     public boolean isAvailable() {
-        try {
-            return paymentGatewayPort.isGatewayHealthy();
-        } catch (Exception e) {
-            return false;
-        }
+        return gatewayHealthMonitor.isAvailable(PaymentMethod.CREDIT_CARD);
     }
     
     @Override
@@ -203,6 +201,41 @@ public class CreditCardPaymentStrategy implements PaymentStrategy {
     }
     
     // Private helper methods
+    private GatewayPaymentResponse failureResponse(GatewayPaymentRequest request, Throwable e) {
+        if (e instanceof ValidationException) {
+            return GatewayPaymentResponse.failure(
+                null, 
+                request.getMerchantReference(), 
+                request.getAmount(),
+                "VALIDATION_ERROR", 
+                e.getMessage(),
+                "Validation failed: " + e.getMessage(),
+                false
+            );
+        }
+        if (e instanceof PaymentProcessingException) {
+            PaymentProcessingException processingException = (PaymentProcessingException) e;
+            return GatewayPaymentResponse.failure(
+                null,
+                request.getMerchantReference(),
+                request.getAmount(),
+                processingException.getFailureReason().name(),
+                processingException.getMessage(),
+                processingException.getFailureReason().getDescription(),
+                processingException.isRetryable()
+            );
+        }
+        return GatewayPaymentResponse.failure(
+            null,
+            request.getMerchantReference(),
+            request.getAmount(),
+            "SYSTEM_ERROR",
+            "System error occurred",
+            "Unexpected error: " + e.getMessage(),
+            true
+        );
+    }
+    
     private void validateBasicFields(GatewayPaymentRequest request) {
         if (request.getTransactionId() == null || request.getTransactionId().trim().isEmpty()) {
             throw new ValidationException("Transaction ID is required");
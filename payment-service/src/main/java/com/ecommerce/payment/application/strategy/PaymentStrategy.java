@@ -6,6 +6,8 @@ import com.ecommerce.payment.application.dto.GatewayRefundRequest;
 import com.ecommerce.payment.application.dto.GatewayRefundResponse;
 import com.ecommerce.payment.domain.model.PaymentMethod;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 付款策略介面
  * 定義不同付款方式的處理策略
@@ -22,6 +24,14 @@ public interface PaymentStrategy {
      */
     GatewayPaymentResponse processPayment(GatewayPaymentRequest request);
     
+    /**
+     * 非同步處理付款
+     * 預設在呼叫端執行緒同步處理，支援非同步閘道的策略應覆寫此方法
+     */
+    default CompletableFuture<GatewayPaymentResponse> processPaymentAsync(GatewayPaymentRequest request) {
+        return CompletableFuture.completedFuture(processPayment(request));
+    }
+    
     /**
      * 處理退款
      */
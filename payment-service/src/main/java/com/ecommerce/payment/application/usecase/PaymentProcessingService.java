@@ -1,10 +1,13 @@
 package com.ecommerce.payment.application.usecase;
 
 import com.ecommerce.common.architecture.UseCase;
+import com.ecommerce.common.dto.CursorPage;
+import com.ecommerce.common.dto.PageCursor;
 import com.ecommerce.payment.application.dto.*;
 import com.ecommerce.payment.application.port.in.PaymentProcessingUseCase;
 import com.ecommerce.payment.application.port.out.PaymentNotificationPort;
 import com.ecommerce.payment.application.port.out.PaymentPersistencePort;
+import com.ecommerce.payment.application.port.out.PaymentStatusLogPort;
 import com.ecommerce.payment.application.service.PaymentRetryService;
 import com.ecommerce.payment.application.strategy.PaymentStrategy;
 import com.ecommerce.payment.application.strategy.PaymentStrategyFactory;
@@ -14,9 +17,12 @@ import com.ecommerce.payment.domain.model.CreditCard;
 import com.ecommerce.payment.domain.model.PaymentFailureReason;
 import com.ecommerce.payment.domain.model.PaymentTransaction;
 import com.ecommerce.payment.domain.service.PaymentDomainService;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 付款處理服務實作
@@ -31,55 +37,85 @@ public class PaymentProcessingService implements PaymentProcessingUseCase {
     private final PaymentDomainService paymentDomainService;
     private final PaymentStrategyFactory strategyFactory;
     private final PaymentRetryService retryService;
+    private final PaymentStatusLogPort paymentStatusLogPort;
     
     public PaymentProcessingService(PaymentPersistencePort paymentPersistencePort,
                                   PaymentNotificationPort paymentNotificationPort,
                                   PaymentDomainService paymentDomainService,
                                   PaymentStrategyFactory strategyFactory,
-                                  PaymentRetryService retryService) {
+                                  PaymentRetryService retryService,
+                                  PaymentStatusLogPort paymentStatusLogPort) {
         this.paymentPersistencePort = paymentPersistencePort;
         this.paymentNotificationPort = paymentNotificationPort;
         this.paymentDomainService = paymentDomainService;
         this.strategyFactory = strategyFactory;
         this.retryService = retryService;
+        this.paymentStatusLogPort = paymentStatusLogPort;
     }
     
+    /**
+     * 處理付款
+     * 不開啟外層交易：付款意圖在呼叫閘道前先以狀態日誌提交，
+     * 付款交易只在取得閘道回應後寫入一次最終狀態，等待閘道期間不佔用資料庫連線
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PaymentResponse processPayment(PaymentRequest request) {
+        PaymentTransaction transaction = null;
         try {
             // 建立付款交易
-            PaymentTransaction transaction = createPaymentTransaction(request);
+            transaction = createPaymentTransaction(request);
             
             // 驗證付款請求
             validatePaymentRequest(request, transaction);
             
-            // 儲存初始交易
-            transaction = paymentPersistencePort.save(transaction);
-            
-            // 開始處理付款
-            transaction.startProcessing();
-            transaction = paymentPersistencePort.save(transaction);
+            // 開始處理付款並記錄付款意圖
+            startPayment(transaction);
             
             // 執行付款處理
             GatewayPaymentResponse gatewayResponse = executePayment(request, transaction);
             
-            // 更新交易狀態
-            updateTransactionStatus(transaction, gatewayResponse);
+            // 更新交易狀態並通知
+            return completePayment(transaction, gatewayResponse, request);
             
-            // 儲存最終交易狀態
-            transaction = paymentPersistencePort.save(transaction);
+        } catch (PaymentProcessingException e) {
+            return handlePaymentProcessingException(e, request, transaction);
+        } catch (Exception e) {
+            return handleUnexpectedException(e, request, transaction);
+        }
+    }
+    
+    /**
+     * 非同步處理付款
+     * 與同步流程相同，等待閘道前只提交付款意圖，閘道回應後在完成執行緒上寫入最終狀態
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<PaymentResponse> processPaymentAsync(PaymentRequest request) {
+        PaymentTransaction transaction = null;
+        CompletableFuture<GatewayPaymentResponse> gatewayResponse;
+        try {
+            // 建立並驗證付款交易
+            transaction = createPaymentTransaction(request);
+            validatePaymentRequest(request, transaction);
             
-            // 發送通知
-            sendPaymentNotification(transaction, request);
+            // 開始處理付款並記錄付款意圖
+            startPayment(transaction);
             
-            // 轉換為回應 DTO
-            return convertToPaymentResponse(transaction);
+            // 送出付款，不等待閘道回應
+            PaymentStrategy strategy = strategyFactory.getStrategy(request.getPaymentMethod());
+            gatewayResponse = strategy.processPaymentAsync(createGatewayRequest(request, transaction));
             
         } catch (PaymentProcessingException e) {
-            return handlePaymentProcessingException(e, request);
+            return CompletableFuture.completedFuture(handlePaymentProcessingException(e, request, transaction));
         } catch (Exception e) {
-            return handleUnexpectedException(e, request);
+            return CompletableFuture.completedFuture(handleUnexpectedException(e, request, transaction));
         }
+        
+        PaymentTransaction processingTransaction = transaction;
+        return gatewayResponse
+            .thenApply(response -> completePayment(processingTransaction, response, request))
+            .exceptionally(e -> handleUnexpectedException(e, request, processingTransaction));
     }
     
     @Override
@@ -91,6 +127,27 @@ public class PaymentProcessingService implements PaymentProcessingUseCase {
         return convertToPaymentResponse(transaction);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentResponse> getCustomerPayments(String customerId, String cursor, int size, boolean includeTotal) {
+        int pageSize = PageCursor.resolvePageSize(size);
+        PageCursor position = PageCursor.decode(cursor, 2);
+        
+        // 多查一筆以判斷是否還有下一頁，不需另外執行 COUNT
+        List<PaymentTransaction> transactions = paymentPersistencePort.findByCustomerIdBefore(customerId,
+            position != null ? position.getDateTime(0) : null,
+            position != null ? position.getString(1) : null,
+            pageSize + 1);
+        
+        CursorPage<PaymentResponse> page = CursorPage.fromLookahead(transactions, pageSize,
+                transaction -> PageCursor.of(transaction.getCreatedAt(), transaction.getTransactionId()))
+            .map(this::convertToPaymentResponse);
+        if (includeTotal) {
+            page.withTotalEstimate(paymentPersistencePort.countByCustomerId(customerId));
+        }
+        return page;
+    }
+    
     @Override
     public PaymentResponse cancelPayment(String transactionId, String reason) {
         PaymentTransaction transaction = paymentPersistencePort.findById(transactionId)
@@ -164,7 +221,12 @@ public class PaymentProcessingService implements PaymentProcessingUseCase {
         // 執行重試
         GatewayPaymentResponse gatewayResponse = retryService.retryPayment(transaction, gatewayRequest);
         
-        // 更新交易狀態
+        // 回到處理中後更新交易狀態
+        if (transaction.isFailed()) {
+            transaction.restartProcessing();
+        } else {
+            transaction.startProcessing();
+        }
         updateTransactionStatus(transaction, gatewayResponse);
         
         // 儲存交易
@@ -212,6 +274,13 @@ public class PaymentProcessingService implements PaymentProcessingUseCase {
         );
     }
     
+    private void startPayment(PaymentTransaction transaction) {
+        transaction.startProcessing();
+        
+        // 付款意圖獨立提交，處理中當機或閘道無回應時由復原排程以逾時失敗結束
+        paymentStatusLogPort.recordIntent(transaction);
+    }
+    
     private GatewayPaymentResponse executePayment(PaymentRequest request, PaymentTransaction transaction) {
         // 取得付款策略
         PaymentStrategy strategy = strategyFactory.getStrategy(request.getPaymentMethod());
@@ -223,6 +292,28 @@ public class PaymentProcessingService implements PaymentProcessingUseCase {
         return strategy.processPayment(gatewayRequest);
     }
     
+    private PaymentResponse completePayment(PaymentTransaction transaction,
+                                          GatewayPaymentResponse gatewayResponse,
+                                          PaymentRequest request) {
+        // 更新交易狀態
+        updateTransactionStatus(transaction, gatewayResponse);
+        
+        // 儲存最終交易狀態，付款交易只寫入這一次
+        transaction = paymentPersistencePort.save(transaction);
+        paymentStatusLogPort.recordOutcome(transaction);
+        
+        // 閘道逾時或暫時無法使用時排入重試佇列
+        if (transaction.isFailed() && gatewayResponse.isRetryable()) {
+            scheduleRetry(transaction);
+        }
+        
+        // 發送通知
+        sendPaymentNotification(transaction, request);
+        
+        // 轉換為回應 DTO
+        return convertToPaymentResponse(transaction);
+    }
+    
     private GatewayPaymentRequest createGatewayRequest(PaymentRequest request, PaymentTransaction transaction) {
         switch (request.getPaymentMethod()) {
             case CREDIT_CARD:
@@ -278,6 +369,12 @@ public class PaymentProcessingService implements PaymentProcessingUseCase {
                 gatewayResponse.getGatewayTransactionId(),
                 gatewayResponse.getResponseMessage()
             );
+        } else if (gatewayResponse.isPending() && gatewayResponse.getGatewayTransactionId() != null) {
+            // 閘道已受理、尚未清算，由對帳排程取得最終結果
+            transaction.markAsAwaitingSettlement(
+                gatewayResponse.getGatewayTransactionId(),
+                gatewayResponse.getResponseMessage()
+            );
         } else {
             transaction.markAsFailed(
                 gatewayResponse.getResponseCode(),
@@ -286,6 +383,15 @@ public class PaymentProcessingService implements PaymentProcessingUseCase {
         }
     }
     
+    private void scheduleRetry(PaymentTransaction transaction) {
+        try {
+            retryService.autoRetryPayment(transaction);
+        } catch (Exception e) {
+            // 失敗結果已寫入，排程重試失敗不應該影響付款回應
+            System.err.println("Failed to schedule payment retry: " + e.getMessage());
+        }
+    }
+    
     private void validateRefundRequest(RefundRequest request, PaymentTransaction originalTransaction) {
         if (!originalTransaction.canBeRefunded()) {
             throw new PaymentProcessingException(
@@ -331,6 +437,11 @@ public class PaymentProcessingService implements PaymentProcessingUseCase {
     }
     
     private void sendPaymentNotification(PaymentTransaction transaction, PaymentRequest request) {
+        if (transaction.isAwaitingSettlement()) {
+            // 等待清算的付款在對帳取得最終結果後才通知
+            return;
+        }
+        
         try {
             PaymentNotification notification;
             
@@ -461,9 +572,10 @@ public class PaymentProcessingService implements PaymentProcessingUseCase {
         );
     }
     
-    private PaymentResponse handlePaymentProcessingException(PaymentProcessingException e, PaymentRequest request) {
+    private PaymentResponse handlePaymentProcessingException(PaymentProcessingException e, PaymentRequest request,
+                                                             PaymentTransaction transaction) {
         return PaymentResponse.failure(
-            null,
+            recordFailure(transaction, e.getFailureReason().name(), e.getMessage()),
             request.getOrderId(),
             request.getCustomerId(),
             request.getAmount(),
@@ -473,9 +585,10 @@ public class PaymentProcessingService implements PaymentProcessingUseCase {
         );
     }
     
-    private PaymentResponse handleUnexpectedException(Exception e, PaymentRequest request) {
+    private PaymentResponse handleUnexpectedException(Throwable e, PaymentRequest request,
+                                                      PaymentTransaction transaction) {
         return PaymentResponse.failure(
-            null,
+            recordFailure(transaction, "SYSTEM_ERROR", e.getMessage()),
             request.getOrderId(),
             request.getCustomerId(),
             request.getAmount(),
@@ -485,6 +598,26 @@ public class PaymentProcessingService implements PaymentProcessingUseCase {
         );
     }
     
+    /**
+     * 付款意圖已記錄後發生例外時寫入失敗的交易並記錄最終狀態，回傳交易ID；付款尚未開始時回傳 null
+     */
+    private String recordFailure(PaymentTransaction transaction, String failureReason, String details) {
+        if (transaction == null || !transaction.isProcessing()) {
+            return null;
+        }
+        
+        try {
+            transaction.markAsFailed(failureReason, details);
+            transaction = paymentPersistencePort.save(transaction);
+            paymentStatusLogPort.recordOutcome(transaction);
+            return transaction.getTransactionId();
+        } catch (Exception e) {
+            // 寫入失敗時付款意圖仍在，由復原排程以逾時失敗結束
+            System.err.println("Failed to record payment failure: " + e.getMessage());
+            return null;
+        }
+    }
+    
     private RefundResponse handleRefundProcessingException(PaymentProcessingException e, RefundRequest request) {
         return RefundResponse.failure(
             null,
@@ -0,0 +1,20 @@
+package com.ecommerce.payment.domain.exception;
+
+import com.ecommerce.common.exception.DomainException;
+
+/**
+ * 冪等鍵重複使用異常
+ * 同一冪等鍵被用於內容不同的付款請求
+ */
+public class IdempotencyKeyReusedException extends DomainException {
+    
+    public IdempotencyKeyReusedException(String message) {
+        super(message, "IDEMPOTENCY_KEY_REUSED");
+    }
+    
+    public static IdempotencyKeyReusedException forKey(String idempotencyKey) {
+        return new IdempotencyKeyReusedException(
+            String.format("Idempotency key was already used for a different payment request: %s", idempotencyKey)
+        );
+    }
+}
@@ -58,6 +58,20 @@ public class PaymentTransaction extends BaseEntity {
         return transaction;
     }
     
+    // Factory method for restoring an in-flight payment from its recorded intent
+    public static PaymentTransaction restoreProcessing(String transactionId, String merchantReference,
+                                                     String orderId, String customerId, BigDecimal amount,
+                                                     PaymentMethod paymentMethod, String description,
+                                                     LocalDateTime startedAt) {
+        PaymentTransaction transaction = create(orderId, customerId, amount, paymentMethod, description);
+        transaction.transactionId = transactionId;
+        transaction.merchantReference = merchantReference;
+        transaction.status = PaymentStatus.PROCESSING;
+        transaction.setCreatedAt(startedAt);
+        transaction.setUpdatedAt(startedAt);
+        return transaction;
+    }
+    
     // Business methods for payment processing
     public void startProcessing() {
         validateStatusTransition(PaymentStatus.PROCESSING);
@@ -79,6 +93,28 @@ public class PaymentTransaction extends BaseEntity {
         this.setUpdatedAt(LocalDateTime.now());
     }
     
+    /**
+     * 閘道已受理但尚未完成清算（如銀行轉帳），回到待處理狀態並記錄閘道交易ID，由對帳排程取得最終結果
+     */
+    public void markAsAwaitingSettlement(String gatewayTransactionId, String gatewayResponse) {
+        if (status != PaymentStatus.PROCESSING) {
+            throw new ValidationException("Cannot await settlement for payment in status: " + status);
+        }
+
+        if (gatewayTransactionId == null || gatewayTransactionId.trim().isEmpty()) {
+            throw new ValidationException("Gateway transaction ID is required for pending settlement");
+        }
+
+        this.status = PaymentStatus.PENDING;
+        this.gatewayTransactionId = gatewayTransactionId.trim();
+        this.gatewayResponse = gatewayResponse;
+        this.setUpdatedAt(LocalDateTime.now());
+    }
+
+    public boolean isAwaitingSettlement() {
+        return isPending() && gatewayTransactionId != null;
+    }
+
     public void markAsFailed(String failureReason, String gatewayResponse) {
         validateStatusTransition(PaymentStatus.FAILED);
         
@@ -89,6 +125,20 @@ public class PaymentTransaction extends BaseEntity {
         this.setUpdatedAt(LocalDateTime.now());
     }
     
+    /**
+     * 重新處理失敗的付款（排程重試），清除上次的失敗結果
+     */
+    public void restartProcessing() {
+        if (status != PaymentStatus.FAILED) {
+            throw new ValidationException("Cannot restart processing for payment in status: " + status);
+        }
+        
+        this.status = PaymentStatus.PROCESSING;
+        this.failureReason = null;
+        this.processedAt = null;
+        this.setUpdatedAt(LocalDateTime.now());
+    }
+    
     public void cancel(String reason) {
         if (!status.isCancellable()) {
             throw new ValidationException("Cannot cancel payment in status: " + status);
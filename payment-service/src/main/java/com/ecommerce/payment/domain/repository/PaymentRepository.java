@@ -79,6 +79,11 @@ public interface PaymentRepository {
      */
     BigDecimal calculateTotalPaymentsBetween(LocalDateTime startDate, LocalDateTime endDate);
     
+    /**
+     * 計算客戶在處理時間 [startDate, endDate) 內成功付款的總金額
+     */
+    BigDecimal sumSuccessfulPaymentsByCustomerBetween(String customerId, LocalDateTime startDate, LocalDateTime endDate);
+    
     /**
      * 檢查付款交易是否存在
      */
@@ -174,15 +174,10 @@ public class PaymentDomainService {
     
     private void validateDailyPaymentLimit(String customerId, BigDecimal amount) {
         LocalDateTime startOfDay = LocalDateTime.now().toLocalDate().atStartOfDay();
-        LocalDateTime endOfDay = startOfDay.plusDays(1).minusSeconds(1);
         
-        BigDecimal todayTotal = paymentRepository.findByCustomerIdAndStatus(customerId, PaymentStatus.SUCCESS)
-            .stream()
-            .filter(t -> t.getProcessedAt() != null && 
-                        t.getProcessedAt().isAfter(startOfDay) && 
-                        t.getProcessedAt().isBefore(endOfDay))
-            .map(PaymentTransaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // 由資料庫依 (客戶, 狀態, 處理時間) 索引加總當日成功付款，不載入客戶的歷史交易
+        BigDecimal todayTotal = paymentRepository.sumSuccessfulPaymentsByCustomerBetween(
+            customerId, startOfDay, startOfDay.plusDays(1));
         
         if (todayTotal.add(amount).compareTo(MAX_DAILY_PAYMENT) > 0) {
             throw new InvalidPaymentStateException("Daily payment limit exceeded. Limit: " + MAX_DAILY_PAYMENT);
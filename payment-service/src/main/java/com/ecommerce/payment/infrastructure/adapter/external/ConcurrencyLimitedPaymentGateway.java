@@ -0,0 +1,191 @@
+package com.ecommerce.payment.infrastructure.adapter.external;
+
+import com.ecommerce.common.architecture.ExternalAdapter;
+import com.ecommerce.payment.application.dto.GatewayPaymentRequest;
+import com.ecommerce.payment.application.dto.GatewayPaymentResponse;
+import com.ecommerce.payment.application.dto.GatewayRefundRequest;
+import com.ecommerce.payment.application.dto.GatewayRefundResponse;
+import com.ecommerce.payment.application.port.out.PaymentGatewayPort;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 並行上限付款閘道
+ * 包裝實際的閘道適配器，每種付款方式各自一個 {@link GatewayBulkhead} 限制同時進行中的非同步付款數，
+ * 避免單一閘道變慢時拖垮其他付款方式；同步呼叫直接轉給實際的閘道
+ * 閘道回應後的後續處理（更新交易、發送通知）在固定大小的完成執行緒池執行，不佔用閘道或計時執行緒
+ */
+@Component
+@Primary
+@ExternalAdapter
+public class ConcurrencyLimitedPaymentGateway implements PaymentGatewayPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitedPaymentGateway.class);
+
+    private final PaymentGatewayPort delegate;
+    private final Duration timeout;
+    private final Map<PaymentMethod, GatewayBulkhead> bulkheads = new EnumMap<>(PaymentMethod.class);
+    private final Map<PaymentMethod, Counter> rejectedCounters = new EnumMap<>(PaymentMethod.class);
+    private final ExecutorService completionExecutor;
+
+    public ConcurrencyLimitedPaymentGateway(CreditCardGatewayAdapter delegate,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${payment.gateway.timeout:30s}") Duration timeout,
+                                            @Value("${payment.gateway.concurrency.credit-card:500}") int creditCardLimit,
+                                            @Value("${payment.gateway.concurrency.debit-card:200}") int debitCardLimit,
+                                            @Value("${payment.gateway.concurrency.bank-transfer:100}") int bankTransferLimit,
+                                            @Value("${payment.gateway.concurrency.default:50}") int defaultLimit,
+                                            @Value("${payment.gateway.concurrency.max-queued:1000}") int maxQueued,
+                                            @Value("${payment.gateway.concurrency.completion-threads:16}") int completionThreads) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+
+        for (PaymentMethod method : PaymentMethod.values()) {
+            int limit;
+            switch (method) {
+                case CREDIT_CARD:
+                    limit = creditCardLimit;
+                    break;
+                case DEBIT_CARD:
+                    limit = debitCardLimit;
+                    break;
+                case BANK_TRANSFER:
+                    limit = bankTransferLimit;
+                    break;
+                default:
+                    limit = defaultLimit;
+            }
+            GatewayBulkhead bulkhead = new GatewayBulkhead(method.name(), limit, maxQueued);
+            bulkheads.put(method, bulkhead);
+
+            Gauge.builder("payment.gateway.in-flight", bulkhead, GatewayBulkhead::getInFlight)
+                .description("進行中的非同步閘道呼叫數")
+                .tag("method", method.name())
+                .register(meterRegistry);
+            Gauge.builder("payment.gateway.queued", bulkhead, GatewayBulkhead::getQueued)
+                .description("等待並行名額的閘道呼叫數")
+                .tag("method", method.name())
+                .register(meterRegistry);
+            rejectedCounters.put(method, Counter.builder("payment.gateway.rejected")
+                .description("並行名額與等待佇列皆滿而被拒絕的閘道呼叫數")
+                .tag("method", method.name())
+                .register(meterRegistry));
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.completionExecutor = new ThreadPoolExecutor(completionThreads, completionThreads,
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxQueued * 2),
+            runnable -> {
+                Thread thread = new Thread(runnable, "payment-gateway-completion-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public GatewayPaymentResponse processCreditCardPayment(GatewayPaymentRequest request) {
+        return delegate.processCreditCardPayment(request);
+    }
+
+    @Override
+    public GatewayPaymentResponse processDebitCardPayment(GatewayPaymentRequest request) {
+        return delegate.processDebitCardPayment(request);
+    }
+
+    @Override
+    public GatewayPaymentResponse processBankTransferPayment(GatewayPaymentRequest request) {
+        return delegate.processBankTransferPayment(request);
+    }
+
+    @Override
+    public CompletableFuture<GatewayPaymentResponse> processPaymentAsync(GatewayPaymentRequest request) {
+        PaymentMethod method = request.getPaymentMethod();
+        // 逾時只釋放名額並回覆呼叫端，實際的連線逾時由閘道用戶端負責
+        return bulkheads.get(method)
+            .submit(() -> delegate.processPaymentAsync(request)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS))
+            .handleAsync((response, error) -> error == null ? response : failureResponse(request, error),
+                completionExecutor);
+    }
+
+    @Override
+    public GatewayRefundResponse processRefund(GatewayRefundRequest request) {
+        return delegate.processRefund(request);
+    }
+
+    @Override
+    public GatewayPaymentResponse queryPaymentStatus(String gatewayTransactionId) {
+        return delegate.queryPaymentStatus(gatewayTransactionId);
+    }
+
+    @Override
+    public Map<String, GatewayPaymentResponse> queryPaymentStatuses(List<String> gatewayTransactionIds) {
+        return delegate.queryPaymentStatuses(gatewayTransactionIds);
+    }
+
+    @Override
+    public boolean isGatewayHealthy() {
+        return delegate.isGatewayHealthy();
+    }
+
+    @Override
+    public boolean isGatewayHealthy(PaymentMethod paymentMethod) {
+        return delegate.isGatewayHealthy(paymentMethod);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        completionExecutor.shutdown();
+    }
+
+    // Private helper methods
+
+    private GatewayPaymentResponse failureResponse(GatewayPaymentRequest request, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+        if (cause instanceof TimeoutException) {
+            logger.warn("Gateway call timed out after {} for transaction: {}", timeout, request.getTransactionId());
+            return GatewayPaymentResponse.timeout(request.getMerchantReference(), request.getAmount());
+        }
+
+        if (cause instanceof RejectedExecutionException) {
+            rejectedCounters.get(request.getPaymentMethod()).increment();
+            logger.warn("Rejected transaction {}: {}", request.getTransactionId(), cause.getMessage());
+            return GatewayPaymentResponse.failure(
+                null,
+                request.getMerchantReference(),
+                request.getAmount(),
+                "GATEWAY_UNAVAILABLE",
+                "Payment gateway is saturated",
+                "付款閘道忙碌中，請稍後再試",
+                true
+            );
+        }
+
+        // 其他錯誤交由付款策略轉換為失敗回應
+        throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+    }
+}
@@ -6,15 +6,22 @@ import com.ecommerce.payment.application.dto.GatewayPaymentResponse;
 import com.ecommerce.payment.application.dto.GatewayRefundRequest;
 import com.ecommerce.payment.application.dto.GatewayRefundResponse;
 import com.ecommerce.payment.application.port.out.PaymentGatewayPort;
-import com.ecommerce.payment.domain.model.PaymentMethod;
+import com.ecommerce.payment.domain.exception.PaymentProcessingException;
+import com.ecommerce.payment.domain.model.PaymentFailureReason;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 信用卡閘道適配器
@@ -39,24 +46,7 @@ public class CreditCardGatewayAdapter implements PaymentGatewayPort {
         // 模擬處理延遲
         simulateProcessingDelay();
         
-        // 模擬不同的回應情況
-        double randomValue = random.nextDouble();
-        
-        if (randomValue < TIMEOUT_RATE) {
-            logger.warn("Simulating timeout for transaction: {}", request.getTransactionId());
-            return GatewayPaymentResponse.timeout(request.getMerchantReference(), request.getAmount());
-        }
-        
-        if (randomValue < TIMEOUT_RATE + NETWORK_ERROR_RATE) {
-            logger.warn("Simulating network error for transaction: {}", request.getTransactionId());
-            return GatewayPaymentResponse.networkError(request.getMerchantReference(), request.getAmount());
-        }
-        
-        if (randomValue < SUCCESS_RATE) {
-            return processSuccessfulPayment(request);
-        } else {
-            return processFailedPayment(request);
-        }
+        return creditCardResponse(request);
     }
     
     @Override
@@ -66,22 +56,7 @@ public class CreditCardGatewayAdapter implements PaymentGatewayPort {
         // 金融卡付款邏輯類似信用卡，但可能有不同的驗證規則
         simulateProcessingDelay();
         
-        // 金融卡通常有較低的成功率（需要即時餘額驗證）
-        double randomValue = random.nextDouble();
-        
-        if (randomValue < 0.75) { // 75% 成功率
-            return processSuccessfulPayment(request);
-        } else {
-            return GatewayPaymentResponse.failure(
-                generateGatewayTransactionId(),
-                request.getMerchantReference(),
-                request.getAmount(),
-                "51",
-                "Insufficient funds",
-                "餘額不足",
-                false
-            );
-        }
+        return debitCardResponse(request);
     }
     
     @Override
@@ -91,12 +66,27 @@ public class CreditCardGatewayAdapter implements PaymentGatewayPort {
         // 銀行轉帳通常需要較長的處理時間
         simulateProcessingDelay(2000, 5000);
         
-        // 銀行轉帳通常返回 pending 狀態
-        return GatewayPaymentResponse.pending(
-            generateGatewayTransactionId(),
-            request.getMerchantReference(),
-            request.getAmount()
-        );
+        return bankTransferResponse(request);
+    }
+    
+    @Override
+    public CompletableFuture<GatewayPaymentResponse> processPaymentAsync(GatewayPaymentRequest request) {
+        logger.info("Dispatching {} payment for transaction: {}", request.getPaymentMethod(), request.getTransactionId());
+        
+        // 以延遲排程模擬閘道回應時間，等待期間不佔用任何執行緒
+        switch (request.getPaymentMethod()) {
+            case CREDIT_CARD:
+                return CompletableFuture.supplyAsync(() -> creditCardResponse(request), simulatedLatency(500, 2000));
+            case DEBIT_CARD:
+                return CompletableFuture.supplyAsync(() -> debitCardResponse(request), simulatedLatency(500, 2000));
+            case BANK_TRANSFER:
+                return CompletableFuture.supplyAsync(() -> bankTransferResponse(request), simulatedLatency(2000, 5000));
+            default:
+                return CompletableFuture.failedFuture(new PaymentProcessingException(
+                    "Unsupported payment method: " + request.getPaymentMethod(),
+                    PaymentFailureReason.SYSTEM_ERROR
+                ));
+        }
     }
     
     @Override
@@ -143,16 +133,21 @@ public class CreditCardGatewayAdapter implements PaymentGatewayPort {
         
         simulateProcessingDelay(100, 500);
         
-        // 模擬查詢結果
-        GatewayPaymentResponse response = new GatewayPaymentResponse();
-        response.setGatewayTransactionId(gatewayTransactionId);
-        response.setSuccess(true);
-        response.setStatus("SUCCESS");
-        response.setResponseCode("00");
-        response.setResponseMessage("Transaction found");
-        response.setProcessedAt(LocalDateTime.now());
+        return statusResponse(gatewayTransactionId);
+    }
+    
+    @Override
+    public Map<String, GatewayPaymentResponse> queryPaymentStatuses(List<String> gatewayTransactionIds) {
+        logger.info("Querying payment status for {} gateway transactions", gatewayTransactionIds.size());
         
-        return response;
+        // 整批查詢只有一次閘道往返
+        simulateProcessingDelay(100, 500);
+        
+        Map<String, GatewayPaymentResponse> statuses = new LinkedHashMap<>();
+        for (String gatewayTransactionId : gatewayTransactionIds) {
+            statuses.put(gatewayTransactionId, statusResponse(gatewayTransactionId));
+        }
+        return statuses;
     }
     
     @Override
@@ -169,6 +164,68 @@ public class CreditCardGatewayAdapter implements PaymentGatewayPort {
         }
     }
     
+    private GatewayPaymentResponse creditCardResponse(GatewayPaymentRequest request) {
+        // 模擬不同的回應情況
+        double randomValue = random.nextDouble();
+        
+        if (randomValue < TIMEOUT_RATE) {
+            logger.warn("Simulating timeout for transaction: {}", request.getTransactionId());
+            return GatewayPaymentResponse.timeout(request.getMerchantReference(), request.getAmount());
+        }
+        
+        if (randomValue < TIMEOUT_RATE + NETWORK_ERROR_RATE) {
+            logger.warn("Simulating network error for transaction: {}", request.getTransactionId());
+            return GatewayPaymentResponse.networkError(request.getMerchantReference(), request.getAmount());
+        }
+        
+        if (randomValue < SUCCESS_RATE) {
+            return processSuccessfulPayment(request);
+        } else {
+            return processFailedPayment(request);
+        }
+    }
+    
+    private GatewayPaymentResponse debitCardResponse(GatewayPaymentRequest request) {
+        // 金融卡通常有較低的成功率（需要即時餘額驗證）
+        double randomValue = random.nextDouble();
+        
+        if (randomValue < 0.75) { // 75% 成功率
+            return processSuccessfulPayment(request);
+        } else {
+            return GatewayPaymentResponse.failure(
+                generateGatewayTransactionId(),
+                request.getMerchantReference(),
+                request.getAmount(),
+                "51",
+                "Insufficient funds",
+                "餘額不足",
+                false
+            );
+        }
+    }
+    
+    private GatewayPaymentResponse bankTransferResponse(GatewayPaymentRequest request) {
+        // 銀行轉帳通常返回 pending 狀態
+        return GatewayPaymentResponse.pending(
+            generateGatewayTransactionId(),
+            request.getMerchantReference(),
+            request.getAmount()
+        );
+    }
+    
+    private GatewayPaymentResponse statusResponse(String gatewayTransactionId) {
+        // 模擬查詢結果
+        GatewayPaymentResponse response = new GatewayPaymentResponse();
+        response.setGatewayTransactionId(gatewayTransactionId);
+        response.setSuccess(true);
+        response.setStatus("SUCCESS");
+        response.setResponseCode("00");
+        response.setResponseMessage("Transaction found");
+        response.setProcessedAt(LocalDateTime.now());
+        
+        return response;
+    }
+    
     private GatewayPaymentResponse processSuccessfulPayment(GatewayPaymentRequest request) {
         String gatewayTransactionId = generateGatewayTransactionId();
         String authorizationCode = generateAuthorizationCode();
@@ -245,6 +302,11 @@ public class CreditCardGatewayAdapter implements PaymentGatewayPort {
         }
     }
     
+    private Executor simulatedLatency(int minMs, int maxMs) {
+        int delay = random.nextInt(maxMs - minMs) + minMs;
+        return CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS);
+    }
+    
     private String generateGatewayTransactionId() {
         return "GTW-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
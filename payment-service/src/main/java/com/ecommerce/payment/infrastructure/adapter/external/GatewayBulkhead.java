@@ -0,0 +1,123 @@
+package com.ecommerce.payment.infrastructure.adapter.external;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 閘道並行上限
+ * 限制同時進行中的非同步閘道呼叫數，超過上限的呼叫排入等待佇列，佇列滿時直接拒絕
+ * 取得名額不會阻塞呼叫端執行緒：等待中的呼叫在前一個呼叫完成時由完成的執行緒接續送出
+ * 接續送出以迴圈逐一處理，同步完成的呼叫不會在釋放名額時層層遞迴
+ */
+public class GatewayBulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+    private final Queue<Runnable> handoffs = new ArrayDeque<>();
+    private int inFlight;
+    private boolean draining;
+
+    public GatewayBulkhead(String name, int maxConcurrent, int maxQueued) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Max concurrent calls must be positive");
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Max queued calls must not be negative");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * 在並行上限內送出呼叫
+     * @return 呼叫的結果；等待佇列已滿時以 {@link RejectedExecutionException} 失敗
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> start(call, result);
+
+        synchronized (this) {
+            if (inFlight >= maxConcurrent) {
+                if (waiting.size() >= maxQueued) {
+                    return CompletableFuture.failedFuture(new RejectedExecutionException(
+                        "Gateway " + name + " is saturated: " + inFlight + " in flight, " + waiting.size() + " queued"));
+                }
+                waiting.add(start);
+                return result;
+            }
+            inFlight++;
+        }
+
+        start.run();
+        return result;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return waiting.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Private helper methods
+
+    private <T> void start(Supplier<CompletableFuture<T>> call, CompletableFuture<T> result) {
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            release();
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void release() {
+        synchronized (this) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            // 名額直接轉給下一個等待中的呼叫，進行中的數量不變
+            handoffs.add(next);
+            if (draining) {
+                // 已有執行緒在送出接手的呼叫，交給它的迴圈處理，不在這裡遞迴
+                return;
+            }
+            draining = true;
+        }
+        drainHandoffs();
+    }
+
+    private void drainHandoffs() {
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                next = handoffs.poll();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            next.run();
+        }
+    }
+}
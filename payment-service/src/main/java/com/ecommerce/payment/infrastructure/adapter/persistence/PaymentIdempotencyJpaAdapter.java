@@ -0,0 +1,89 @@
+package com.ecommerce.payment.infrastructure.adapter.persistence;
+
+import com.ecommerce.common.architecture.PersistenceAdapter;
+import com.ecommerce.payment.application.dto.IdempotentPaymentResult;
+import com.ecommerce.payment.application.dto.PaymentResponse;
+import com.ecommerce.payment.application.port.out.PaymentIdempotencyPort;
+import com.ecommerce.payment.infrastructure.adapter.persistence.entity.PaymentIdempotencyKeyJpaEntity;
+import com.ecommerce.payment.infrastructure.adapter.persistence.repository.PaymentIdempotencyKeyJpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 付款冪等鍵持久化適配器
+ */
+@Component
+@PersistenceAdapter
+@Transactional
+public class PaymentIdempotencyJpaAdapter implements PaymentIdempotencyPort {
+    
+    private final PaymentIdempotencyKeyJpaRepository repository;
+    
+    public PaymentIdempotencyJpaAdapter(PaymentIdempotencyKeyJpaRepository repository) {
+        this.repository = repository;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<IdempotentPaymentResult> findCompleted(String idempotencyKey, LocalDateTime now) {
+        return repository.findUnexpired(idempotencyKey, now)
+            .map(entity -> new IdempotentPaymentResult(entity.getRequestFingerprint(), toPaymentResponse(entity)));
+    }
+    
+    @Override
+    public void saveCompleted(String idempotencyKey, String requestFingerprint, PaymentResponse response,
+                              LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<PaymentIdempotencyKeyJpaEntity> existing = repository.findById(idempotencyKey);
+        if (existing.isPresent() && existing.get().getExpiresAt().isAfter(now)) {
+            return;
+        }
+        
+        // 已過期但尚未清除的冪等鍵直接覆寫
+        PaymentIdempotencyKeyJpaEntity entity = existing.orElseGet(PaymentIdempotencyKeyJpaEntity::new);
+        entity.setIdempotencyKey(idempotencyKey);
+        entity.setRequestFingerprint(requestFingerprint);
+        entity.setTransactionId(response.getTransactionId());
+        entity.setOrderId(response.getOrderId());
+        entity.setCustomerId(response.getCustomerId());
+        entity.setAmount(response.getAmount());
+        entity.setPaymentMethod(response.getPaymentMethod());
+        entity.setStatus(response.getStatus());
+        entity.setGatewayTransactionId(response.getGatewayTransactionId());
+        entity.setFailureReason(response.getFailureReason());
+        entity.setDescription(response.getDescription());
+        entity.setMaskedCardNumber(response.getMaskedCardNumber());
+        entity.setRetryable(response.isRetryable());
+        entity.setProcessedAt(response.getProcessedAt());
+        entity.setCreatedAt(now);
+        entity.setExpiresAt(expiresAt);
+        repository.save(entity);
+    }
+    
+    @Override
+    public int purgeExpired(LocalDateTime now) {
+        return repository.deleteExpired(now);
+    }
+    
+    // Private helper methods
+    private PaymentResponse toPaymentResponse(PaymentIdempotencyKeyJpaEntity entity) {
+        PaymentResponse response = new PaymentResponse(
+            entity.getTransactionId(),
+            entity.getOrderId(),
+            entity.getCustomerId(),
+            entity.getAmount(),
+            entity.getPaymentMethod(),
+            entity.getStatus()
+        );
+        response.setGatewayTransactionId(entity.getGatewayTransactionId());
+        response.setFailureReason(entity.getFailureReason());
+        response.setDescription(entity.getDescription());
+        response.setProcessedAt(entity.getProcessedAt());
+        response.setRetryable(entity.isRetryable());
+        response.setMaskedCardNumber(entity.getMaskedCardNumber());
+        return response;
+    }
+}
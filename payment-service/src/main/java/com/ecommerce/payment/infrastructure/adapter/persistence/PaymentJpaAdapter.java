@@ -2,6 +2,7 @@ package com.ecommerce.payment.infrastructure.adapter.persistence;
 
 import com.ecommerce.common.architecture.PersistenceAdapter;
 import com.ecommerce.payment.application.port.out.PaymentPersistencePort;
+import com.ecommerce.payment.domain.model.PaymentMethod;
 import com.ecommerce.payment.domain.model.PaymentStatus;
 import com.ecommerce.payment.domain.model.PaymentTransaction;
 import com.ecommerce.payment.infrastructure.adapter.persistence.entity.PaymentTransactionJpaEntity;
@@ -9,11 +10,13 @@ import com.ecommerce.payment.infrastructure.adapter.persistence.mapper.PaymentTr
 import com.ecommerce.payment.infrastructure.adapter.persistence.repository.PaymentTransactionJpaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -29,6 +32,9 @@ public class PaymentJpaAdapter implements PaymentPersistencePort {
     
     private static final Logger logger = LoggerFactory.getLogger(PaymentJpaAdapter.class);
     
+    private static final EnumSet<PaymentStatus> RECONCILABLE_STATUSES =
+            EnumSet.of(PaymentStatus.PENDING, PaymentStatus.PROCESSING);
+    
     private final PaymentTransactionJpaRepository repository;
     private final PaymentTransactionJpaMapper mapper;
     
@@ -57,6 +63,55 @@ public class PaymentJpaAdapter implements PaymentPersistencePort {
         }
     }
     
+    @Override
+    public List<PaymentTransaction> saveAll(List<PaymentTransaction> transactions) {
+        logger.debug("Saving {} payment transactions", transactions.size());
+        
+        try {
+            // 先以一次查詢載入既有資料列，合併時不再逐筆查詢；更新依 hibernate.jdbc.batch_size 批次送出
+            repository.findAllById(transactions.stream()
+                    .map(PaymentTransaction::getTransactionId)
+                    .collect(Collectors.toList()));
+            
+            List<PaymentTransactionJpaEntity> savedEntities = repository.saveAll(transactions.stream()
+                    .map(mapper::toJpaEntity)
+                    .collect(Collectors.toList()));
+            
+            return savedEntities.stream()
+                    .map(mapper::toDomainEntity)
+                    .collect(Collectors.toList());
+            
+        } catch (Exception e) {
+            logger.error("Failed to save {} payment transactions", transactions.size(), e);
+            throw new RuntimeException("Failed to save payment transactions", e);
+        }
+    }
+    
+    @Override
+    public List<PaymentTransaction> claimForReconciliation(PaymentMethod paymentMethod, LocalDateTime checkedBefore, int limit) {
+        logger.debug("Claiming {} payment transactions for reconciliation checked before: {}", paymentMethod, checkedBefore);
+        
+        try {
+            List<PaymentTransactionJpaEntity> claimed = repository.lockReconciliationBatch(
+                    paymentMethod, RECONCILABLE_STATUSES, checkedBefore, PageRequest.of(0, limit));
+            if (claimed.isEmpty()) {
+                return List.of();
+            }
+            
+            repository.markReconciled(claimed.stream()
+                    .map(PaymentTransactionJpaEntity::getTransactionId)
+                    .collect(Collectors.toList()), LocalDateTime.now());
+            
+            return claimed.stream()
+                    .map(mapper::toDomainEntity)
+                    .collect(Collectors.toList());
+            
+        } catch (Exception e) {
+            logger.error("Failed to claim {} payment transactions for reconciliation", paymentMethod, e);
+            throw new RuntimeException("Failed to claim payment transactions for reconciliation", e);
+        }
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Optional<PaymentTransaction> findById(String transactionId) {
@@ -145,6 +200,34 @@ public class PaymentJpaAdapter implements PaymentPersistencePort {
         }
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentTransaction> findByCustomerIdBefore(String customerId, LocalDateTime beforeCreatedAt,
+                                                           String beforeTransactionId, int limit) {
+        logger.debug("Finding payment transactions page for customer: {} before: {}", customerId, beforeTransactionId);
+        
+        try {
+            PageRequest firstRows = PageRequest.of(0, limit);
+            List<PaymentTransactionJpaEntity> jpaEntities = beforeCreatedAt == null
+                    ? repository.findCustomerPaymentsFirstPage(customerId, firstRows)
+                    : repository.findCustomerPaymentsBefore(customerId, beforeCreatedAt, beforeTransactionId, firstRows);
+            
+            return jpaEntities.stream()
+                    .map(mapper::toDomainEntity)
+                    .collect(Collectors.toList());
+            
+        } catch (Exception e) {
+            logger.error("Failed to find payment transactions page for customer: {}", customerId, e);
+            throw new RuntimeException("Failed to find payment transactions for customer", e);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long countByCustomerId(String customerId) {
+        return repository.countByCustomerId(customerId);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<PaymentTransaction> findByCustomerIdAndStatus(String customerId, PaymentStatus status) {
@@ -312,6 +395,20 @@ public class PaymentJpaAdapter implements PaymentPersistencePort {
         }
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal sumSuccessfulPaymentsByCustomerBetween(String customerId, LocalDateTime startDate, LocalDateTime endDate) {
+        logger.debug("Calculating successful payments for customer {} between: {} and {}", customerId, startDate, endDate);
+        
+        try {
+            return repository.sumSuccessfulPaymentsByCustomerBetween(customerId, startDate, endDate);
+            
+        } catch (Exception e) {
+            logger.error("Failed to calculate successful payments for customer: {}", customerId, e);
+            throw new RuntimeException("Failed to calculate successful payments for customer", e);
+        }
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public boolean existsById(String transactionId) {
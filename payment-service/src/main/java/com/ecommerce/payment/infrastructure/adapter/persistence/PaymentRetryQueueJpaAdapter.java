@@ -0,0 +1,109 @@
+package com.ecommerce.payment.infrastructure.adapter.persistence;
+
+import com.ecommerce.common.architecture.PersistenceAdapter;
+import com.ecommerce.payment.application.port.out.PaymentRetryQueuePort;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import com.ecommerce.payment.infrastructure.adapter.persistence.entity.PaymentRetryJpaEntity;
+import com.ecommerce.payment.infrastructure.adapter.persistence.repository.PaymentRetryJpaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 付款重試佇列持久化適配器
+ * 在呼叫端的交易中寫入重試，與交易狀態的更新一併提交；
+ * 排程器在交易外呼叫時，每次領取與結果更新各自在獨立交易中提交
+ */
+@Component
+@PersistenceAdapter
+@Transactional
+public class PaymentRetryQueueJpaAdapter implements PaymentRetryQueuePort {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PaymentRetryQueueJpaAdapter.class);
+    
+    private final PaymentRetryJpaRepository repository;
+    
+    public PaymentRetryQueueJpaAdapter(PaymentRetryJpaRepository repository) {
+        this.repository = repository;
+    }
+    
+    @Override
+    public void enqueue(String transactionId, PaymentMethod paymentMethod, int attemptNumber, LocalDateTime dueAt) {
+        Optional<PaymentRetryJpaEntity> pending =
+            repository.findFirstByTransactionIdAndStatus(transactionId, PaymentRetryJpaEntity.Status.PENDING);
+        
+        if (pending.isPresent()) {
+            pending.get().reschedule(attemptNumber, dueAt);
+        } else {
+            repository.save(new PaymentRetryJpaEntity(transactionId, paymentMethod, attemptNumber, dueAt));
+        }
+        
+        logger.info("Payment retry #{} for transaction {} scheduled at {}", attemptNumber, transactionId, dueAt);
+    }
+    
+    @Override
+    public List<ClaimedRetry> claimDue(LocalDateTime now, int limit, Duration lease, String claimedBy) {
+        List<PaymentRetryJpaEntity> due = repository.lockDueBatch(now, PageRequest.of(0, limit));
+        if (due.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        String claimToken = UUID.randomUUID().toString();
+        LocalDateTime leaseUntil = now.plus(lease);
+        List<ClaimedRetry> claimed = new ArrayList<>(due.size());
+        for (PaymentRetryJpaEntity retry : due) {
+            claimed.add(new ClaimedRetry(retry.getRetryId(), claimToken, retry.getTransactionId(),
+                retry.getPaymentMethod(), retry.getAttemptNumber(), retry.getNextAttemptAt()));
+            retry.claim(claimToken, claimedBy, now, leaseUntil);
+        }
+        return claimed;
+    }
+    
+    @Override
+    public boolean reschedule(ClaimedRetry retry, int attemptNumber, LocalDateTime dueAt, String lastError) {
+        return repository.reschedule(retry.retryId(), retry.claimToken(), attemptNumber, dueAt, truncate(lastError)) > 0;
+    }
+    
+    @Override
+    public boolean complete(ClaimedRetry retry) {
+        return repository.markFinished(retry.retryId(), retry.claimToken(),
+            PaymentRetryJpaEntity.Status.COMPLETED, null, LocalDateTime.now()) > 0;
+    }
+    
+    @Override
+    public boolean exhaust(ClaimedRetry retry, String lastError) {
+        return repository.markFinished(retry.retryId(), retry.claimToken(),
+            PaymentRetryJpaEntity.Status.EXHAUSTED, truncate(lastError), LocalDateTime.now()) > 0;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public QueueSummary summarizePending() {
+        List<Object[]> summary = repository.summarizePending();
+        Object[] row = summary.isEmpty() ? null : summary.get(0);
+        if (row == null || row[0] == null) {
+            return QueueSummary.EMPTY;
+        }
+        return new QueueSummary(((Number) row[0]).longValue(), (LocalDateTime) row[1]);
+    }
+    
+    @Override
+    public int purgeFinishedBefore(LocalDateTime cutoff) {
+        return repository.deleteFinishedBefore(cutoff);
+    }
+    
+    // Private helper methods
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.payment.infrastructure.adapter.persistence;
+
+import com.ecommerce.common.architecture.PersistenceAdapter;
+import com.ecommerce.payment.application.port.out.PaymentStatusLogPort;
+import com.ecommerce.payment.domain.model.PaymentTransaction;
+import com.ecommerce.payment.infrastructure.adapter.persistence.entity.PaymentStatusLogJpaEntity;
+import com.ecommerce.payment.infrastructure.adapter.persistence.repository.PaymentStatusLogJpaRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 付款狀態日誌持久化適配器
+ * 每筆紀錄都是單純的 INSERT，不經過付款交易的完整映射與合併
+ */
+@Component
+@PersistenceAdapter
+@Transactional
+public class PaymentStatusLogJpaAdapter implements PaymentStatusLogPort {
+    
+    private final PaymentStatusLogJpaRepository repository;
+    
+    public PaymentStatusLogJpaAdapter(PaymentStatusLogJpaRepository repository) {
+        this.repository = repository;
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordIntent(PaymentTransaction transaction) {
+        PaymentStatusLogJpaEntity intent = new PaymentStatusLogJpaEntity(
+            transaction.getTransactionId(), transaction.getStatus(), null, LocalDateTime.now());
+        intent.setMerchantReference(transaction.getMerchantReference());
+        intent.setOrderId(transaction.getOrderId());
+        intent.setCustomerId(transaction.getCustomerId());
+        intent.setAmount(transaction.getAmount());
+        intent.setPaymentMethod(transaction.getPaymentMethod());
+        intent.setDescription(transaction.getDescription());
+        repository.save(intent);
+    }
+    
+    @Override
+    public void recordOutcome(PaymentTransaction transaction) {
+        repository.save(new PaymentStatusLogJpaEntity(
+            transaction.getTransactionId(), transaction.getStatus(), transaction.getFailureReason(), LocalDateTime.now()));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentTransaction> findUnfinishedPayments(LocalDateTime startedBefore, int limit) {
+        return repository.findUnfinishedIntents(startedBefore, PageRequest.of(0, limit)).stream()
+            .map(intent -> PaymentTransaction.restoreProcessing(
+                intent.getTransactionId(),
+                intent.getMerchantReference(),
+                intent.getOrderId(),
+                intent.getCustomerId(),
+                intent.getAmount(),
+                intent.getPaymentMethod(),
+                intent.getDescription(),
+                intent.getRecordedAt()))
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public int purgeRecordedBefore(LocalDateTime cutoff) {
+        return repository.deleteRecordedBefore(cutoff);
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecommerce.payment.infrastructure.adapter.persistence.entity;
+
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 付款重試佇列 JPA 實體
+ * 依 (status, next_attempt_at) 建立索引，排程器只掃描已到期的待執行重試
+ * 領取時將 next_attempt_at 往後推至租約到期時間，執行中的實例停止回應時重試會在租約到期後自動重新到期
+ */
+@Entity
+@Table(name = "payment_retry_queue", indexes = {
+    @Index(name = "idx_payment_retry_due", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_payment_retry_transaction", columnList = "transaction_id, status")
+})
+public class PaymentRetryJpaEntity {
+
+    public enum Status {
+        PENDING, COMPLETED, EXHAUSTED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "retry_id")
+    private Long retryId;
+
+    @Column(name = "transaction_id", nullable = false, length = 50)
+    private String transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false, length = 20)
+    private PaymentMethod paymentMethod;
+
+    @Column(name = "attempt_number", nullable = false)
+    private int attemptNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Constructors
+    public PaymentRetryJpaEntity() {}
+
+    public PaymentRetryJpaEntity(String transactionId, PaymentMethod paymentMethod, int attemptNumber, LocalDateTime dueAt) {
+        this.transactionId = transactionId;
+        this.paymentMethod = paymentMethod;
+        this.attemptNumber = attemptNumber;
+        this.nextAttemptAt = dueAt;
+        this.status = Status.PENDING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * 領取重試並取得租約；租約期間其他實例不會再領取
+     */
+    public void claim(String claimToken, String claimedBy, LocalDateTime claimedAt, LocalDateTime leaseUntil) {
+        this.claimToken = claimToken;
+        this.claimedBy = claimedBy;
+        this.claimedAt = claimedAt;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    /**
+     * 重新排程為待執行，清除領取資訊
+     */
+    public void reschedule(int attemptNumber, LocalDateTime dueAt) {
+        this.attemptNumber = attemptNumber;
+        this.nextAttemptAt = dueAt;
+        this.status = Status.PENDING;
+        this.claimToken = null;
+        this.claimedBy = null;
+        this.claimedAt = null;
+    }
+
+    // Getters and Setters
+    public Long getRetryId() { return retryId; }
+    public void setRetryId(Long retryId) { this.retryId = retryId; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public PaymentMethod getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(PaymentMethod paymentMethod) { this.paymentMethod = paymentMethod; }
+
+    public int getAttemptNumber() { return attemptNumber; }
+    public void setAttemptNumber(int attemptNumber) { this.attemptNumber = attemptNumber; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+
+    public String getClaimedBy() { return claimedBy; }
+    public void setClaimedBy(String claimedBy) { this.claimedBy = claimedBy; }
+
+    public LocalDateTime getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(LocalDateTime claimedAt) { this.claimedAt = claimedAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.payment.infrastructure.adapter.persistence.entity;
+
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import com.ecommerce.payment.domain.model.PaymentStatus;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 付款狀態日誌 JPA 實體
+ * 只新增不更新；處理中的紀錄即付款意圖，保存復原交易所需的欄位，最終狀態的紀錄只記錄狀態與原因
+ */
+@Entity
+@Table(name = "payment_status_log", indexes = {
+    @Index(name = "idx_payment_status_log_transaction", columnList = "transaction_id, status"),
+    @Index(name = "idx_payment_status_log_status_recorded", columnList = "status, recorded_at")
+})
+public class PaymentStatusLogJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "log_id")
+    private Long logId;
+
+    @Column(name = "transaction_id", nullable = false, length = 50)
+    private String transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private PaymentStatus status;
+
+    @Column(name = "merchant_reference", length = 100)
+    private String merchantReference;
+
+    @Column(name = "order_id", length = 50)
+    private String orderId;
+
+    @Column(name = "customer_id", length = 50)
+    private String customerId;
+
+    @Column(name = "amount", precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", length = 20)
+    private PaymentMethod paymentMethod;
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    @Column(name = "detail", length = 500)
+    private String detail;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    // Constructors
+    public PaymentStatusLogJpaEntity() {}
+
+    public PaymentStatusLogJpaEntity(String transactionId, PaymentStatus status, String detail, LocalDateTime recordedAt) {
+        this.transactionId = transactionId;
+        this.status = status;
+        this.detail = detail != null && detail.length() > 500 ? detail.substring(0, 500) : detail;
+        this.recordedAt = recordedAt;
+    }
+
+    // Getters and Setters
+    public Long getLogId() { return logId; }
+    public void setLogId(Long logId) { this.logId = logId; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public PaymentStatus getStatus() { return status; }
+    public void setStatus(PaymentStatus status) { this.status = status; }
+
+    public String getMerchantReference() { return merchantReference; }
+    public void setMerchantReference(String merchantReference) { this.merchantReference = merchantReference; }
+
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public String getCustomerId() { return customerId; }
+    public void setCustomerId(String customerId) { this.customerId = customerId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public PaymentMethod getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(PaymentMethod paymentMethod) { this.paymentMethod = paymentMethod; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getDetail() { return detail; }
+    public void setDetail(String detail) { this.detail = detail; }
+
+    public LocalDateTime getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(LocalDateTime recordedAt) { this.recordedAt = recordedAt; }
+}
@@ -15,10 +15,12 @@ import java.util.Objects;
 @Entity
 @Table(name = "payment_transactions", indexes = {
     @Index(name = "idx_payment_order_id", columnList = "orderId"),
-    @Index(name = "idx_payment_customer_id", columnList = "customerId"),
+    @Index(name = "idx_payment_customer_created", columnList = "customerId, createdAt, transactionId"),
+    @Index(name = "idx_payment_customer_status_processed", columnList = "customerId, status, processedAt"),
     @Index(name = "idx_payment_status", columnList = "status"),
     @Index(name = "idx_payment_gateway_transaction_id", columnList = "gatewayTransactionId"),
-    @Index(name = "idx_payment_created_at", columnList = "createdAt")
+    @Index(name = "idx_payment_created_at", columnList = "createdAt"),
+    @Index(name = "idx_payment_reconciliation", columnList = "paymentMethod, status, reconciledAt")
 })
 public class PaymentTransactionJpaEntity {
     
@@ -87,6 +89,10 @@ public class PaymentTransactionJpaEntity {
     @Column(name = "refunded_at")
     private LocalDateTime refundedAt;
     
+    // 最近一次被對帳領取的時間，只供對帳排程使用，不對應領域模型
+    @Column(name = "reconciled_at")
+    private LocalDateTime reconciledAt;
+    
     // JPA requires default constructor
     protected PaymentTransactionJpaEntity() {}
     
@@ -179,6 +185,9 @@ public class PaymentTransactionJpaEntity {
     public LocalDateTime getRefundedAt() { return refundedAt; }
     public void setRefundedAt(LocalDateTime refundedAt) { this.refundedAt = refundedAt; }
     
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+    public void setReconciledAt(LocalDateTime reconciledAt) { this.reconciledAt = reconciledAt; }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
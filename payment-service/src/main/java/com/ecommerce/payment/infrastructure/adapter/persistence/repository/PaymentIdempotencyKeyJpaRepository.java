@@ -0,0 +1,32 @@
+package com.ecommerce.payment.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.payment.infrastructure.adapter.persistence.entity.PaymentIdempotencyKeyJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 付款冪等鍵 JPA Repository
+ */
+@Repository
+public interface PaymentIdempotencyKeyJpaRepository extends JpaRepository<PaymentIdempotencyKeyJpaEntity, String> {
+    
+    /**
+     * 查找尚未過期的冪等鍵
+     */
+    @Query("SELECT k FROM PaymentIdempotencyKeyJpaEntity k WHERE k.idempotencyKey = :idempotencyKey AND k.expiresAt > :now")
+    Optional<PaymentIdempotencyKeyJpaEntity> findUnexpired(@Param("idempotencyKey") String idempotencyKey,
+                                                           @Param("now") LocalDateTime now);
+    
+    /**
+     * 刪除已過期的冪等鍵
+     */
+    @Modifying
+    @Query("DELETE FROM PaymentIdempotencyKeyJpaEntity k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.payment.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.payment.infrastructure.adapter.persistence.entity.PaymentRetryJpaEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 付款重試佇列 JPA Repository
+ */
+@Repository
+public interface PaymentRetryJpaRepository extends JpaRepository<PaymentRetryJpaEntity, Long> {
+    
+    /**
+     * 查找交易待執行的重試
+     */
+    Optional<PaymentRetryJpaEntity> findFirstByTransactionIdAndStatus(String transactionId, PaymentRetryJpaEntity.Status status);
+    
+    /**
+     * 鎖定一批已到期的待執行重試（依到期時間），已被其他實例鎖定的資料列會被跳過
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM PaymentRetryJpaEntity r WHERE r.status = 'PENDING' AND r.nextAttemptAt <= :now " +
+           "ORDER BY r.nextAttemptAt")
+    List<PaymentRetryJpaEntity> lockDueBatch(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * 將領取中的重試標記為結束；領取權已被其他實例取得（租約過期）時不更新
+     */
+    @Modifying
+    @Query("UPDATE PaymentRetryJpaEntity r SET r.status = :status, r.lastError = :lastError, r.finishedAt = :finishedAt " +
+           "WHERE r.retryId = :retryId AND r.claimToken = :claimToken")
+    int markFinished(@Param("retryId") Long retryId,
+                     @Param("claimToken") String claimToken,
+                     @Param("status") PaymentRetryJpaEntity.Status status,
+                     @Param("lastError") String lastError,
+                     @Param("finishedAt") LocalDateTime finishedAt);
+    
+    /**
+     * 將領取中的重試重新排程；領取權已被其他實例取得（租約過期）時不更新
+     */
+    @Modifying
+    @Query("UPDATE PaymentRetryJpaEntity r SET r.attemptNumber = :attemptNumber, r.nextAttemptAt = :dueAt, " +
+           "r.lastError = :lastError, r.claimToken = NULL, r.claimedBy = NULL, r.claimedAt = NULL " +
+           "WHERE r.retryId = :retryId AND r.claimToken = :claimToken")
+    int reschedule(@Param("retryId") Long retryId,
+                   @Param("claimToken") String claimToken,
+                   @Param("attemptNumber") int attemptNumber,
+                   @Param("dueAt") LocalDateTime dueAt,
+                   @Param("lastError") String lastError);
+    
+    /**
+     * 統計待執行重試數量與最早一筆的到期時間，回傳 [count, min(nextAttemptAt)]
+     */
+    @Query("SELECT COUNT(r), MIN(r.nextAttemptAt) FROM PaymentRetryJpaEntity r WHERE r.status = 'PENDING'")
+    List<Object[]> summarizePending();
+    
+    /**
+     * 刪除保留期限之前已結束的重試
+     */
+    @Modifying
+    @Query("DELETE FROM PaymentRetryJpaEntity r WHERE r.status <> 'PENDING' AND r.finishedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.payment.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.payment.infrastructure.adapter.persistence.entity.PaymentStatusLogJpaEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 付款狀態日誌 JPA Repository
+ */
+@Repository
+public interface PaymentStatusLogJpaRepository extends JpaRepository<PaymentStatusLogJpaEntity, Long> {
+    
+    /**
+     * 查找開始時間早於指定時間、且同一交易尚無最終狀態紀錄的付款意圖（依開始時間）
+     */
+    @Query("SELECT l FROM PaymentStatusLogJpaEntity l WHERE l.status = 'PROCESSING' AND l.recordedAt < :startedBefore " +
+           "AND NOT EXISTS (SELECT f FROM PaymentStatusLogJpaEntity f " +
+           "WHERE f.transactionId = l.transactionId AND f.status <> 'PROCESSING') " +
+           "ORDER BY l.recordedAt")
+    List<PaymentStatusLogJpaEntity> findUnfinishedIntents(@Param("startedBefore") LocalDateTime startedBefore, Pageable pageable);
+    
+    /**
+     * 刪除保留期限之前的日誌
+     */
+    @Modifying
+    @Query("DELETE FROM PaymentStatusLogJpaEntity l WHERE l.recordedAt < :cutoff")
+    int deleteRecordedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,14 +1,22 @@
 package com.ecommerce.payment.infrastructure.adapter.persistence.repository;
 
+import com.ecommerce.payment.domain.model.PaymentMethod;
 import com.ecommerce.payment.domain.model.PaymentStatus;
 import com.ecommerce.payment.infrastructure.adapter.persistence.entity.PaymentTransactionJpaEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +42,32 @@ public interface PaymentTransactionJpaRepository extends JpaRepository<PaymentTr
      */
     List<PaymentTransactionJpaEntity> findByCustomerId(String customerId);
     
+    /**
+     * 查找客戶付款交易的第一頁（依建立時間與交易ID由新到舊）
+     */
+    @Query("SELECT p FROM PaymentTransactionJpaEntity p WHERE p.customerId = :customerId " +
+           "ORDER BY p.createdAt DESC, p.transactionId DESC")
+    List<PaymentTransactionJpaEntity> findCustomerPaymentsFirstPage(
+            @Param("customerId") String customerId,
+            Pageable pageable);
+    
+    /**
+     * 從游標位置接續查找客戶付款交易（Keyset 分頁，不使用 OFFSET）
+     */
+    @Query("SELECT p FROM PaymentTransactionJpaEntity p WHERE p.customerId = :customerId " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.transactionId < :transactionId)) " +
+           "ORDER BY p.createdAt DESC, p.transactionId DESC")
+    List<PaymentTransactionJpaEntity> findCustomerPaymentsBefore(
+            @Param("customerId") String customerId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("transactionId") String transactionId,
+            Pageable pageable);
+    
+    /**
+     * 統計客戶的付款交易數量
+     */
+    long countByCustomerId(String customerId);
+    
     /**
      * 根據客戶ID和狀態查找付款交易
      */
@@ -82,6 +116,16 @@ public interface PaymentTransactionJpaRepository extends JpaRepository<PaymentTr
             @Param("startDate") LocalDateTime startDate, 
             @Param("endDate") LocalDateTime endDate);
     
+    /**
+     * 計算客戶在處理時間範圍內成功付款的總金額，由 (customerId, status, processedAt) 索引限定掃描範圍
+     */
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM PaymentTransactionJpaEntity p WHERE p.customerId = :customerId " +
+           "AND p.status = 'SUCCESS' AND p.processedAt >= :startDate AND p.processedAt < :endDate")
+    BigDecimal sumSuccessfulPaymentsByCustomerBetween(
+            @Param("customerId") String customerId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+    
     /**
      * 檢查訂單是否已有成功的付款
      */
@@ -127,4 +171,25 @@ public interface PaymentTransactionJpaRepository extends JpaRepository<PaymentTr
      */
     @Query("SELECT p FROM PaymentTransactionJpaEntity p ORDER BY p.createdAt DESC")
     List<PaymentTransactionJpaEntity> findRecentTransactions();
+    
+    /**
+     * 鎖定一批待對帳的付款交易（依建立時間），已被其他實例鎖定的資料列會被跳過
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM PaymentTransactionJpaEntity p WHERE p.paymentMethod = :paymentMethod " +
+           "AND p.status IN :statuses AND p.gatewayTransactionId IS NOT NULL " +
+           "AND (p.reconciledAt IS NULL OR p.reconciledAt < :checkedBefore) ORDER BY p.createdAt")
+    List<PaymentTransactionJpaEntity> lockReconciliationBatch(@Param("paymentMethod") PaymentMethod paymentMethod,
+                                                              @Param("statuses") Collection<PaymentStatus> statuses,
+                                                              @Param("checkedBefore") LocalDateTime checkedBefore,
+                                                              Pageable pageable);
+    
+    /**
+     * 記錄一批交易的對帳領取時間
+     */
+    @Modifying
+    @Query("UPDATE PaymentTransactionJpaEntity p SET p.reconciledAt = :reconciledAt WHERE p.transactionId IN :transactionIds")
+    int markReconciled(@Param("transactionIds") Collection<String> transactionIds,
+                       @Param("reconciledAt") LocalDateTime reconciledAt);
 }
\ No newline at end of file
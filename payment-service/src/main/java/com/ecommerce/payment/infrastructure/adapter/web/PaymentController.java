@@ -1,17 +1,25 @@
 package com.ecommerce.payment.infrastructure.adapter.web;
 
+import com.ecommerce.common.dto.CursorPage;
+import com.ecommerce.common.dto.PageCursor;
+import com.ecommerce.common.exception.ValidationException;
 import com.ecommerce.common.response.ApiResponse;
 import com.ecommerce.payment.application.dto.PaymentRequest;
 import com.ecommerce.payment.application.dto.PaymentResponse;
 import com.ecommerce.payment.application.dto.RefundRequest;
 import com.ecommerce.payment.application.dto.RefundResponse;
 import com.ecommerce.payment.application.port.in.PaymentProcessingUseCase;
+import com.ecommerce.payment.application.service.PaymentIdempotencyService;
+import com.ecommerce.payment.domain.exception.IdempotencyKeyReusedException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 付款控制器
  * 提供付款相關的 REST API 端點
@@ -22,38 +30,42 @@ import jakarta.validation.Valid;
 public class PaymentController {
     
     private final PaymentProcessingUseCase paymentProcessingUseCase;
+    private final PaymentIdempotencyService paymentIdempotencyService;
+    private final boolean asyncGatewayExecution;
     
-    public PaymentController(PaymentProcessingUseCase paymentProcessingUseCase) {
+    public PaymentController(PaymentProcessingUseCase paymentProcessingUseCase,
+                             PaymentIdempotencyService paymentIdempotencyService,
+                             @Value("${payment.gateway.execution-mode:blocking}") String executionMode) {
         this.paymentProcessingUseCase = paymentProcessingUseCase;
+        this.paymentIdempotencyService = paymentIdempotencyService;
+        this.asyncGatewayExecution = "async".equalsIgnoreCase(executionMode);
     }
     
     /**
      * 處理付款請求
+     * 非同步模式下等待閘道回應期間釋放 servlet 執行緒，回應於閘道完成後送出
+     * 帶 Idempotency-Key 標頭時，同一冪等鍵的重送共用處理中的結果或回傳已完成的原始回應，不會再次呼叫閘道
      */
     @PostMapping
-    public ResponseEntity<ApiResponse<PaymentResponse>> processPayment(
-            @Valid @RequestBody PaymentRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<PaymentResponse>>> processPayment(
+            @Valid @RequestBody PaymentRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            PaymentResponse response = paymentProcessingUseCase.processPayment(request);
-            
-            if (response == null) {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(ApiResponse.error("Payment processing failed", null, "SYSTEM_ERROR"));
-            }
+            CompletableFuture<PaymentResponse> response = idempotencyKey != null
+                    ? paymentIdempotencyService.submit(idempotencyKey, request, () -> executePayment(request))
+                    : executePayment(request);
             
-            if (response.isSuccessful()) {
-                return ResponseEntity.status(HttpStatus.CREATED)
-                        .body(ApiResponse.success("付款處理成功", response));
-            } else if (response.isPending() || response.isProcessing()) {
-                return ResponseEntity.status(HttpStatus.ACCEPTED)
-                        .body(ApiResponse.success("付款處理中", response));
-            } else {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(ApiResponse.error(response.getFailureReason(), response, "PAYMENT_FAILED"));
-            }
+            return response.handle((result, error) -> error != null
+                    ? internalServerError(error)
+                    : toPaymentResponseEntity(result));
+        } catch (ValidationException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage(), null, "INVALID_IDEMPOTENCY_KEY")));
+        } catch (IdempotencyKeyReusedException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(ApiResponse.error(e.getMessage(), null, e.getErrorCode())));
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Internal server error: " + e.getMessage(), null, "SYSTEM_ERROR"));
+            return CompletableFuture.completedFuture(internalServerError(e));
         }
     }
     
@@ -68,6 +80,20 @@ public class PaymentController {
         return ResponseEntity.ok(ApiResponse.success("查詢成功", response));
     }
     
+    /**
+     * 以游標分頁查詢客戶付款紀錄
+     */
+    @GetMapping("/customers/{customerId}")
+    public ResponseEntity<ApiResponse<CursorPage<PaymentResponse>>> getCustomerPayments(
+            @PathVariable String customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        CursorPage<PaymentResponse> page = paymentProcessingUseCase.getCustomerPayments(customerId, cursor, size, includeTotal);
+        return ResponseEntity.ok(ApiResponse.success("查詢成功", page));
+    }
+    
     /**
      * 取消付款
      */
@@ -134,4 +160,34 @@ public class PaymentController {
     public ResponseEntity<ApiResponse<String>> healthCheck() {
         return ResponseEntity.ok(ApiResponse.success("Payment service is healthy", "OK"));
     }
-}
\ No newline at end of file
+    
+    // Private helper methods
+    private CompletableFuture<PaymentResponse> executePayment(PaymentRequest request) {
+        return asyncGatewayExecution
+                ? paymentProcessingUseCase.processPaymentAsync(request)
+                : CompletableFuture.completedFuture(paymentProcessingUseCase.processPayment(request));
+    }
+    
+    private ResponseEntity<ApiResponse<PaymentResponse>> toPaymentResponseEntity(PaymentResponse response) {
+        if (response == null) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Payment processing failed", null, "SYSTEM_ERROR"));
+        }
+        
+        if (response.isSuccessful()) {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("付款處理成功", response));
+        } else if (response.isPending() || response.isProcessing()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("付款處理中", response));
+        } else {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(response.getFailureReason(), response, "PAYMENT_FAILED"));
+        }
+    }
+    
+    private ResponseEntity<ApiResponse<PaymentResponse>> internalServerError(Throwable e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Internal server error: " + e.getMessage(), null, "SYSTEM_ERROR"));
+    }
+}
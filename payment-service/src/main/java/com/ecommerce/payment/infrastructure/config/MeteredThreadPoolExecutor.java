@@ -0,0 +1,91 @@
+package com.ecommerce.payment.infrastructure.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 具名、有界且輸出指標的執行緒池
+ * 佇列滿時由提交端執行緒自行執行任務，以放慢提交速度作為背壓，不丟棄任務也不無限制地排隊；
+ * 執行緒池關閉後提交則拋出 {@link RejectedExecutionException}，由呼叫端決定如何處理
+ * 依 pool 標籤輸出佇列深度、執行中數量、被拒絕（改由提交端執行）次數、排隊等待與執行時間
+ */
+public class MeteredThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final Timer queueWaitTimer;
+    private final Timer executionTimer;
+
+    public MeteredThreadPoolExecutor(String poolName, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            namedThreadFactory(poolName), callerRunsCounted(poolName, meterRegistry));
+
+        this.queueWaitTimer = Timer.builder("payment.executor.queue.wait")
+            .description("任務從提交到開始執行的等待時間")
+            .tag("pool", poolName)
+            .register(meterRegistry);
+        this.executionTimer = Timer.builder("payment.executor.execution")
+            .description("任務執行時間")
+            .tag("pool", poolName)
+            .register(meterRegistry);
+        Gauge.builder("payment.executor.queue.depth", this, executor -> executor.getQueue().size())
+            .description("等待執行的任務數")
+            .tag("pool", poolName)
+            .register(meterRegistry);
+        Gauge.builder("payment.executor.queue.remaining", this, executor -> executor.getQueue().remainingCapacity())
+            .description("佇列剩餘容量")
+            .tag("pool", poolName)
+            .register(meterRegistry);
+        Gauge.builder("payment.executor.active", this, ThreadPoolExecutor::getActiveCount)
+            .description("執行中的任務數")
+            .tag("pool", poolName)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long submittedAt = System.nanoTime();
+        super.execute(() -> {
+            long startedAt = System.nanoTime();
+            queueWaitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                command.run();
+            } finally {
+                executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    // Private helper methods
+    private static ThreadFactory namedThreadFactory(String poolName) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, poolName + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static RejectedExecutionHandler callerRunsCounted(String poolName, MeterRegistry meterRegistry) {
+        Counter rejectedCounter = Counter.builder("payment.executor.rejected")
+            .description("佇列已滿而改由提交端執行緒執行的任務數")
+            .tag("pool", poolName)
+            .register(meterRegistry);
+        return (runnable, executor) -> {
+            // CallerRunsPolicy 在關閉後會靜默丟棄任務
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Executor " + poolName + " has been shut down");
+            }
+            rejectedCounter.increment();
+            runnable.run();
+        };
+    }
+}
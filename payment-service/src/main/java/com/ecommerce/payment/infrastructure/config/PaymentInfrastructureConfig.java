@@ -2,6 +2,8 @@ package com.ecommerce.payment.infrastructure.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -25,4 +27,16 @@ public class PaymentInfrastructureConfig {
         mapper.registerModule(new JavaTimeModule());
         return mapper;
     }
+    
+    /**
+     * 配置付款通知發送執行緒池
+     * 通知 I/O 不使用共用的 ForkJoinPool，佇列滿時由提交端執行緒發送作為背壓
+     */
+    @Bean(destroyMethod = "shutdown")
+    public MeteredThreadPoolExecutor paymentNotificationExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${payment.notification.executor.threads:8}") int threads,
+            @Value("${payment.notification.executor.queue-capacity:1000}") int queueCapacity) {
+        return new MeteredThreadPoolExecutor("payment-notification", threads, queueCapacity, meterRegistry);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.ecommerce.payment.infrastructure.health;
+
+import com.ecommerce.payment.application.service.GatewayCircuitBreaker;
+import com.ecommerce.payment.application.service.GatewayHealthMonitor;
+import com.ecommerce.payment.application.strategy.PaymentStrategyFactory;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 付款閘道健康指標
+ * 於 /actuator/health/paymentGateway 顯示各付款方式的斷路器狀態，只讀取快取的探測結果
+ * 任一斷路器未關閉時回報 DEGRADED；付款服務本身仍可處理其他付款方式，不回報 DOWN
+ */
+@Component("paymentGateway")
+public class PaymentGatewayHealthIndicator implements HealthIndicator {
+
+    private final GatewayHealthMonitor gatewayHealthMonitor;
+    private final PaymentStrategyFactory strategyFactory;
+
+    public PaymentGatewayHealthIndicator(GatewayHealthMonitor gatewayHealthMonitor,
+                                         PaymentStrategyFactory strategyFactory) {
+        this.gatewayHealthMonitor = gatewayHealthMonitor;
+        this.strategyFactory = strategyFactory;
+    }
+
+    @Override
+    public Health health() {
+        boolean allClosed = true;
+        Health.Builder builder = Health.up();
+
+        for (PaymentMethod method : strategyFactory.getSupportedPaymentMethods()) {
+            GatewayCircuitBreaker breaker = gatewayHealthMonitor.getCircuitBreaker(method);
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("state", breaker.getState());
+            details.put("failureRate", breaker.getFailureRate());
+            details.put("lastProbeAt", breaker.getLastProbeAt());
+            details.put("lastProbeHealthy", breaker.isLastProbeHealthy());
+            builder.withDetail(method.name(), details);
+            allClosed &= breaker.getState() == GatewayCircuitBreaker.State.CLOSED;
+        }
+
+        return allClosed ? builder.build() : builder.status("DEGRADED").build();
+    }
+}
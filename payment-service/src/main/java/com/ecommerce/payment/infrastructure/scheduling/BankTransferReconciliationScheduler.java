@@ -0,0 +1,96 @@
+package com.ecommerce.payment.infrastructure.scheduling;
+
+import com.ecommerce.payment.application.service.BankTransferReconciliationService;
+import com.ecommerce.payment.application.service.BankTransferReconciliationService.BatchResult;
+import com.ecommerce.payment.application.service.GatewayHealthMonitor;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 銀行轉帳對帳排程器
+ * 定期以 {@link BankTransferReconciliationService} 分批對帳等待清算的銀行轉帳，每批只有一次閘道查詢
+ * 閘道斷路器未關閉時略過本次對帳，交易留待下次排程
+ */
+@Component
+@ConditionalOnProperty(prefix = "payment.reconciliation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BankTransferReconciliationScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BankTransferReconciliationScheduler.class);
+
+    private final BankTransferReconciliationService reconciliationService;
+    private final GatewayHealthMonitor gatewayHealthMonitor;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Timer batchTimer;
+    private final Counter succeededCounter;
+    private final Counter failedCounter;
+    private final Counter pendingCounter;
+
+    public BankTransferReconciliationScheduler(BankTransferReconciliationService reconciliationService,
+                                               GatewayHealthMonitor gatewayHealthMonitor,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${payment.reconciliation.batch-size:100}") int batchSize,
+                                               @Value("${payment.reconciliation.max-batches-per-run:5}") int maxBatchesPerRun) {
+        this.reconciliationService = reconciliationService;
+        this.gatewayHealthMonitor = gatewayHealthMonitor;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchTimer = Timer.builder("payment.reconciliation.batch")
+            .description("單批銀行轉帳對帳的時間，每批一次閘道查詢")
+            .register(meterRegistry);
+        this.succeededCounter = outcomeCounter(meterRegistry, "succeeded");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.pendingCounter = outcomeCounter(meterRegistry, "pending");
+    }
+
+    /**
+     * 對帳等待清算的銀行轉帳
+     * 每批是一次閘道狀態查詢，與線上付款共用同一個閘道；每次排程最多查詢 max-batches-per-run 批，
+     * 其餘轉帳在下次排程再對帳，清算尖峰時不會連續查詢而拖慢付款請求
+     */
+    @Scheduled(fixedDelayString = "${payment.reconciliation.interval:60000}")
+    public void reconcileBankTransfers() {
+        if (!gatewayHealthMonitor.isAvailable(PaymentMethod.BANK_TRANSFER)) {
+            logger.debug("Skipping bank transfer reconciliation: payment gateway unavailable");
+            return;
+        }
+
+        try {
+            int batches = 0;
+            BatchResult result;
+            do {
+                long start = System.nanoTime();
+                result = reconciliationService.reconcileNextBatch();
+                if (result.claimed() == 0) {
+                    break;
+                }
+                batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                succeededCounter.increment(result.succeeded());
+                failedCounter.increment(result.failed());
+                pendingCounter.increment(result.pending());
+            } while (++batches < maxBatchesPerRun && result.claimed() == batchSize);
+        } catch (RuntimeException e) {
+            // 已領取的交易在重新檢查間隔後再被領取
+            logger.warn("Bank transfer reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    // Private helper methods
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("payment.reconciliation.outcomes")
+            .description("銀行轉帳對帳的結果")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,114 @@
+package com.ecommerce.payment.infrastructure.scheduling;
+
+import com.ecommerce.payment.application.port.out.PaymentGatewayPort;
+import com.ecommerce.payment.application.service.GatewayCircuitBreaker;
+import com.ecommerce.payment.application.service.GatewayHealthMonitor;
+import com.ecommerce.payment.application.strategy.PaymentStrategyFactory;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 閘道健康探測器
+ * 定期在背景對每種支援的付款方式探測閘道健康狀態，結果寫入 {@link GatewayHealthMonitor} 的斷路器
+ * 各付款方式的探測互不等待；探測逾時視為失敗，前一次探測到下一輪仍未返回時不重複送出，直接記為失敗
+ */
+@Component
+public class GatewayHealthProber {
+
+    private static final Logger logger = LoggerFactory.getLogger(GatewayHealthProber.class);
+
+    private final PaymentGatewayPort paymentGatewayPort;
+    private final GatewayHealthMonitor gatewayHealthMonitor;
+    private final PaymentMethod[] paymentMethods;
+    private final Duration probeTimeout;
+    private final Map<PaymentMethod, AtomicBoolean> probing = new EnumMap<>(PaymentMethod.class);
+    private final ExecutorService probeExecutor;
+
+    public GatewayHealthProber(PaymentGatewayPort paymentGatewayPort,
+                               GatewayHealthMonitor gatewayHealthMonitor,
+                               PaymentStrategyFactory strategyFactory,
+                               MeterRegistry meterRegistry,
+                               @Value("${payment.gateway.health.probe-timeout:2s}") Duration probeTimeout) {
+        this.paymentGatewayPort = paymentGatewayPort;
+        this.gatewayHealthMonitor = gatewayHealthMonitor;
+        this.paymentMethods = strategyFactory.getSupportedPaymentMethods();
+        this.probeTimeout = probeTimeout;
+
+        for (PaymentMethod method : paymentMethods) {
+            probing.put(method, new AtomicBoolean());
+            Gauge.builder("payment.gateway.circuit.state", gatewayHealthMonitor.getCircuitBreaker(method),
+                    breaker -> breaker.getState().ordinal())
+                .description("閘道斷路器狀態：0 關閉、1 開啟、2 半開")
+                .tag("method", method.name())
+                .register(meterRegistry);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.probeExecutor = Executors.newFixedThreadPool(Math.max(1, paymentMethods.length), runnable -> {
+            Thread thread = new Thread(runnable, "payment-gateway-probe-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 探測所有支援的付款方式
+     */
+    @Scheduled(fixedDelayString = "${payment.gateway.health.probe-interval:5000}")
+    public void probeAll() {
+        for (PaymentMethod method : paymentMethods) {
+            AtomicBoolean inProgress = probing.get(method);
+            if (!inProgress.compareAndSet(false, true)) {
+                // 上一次探測逾時後仍未返回，閘道持續無回應
+                record(method, false);
+                continue;
+            }
+            CompletableFuture<Boolean> probe = CompletableFuture.supplyAsync(
+                () -> paymentGatewayPort.isGatewayHealthy(method), probeExecutor);
+            probe.whenComplete((healthy, error) -> inProgress.set(false));
+            probe.copy()
+                .orTimeout(probeTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((healthy, error) -> {
+                    if (error != null) {
+                        logger.warn("Health probe failed for {} gateway: {}", method, error.toString());
+                    }
+                    record(method, error == null && Boolean.TRUE.equals(healthy));
+                });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
+    // Private helper methods
+
+    private void record(PaymentMethod method, boolean healthy) {
+        GatewayCircuitBreaker breaker = gatewayHealthMonitor.getCircuitBreaker(method);
+        GatewayCircuitBreaker.State before = breaker.getState();
+        breaker.recordProbe(healthy);
+        GatewayCircuitBreaker.State after = breaker.getState();
+        if (before != after) {
+            logger.warn("{} gateway circuit breaker {} -> {} (failure rate {}%)",
+                method, before, after, breaker.getFailureRate());
+        }
+    }
+}
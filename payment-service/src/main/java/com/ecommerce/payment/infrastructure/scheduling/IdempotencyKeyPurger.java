@@ -0,0 +1,45 @@
+package com.ecommerce.payment.infrastructure.scheduling;
+
+import com.ecommerce.payment.application.service.PaymentIdempotencyService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 付款冪等鍵清除器
+ * 定期刪除超過保存期限的冪等鍵，並提供處理中冪等鍵數量的指標
+ */
+@Component
+@ConditionalOnProperty(prefix = "payment.idempotency", name = "cleanup-enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyKeyPurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyKeyPurger.class);
+
+    private final PaymentIdempotencyService paymentIdempotencyService;
+
+    public IdempotencyKeyPurger(PaymentIdempotencyService paymentIdempotencyService, MeterRegistry meterRegistry) {
+        this.paymentIdempotencyService = paymentIdempotencyService;
+        Gauge.builder("payment.idempotency.in-flight", paymentIdempotencyService, PaymentIdempotencyService::getInFlightCount)
+            .description("處理中、可供重送請求合併等待的冪等鍵數")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 清除過期的冪等鍵
+     */
+    @Scheduled(fixedDelayString = "${payment.idempotency.cleanup-interval:3600000}")
+    public void purgeExpiredKeys() {
+        try {
+            int deleted = paymentIdempotencyService.purgeExpiredKeys();
+            if (deleted > 0) {
+                logger.info("Purged {} expired payment idempotency keys", deleted);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Payment idempotency key purge failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.ecommerce.payment.infrastructure.scheduling;
+
+import com.ecommerce.payment.application.dto.PaymentResponse;
+import com.ecommerce.payment.application.port.in.PaymentProcessingUseCase;
+import com.ecommerce.payment.application.port.out.PaymentRetryQueuePort;
+import com.ecommerce.payment.application.port.out.PaymentRetryQueuePort.ClaimedRetry;
+import com.ecommerce.payment.application.port.out.PaymentRetryQueuePort.QueueSummary;
+import com.ecommerce.payment.application.service.GatewayHealthMonitor;
+import com.ecommerce.payment.application.service.PaymentRetryService;
+import com.ecommerce.payment.domain.exception.PaymentNotFoundException;
+import com.ecommerce.payment.domain.exception.PaymentProcessingException;
+import com.ecommerce.payment.domain.model.PaymentStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 付款重試排程器
+ * 定期從持久化的重試佇列領取已到期的重試，在有上限的執行緒池中並行執行，
+ * 並依結果完成、以指數退避重新排程或放棄
+ * 透過 {@link PaymentRetryQueuePort} 領取時鎖定資料列並取得租約，多個實例可同時執行；
+ * 實例在執行中停止時，重試於租約到期後由其他實例接手
+ */
+@Component
+@ConditionalOnProperty(prefix = "payment.retry", name = "scheduler-enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentRetryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentRetryScheduler.class);
+
+    private final PaymentRetryQueuePort retryQueuePort;
+    private final PaymentProcessingUseCase paymentProcessingUseCase;
+    private final PaymentRetryService retryService;
+    private final GatewayHealthMonitor gatewayHealthMonitor;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retention;
+    private final Duration maxRunTime;
+    private final String instanceId;
+    private final ExecutorService retryExecutor;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Timer startDelayTimer;
+    private final Timer executionTimer;
+    private final Counter succeededCounter;
+    private final Counter rescheduledCounter;
+    private final Counter exhaustedCounter;
+    private final Counter deferredCounter;
+
+    public PaymentRetryScheduler(PaymentRetryQueuePort retryQueuePort,
+                                 PaymentProcessingUseCase paymentProcessingUseCase,
+                                 PaymentRetryService retryService,
+                                 GatewayHealthMonitor gatewayHealthMonitor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${payment.retry.batch-size:50}") int batchSize,
+                                 @Value("${payment.retry.parallelism:8}") int parallelism,
+                                 @Value("${payment.retry.lease:2m}") Duration lease,
+                                 @Value("${payment.retry.retention:7d}") Duration retention,
+                                 @Value("${payment.retry.max-run-time:10s}") Duration maxRunTime) {
+        this.retryQueuePort = retryQueuePort;
+        this.paymentProcessingUseCase = paymentProcessingUseCase;
+        this.retryService = retryService;
+        this.gatewayHealthMonitor = gatewayHealthMonitor;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.retention = retention;
+        this.maxRunTime = maxRunTime;
+        this.instanceId = ManagementFactory.getRuntimeMXBean().getName();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.retryExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "payment-retry-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("payment.retry.queue.depth", queueDepth, AtomicLong::get)
+            .description("重試佇列中待執行的付款重試數")
+            .register(meterRegistry);
+        Gauge.builder("payment.retry.queue.lag", lagMillis, value -> value.get() / 1000.0)
+            .description("最早一筆已到期重試逾期未執行的時間")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        this.startDelayTimer = Timer.builder("payment.retry.start.delay")
+            .description("重試從到期到開始執行的延遲")
+            .register(meterRegistry);
+        this.executionTimer = Timer.builder("payment.retry.execution")
+            .description("單次付款重試的執行時間")
+            .register(meterRegistry);
+        this.succeededCounter = outcomeCounter(meterRegistry, "succeeded");
+        this.rescheduledCounter = outcomeCounter(meterRegistry, "rescheduled");
+        this.exhaustedCounter = outcomeCounter(meterRegistry, "exhausted");
+        this.deferredCounter = outcomeCounter(meterRegistry, "deferred");
+    }
+
+    /**
+     * 執行已到期的重試；每批在獨立交易中領取，整批執行完才領取下一批
+     * 每批需等待閘道回應，執行超過時間上限後不再領取，避免積壓時長時間佔住排程執行緒
+     */
+    @Scheduled(fixedDelayString = "${payment.retry.poll-interval:1000}")
+    public void runDueRetries() {
+        long deadline = System.nanoTime() + maxRunTime.toNanos();
+        try {
+            List<ClaimedRetry> claimed;
+            do {
+                claimed = retryQueuePort.claimDue(LocalDateTime.now(), batchSize, lease, instanceId);
+                if (claimed.isEmpty()) {
+                    break;
+                }
+                executeBatch(claimed);
+            } while (claimed.size() == batchSize && System.nanoTime() - deadline < 0);
+        } catch (RuntimeException e) {
+            logger.warn("Payment retry run failed: {}", e.getMessage());
+        } finally {
+            refreshQueueMetrics();
+        }
+    }
+
+    /**
+     * 清除超過保留期限的已結束重試
+     */
+    @Scheduled(fixedDelayString = "${payment.retry.cleanup-interval:3600000}")
+    public void purgeFinishedRetries() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted = retryQueuePort.purgeFinishedBefore(cutoff);
+        if (deleted > 0) {
+            logger.info("Purged {} finished payment retries before {}", deleted, cutoff);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryExecutor.shutdownNow();
+    }
+
+    /**
+     * 執行一筆已領取的重試並依結果更新佇列
+     */
+    void executeRetry(ClaimedRetry retry) {
+        Duration startDelay = Duration.between(retry.dueAt(), LocalDateTime.now());
+        startDelayTimer.record(startDelay.isNegative() ? Duration.ZERO : startDelay);
+
+        // 閘道斷路器未關閉時延後，不消耗重試次數
+        if (!gatewayHealthMonitor.isAvailable(retry.paymentMethod())) {
+            reschedule(retry, retry.attemptNumber(), "Payment gateway unavailable");
+            deferredCounter.increment();
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            PaymentResponse response = paymentProcessingUseCase.retryPayment(retry.transactionId());
+            if (response.getStatus() == PaymentStatus.SUCCESS) {
+                logIfLeaseLost(retry, retryQueuePort.complete(retry));
+                succeededCounter.increment();
+            } else {
+                retryOrGiveUp(retry, response.isRetryable(), response.getFailureReason());
+            }
+        } catch (PaymentNotFoundException e) {
+            logIfLeaseLost(retry, retryQueuePort.exhaust(retry, e.getMessage()));
+            exhaustedCounter.increment();
+        } catch (PaymentProcessingException e) {
+            retryOrGiveUp(retry, e.isRetryable(), e.getMessage());
+        } catch (RuntimeException e) {
+            retryOrGiveUp(retry, true, e.getMessage());
+        } finally {
+            executionTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    void refreshQueueMetrics() {
+        QueueSummary summary = retryQueuePort.summarizePending();
+
+        queueDepth.set(summary.pending());
+        lagMillis.set(summary.pending() > 0 && summary.earliestDueAt() != null
+            ? Math.max(0L, Duration.between(summary.earliestDueAt(), LocalDateTime.now()).toMillis())
+            : 0L);
+    }
+
+    // Private helper methods
+
+    private void executeBatch(List<ClaimedRetry> claimed) {
+        CompletableFuture<?>[] executions = new CompletableFuture<?>[claimed.size()];
+        for (int i = 0; i < claimed.size(); i++) {
+            ClaimedRetry retry = claimed.get(i);
+            executions[i] = CompletableFuture.runAsync(() -> executeRetry(retry), retryExecutor)
+                .exceptionally(e -> {
+                    // 佇列更新失敗時保留租約，到期後重新執行
+                    logger.warn("Payment retry {} for transaction {} failed: {}",
+                        retry.retryId(), retry.transactionId(), e.getMessage());
+                    return null;
+                });
+        }
+        CompletableFuture.allOf(executions).join();
+    }
+
+    private void retryOrGiveUp(ClaimedRetry retry, boolean retryable, String error) {
+        if (retryable && retryService.hasRemainingAttempts(retry.attemptNumber())) {
+            reschedule(retry, retry.attemptNumber() + 1, error);
+            rescheduledCounter.increment();
+        } else {
+            logIfLeaseLost(retry, retryQueuePort.exhaust(retry, error));
+            exhaustedCounter.increment();
+            logger.warn("Giving up payment retry for transaction {} after attempt #{}: {}",
+                retry.transactionId(), retry.attemptNumber(), error);
+        }
+    }
+
+    private void reschedule(ClaimedRetry retry, int attemptNumber, String error) {
+        LocalDateTime dueAt = retryService.getNextRetryTime(attemptNumber);
+        logIfLeaseLost(retry, retryQueuePort.reschedule(retry, attemptNumber, dueAt, error));
+    }
+
+    private void logIfLeaseLost(ClaimedRetry retry, boolean updated) {
+        if (!updated) {
+            logger.warn("Lease on payment retry {} for transaction {} was lost before the result was recorded",
+                retry.retryId(), retry.transactionId());
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("payment.retry.outcomes")
+            .description("付款重試的執行結果")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
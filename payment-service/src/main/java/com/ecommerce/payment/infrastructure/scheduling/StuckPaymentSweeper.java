@@ -0,0 +1,74 @@
+package com.ecommerce.payment.infrastructure.scheduling;
+
+import com.ecommerce.payment.application.service.PaymentRecoveryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 卡住付款清除器
+ * 定期依付款狀態日誌找出超過逾時仍在處理中的付款並交由 {@link PaymentRecoveryService} 結束
+ */
+@Component
+@ConditionalOnProperty(prefix = "payment.recovery", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StuckPaymentSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(StuckPaymentSweeper.class);
+
+    private final PaymentRecoveryService paymentRecoveryService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+    private final Counter recoveredCounter;
+
+    public StuckPaymentSweeper(PaymentRecoveryService paymentRecoveryService,
+                               MeterRegistry meterRegistry,
+                               @Value("${payment.recovery.batch-size:100}") int batchSize,
+                               @Value("${payment.recovery.max-batches-per-run:10}") int maxBatchesPerRun,
+                               @Value("${payment.recovery.status-log-retention:30d}") Duration retention) {
+        this.paymentRecoveryService = paymentRecoveryService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+        this.recoveredCounter = Counter.builder("payment.recovery.stuck")
+            .description("逾時仍未取得最終狀態而被結束的付款數")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 結束卡住的付款
+     * 閘道中斷後可能一次累積大量逾時的付款，每筆都要查詢並寫入付款與狀態日誌；
+     * 每次排程最多處理 max-batches-per-run 批，將寫入分散到數次排程，不與線上付款搶資料庫連線
+     */
+    @Scheduled(fixedDelayString = "${payment.recovery.sweep-interval:60000}")
+    public void sweepStuckPayments() {
+        try {
+            int batches = 0;
+            int recovered;
+            do {
+                recovered = paymentRecoveryService.recoverStuckPayments();
+                recoveredCounter.increment(recovered);
+            } while (++batches < maxBatchesPerRun && recovered == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Stuck payment sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 清除超過保留期限的狀態日誌
+     */
+    @Scheduled(fixedDelayString = "${payment.recovery.cleanup-interval:3600000}")
+    public void purgeStatusLog() {
+        int deleted = paymentRecoveryService.purgeStatusLog(retention);
+        if (deleted > 0) {
+            logger.info("Purged {} payment status log entries older than {}", deleted, retention);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.payment.application.service;
+
+import com.ecommerce.payment.application.dto.GatewayPaymentResponse;
+import com.ecommerce.payment.application.dto.PaymentNotification;
+import com.ecommerce.payment.application.port.out.PaymentGatewayPort;
+import com.ecommerce.payment.application.port.out.PaymentNotificationPort;
+import com.ecommerce.payment.application.port.out.PaymentPersistencePort;
+import com.ecommerce.payment.application.port.out.PaymentStatusLogPort;
+import com.ecommerce.payment.application.service.BankTransferReconciliationService.BatchResult;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import com.ecommerce.payment.domain.model.PaymentStatus;
+import com.ecommerce.payment.domain.model.PaymentTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 銀行轉帳對帳服務測試
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("銀行轉帳對帳服務測試")
+class BankTransferReconciliationServiceTest {
+
+    @Mock
+    private PaymentPersistencePort paymentPersistencePort;
+    @Mock
+    private PaymentGatewayPort paymentGatewayPort;
+    @Mock
+    private PaymentStatusLogPort paymentStatusLogPort;
+    @Mock
+    private PaymentNotificationPort paymentNotificationPort;
+
+    private BankTransferReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        reconciliationService = new BankTransferReconciliationService(paymentPersistencePort, paymentGatewayPort,
+            paymentStatusLogPort, paymentNotificationPort, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    @DisplayName("整批交易應該只查詢閘道一次並批次寫入已清算的交易")
+    @SuppressWarnings("unchecked")
+    void shouldQueryGatewayOncePerBatch() {
+        // Given
+        when(paymentPersistencePort.claimForReconciliation(eq(PaymentMethod.BANK_TRANSFER), any(LocalDateTime.class), eq(100)))
+            .thenReturn(List.of(awaiting("GW-1"), awaiting("GW-2"), awaiting("GW-3")));
+        when(paymentGatewayPort.queryPaymentStatuses(List.of("GW-1", "GW-2", "GW-3"))).thenReturn(Map.of(
+            "GW-1", settled("GW-1"),
+            "GW-2", GatewayPaymentResponse.failure("GW-2", null, BigDecimal.ZERO, "51", "Insufficient funds", "餘額不足", false),
+            "GW-3", GatewayPaymentResponse.pending("GW-3", null, BigDecimal.ZERO)));
+        when(paymentPersistencePort.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BatchResult result = reconciliationService.reconcileNextBatch();
+
+        // Then
+        assertEquals(new BatchResult(3, 1, 1, 1), result);
+        verify(paymentGatewayPort, times(1)).queryPaymentStatuses(anyList());
+        verify(paymentGatewayPort, never()).queryPaymentStatus(anyString());
+
+        ArgumentCaptor<List<PaymentTransaction>> saved = ArgumentCaptor.forClass(List.class);
+        verify(paymentPersistencePort, times(1)).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertEquals(PaymentStatus.SUCCESS, saved.getValue().get(0).getStatus());
+        assertEquals(PaymentStatus.FAILED, saved.getValue().get(1).getStatus());
+        verify(paymentPersistencePort, never()).save(any(PaymentTransaction.class));
+
+        verify(paymentStatusLogPort, times(2)).recordOutcome(any(PaymentTransaction.class));
+        verify(paymentNotificationPort).sendPaymentSuccessNotification(any(PaymentNotification.class));
+        verify(paymentNotificationPort).sendPaymentFailureNotification(any(PaymentNotification.class));
+    }
+
+    @Test
+    @DisplayName("閘道查詢逾時的交易應該留待下次對帳")
+    void shouldLeaveTransferPendingWhenQueryTimesOut() {
+        // Given
+        when(paymentPersistencePort.claimForReconciliation(eq(PaymentMethod.BANK_TRANSFER), any(LocalDateTime.class), eq(100)))
+            .thenReturn(List.of(awaiting("GW-1")));
+        when(paymentGatewayPort.queryPaymentStatuses(List.of("GW-1")))
+            .thenReturn(Map.of("GW-1", GatewayPaymentResponse.timeout(null, BigDecimal.ZERO)));
+
+        // When
+        BatchResult result = reconciliationService.reconcileNextBatch();
+
+        // Then
+        assertEquals(new BatchResult(1, 0, 0, 1), result);
+        verify(paymentPersistencePort, never()).saveAll(anyList());
+        verifyNoInteractions(paymentStatusLogPort, paymentNotificationPort);
+    }
+
+    @Test
+    @DisplayName("沒有待對帳的交易時不應該呼叫閘道")
+    void shouldNotCallGatewayWhenNothingToReconcile() {
+        // Given
+        when(paymentPersistencePort.claimForReconciliation(eq(PaymentMethod.BANK_TRANSFER), any(LocalDateTime.class), eq(100)))
+            .thenReturn(List.of());
+
+        // When
+        BatchResult result = reconciliationService.reconcileNextBatch();
+
+        // Then
+        assertEquals(0, result.claimed());
+        verifyNoInteractions(paymentGatewayPort);
+    }
+
+    private PaymentTransaction awaiting(String gatewayTransactionId) {
+        PaymentTransaction transaction = PaymentTransaction.create("ORDER-" + gatewayTransactionId, "CUST-1",
+            new BigDecimal("1000.00"), PaymentMethod.BANK_TRANSFER, "Bank transfer payment");
+        transaction.startProcessing();
+        transaction.markAsAwaitingSettlement(gatewayTransactionId, "Transaction pending");
+        return transaction;
+    }
+
+    private GatewayPaymentResponse settled(String gatewayTransactionId) {
+        return GatewayPaymentResponse.success(gatewayTransactionId, null, new BigDecimal("1000.00"), "123456", "RCP-1");
+    }
+}
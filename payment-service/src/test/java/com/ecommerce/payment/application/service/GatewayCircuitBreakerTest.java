@@ -0,0 +1,125 @@
+package com.ecommerce.payment.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 閘道斷路器測試
+ */
+@DisplayName("閘道斷路器測試")
+class GatewayCircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong now = new AtomicLong();
+    private final GatewayCircuitBreaker breaker =
+        new GatewayCircuitBreaker("CREDIT_CARD", 10, 50, 4, OPEN_DURATION, 2, now::get);
+
+    @Test
+    @DisplayName("探測次數未達最低門檻前不應該開啟")
+    void shouldStayClosedBelowMinimumProbes() {
+        // When
+        breaker.recordProbe(false);
+        breaker.recordProbe(false);
+        breaker.recordProbe(false);
+
+        // Then
+        assertEquals(GatewayCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.isCallPermitted());
+    }
+
+    @Test
+    @DisplayName("失敗率達門檻時應該開啟並拒絕流量")
+    void shouldOpenWhenFailureRateReachesThreshold() {
+        // When
+        breaker.recordProbe(true);
+        breaker.recordProbe(false);
+        breaker.recordProbe(true);
+        breaker.recordProbe(false);
+
+        // Then
+        assertEquals(GatewayCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.isCallPermitted());
+    }
+
+    @Test
+    @DisplayName("失敗率只計算最近的探測")
+    void shouldOnlyCountRecentProbes() {
+        // Given - 早期的失敗會被後續成功的探測擠出視窗
+        breaker.recordProbe(false);
+        for (int i = 0; i < 11; i++) {
+            breaker.recordProbe(true);
+        }
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            breaker.recordProbe(false);
+        }
+
+        // Then - 視窗內 4/10 失敗，未達 50%
+        assertEquals(40.0, breaker.getFailureRate(), 0.001);
+        assertEquals(GatewayCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("開啟時間未到前的探測不應該改變狀態")
+    void shouldIgnoreProbesWhileOpen() {
+        // Given
+        openBreaker();
+
+        // When
+        now.addAndGet(OPEN_DURATION.toNanos() - 1);
+        breaker.recordProbe(true);
+
+        // Then
+        assertEquals(GatewayCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("半開狀態連續探測成功後應該關閉")
+    void shouldCloseAfterSuccessfulHalfOpenProbes() {
+        // Given
+        openBreaker();
+        now.addAndGet(OPEN_DURATION.toNanos());
+
+        // When & Then
+        breaker.recordProbe(true);
+        assertEquals(GatewayCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.isCallPermitted());
+
+        breaker.recordProbe(true);
+        assertEquals(GatewayCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.isCallPermitted());
+        assertEquals(0.0, breaker.getFailureRate(), 0.001);
+    }
+
+    @Test
+    @DisplayName("半開狀態探測失敗應該重新開啟並重新計時")
+    void shouldReopenWhenHalfOpenProbeFails() {
+        // Given
+        openBreaker();
+        now.addAndGet(OPEN_DURATION.toNanos());
+        breaker.recordProbe(true);
+
+        // When
+        breaker.recordProbe(false);
+
+        // Then
+        assertEquals(GatewayCircuitBreaker.State.OPEN, breaker.getState());
+        now.addAndGet(OPEN_DURATION.toNanos() - 1);
+        breaker.recordProbe(true);
+        assertEquals(GatewayCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            breaker.recordProbe(false);
+        }
+        assertEquals(GatewayCircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
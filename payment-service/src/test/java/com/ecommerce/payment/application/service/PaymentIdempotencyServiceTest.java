@@ -0,0 +1,152 @@
+package com.ecommerce.payment.application.service;
+
+import com.ecommerce.common.exception.ValidationException;
+import com.ecommerce.payment.application.dto.IdempotentPaymentResult;
+import com.ecommerce.payment.application.dto.PaymentRequest;
+import com.ecommerce.payment.application.dto.PaymentResponse;
+import com.ecommerce.payment.application.port.out.PaymentIdempotencyPort;
+import com.ecommerce.payment.domain.exception.IdempotencyKeyReusedException;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 付款冪等服務測試
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("付款冪等服務測試")
+class PaymentIdempotencyServiceTest {
+
+    private static final String KEY = "key-1";
+
+    @Mock
+    private PaymentIdempotencyPort paymentIdempotencyPort;
+
+    private PaymentIdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new PaymentIdempotencyService(paymentIdempotencyPort, Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("處理中的重送應該共用同一次付款結果")
+    void shouldCoalesceInFlightDuplicates() {
+        // Given
+        when(paymentIdempotencyPort.findCompleted(eq(KEY), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        CompletableFuture<PaymentResponse> gateway = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        CompletableFuture<PaymentResponse> first = idempotencyService.submit(KEY, request("100.00"), () -> {
+            executions.incrementAndGet();
+            return gateway;
+        });
+        CompletableFuture<PaymentResponse> second = idempotencyService.submit(KEY, request("100.00"), () -> {
+            executions.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(1, idempotencyService.getInFlightCount());
+        assertFalse(second.isDone());
+
+        gateway.complete(successResponse());
+        assertEquals("TXN-1", first.join().getTransactionId());
+        assertEquals("TXN-1", second.join().getTransactionId());
+        assertEquals(0, idempotencyService.getInFlightCount());
+        verify(paymentIdempotencyPort).saveCompleted(eq(KEY), anyString(), any(PaymentResponse.class),
+            any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("已完成的冪等鍵應該直接回傳原始回應且不執行付款")
+    void shouldReplayCompletedResponse() {
+        // Given
+        ArgumentCaptor<String> fingerprint = ArgumentCaptor.forClass(String.class);
+        when(paymentIdempotencyPort.findCompleted(eq(KEY), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        idempotencyService.submit(KEY, request("100.00"), () -> CompletableFuture.completedFuture(successResponse())).join();
+        verify(paymentIdempotencyPort).saveCompleted(eq(KEY), fingerprint.capture(), any(PaymentResponse.class),
+            any(LocalDateTime.class));
+        when(paymentIdempotencyPort.findCompleted(eq(KEY), any(LocalDateTime.class)))
+            .thenReturn(Optional.of(new IdempotentPaymentResult(fingerprint.getValue(), successResponse())));
+
+        // When
+        PaymentResponse replayed = idempotencyService.submit(KEY, request("100"), () -> {
+            throw new AssertionError("payment must not be executed again");
+        }).join();
+
+        // Then
+        assertEquals("TXN-1", replayed.getTransactionId());
+        assertEquals(0, idempotencyService.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("同一冪等鍵用於不同付款請求時應該拒絕")
+    void shouldRejectKeyReusedForDifferentRequest() {
+        // Given
+        when(paymentIdempotencyPort.findCompleted(eq(KEY), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        idempotencyService.submit(KEY, request("100.00"), CompletableFuture::new);
+
+        // When & Then
+        assertThrows(IdempotencyKeyReusedException.class,
+            () -> idempotencyService.submit(KEY, request("250.00"), CompletableFuture::new));
+    }
+
+    @Test
+    @DisplayName("未建立交易的失敗不應該保存冪等鍵")
+    void shouldNotStoreFailureWithoutTransaction() {
+        // Given
+        when(paymentIdempotencyPort.findCompleted(eq(KEY), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        PaymentResponse systemError = PaymentResponse.failure(null, "ORDER-1", "CUST-1",
+            new BigDecimal("100.00"), PaymentMethod.CREDIT_CARD, "SYSTEM_ERROR", true);
+
+        // When
+        idempotencyService.submit(KEY, request("100.00"), () -> CompletableFuture.completedFuture(systemError)).join();
+
+        // Then
+        verify(paymentIdempotencyPort, never()).saveCompleted(any(), any(), any(), any());
+        assertEquals(0, idempotencyService.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("冪等鍵過長時應該拒絕")
+    void shouldRejectOverlongKey() {
+        // When & Then
+        String key = "k".repeat(PaymentIdempotencyService.MAX_KEY_LENGTH + 1);
+        assertThrows(ValidationException.class,
+            () -> idempotencyService.submit(key, request("100.00"), CompletableFuture::new));
+        verifyNoInteractions(paymentIdempotencyPort);
+    }
+
+    private PaymentRequest request(String amount) {
+        PaymentRequest request = new PaymentRequest();
+        request.setOrderId("ORDER-1");
+        request.setCustomerId("CUST-1");
+        request.setAmount(new BigDecimal(amount));
+        request.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        return request;
+    }
+
+    private PaymentResponse successResponse() {
+        return PaymentResponse.success("TXN-1", "ORDER-1", "CUST-1", new BigDecimal("100.00"),
+            PaymentMethod.CREDIT_CARD, "GW-1", LocalDateTime.now());
+    }
+}
@@ -6,6 +6,7 @@ import com.ecommerce.payment.domain.event.PaymentFailedEvent;
 import com.ecommerce.payment.domain.event.PaymentRefundedEvent;
 import com.ecommerce.payment.domain.event.PaymentSuccessEvent;
 import com.ecommerce.payment.domain.model.*;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,7 +18,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,9 +41,17 @@ class PaymentNotificationServiceTest {
     
     private PaymentNotificationService paymentNotificationService;
     
+    private ExecutorService deliveryExecutor;
+    
     @BeforeEach
     void setUp() {
-        paymentNotificationService = new PaymentNotificationService(paymentNotificationPort);
+        deliveryExecutor = Executors.newFixedThreadPool(2);
+        paymentNotificationService = new PaymentNotificationService(paymentNotificationPort, deliveryExecutor);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        deliveryExecutor.shutdownNow();
     }
     
     @Test
@@ -272,6 +285,35 @@ class PaymentNotificationServiceTest {
         verify(paymentNotificationPort).sendPaymentSuccessNotification(any(PaymentNotification.class));
     }
     
+    @Test
+    @DisplayName("同一客戶待發送的通知應該合併為一個任務並去除重複")
+    void shouldCoalescePendingNotificationsPerCustomer() {
+        // Given - 手動執行的執行器，模擬忙碌中的執行緒池
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        PaymentNotificationService coalescingService = new PaymentNotificationService(paymentNotificationPort, tasks::add);
+        PaymentTransaction successTransaction = createSuccessfulTransaction();
+        PaymentTransaction failedTransaction = createFailedTransaction();
+        
+        // When
+        CompletableFuture<Void> first = coalescingService.sendPaymentStatusNotification(successTransaction);
+        CompletableFuture<Void> duplicate = coalescingService.sendPaymentStatusNotification(successTransaction);
+        CompletableFuture<Void> other = coalescingService.sendPaymentStatusNotification(failedTransaction);
+        
+        // Then
+        assertThat(tasks).hasSize(1);
+        assertThat(coalescingService.getPendingCustomerBatches()).isEqualTo(1);
+        assertThat(first).isNotDone();
+        
+        tasks.poll().run();
+        
+        assertThat(first).isDone();
+        assertThat(duplicate).isDone();
+        assertThat(other).isDone();
+        assertThat(coalescingService.getPendingCustomerBatches()).isZero();
+        verify(paymentNotificationPort, times(1)).sendPaymentSuccessNotification(any(PaymentNotification.class));
+        verify(paymentNotificationPort, times(1)).sendPaymentFailureNotification(any(PaymentNotification.class));
+    }
+    
     @Test
     @DisplayName("通知服務健康檢查")
     void shouldCheckNotificationServiceHealth() {
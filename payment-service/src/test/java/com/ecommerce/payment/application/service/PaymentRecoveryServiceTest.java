@@ -0,0 +1,92 @@
+package com.ecommerce.payment.application.service;
+
+import com.ecommerce.payment.application.port.out.PaymentPersistencePort;
+import com.ecommerce.payment.application.port.out.PaymentStatusLogPort;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import com.ecommerce.payment.domain.model.PaymentStatus;
+import com.ecommerce.payment.domain.model.PaymentTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 付款復原服務測試
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("付款復原服務測試")
+class PaymentRecoveryServiceTest {
+
+    @Mock
+    private PaymentPersistencePort paymentPersistencePort;
+    @Mock
+    private PaymentStatusLogPort paymentStatusLogPort;
+
+    private PaymentRecoveryService recoveryService;
+
+    @BeforeEach
+    void setUp() {
+        recoveryService = new PaymentRecoveryService(paymentPersistencePort, paymentStatusLogPort,
+            Duration.ofMinutes(30), 100);
+    }
+
+    @Test
+    @DisplayName("沒有最終狀態的付款意圖應該以逾時失敗寫入")
+    void shouldFailUnfinishedIntent() {
+        // Given
+        PaymentTransaction intent = intent("TXN-1");
+        when(paymentStatusLogPort.findUnfinishedPayments(any(LocalDateTime.class), eq(100))).thenReturn(List.of(intent));
+        when(paymentPersistencePort.findById("TXN-1")).thenReturn(Optional.empty());
+        when(paymentPersistencePort.save(any(PaymentTransaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        int recovered = recoveryService.recoverStuckPayments();
+
+        // Then
+        assertEquals(1, recovered);
+        ArgumentCaptor<PaymentTransaction> saved = ArgumentCaptor.forClass(PaymentTransaction.class);
+        verify(paymentPersistencePort).save(saved.capture());
+        assertEquals("TXN-1", saved.getValue().getTransactionId());
+        assertEquals(PaymentStatus.FAILED, saved.getValue().getStatus());
+        assertEquals("Payment timeout", saved.getValue().getFailureReason());
+        verify(paymentStatusLogPort).recordOutcome(saved.getValue());
+    }
+
+    @Test
+    @DisplayName("交易已寫入最終狀態時只補記狀態日誌")
+    void shouldOnlyRepairLogWhenTransactionIsFinal() {
+        // Given
+        PaymentTransaction persisted = intent("TXN-2");
+        persisted.markAsSuccess("GW-2", "Payment successful");
+        when(paymentStatusLogPort.findUnfinishedPayments(any(LocalDateTime.class), eq(100)))
+            .thenReturn(List.of(intent("TXN-2")));
+        when(paymentPersistencePort.findById("TXN-2")).thenReturn(Optional.of(persisted));
+
+        // When
+        recoveryService.recoverStuckPayments();
+
+        // Then
+        verify(paymentPersistencePort, never()).save(any(PaymentTransaction.class));
+        verify(paymentStatusLogPort).recordOutcome(persisted);
+        assertEquals(PaymentStatus.SUCCESS, persisted.getStatus());
+    }
+
+    private PaymentTransaction intent(String transactionId) {
+        return PaymentTransaction.restoreProcessing(transactionId, "MER-" + transactionId, "ORDER-1", "CUST-1",
+            new BigDecimal("100.00"), PaymentMethod.BANK_TRANSFER, "Order payment",
+            LocalDateTime.now().minusHours(1));
+    }
+}
@@ -1,8 +1,12 @@
 package com.ecommerce.payment.application.usecase;
 
+import com.ecommerce.common.dto.CursorPage;
+import com.ecommerce.common.dto.PageCursor;
 import com.ecommerce.payment.application.dto.*;
 import com.ecommerce.payment.application.port.out.PaymentNotificationPort;
 import com.ecommerce.payment.application.port.out.PaymentPersistencePort;
+import com.ecommerce.payment.application.port.out.PaymentRetryQueuePort;
+import com.ecommerce.payment.application.port.out.PaymentStatusLogPort;
 import com.ecommerce.payment.application.service.PaymentRetryService;
 import com.ecommerce.payment.application.strategy.PaymentStrategy;
 import com.ecommerce.payment.application.strategy.PaymentStrategyFactory;
@@ -20,7 +24,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -52,6 +58,12 @@ class PaymentProcessingServiceTest {
     @Mock
     private PaymentStrategy paymentStrategy;
     
+    @Mock
+    private PaymentStatusLogPort paymentStatusLogPort;
+    
+    @Mock
+    private PaymentRetryQueuePort paymentRetryQueuePort;
+    
     private PaymentProcessingService paymentProcessingService;
     
     @BeforeEach
@@ -61,7 +73,8 @@ class PaymentProcessingServiceTest {
             paymentNotificationPort,
             paymentDomainService,
             strategyFactory,
-            retryService
+            retryService,
+            paymentStatusLogPort
         );
     }
     
@@ -70,10 +83,10 @@ class PaymentProcessingServiceTest {
     void shouldProcessCreditCardPaymentSuccessfully() {
         // Given
         PaymentRequest request = createCreditCardPaymentRequest();
-        PaymentTransaction transaction = createMockTransaction();
         GatewayPaymentResponse gatewayResponse = createSuccessfulGatewayResponse();
         
-        when(paymentPersistencePort.save(any(PaymentTransaction.class))).thenReturn(transaction);
+        when(paymentPersistencePort.save(any(PaymentTransaction.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
         when(strategyFactory.getStrategy(PaymentMethod.CREDIT_CARD)).thenReturn(paymentStrategy);
         when(paymentStrategy.processPayment(any(GatewayPaymentRequest.class))).thenReturn(gatewayResponse);
         
@@ -81,9 +94,14 @@ class PaymentProcessingServiceTest {
         PaymentResponse response = paymentProcessingService.processPayment(request);
         
         // Then
+        ArgumentCaptor<PaymentTransaction> savedCaptor = ArgumentCaptor.forClass(PaymentTransaction.class);
+        verify(paymentPersistencePort, times(1)).save(savedCaptor.capture());
+        PaymentTransaction saved = savedCaptor.getValue();
+        assertThat(saved.getStatus()).isEqualTo(PaymentStatus.SUCCESS);
+        
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(PaymentStatus.SUCCESS);
-        assertThat(response.getTransactionId()).isEqualTo(transaction.getTransactionId());
+        assertThat(response.getTransactionId()).isEqualTo(saved.getTransactionId());
         assertThat(response.getAmount()).isEqualTo(request.getAmount());
         assertThat(response.getPaymentMethod()).isEqualTo(PaymentMethod.CREDIT_CARD);
         
@@ -96,8 +114,9 @@ class PaymentProcessingServiceTest {
             any(CreditCard.class)
         );
         
-        // Verify transaction was saved multiple times (initial, processing, success)
-        verify(paymentPersistencePort, atLeast(3)).save(any(PaymentTransaction.class));
+        // Verify intermediate state went to the status log and the transaction row was written once
+        verify(paymentStatusLogPort).recordIntent(saved);
+        verify(paymentStatusLogPort).recordOutcome(saved);
         
         // Verify payment strategy was called
         verify(paymentStrategy).processPayment(any(GatewayPaymentRequest.class));
@@ -106,15 +125,48 @@ class PaymentProcessingServiceTest {
         verify(paymentNotificationPort).sendPaymentSuccessNotification(any(PaymentNotification.class));
     }
     
+    @Test
+    @DisplayName("非同步付款應在閘道回應後才更新交易狀態並通知")
+    void shouldCompleteAsyncPaymentWhenGatewayResponds() {
+        // Given
+        PaymentRequest request = createCreditCardPaymentRequest();
+        CompletableFuture<GatewayPaymentResponse> gatewayResponse = new CompletableFuture<>();
+        
+        when(paymentPersistencePort.save(any(PaymentTransaction.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(strategyFactory.getStrategy(PaymentMethod.CREDIT_CARD)).thenReturn(paymentStrategy);
+        when(paymentStrategy.processPaymentAsync(any(GatewayPaymentRequest.class))).thenReturn(gatewayResponse);
+        
+        // When
+        CompletableFuture<PaymentResponse> response = paymentProcessingService.processPaymentAsync(request);
+        
+        // Then - 閘道回應前只記錄付款意圖，不寫入付款交易
+        assertThat(response).isNotDone();
+        verify(paymentStatusLogPort).recordIntent(any(PaymentTransaction.class));
+        verify(paymentPersistencePort, never()).save(any(PaymentTransaction.class));
+        verify(paymentNotificationPort, never()).sendPaymentSuccessNotification(any(PaymentNotification.class));
+        
+        // When - 閘道回應
+        gatewayResponse.complete(createSuccessfulGatewayResponse());
+        
+        // Then
+        assertThat(response).isDone();
+        assertThat(response.join().getStatus()).isEqualTo(PaymentStatus.SUCCESS);
+        verify(paymentPersistencePort, times(1)).save(any(PaymentTransaction.class));
+        verify(paymentStatusLogPort).recordOutcome(any(PaymentTransaction.class));
+        verify(paymentStrategy, never()).processPayment(any(GatewayPaymentRequest.class));
+        verify(paymentNotificationPort).sendPaymentSuccessNotification(any(PaymentNotification.class));
+    }
+    
     @Test
     @DisplayName("餘額不足錯誤處理")
     void shouldHandleInsufficientFundsError() {
         // Given
         PaymentRequest request = createCreditCardPaymentRequest();
-        PaymentTransaction transaction = createMockTransaction();
         GatewayPaymentResponse gatewayResponse = createInsufficientFundsGatewayResponse();
         
-        when(paymentPersistencePort.save(any(PaymentTransaction.class))).thenReturn(transaction);
+        when(paymentPersistencePort.save(any(PaymentTransaction.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
         when(strategyFactory.getStrategy(PaymentMethod.CREDIT_CARD)).thenReturn(paymentStrategy);
         when(paymentStrategy.processPayment(any(GatewayPaymentRequest.class))).thenReturn(gatewayResponse);
         
@@ -126,13 +178,14 @@ class PaymentProcessingServiceTest {
         assertThat(response.getStatus()).isEqualTo(PaymentStatus.FAILED);
         assertThat(response.getFailureReason()).contains("INSUFFICIENT_FUNDS");
         assertThat(response.isRetryable()).isFalse();
+        verify(retryService, never()).autoRetryPayment(any(PaymentTransaction.class));
         
         // Verify failure notification was sent
         ArgumentCaptor<PaymentNotification> notificationCaptor = ArgumentCaptor.forClass(PaymentNotification.class);
         verify(paymentNotificationPort).sendPaymentFailureNotification(notificationCaptor.capture());
         
         PaymentNotification notification = notificationCaptor.getValue();
-        assertThat(notification.getTransactionId()).isEqualTo(transaction.getTransactionId());
+        assertThat(notification.getTransactionId()).isEqualTo(response.getTransactionId());
         assertThat(notification.getFailureReason()).isEqualTo("INSUFFICIENT_FUNDS");
         assertThat(notification.getNotificationType()).isEqualTo(PaymentNotification.NotificationType.PAYMENT_FAILURE);
     }
@@ -142,9 +195,9 @@ class PaymentProcessingServiceTest {
     void shouldHandlePaymentProcessingException() {
         // Given
         PaymentRequest request = createCreditCardPaymentRequest();
-        PaymentTransaction transaction = createMockTransaction();
         
-        when(paymentPersistencePort.save(any(PaymentTransaction.class))).thenReturn(transaction);
+        when(paymentPersistencePort.save(any(PaymentTransaction.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
         when(strategyFactory.getStrategy(PaymentMethod.CREDIT_CARD)).thenReturn(paymentStrategy);
         when(paymentStrategy.processPayment(any(GatewayPaymentRequest.class)))
             .thenThrow(PaymentProcessingException.cardDeclined("Card was declined by issuer"));
@@ -157,6 +210,43 @@ class PaymentProcessingServiceTest {
         assertThat(response.getStatus()).isEqualTo(PaymentStatus.FAILED);
         assertThat(response.getFailureReason()).contains("Card was declined");
         assertThat(response.isRetryable()).isFalse();
+        
+        // 付款意圖已記錄，例外時應該寫入失敗的交易並記錄最終狀態
+        ArgumentCaptor<PaymentTransaction> savedCaptor = ArgumentCaptor.forClass(PaymentTransaction.class);
+        verify(paymentPersistencePort, times(1)).save(savedCaptor.capture());
+        PaymentTransaction saved = savedCaptor.getValue();
+        assertThat(saved.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(saved.getFailureReason()).isEqualTo(PaymentFailureReason.CARD_DECLINED.name());
+        assertThat(response.getTransactionId()).isEqualTo(saved.getTransactionId());
+        verify(paymentStatusLogPort).recordIntent(saved);
+        verify(paymentStatusLogPort).recordOutcome(saved);
+    }
+    
+    @Test
+    @DisplayName("非同步付款閘道例外時應該寫入失敗的交易")
+    void shouldRecordFailureWhenAsyncGatewayCallFails() {
+        // Given
+        PaymentRequest request = createCreditCardPaymentRequest();
+        CompletableFuture<GatewayPaymentResponse> gatewayResponse = new CompletableFuture<>();
+        
+        when(paymentPersistencePort.save(any(PaymentTransaction.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(strategyFactory.getStrategy(PaymentMethod.CREDIT_CARD)).thenReturn(paymentStrategy);
+        when(paymentStrategy.processPaymentAsync(any(GatewayPaymentRequest.class))).thenReturn(gatewayResponse);
+        
+        // When
+        CompletableFuture<PaymentResponse> response = paymentProcessingService.processPaymentAsync(request);
+        gatewayResponse.completeExceptionally(new IllegalStateException("connection reset"));
+        
+        // Then
+        assertThat(response.join().getStatus()).isEqualTo(PaymentStatus.FAILED);
+        ArgumentCaptor<PaymentTransaction> savedCaptor = ArgumentCaptor.forClass(PaymentTransaction.class);
+        verify(paymentPersistencePort, times(1)).save(savedCaptor.capture());
+        PaymentTransaction saved = savedCaptor.getValue();
+        assertThat(saved.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(saved.getFailureReason()).isEqualTo("SYSTEM_ERROR");
+        assertThat(response.join().getTransactionId()).isEqualTo(saved.getTransactionId());
+        verify(paymentStatusLogPort).recordOutcome(saved);
     }
     
     @Test
@@ -164,7 +254,6 @@ class PaymentProcessingServiceTest {
     void shouldHandleNetworkErrorWithRetry() {
         // Given
         PaymentRequest request = createCreditCardPaymentRequest();
-        PaymentTransaction transaction = createMockTransaction();
         GatewayPaymentResponse gatewayResponse = createNetworkErrorGatewayResponse();
         
         when(paymentPersistencePort.save(any(PaymentTransaction.class)))
@@ -181,11 +270,47 @@ class PaymentProcessingServiceTest {
         assertThat(response.getStatus()).isEqualTo(PaymentStatus.FAILED);
         assertThat(response.getFailureReason()).contains("NETWORK_ERROR");
         assertThat(response.isRetryable()).isTrue();
+        verify(retryService).autoRetryPayment(argThat(transaction ->
+            transaction.getTransactionId().equals(response.getTransactionId())));
         
         // Verify failure notification was sent
         verify(paymentNotificationPort).sendPaymentFailureNotification(any(PaymentNotification.class));
     }
     
+    @Test
+    @DisplayName("閘道無法使用的失敗應該寫入重試佇列")
+    void shouldEnqueueRetryWhenGatewayUnavailable() {
+        // Given - 使用實際的重試服務，驗證重試寫入佇列
+        PaymentProcessingService service = new PaymentProcessingService(
+            paymentPersistencePort,
+            paymentNotificationPort,
+            paymentDomainService,
+            strategyFactory,
+            new PaymentRetryService(strategyFactory, paymentDomainService, paymentRetryQueuePort),
+            paymentStatusLogPort
+        );
+        PaymentRequest request = createCreditCardPaymentRequest();
+        GatewayPaymentResponse gatewayResponse = GatewayPaymentResponse.failure(
+            null, "MER-123", new BigDecimal("1000.00"),
+            "GATEWAY_UNAVAILABLE", "Payment gateway is busy", "Gateway saturated", true);
+        
+        when(paymentPersistencePort.save(any(PaymentTransaction.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(strategyFactory.getStrategy(PaymentMethod.CREDIT_CARD)).thenReturn(paymentStrategy);
+        when(paymentStrategy.processPayment(any(GatewayPaymentRequest.class))).thenReturn(gatewayResponse);
+        when(paymentDomainService.canRetryPayment("ORDER-123")).thenReturn(true);
+        when(strategyFactory.isSupported(PaymentMethod.CREDIT_CARD)).thenReturn(true);
+        
+        // When
+        PaymentResponse response = service.processPayment(request);
+        
+        // Then
+        assertThat(response.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        verify(paymentRetryQueuePort).enqueue(eq(response.getTransactionId()), eq(PaymentMethod.CREDIT_CARD),
+            eq(1), any(LocalDateTime.class));
+        verify(strategyFactory, never()).isStrategyAvailable(any());
+    }
+    
     @Test
     @DisplayName("付款狀態查詢")
     void shouldGetPaymentStatusSuccessfully() {
@@ -261,6 +386,37 @@ class PaymentProcessingServiceTest {
         verify(paymentNotificationPort).sendRefundSuccessNotification(any(PaymentNotification.class));
     }
     
+    @Test
+    @DisplayName("以游標分頁查詢客戶付款紀錄")
+    void shouldPageCustomerPaymentsWithCursor() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 10, 0);
+        PaymentTransaction newest = createMockTransaction();
+        newest.setTransactionId("TXN-002");
+        newest.setCreatedAt(createdAt.plusMinutes(1));
+        PaymentTransaction older = createMockTransaction();
+        older.setTransactionId("TXN-001");
+        older.setCreatedAt(createdAt);
+        
+        when(paymentPersistencePort.findByCustomerIdBefore("CUSTOMER-456", null, null, 2))
+            .thenReturn(List.of(newest, older));
+        when(paymentPersistencePort.findByCustomerIdBefore("CUSTOMER-456", createdAt.plusMinutes(1), newest.getTransactionId(), 2))
+            .thenReturn(List.of(older));
+        
+        // When
+        CursorPage<PaymentResponse> firstPage = paymentProcessingService.getCustomerPayments("CUSTOMER-456", null, 1, false);
+        CursorPage<PaymentResponse> secondPage = paymentProcessingService.getCustomerPayments(
+            "CUSTOMER-456", firstPage.getNextCursor(), 1, false);
+        
+        // Then
+        assertThat(firstPage.getItems()).extracting(PaymentResponse::getTransactionId).containsExactly(newest.getTransactionId());
+        assertThat(firstPage.getNextCursor())
+            .isEqualTo(PageCursor.of(newest.getCreatedAt(), newest.getTransactionId()).encode());
+        assertThat(secondPage.getItems()).extracting(PaymentResponse::getTransactionId).containsExactly(older.getTransactionId());
+        assertThat(secondPage.isHasNext()).isFalse();
+        verify(paymentPersistencePort, never()).countByCustomerId(anyString());
+    }
+    
     // Helper methods for creating test data
     private PaymentRequest createCreditCardPaymentRequest() {
         PaymentRequest request = new PaymentRequest();
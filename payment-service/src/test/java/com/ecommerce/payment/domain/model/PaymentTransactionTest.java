@@ -122,6 +122,46 @@ class PaymentTransactionTest {
         assertThat(transaction.getProcessedAt()).isNotNull();
     }
     
+    @Test
+    @DisplayName("付款交易狀態轉換 - 失敗的交易重新處理後成功")
+    void shouldRestartProcessingFailedTransaction() {
+        // Given
+        PaymentTransaction transaction = createTestTransaction();
+        transaction.startProcessing();
+        transaction.markAsFailed("NETWORK_ERROR", "Network error");
+        
+        // When
+        transaction.restartProcessing();
+        transaction.markAsSuccess("GTW-123", "Payment successful");
+        
+        // Then
+        assertThat(transaction.getStatus()).isEqualTo(PaymentStatus.SUCCESS);
+        assertThat(transaction.getFailureReason()).isNull();
+        assertThatThrownBy(transaction::restartProcessing).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("付款交易狀態轉換 - 閘道受理後等待清算，清算完成後成功")
+    void shouldAwaitSettlementThenSucceed() {
+        // Given
+        PaymentTransaction transaction = createTestTransaction();
+        transaction.startProcessing();
+
+        // When
+        transaction.markAsAwaitingSettlement("GW-123", "Transaction pending");
+
+        // Then
+        assertThat(transaction.getStatus()).isEqualTo(PaymentStatus.PENDING);
+        assertThat(transaction.isAwaitingSettlement()).isTrue();
+        assertThat(transaction.getGatewayTransactionId()).isEqualTo("GW-123");
+        assertThat(transaction.getProcessedAt()).isNull();
+
+        transaction.startProcessing();
+        transaction.markAsSuccess("GW-123", "Transaction settled");
+        assertThat(transaction.isSuccessful()).isTrue();
+        assertThat(transaction.isAwaitingSettlement()).isFalse();
+    }
+
     @Test
     @DisplayName("取消待處理的付款交易")
     void shouldCancelPendingTransaction() {
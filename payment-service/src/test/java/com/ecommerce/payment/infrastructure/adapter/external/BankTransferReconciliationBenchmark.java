@@ -0,0 +1,206 @@
+package com.ecommerce.payment.infrastructure.adapter.external;
+
+import com.ecommerce.payment.application.dto.GatewayPaymentRequest;
+import com.ecommerce.payment.application.dto.GatewayPaymentResponse;
+import com.ecommerce.payment.application.dto.GatewayRefundRequest;
+import com.ecommerce.payment.application.dto.GatewayRefundResponse;
+import com.ecommerce.payment.application.port.out.PaymentGatewayPort;
+import com.ecommerce.payment.application.port.out.PaymentNotificationPort;
+import com.ecommerce.payment.application.port.out.PaymentPersistencePort;
+import com.ecommerce.payment.application.port.out.PaymentStatusLogPort;
+import com.ecommerce.payment.application.service.BankTransferReconciliationService;
+import com.ecommerce.payment.application.service.BankTransferReconciliationService.BatchResult;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import com.ecommerce.payment.domain.model.PaymentTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 銀行轉帳對帳 JMH 基準測試
+ * 以每秒對帳完成的轉帳數比較兩種閘道查詢方式：
+ * per-transaction 每筆轉帳一次閘道往返（批次查詢的預設逐筆實作），batched 每批 100 筆一次閘道往返
+ * 本機閘道替身以固定的往返延遲模擬閘道，每次往返另加每筆少量的處理時間；持久化以記憶體替身取代，只量測閘道查詢的差異
+ * 執行方式：./gradlew :payment-service:jmhBankTransferReconciliation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class BankTransferReconciliationBenchmark {
+
+    private static final int PENDING_TRANSFERS = 1000;
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"per-transaction", "batched"})
+    public String mode;
+
+    @Param({"2"})
+    public int roundTripMillis;
+
+    private final Deque<PaymentTransaction> pendingTransfers = new ArrayDeque<>(PENDING_TRANSFERS);
+    private BankTransferReconciliationService reconciliationService;
+
+    @Setup
+    public void setUp() {
+        PaymentPersistencePort persistence = inMemoryPersistence(pendingTransfers);
+        reconciliationService = new BankTransferReconciliationService(persistence,
+            new LocalStatusGateway("batched".equals(mode), Duration.ofMillis(roundTripMillis)),
+            noOp(PaymentStatusLogPort.class), noOp(PaymentNotificationPort.class),
+            Duration.ofMinutes(5), BATCH_SIZE);
+    }
+
+    @Setup(Level.Invocation)
+    public void submitTransfers() {
+        pendingTransfers.clear();
+        for (int i = 0; i < PENDING_TRANSFERS; i++) {
+            PaymentTransaction transfer = PaymentTransaction.create("ORDER-" + i, "CUST-" + (i % 100),
+                new BigDecimal("1000.00"), PaymentMethod.BANK_TRANSFER, "Reconciliation benchmark");
+            transfer.startProcessing();
+            transfer.markAsAwaitingSettlement("GTW-" + i, "Transaction pending");
+            pendingTransfers.add(transfer);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PENDING_TRANSFERS)
+    public void reconcile(Blackhole blackhole) {
+        BatchResult result;
+        do {
+            result = reconciliationService.reconcileNextBatch();
+            blackhole.consume(result);
+        } while (result.claimed() > 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(BankTransferReconciliationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    /**
+     * 記憶體持久化替身：領取時依序取出待對帳的轉帳，批次儲存直接回傳
+     */
+    private static PaymentPersistencePort inMemoryPersistence(Deque<PaymentTransaction> pendingTransfers) {
+        return (PaymentPersistencePort) Proxy.newProxyInstance(PaymentPersistencePort.class.getClassLoader(),
+            new Class<?>[] {PaymentPersistencePort.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "claimForReconciliation":
+                        int limit = (Integer) args[2];
+                        List<PaymentTransaction> claimed = new ArrayList<>(limit);
+                        while (claimed.size() < limit && !pendingTransfers.isEmpty()) {
+                            claimed.add(pendingTransfers.poll());
+                        }
+                        return claimed;
+                    case "saveAll":
+                        return args[0];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    private static <T> T noOp(Class<T> port) {
+        return port.cast(Proxy.newProxyInstance(port.getClassLoader(), new Class<?>[] {port},
+            (proxy, method, args) -> null));
+    }
+
+    /**
+     * 本機閘道替身：只實作狀態查詢，每次呼叫模擬一次閘道往返
+     */
+    static final class LocalStatusGateway implements PaymentGatewayPort {
+
+        private static final long PER_TRANSACTION_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+        private final boolean batchApi;
+        private final long roundTripNanos;
+
+        LocalStatusGateway(boolean batchApi, Duration roundTrip) {
+            this.batchApi = batchApi;
+            this.roundTripNanos = roundTrip.toNanos();
+        }
+
+        @Override
+        public GatewayPaymentResponse queryPaymentStatus(String gatewayTransactionId) {
+            LockSupport.parkNanos(roundTripNanos + PER_TRANSACTION_NANOS);
+            return settled(gatewayTransactionId);
+        }
+
+        @Override
+        public Map<String, GatewayPaymentResponse> queryPaymentStatuses(List<String> gatewayTransactionIds) {
+            if (!batchApi) {
+                return PaymentGatewayPort.super.queryPaymentStatuses(gatewayTransactionIds);
+            }
+            LockSupport.parkNanos(roundTripNanos + PER_TRANSACTION_NANOS * gatewayTransactionIds.size());
+            Map<String, GatewayPaymentResponse> statuses = new LinkedHashMap<>();
+            for (String gatewayTransactionId : gatewayTransactionIds) {
+                statuses.put(gatewayTransactionId, settled(gatewayTransactionId));
+            }
+            return statuses;
+        }
+
+        @Override
+        public GatewayPaymentResponse processCreditCardPayment(GatewayPaymentRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public GatewayPaymentResponse processDebitCardPayment(GatewayPaymentRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public GatewayPaymentResponse processBankTransferPayment(GatewayPaymentRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<GatewayPaymentResponse> processPaymentAsync(GatewayPaymentRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public GatewayRefundResponse processRefund(GatewayRefundRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isGatewayHealthy() {
+            return true;
+        }
+
+        private static GatewayPaymentResponse settled(String gatewayTransactionId) {
+            return GatewayPaymentResponse.success(gatewayTransactionId, null, new BigDecimal("1000.00"),
+                "000000", "RCP-" + gatewayTransactionId);
+        }
+    }
+}
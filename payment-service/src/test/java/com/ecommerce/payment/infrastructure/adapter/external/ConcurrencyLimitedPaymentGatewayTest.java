@@ -0,0 +1,108 @@
+package com.ecommerce.payment.infrastructure.adapter.external;
+
+import com.ecommerce.payment.application.dto.GatewayPaymentRequest;
+import com.ecommerce.payment.application.dto.GatewayPaymentResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 並行上限付款閘道測試
+ * 驗證逾時與名額不足時轉換成的閘道回應
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("並行上限付款閘道測試")
+class ConcurrencyLimitedPaymentGatewayTest {
+
+    @Mock
+    private CreditCardGatewayAdapter delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConcurrencyLimitedPaymentGateway gateway;
+
+    @BeforeEach
+    void setUp() {
+        // 每種付款方式只有一個名額且不排隊，逾時 50ms
+        gateway = new ConcurrencyLimitedPaymentGateway(delegate, meterRegistry, Duration.ofMillis(50),
+            1, 1, 1, 1, 0, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gateway.shutdown();
+    }
+
+    @Test
+    @DisplayName("閘道未在逾時內回應時應該回傳 TIMEOUT")
+    void shouldMapTimeoutToTimeoutResponse() {
+        // Given
+        when(delegate.processPaymentAsync(any(GatewayPaymentRequest.class))).thenReturn(new CompletableFuture<>());
+
+        // When
+        GatewayPaymentResponse response = gateway.processPaymentAsync(creditCardRequest("TXN-1")).join();
+
+        // Then
+        assertTrue(response.isTimeout());
+        assertTrue(response.isRetryable());
+        assertEquals("MER-TXN-1", response.getMerchantReference());
+    }
+
+    @Test
+    @DisplayName("名額與等待佇列皆滿時應該回傳可重試的 GATEWAY_UNAVAILABLE")
+    void shouldMapRejectionToUnavailableResponse() {
+        // Given
+        when(delegate.processPaymentAsync(any(GatewayPaymentRequest.class))).thenReturn(new CompletableFuture<>());
+        gateway.processPaymentAsync(creditCardRequest("TXN-1"));
+
+        // When
+        GatewayPaymentResponse response = gateway.processPaymentAsync(creditCardRequest("TXN-2")).join();
+
+        // Then
+        assertTrue(response.isFailed());
+        assertEquals("GATEWAY_UNAVAILABLE", response.getResponseCode());
+        assertTrue(response.isRetryable());
+        verify(delegate, times(1)).processPaymentAsync(any(GatewayPaymentRequest.class));
+        assertEquals(1.0, meterRegistry.get("payment.gateway.rejected").tag("method", "CREDIT_CARD").counter().count());
+    }
+
+    @Test
+    @DisplayName("其他閘道錯誤應該原樣往外拋出")
+    void shouldPropagateOtherErrors() {
+        // Given
+        when(delegate.processPaymentAsync(any(GatewayPaymentRequest.class)))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("gateway down")));
+
+        // When & Then
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> gateway.processPaymentAsync(creditCardRequest("TXN-1")).join());
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    private GatewayPaymentRequest creditCardRequest(String transactionId) {
+        return GatewayPaymentRequest.createCreditCardRequest(
+            transactionId,
+            "MER-" + transactionId,
+            new BigDecimal("1000.00"),
+            "Test payment",
+            "4111111111111111",
+            "John Doe",
+            YearMonth.now().plusYears(2),
+            "123"
+        );
+    }
+}
@@ -0,0 +1,128 @@
+package com.ecommerce.payment.infrastructure.adapter.external;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 閘道並行上限測試
+ */
+@DisplayName("閘道並行上限測試")
+class GatewayBulkheadTest {
+
+    private final GatewayBulkhead bulkhead = new GatewayBulkhead("CREDIT_CARD", 2, 1);
+    private final List<CompletableFuture<String>> gatewayCalls = new ArrayList<>();
+    private final AtomicInteger started = new AtomicInteger();
+
+    @Test
+    @DisplayName("超過並行上限的呼叫應該排隊，前一個呼叫完成後才送出")
+    void shouldQueueCallsBeyondLimit() {
+        // Given
+        CompletableFuture<String> first = bulkhead.submit(this::gatewayCall);
+        bulkhead.submit(this::gatewayCall);
+
+        // When
+        CompletableFuture<String> queued = bulkhead.submit(this::gatewayCall);
+
+        // Then
+        assertEquals(2, started.get());
+        assertEquals(2, bulkhead.getInFlight());
+        assertEquals(1, bulkhead.getQueued());
+        assertFalse(queued.isDone());
+
+        // When - 第一個呼叫完成
+        gatewayCalls.get(0).complete("TXN-1");
+
+        // Then
+        assertEquals("TXN-1", first.join());
+        assertEquals(3, started.get());
+        assertEquals(2, bulkhead.getInFlight());
+        assertEquals(0, bulkhead.getQueued());
+
+        gatewayCalls.get(2).complete("TXN-3");
+        assertEquals("TXN-3", queued.join());
+    }
+
+    @Test
+    @DisplayName("並行名額與等待佇列皆滿時應該拒絕呼叫")
+    void shouldRejectWhenSaturated() {
+        // Given
+        bulkhead.submit(this::gatewayCall);
+        bulkhead.submit(this::gatewayCall);
+        bulkhead.submit(this::gatewayCall);
+
+        // When
+        CompletableFuture<String> rejected = bulkhead.submit(this::gatewayCall);
+
+        // Then
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        assertEquals(2, started.get());
+    }
+
+    @Test
+    @DisplayName("呼叫失敗時應該釋放名額並回傳失敗")
+    void shouldReleaseSlotWhenCallFails() {
+        // Given
+        CompletableFuture<String> failing = bulkhead.submit(this::gatewayCall);
+
+        // When
+        gatewayCalls.get(0).completeExceptionally(new IllegalStateException("gateway down"));
+
+        // Then
+        assertThrows(CompletionException.class, failing::join);
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    @DisplayName("送出呼叫時直接拋出的例外應該釋放名額")
+    void shouldReleaseSlotWhenCallThrows() {
+        // When
+        CompletableFuture<String> failing = bulkhead.submit(() -> {
+            throw new IllegalStateException("gateway down");
+        });
+
+        // Then
+        assertThrows(CompletionException.class, failing::join);
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    @DisplayName("大量排隊的呼叫同步完成時應該逐一送出而不是遞迴")
+    void shouldDrainSynchronouslyCompletingCallsWithoutRecursion() {
+        // Given
+        int queuedCalls = 100_000;
+        GatewayBulkhead singleSlot = new GatewayBulkhead("BANK_TRANSFER", 1, queuedCalls);
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        singleSlot.submit(() -> blocker);
+        List<CompletableFuture<String>> queued = new ArrayList<>(queuedCalls);
+        for (int i = 0; i < queuedCalls; i++) {
+            String transactionId = "TXN-" + i;
+            queued.add(singleSlot.submit(() -> CompletableFuture.completedFuture(transactionId)));
+        }
+
+        // When
+        blocker.complete("TXN-BLOCKER");
+
+        // Then
+        assertTrue(queued.stream().allMatch(call -> call.isDone() && !call.isCompletedExceptionally()));
+        assertEquals("TXN-99999", queued.get(queuedCalls - 1).join());
+        assertEquals(0, singleSlot.getInFlight());
+        assertEquals(0, singleSlot.getQueued());
+    }
+
+    private CompletableFuture<String> gatewayCall() {
+        started.incrementAndGet();
+        CompletableFuture<String> call = new CompletableFuture<>();
+        gatewayCalls.add(call);
+        return call;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.payment.infrastructure.adapter.external;
+
+import ch.qos.logback.classic.Level;
+import com.ecommerce.payment.application.dto.GatewayPaymentRequest;
+import com.ecommerce.payment.application.dto.GatewayPaymentResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 付款閘道負載 JMH 基準測試
+ * 模擬 1,000 筆同時結帳的信用卡付款，以每秒完成的付款數比較兩種執行模式：
+ * blocking 在 200 條執行緒（Tomcat 預設上限）上同步等待閘道，不受並行上限參數影響；
+ * async 以非同步閘道送出，等待期間不佔用執行緒，同時進行的呼叫數受信用卡並行上限限制
+ * 閘道延遲沿用模擬閘道的 500–2000 ms
+ * 執行方式：./gradlew :payment-service:jmhPaymentGateway
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class PaymentGatewayLoadBenchmark {
+
+    private static final int CONCURRENT_CHECKOUTS = 1000;
+    private static final int SERVLET_THREADS = 200;
+
+    @Param({"blocking", "async"})
+    public String mode;
+
+    @Param({"500", "1000"})
+    public int creditCardLimit;
+
+    private CreditCardGatewayAdapter adapter;
+    private ConcurrencyLimitedPaymentGateway gateway;
+    private ExecutorService servletThreads;
+    private List<GatewayPaymentRequest> requests;
+
+    @Setup
+    public void setUp() {
+        // 模擬閘道每筆付款都會記錄日誌，避免輸出影響量測
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.ERROR);
+
+        adapter = new CreditCardGatewayAdapter();
+        gateway = new ConcurrencyLimitedPaymentGateway(adapter, new SimpleMeterRegistry(), Duration.ofSeconds(30),
+            creditCardLimit, 200, 100, 50, CONCURRENT_CHECKOUTS, 16);
+        servletThreads = Executors.newFixedThreadPool(SERVLET_THREADS);
+
+        requests = new ArrayList<>(CONCURRENT_CHECKOUTS);
+        for (int i = 0; i < CONCURRENT_CHECKOUTS; i++) {
+            requests.add(GatewayPaymentRequest.createCreditCardRequest(
+                "TXN-" + i, "MER-" + i, new BigDecimal("1000.00"), "Load test",
+                "4111111111111111", "John Doe", YearMonth.now().plusYears(2), "123"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        servletThreads.shutdownNow();
+        gateway.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_CHECKOUTS)
+    public void checkouts(Blackhole blackhole) {
+        List<CompletableFuture<GatewayPaymentResponse>> responses = new ArrayList<>(CONCURRENT_CHECKOUTS);
+        for (GatewayPaymentRequest request : requests) {
+            responses.add("async".equals(mode)
+                ? gateway.processPaymentAsync(request)
+                : CompletableFuture.supplyAsync(() -> adapter.processCreditCardPayment(request), servletThreads));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+        responses.forEach(response -> blackhole.consume(response.join()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PaymentGatewayLoadBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,179 @@
+package com.ecommerce.payment.infrastructure.adapter.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每日付款限額檢查 JMH 基準測試
+ * 比較兩種取得客戶當日成功付款總額的方式：
+ * loadAllSuccessful 執行原本 findByCustomerIdAndStatus 產生的 SQL，讀回客戶所有成功交易後在 Java 過濾當日；
+ * indexedDailySum 執行 sumSuccessfulPaymentsByCustomerBetween 的彙總查詢，
+ * 由 (customer_id, status, processed_at) 索引只掃描當日的資料列
+ * 前者隨客戶歷史交易數線性成長，後者只與當日交易數相關
+ * 執行方式：./gradlew :payment-service:jmhPaymentDailyLimit
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PaymentDailyLimitBenchmark {
+
+    private static final String CUSTOMER_ID = "CUST-HEAVY";
+    private static final int OTHER_CUSTOMERS = 1_000;
+    private static final int TODAY_PAYMENTS = 5;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private static final String LOAD_ALL_SUCCESSFUL_SQL =
+        "SELECT transaction_id, order_id, customer_id, amount, payment_method, status, description, " +
+        "gateway_transaction_id, created_at, processed_at FROM payment_transactions " +
+        "WHERE customer_id = ? AND status = 'SUCCESS'";
+    private static final String INDEXED_DAILY_SUM_SQL =
+        "SELECT COALESCE(SUM(amount), 0) FROM payment_transactions " +
+        "WHERE customer_id = ? AND status = 'SUCCESS' AND processed_at >= ? AND processed_at < ?";
+
+    @Param({"1000", "100000"})
+    public int historicalPayments;
+
+    private Connection connection;
+    private PreparedStatement loadAllStatement;
+    private PreparedStatement dailySumStatement;
+    private LocalDateTime startOfDay;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:payment_daily_limit_" + historicalPayments + ";DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE payment_transactions (transaction_id VARCHAR(50) PRIMARY KEY, " +
+                        "order_id VARCHAR(50), customer_id VARCHAR(50), amount DECIMAL(19, 2), " +
+                        "payment_method VARCHAR(20), status VARCHAR(20), description VARCHAR(500), " +
+                        "gateway_transaction_id VARCHAR(100), created_at TIMESTAMP, processed_at TIMESTAMP)");
+            ddl.execute("CREATE INDEX idx_payment_customer_created ON payment_transactions (customer_id, created_at, transaction_id)");
+            ddl.execute("CREATE INDEX idx_payment_customer_status_processed ON payment_transactions (customer_id, status, processed_at)");
+        }
+
+        startOfDay = LocalDateTime.now().toLocalDate().atStartOfDay();
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO payment_transactions VALUES (?, ?, ?, ?, 'CREDIT_CARD', ?, ?, ?, ?, ?)")) {
+            int sequence = 0;
+            // 目標客戶過去三年的歷史交易，約 5% 為失敗
+            for (int i = 0; i < historicalPayments; i++) {
+                LocalDateTime processedAt = startOfDay.minusMinutes(1 + random.nextInt(3 * 365 * 24 * 60));
+                addPayment(insert, sequence++, CUSTOMER_ID, random.nextInt(20) == 0 ? "FAILED" : "SUCCESS",
+                    processedAt, random);
+            }
+            for (int i = 0; i < TODAY_PAYMENTS; i++) {
+                addPayment(insert, sequence++, CUSTOMER_ID, "SUCCESS", startOfDay.plusMinutes(i), random);
+            }
+            // 其他客戶的交易讓索引維持實際的選擇性
+            for (int i = 0; i < historicalPayments; i++) {
+                addPayment(insert, sequence++, "CUST-" + random.nextInt(OTHER_CUSTOMERS), "SUCCESS",
+                    startOfDay.minusMinutes(random.nextInt(3 * 365 * 24 * 60)), random);
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        loadAllStatement = connection.prepareStatement(LOAD_ALL_SUCCESSFUL_SQL);
+        dailySumStatement = connection.prepareStatement(INDEXED_DAILY_SUM_SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void loadAllSuccessful(Blackhole blackhole) throws SQLException {
+        LocalDateTime endOfDay = startOfDay.plusDays(1);
+        BigDecimal todayTotal = BigDecimal.ZERO;
+        loadAllStatement.setString(1, CUSTOMER_ID);
+        try (ResultSet rows = loadAllStatement.executeQuery()) {
+            while (rows.next()) {
+                // 讀出整列，與 Hibernate 對應實體時一樣
+                blackhole.consume(rows.getString(1));
+                blackhole.consume(rows.getString(2));
+                blackhole.consume(rows.getString(7));
+                blackhole.consume(rows.getString(8));
+                blackhole.consume(rows.getTimestamp(9));
+                Timestamp processedAt = rows.getTimestamp(10);
+                BigDecimal amount = rows.getBigDecimal(4);
+                if (processedAt != null) {
+                    LocalDateTime processed = processedAt.toLocalDateTime();
+                    if (!processed.isBefore(startOfDay) && processed.isBefore(endOfDay)) {
+                        todayTotal = todayTotal.add(amount);
+                    }
+                }
+            }
+        }
+        blackhole.consume(todayTotal);
+    }
+
+    @Benchmark
+    public void indexedDailySum(Blackhole blackhole) throws SQLException {
+        dailySumStatement.setString(1, CUSTOMER_ID);
+        dailySumStatement.setTimestamp(2, Timestamp.valueOf(startOfDay));
+        dailySumStatement.setTimestamp(3, Timestamp.valueOf(startOfDay.plusDays(1)));
+        try (ResultSet total = dailySumStatement.executeQuery()) {
+            total.next();
+            blackhole.consume(total.getBigDecimal(1));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PaymentDailyLimitBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    private static void addPayment(PreparedStatement insert, int sequence, String customerId, String status,
+                                   LocalDateTime processedAt, Random random) throws SQLException {
+        insert.setString(1, String.format("TXN-%09d", sequence));
+        insert.setString(2, String.format("ORDER-%09d", sequence));
+        insert.setString(3, customerId);
+        insert.setBigDecimal(4, new BigDecimal(100 + random.nextInt(5_000)));
+        insert.setString(5, status);
+        insert.setString(6, "Order payment " + sequence);
+        insert.setString(7, "GW-" + sequence);
+        insert.setTimestamp(8, Timestamp.valueOf(processedAt.minusSeconds(2)));
+        insert.setTimestamp(9, Timestamp.valueOf(processedAt));
+        insert.addBatch();
+        if ((sequence + 1) % INSERT_BATCH_SIZE == 0) {
+            insert.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.ecommerce.payment.infrastructure.adapter.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 付款寫入流程 JMH 基準測試
+ * 比較每筆付款的資料庫寫入：
+ * threeSaves 執行原本三次 save 產生的 SQL，每次 merge 先依主鍵查詢再 INSERT 或 UPDATE 整列付款交易，各自提交；
+ * singleWrite 執行調整後的流程，付款意圖以一筆狀態日誌提交，取得結果後整列付款交易只 INSERT 一次，
+ * 最終狀態再新增一筆狀態日誌
+ * 付款交易表帶有實體宣告的全部索引，並預先載入既有資料，讓每次寫入的索引維護接近實際情況
+ * 結束時輸出每筆付款的 SQL 數與寫入付款交易表的次數
+ * 執行方式：./gradlew :payment-service:jmhPaymentWritePipeline
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PaymentWritePipelineBenchmark {
+
+    private static final int EXISTING_PAYMENTS = 100_000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private static final String SELECT_BY_ID_SQL =
+        "SELECT transaction_id, order_id, customer_id, amount, refunded_amount, payment_method, status, " +
+        "gateway_transaction_id, gateway_response, failure_reason, description, merchant_reference, " +
+        "masked_card_number, card_holder_name, card_expiry_month, card_expiry_year, created_at, updated_at, " +
+        "processed_at, refunded_at FROM payment_transactions WHERE transaction_id = ?";
+    private static final String INSERT_PAYMENT_SQL =
+        "INSERT INTO payment_transactions (order_id, customer_id, amount, refunded_amount, payment_method, status, " +
+        "gateway_transaction_id, gateway_response, failure_reason, description, merchant_reference, " +
+        "masked_card_number, card_holder_name, card_expiry_month, card_expiry_year, created_at, updated_at, " +
+        "processed_at, refunded_at, transaction_id) VALUES (?, ?, ?, 0, 'CREDIT_CARD', ?, ?, ?, NULL, ?, ?, " +
+        "'****1111', 'John Doe', 12, 2030, ?, ?, ?, NULL, ?)";
+    // Hibernate 的 UPDATE 預設包含全部欄位
+    private static final String UPDATE_PAYMENT_SQL =
+        "UPDATE payment_transactions SET order_id = ?, customer_id = ?, amount = ?, refunded_amount = 0, " +
+        "payment_method = 'CREDIT_CARD', status = ?, gateway_transaction_id = ?, gateway_response = ?, " +
+        "failure_reason = NULL, description = ?, merchant_reference = ?, masked_card_number = '****1111', " +
+        "card_holder_name = 'John Doe', card_expiry_month = 12, card_expiry_year = 2030, created_at = ?, " +
+        "updated_at = ?, processed_at = ?, refunded_at = NULL WHERE transaction_id = ?";
+    private static final String INSERT_INTENT_SQL =
+        "INSERT INTO payment_status_log (transaction_id, status, merchant_reference, order_id, customer_id, " +
+        "amount, payment_method, description, detail, recorded_at) VALUES (?, 'PROCESSING', ?, ?, ?, ?, " +
+        "'CREDIT_CARD', ?, NULL, ?)";
+    private static final String INSERT_OUTCOME_SQL =
+        "INSERT INTO payment_status_log (transaction_id, status, detail, recorded_at) VALUES (?, ?, NULL, ?)";
+
+    private Connection connection;
+    private PreparedStatement selectById;
+    private PreparedStatement insertPayment;
+    private PreparedStatement updatePayment;
+    private PreparedStatement insertIntent;
+    private PreparedStatement insertOutcome;
+    private long sequence;
+
+    private long threeSavesPayments;
+    private long threeSavesStatements;
+    private long threeSavesRowWrites;
+    private long singleWritePayments;
+    private long singleWriteStatements;
+    private long singleWriteRowWrites;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:payment_write_pipeline;DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE payment_transactions (transaction_id VARCHAR(50) PRIMARY KEY, " +
+                        "order_id VARCHAR(50) NOT NULL, customer_id VARCHAR(50) NOT NULL, " +
+                        "amount DECIMAL(19, 2) NOT NULL, refunded_amount DECIMAL(19, 2) NOT NULL, " +
+                        "payment_method VARCHAR(20) NOT NULL, status VARCHAR(20) NOT NULL, " +
+                        "gateway_transaction_id VARCHAR(100), gateway_response CLOB, failure_reason VARCHAR(500), " +
+                        "description VARCHAR(500), merchant_reference VARCHAR(100), masked_card_number VARCHAR(20), " +
+                        "card_holder_name VARCHAR(100), card_expiry_month INT, card_expiry_year INT, " +
+                        "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL, processed_at TIMESTAMP, " +
+                        "refunded_at TIMESTAMP)");
+            ddl.execute("CREATE INDEX idx_payment_order_id ON payment_transactions (order_id)");
+            ddl.execute("CREATE INDEX idx_payment_customer_created ON payment_transactions (customer_id, created_at, transaction_id)");
+            ddl.execute("CREATE INDEX idx_payment_customer_status_processed ON payment_transactions (customer_id, status, processed_at)");
+            ddl.execute("CREATE INDEX idx_payment_status ON payment_transactions (status)");
+            ddl.execute("CREATE INDEX idx_payment_gateway_transaction_id ON payment_transactions (gateway_transaction_id)");
+            ddl.execute("CREATE INDEX idx_payment_created_at ON payment_transactions (created_at)");
+            ddl.execute("CREATE TABLE payment_status_log (log_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                        "transaction_id VARCHAR(50) NOT NULL, status VARCHAR(20) NOT NULL, " +
+                        "merchant_reference VARCHAR(100), order_id VARCHAR(50), customer_id VARCHAR(50), " +
+                        "amount DECIMAL(19, 2), payment_method VARCHAR(20), description VARCHAR(500), " +
+                        "detail VARCHAR(500), recorded_at TIMESTAMP NOT NULL)");
+            ddl.execute("CREATE INDEX idx_payment_status_log_transaction ON payment_status_log (transaction_id, status)");
+            ddl.execute("CREATE INDEX idx_payment_status_log_status_recorded ON payment_status_log (status, recorded_at)");
+        }
+
+        selectById = connection.prepareStatement(SELECT_BY_ID_SQL);
+        insertPayment = connection.prepareStatement(INSERT_PAYMENT_SQL);
+        updatePayment = connection.prepareStatement(UPDATE_PAYMENT_SQL);
+        insertIntent = connection.prepareStatement(INSERT_INTENT_SQL);
+        insertOutcome = connection.prepareStatement(INSERT_OUTCOME_SQL);
+
+        connection.setAutoCommit(false);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < EXISTING_PAYMENTS; i++) {
+            String transactionId = nextTransactionId();
+            bindInsertPayment(transactionId, "SUCCESS", "GW-" + transactionId, now.minusMinutes(i), now.minusMinutes(i));
+            insertPayment.addBatch();
+            if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                insertPayment.executeBatch();
+            }
+        }
+        insertPayment.executeBatch();
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        report("threeSaves", threeSavesPayments, threeSavesStatements, threeSavesRowWrites);
+        report("singleWrite", singleWritePayments, singleWriteStatements, singleWriteRowWrites);
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void threeSaves() throws SQLException {
+        String transactionId = nextTransactionId();
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        // save 初始交易：merge 查無資料後 INSERT
+        selectById(transactionId);
+        bindInsertPayment(transactionId, "PENDING", null, createdAt, null);
+        insertPayment.executeUpdate();
+
+        // save 處理中狀態：merge 查出資料後 UPDATE
+        selectById(transactionId);
+        bindUpdatePayment(transactionId, "PROCESSING", null, createdAt, null);
+        updatePayment.executeUpdate();
+
+        // save 最終狀態
+        LocalDateTime processedAt = LocalDateTime.now();
+        selectById(transactionId);
+        bindUpdatePayment(transactionId, "SUCCESS", "GW-" + transactionId, createdAt, processedAt);
+        updatePayment.executeUpdate();
+
+        threeSavesPayments++;
+        threeSavesStatements += 6;
+        threeSavesRowWrites += 3;
+    }
+
+    @Benchmark
+    public void singleWrite() throws SQLException {
+        String transactionId = nextTransactionId();
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        // recordIntent：一筆狀態日誌
+        insertIntent.setString(1, transactionId);
+        insertIntent.setString(2, "MER-" + transactionId);
+        insertIntent.setString(3, "ORDER-" + transactionId);
+        insertIntent.setString(4, "CUST-" + (sequence % 1_000));
+        insertIntent.setBigDecimal(5, new BigDecimal("1000.00"));
+        insertIntent.setString(6, "Order payment");
+        insertIntent.setTimestamp(7, Timestamp.valueOf(createdAt));
+        insertIntent.executeUpdate();
+
+        // save 最終狀態：merge 查無資料後 INSERT，付款交易只寫入這一次
+        LocalDateTime processedAt = LocalDateTime.now();
+        selectById(transactionId);
+        bindInsertPayment(transactionId, "SUCCESS", "GW-" + transactionId, createdAt, processedAt);
+        insertPayment.executeUpdate();
+
+        // recordOutcome
+        insertOutcome.setString(1, transactionId);
+        insertOutcome.setString(2, "SUCCESS");
+        insertOutcome.setTimestamp(3, Timestamp.valueOf(processedAt));
+        insertOutcome.executeUpdate();
+
+        singleWritePayments++;
+        singleWriteStatements += 4;
+        singleWriteRowWrites += 1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PaymentWritePipelineBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    private String nextTransactionId() {
+        return String.format("TXN-%012d", sequence++);
+    }
+
+    private void selectById(String transactionId) throws SQLException {
+        selectById.setString(1, transactionId);
+        try (ResultSet row = selectById.executeQuery()) {
+            row.next();
+        }
+    }
+
+    private void bindInsertPayment(String transactionId, String status, String gatewayTransactionId,
+                                   LocalDateTime createdAt, LocalDateTime processedAt) throws SQLException {
+        insertPayment.setString(1, "ORDER-" + transactionId);
+        insertPayment.setString(2, "CUST-" + (sequence % 1_000));
+        insertPayment.setBigDecimal(3, new BigDecimal("1000.00"));
+        insertPayment.setString(4, status);
+        insertPayment.setString(5, gatewayTransactionId);
+        insertPayment.setString(6, processedAt != null ? "Payment successful" : null);
+        insertPayment.setString(7, "Order payment");
+        insertPayment.setString(8, "MER-" + transactionId);
+        insertPayment.setTimestamp(9, Timestamp.valueOf(createdAt));
+        insertPayment.setTimestamp(10, Timestamp.valueOf(processedAt != null ? processedAt : createdAt));
+        insertPayment.setTimestamp(11, processedAt != null ? Timestamp.valueOf(processedAt) : null);
+        insertPayment.setString(12, transactionId);
+    }
+
+    private void bindUpdatePayment(String transactionId, String status, String gatewayTransactionId,
+                                   LocalDateTime createdAt, LocalDateTime processedAt) throws SQLException {
+        updatePayment.setString(1, "ORDER-" + transactionId);
+        updatePayment.setString(2, "CUST-" + (sequence % 1_000));
+        updatePayment.setBigDecimal(3, new BigDecimal("1000.00"));
+        updatePayment.setString(4, status);
+        updatePayment.setString(5, gatewayTransactionId);
+        updatePayment.setString(6, processedAt != null ? "Payment successful" : null);
+        updatePayment.setString(7, "Order payment");
+        updatePayment.setString(8, "MER-" + transactionId);
+        updatePayment.setTimestamp(9, Timestamp.valueOf(createdAt));
+        updatePayment.setTimestamp(10, Timestamp.valueOf(processedAt != null ? processedAt : createdAt));
+        updatePayment.setTimestamp(11, processedAt != null ? Timestamp.valueOf(processedAt) : null);
+        updatePayment.setString(12, transactionId);
+    }
+
+    private static void report(String pipeline, long payments, long statements, long rowWrites) {
+        if (payments == 0) {
+            return;
+        }
+        System.out.printf("%s: %.1f SQL statements and %.1f payment_transactions writes per payment (%d payments)%n",
+            pipeline, (double) statements / payments, (double) rowWrites / payments, payments);
+    }
+}
@@ -5,6 +5,8 @@ import com.ecommerce.payment.application.dto.PaymentResponse;
 import com.ecommerce.payment.application.dto.RefundRequest;
 import com.ecommerce.payment.application.dto.RefundResponse;
 import com.ecommerce.payment.application.port.in.PaymentProcessingUseCase;
+import com.ecommerce.payment.application.service.PaymentIdempotencyService;
+import com.ecommerce.payment.domain.exception.IdempotencyKeyReusedException;
 import com.ecommerce.payment.domain.model.PaymentMethod;
 import com.ecommerce.payment.domain.model.PaymentStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,12 +17,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.math.BigDecimal;
 import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -42,6 +49,9 @@ class PaymentControllerIntegrationTest {
     @MockBean
     private PaymentProcessingUseCase paymentProcessingUseCase;
     
+    @MockBean
+    private PaymentIdempotencyService paymentIdempotencyService;
+    
     @Test
     @DisplayName("處理信用卡付款 - 成功案例")
     void shouldProcessCreditCardPaymentSuccessfully() throws Exception {
@@ -53,9 +63,7 @@ class PaymentControllerIntegrationTest {
             .thenReturn(response);
         
         // When & Then
-        mockMvc.perform(post("/api/v1/payments")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(request)))
+        performPayment(request)
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.data.transactionId").value(response.getTransactionId()))
                 .andExpect(jsonPath("$.data.status").value("SUCCESS"))
@@ -76,9 +84,7 @@ class PaymentControllerIntegrationTest {
             .thenReturn(response);
         
         // When & Then
-        mockMvc.perform(post("/api/v1/payments")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(request)))
+        performPayment(request)
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.data.status").value("FAILED"))
                 .andExpect(jsonPath("$.data.failureReason").value("INSUFFICIENT_FUNDS"))
@@ -96,15 +102,57 @@ class PaymentControllerIntegrationTest {
             .thenReturn(response);
         
         // When & Then
-        mockMvc.perform(post("/api/v1/payments")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(request)))
+        performPayment(request)
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.data.status").value("FAILED"))
                 .andExpect(jsonPath("$.data.failureReason").value("NETWORK_ERROR"))
                 .andExpect(jsonPath("$.data.retryable").value(true));
     }
     
+    @Test
+    @DisplayName("處理付款 - 帶冪等鍵時由冪等服務回傳原始回應")
+    void shouldReturnIdempotentResponseForIdempotencyKey() throws Exception {
+        // Given
+        PaymentRequest request = createCreditCardPaymentRequest();
+        PaymentResponse response = createSuccessfulPaymentResponse();
+        
+        when(paymentIdempotencyService.submit(eq("order-123-attempt"), any(PaymentRequest.class), any()))
+            .thenReturn(CompletableFuture.completedFuture(response));
+        
+        // When & Then
+        MvcResult result = mockMvc.perform(post("/api/v1/payments")
+                .header("Idempotency-Key", "order-123-attempt")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.transactionId").value(response.getTransactionId()));
+        verify(paymentProcessingUseCase, never()).processPayment(any(PaymentRequest.class));
+    }
+    
+    @Test
+    @DisplayName("處理付款 - 冪等鍵用於不同請求時回傳 422")
+    void shouldRejectReusedIdempotencyKey() throws Exception {
+        // Given
+        PaymentRequest request = createCreditCardPaymentRequest();
+        
+        when(paymentIdempotencyService.submit(eq("reused-key"), any(PaymentRequest.class), any()))
+            .thenThrow(IdempotencyKeyReusedException.forKey("reused-key"));
+        
+        // When & Then
+        MvcResult result = mockMvc.perform(post("/api/v1/payments")
+                .header("Idempotency-Key", "reused-key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_REUSED"));
+    }
+    
     @Test
     @DisplayName("查詢付款狀態 - 成功")
     void shouldGetPaymentStatusSuccessfully() throws Exception {
@@ -239,12 +287,20 @@ class PaymentControllerIntegrationTest {
             .thenThrow(new RuntimeException("Internal service error"));
         
         // When & Then
-        mockMvc.perform(post("/api/v1/payments")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(request)))
+        performPayment(request)
                 .andExpect(status().isInternalServerError());
     }
     
+    // 付款端點以 CompletableFuture 回應，需等待非同步處理完成後再驗證回應
+    private ResultActions performPayment(PaymentRequest paymentRequest) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/payments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(paymentRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+    
     // Helper methods for creating test data
     private PaymentRequest createCreditCardPaymentRequest() {
         PaymentRequest request = new PaymentRequest();
@@ -0,0 +1,70 @@
+package com.ecommerce.payment.infrastructure.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 具指標的執行緒池測試
+ */
+@DisplayName("具指標的執行緒池測試")
+class MeteredThreadPoolExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MeteredThreadPoolExecutor executor = new MeteredThreadPoolExecutor("test-pool", 1, 1, meterRegistry);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("佇列已滿時應該由提交端執行緒執行並計入被拒絕次數")
+    void shouldRunOnCallerWhenQueueIsFull() throws InterruptedException {
+        // Given - 唯一的執行緒被佔住，佇列也已滿
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(this::awaitRelease);
+
+        // When
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+        // Then
+        assertSame(Thread.currentThread(), ranOn.get());
+        assertEquals(1.0, meterRegistry.get("payment.executor.rejected").tag("pool", "test-pool").counter().count());
+    }
+
+    @Test
+    @DisplayName("關閉後提交應該拋出 RejectedExecutionException 而不是靜默丟棄")
+    void shouldRejectAfterShutdown() {
+        // Given
+        executor.shutdown();
+
+        // When & Then
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> fail("task should not run")));
+        assertEquals(0.0, meterRegistry.get("payment.executor.rejected").tag("pool", "test-pool").counter().count());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
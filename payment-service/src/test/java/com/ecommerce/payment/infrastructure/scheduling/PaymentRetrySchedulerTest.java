@@ -0,0 +1,182 @@
+package com.ecommerce.payment.infrastructure.scheduling;
+
+import com.ecommerce.payment.application.dto.PaymentResponse;
+import com.ecommerce.payment.application.port.in.PaymentProcessingUseCase;
+import com.ecommerce.payment.application.port.out.PaymentRetryQueuePort;
+import com.ecommerce.payment.application.port.out.PaymentRetryQueuePort.ClaimedRetry;
+import com.ecommerce.payment.application.port.out.PaymentRetryQueuePort.QueueSummary;
+import com.ecommerce.payment.application.service.GatewayHealthMonitor;
+import com.ecommerce.payment.application.service.PaymentRetryService;
+import com.ecommerce.payment.domain.model.PaymentMethod;
+import com.ecommerce.payment.domain.model.PaymentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 付款重試排程器測試
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("付款重試排程器測試")
+class PaymentRetrySchedulerTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(2);
+
+    @Mock
+    private PaymentRetryQueuePort retryQueuePort;
+    @Mock
+    private PaymentProcessingUseCase paymentProcessingUseCase;
+    @Mock
+    private PaymentRetryService retryService;
+
+    private final GatewayHealthMonitor gatewayHealthMonitor =
+        new GatewayHealthMonitor(10, 50, 2, Duration.ofSeconds(30), 2);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PaymentRetryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new PaymentRetryScheduler(retryQueuePort, paymentProcessingUseCase, retryService,
+            gatewayHealthMonitor, meterRegistry, 10, 2, LEASE, Duration.ofDays(7), Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("應該以租約領取到期的重試並執行")
+    void shouldClaimDueRetriesWithLeaseAndRunThem() {
+        // Given
+        when(retryQueuePort.claimDue(any(LocalDateTime.class), eq(10), eq(LEASE), anyString()))
+            .thenReturn(List.of(claimedRetry(1)));
+        when(paymentProcessingUseCase.retryPayment("TXN-1")).thenReturn(success());
+        when(retryQueuePort.complete(any(ClaimedRetry.class))).thenReturn(true);
+        when(retryQueuePort.summarizePending()).thenReturn(QueueSummary.EMPTY);
+
+        // When
+        scheduler.runDueRetries();
+
+        // Then
+        verify(retryQueuePort, times(1)).claimDue(any(LocalDateTime.class), anyInt(), any(Duration.class), anyString());
+        verify(retryQueuePort).complete(argThat(retry -> retry.transactionId().equals("TXN-1")));
+        assertEquals(0.0, meterRegistry.get("payment.retry.queue.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("重試成功應該將佇列項目標記為完成")
+    void shouldCompleteSuccessfulRetry() {
+        // Given
+        ClaimedRetry retry = claimedRetry(1);
+        when(paymentProcessingUseCase.retryPayment("TXN-1")).thenReturn(success());
+
+        // When
+        scheduler.executeRetry(retry);
+
+        // Then
+        verify(retryQueuePort).complete(retry);
+        assertEquals(1.0, meterRegistry.get("payment.retry.outcomes").tag("outcome", "succeeded").counter().count());
+        assertEquals(1L, meterRegistry.get("payment.retry.execution").timer().count());
+    }
+
+    @Test
+    @DisplayName("可重試的失敗應該以下一次的退避時間重新排程")
+    void shouldRescheduleRetryableFailure() {
+        // Given
+        ClaimedRetry retry = claimedRetry(1);
+        LocalDateTime nextRetryAt = LocalDateTime.now().plusMinutes(1);
+        when(paymentProcessingUseCase.retryPayment("TXN-1")).thenReturn(failure(true));
+        when(retryService.hasRemainingAttempts(1)).thenReturn(true);
+        when(retryService.getNextRetryTime(2)).thenReturn(nextRetryAt);
+
+        // When
+        scheduler.executeRetry(retry);
+
+        // Then
+        verify(retryQueuePort).reschedule(retry, 2, nextRetryAt, "GATEWAY_ERROR");
+        verify(retryQueuePort, never()).complete(any());
+        verify(retryQueuePort, never()).exhaust(any(), any());
+    }
+
+    @Test
+    @DisplayName("不可重試的失敗應該放棄重試")
+    void shouldGiveUpOnNonRetryableFailure() {
+        // Given
+        ClaimedRetry retry = claimedRetry(1);
+        when(paymentProcessingUseCase.retryPayment("TXN-1")).thenReturn(failure(false));
+
+        // When
+        scheduler.executeRetry(retry);
+
+        // Then
+        verify(retryQueuePort).exhaust(retry, "GATEWAY_ERROR");
+        verify(retryQueuePort, never()).reschedule(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("斷路器開啟時應該延後重試且不消耗重試次數")
+    void shouldDeferWhileCircuitIsOpen() {
+        // Given
+        gatewayHealthMonitor.recordProbe(PaymentMethod.CREDIT_CARD, false);
+        gatewayHealthMonitor.recordProbe(PaymentMethod.CREDIT_CARD, false);
+        ClaimedRetry retry = claimedRetry(2);
+        LocalDateTime nextRetryAt = LocalDateTime.now().plusMinutes(2);
+        when(retryService.getNextRetryTime(2)).thenReturn(nextRetryAt);
+
+        // When
+        scheduler.executeRetry(retry);
+
+        // Then
+        verify(paymentProcessingUseCase, never()).retryPayment(any());
+        verify(retryQueuePort).reschedule(eq(retry), eq(2), eq(nextRetryAt), anyString());
+        assertEquals(1.0, meterRegistry.get("payment.retry.outcomes").tag("outcome", "deferred").counter().count());
+    }
+
+    @Test
+    @DisplayName("應該更新佇列深度與逾期時間指標")
+    void shouldRefreshQueueMetrics() {
+        // Given
+        when(retryQueuePort.summarizePending())
+            .thenReturn(new QueueSummary(3L, LocalDateTime.now().minusSeconds(30)));
+
+        // When
+        scheduler.refreshQueueMetrics();
+
+        // Then
+        assertEquals(3.0, meterRegistry.get("payment.retry.queue.depth").gauge().value());
+        assertTrue(meterRegistry.get("payment.retry.queue.lag").gauge().value() >= 30.0);
+    }
+
+    private ClaimedRetry claimedRetry(int attemptNumber) {
+        return new ClaimedRetry(1L, "token", "TXN-1", PaymentMethod.CREDIT_CARD,
+            attemptNumber, LocalDateTime.now().minusSeconds(1));
+    }
+
+    private PaymentResponse success() {
+        return PaymentResponse.success("TXN-1", "ORDER-1", "CUST-1", new BigDecimal("100.00"),
+            PaymentMethod.CREDIT_CARD, "GW-1", LocalDateTime.now());
+    }
+
+    private PaymentResponse failure(boolean retryable) {
+        PaymentResponse response = PaymentResponse.failure("TXN-1", "ORDER-1", "CUST-1",
+            new BigDecimal("100.00"), PaymentMethod.CREDIT_CARD, "GATEWAY_ERROR", retryable);
+        assertEquals(PaymentStatus.FAILED, response.getStatus());
+        return response;
+    }
+}
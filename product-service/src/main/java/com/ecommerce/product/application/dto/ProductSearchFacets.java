@@ -0,0 +1,65 @@
+package com.ecommerce.product.application.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Product search facets DTO
+ * Match counts per category, brand, price range and stock state
+ * Each facet is counted with every other filter applied but not its own,
+ * so the counts show what selecting that value would return
+ */
+public class ProductSearchFacets {
+    
+    private Map<String, Long> categories = new LinkedHashMap<>();
+    private Map<String, Long> brands = new LinkedHashMap<>();
+    private Map<String, Long> priceRanges = new LinkedHashMap<>();
+    private Map<StockState, Long> stockStates = new LinkedHashMap<>();
+    
+    // Constructors
+    public ProductSearchFacets() {}
+    
+    public ProductSearchFacets(Map<String, Long> categories, Map<String, Long> brands,
+                               Map<String, Long> priceRanges, Map<StockState, Long> stockStates) {
+        this.categories = categories;
+        this.brands = brands;
+        this.priceRanges = priceRanges;
+        this.stockStates = stockStates;
+    }
+    
+    // Getters and Setters
+    public Map<String, Long> getCategories() { return categories; }
+    public void setCategories(Map<String, Long> categories) { this.categories = categories; }
+    
+    public Map<String, Long> getBrands() { return brands; }
+    public void setBrands(Map<String, Long> brands) { this.brands = brands; }
+    
+    public Map<String, Long> getPriceRanges() { return priceRanges; }
+    public void setPriceRanges(Map<String, Long> priceRanges) { this.priceRanges = priceRanges; }
+    
+    public Map<StockState, Long> getStockStates() { return stockStates; }
+    public void setStockStates(Map<StockState, Long> stockStates) { this.stockStates = stockStates; }
+    
+    /**
+     * Stock state of a product, matching ProductDto inStock/lowStock flags
+     */
+    public enum StockState {
+        IN_STOCK,
+        LOW_STOCK,
+        OUT_OF_STOCK;
+        
+        public boolean isInStock() {
+            return this != OUT_OF_STOCK;
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "ProductSearchFacets{" +
+                "categories=" + categories +
+                ", brands=" + brands +
+                ", priceRanges=" + priceRanges +
+                ", stockStates=" + stockStates +
+                '}';
+    }
+}
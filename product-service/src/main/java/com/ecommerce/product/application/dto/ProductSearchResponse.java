@@ -17,6 +17,7 @@ public class ProductSearchResponse {
     private boolean hasPrevious;
     private String sortBy;
     private String sortDirection;
+    private ProductSearchFacets facets;
     
     // Constructors
     public ProductSearchResponse() {}
@@ -92,6 +93,12 @@ public class ProductSearchResponse {
     public String getSortDirection() { return sortDirection; }
     public void setSortDirection(String sortDirection) { this.sortDirection = sortDirection; }
     
+    /**
+     * Facet counts over all matches, or null when the search was not served by the facet index
+     */
+    public ProductSearchFacets getFacets() { return facets; }
+    public void setFacets(ProductSearchFacets facets) { this.facets = facets; }
+    
     // Helper method to update pagination flags
     private void updatePaginationFlags() {
         if (size > 0) {
@@ -0,0 +1,94 @@
+package com.ecommerce.product.application.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch check-and-reserve response DTO
+ * Either every line was reserved (stocks populated) or nothing was reserved
+ * and every offending line is listed in unavailableItems
+ */
+public class StockBatchReservationResponse {
+
+    private boolean reserved;
+    private List<StockDto> stocks = new ArrayList<>();
+    private List<UnavailableItem> unavailableItems = new ArrayList<>();
+
+    // Constructors
+    public StockBatchReservationResponse() {}
+
+    public static StockBatchReservationResponse reserved(List<StockDto> stocks) {
+        StockBatchReservationResponse response = new StockBatchReservationResponse();
+        response.reserved = true;
+        response.stocks = stocks;
+        return response;
+    }
+
+    public static StockBatchReservationResponse rejected(List<UnavailableItem> unavailableItems) {
+        StockBatchReservationResponse response = new StockBatchReservationResponse();
+        response.reserved = false;
+        response.unavailableItems = unavailableItems;
+        return response;
+    }
+
+    // Getters and Setters
+    public boolean isReserved() { return reserved; }
+    public void setReserved(boolean reserved) { this.reserved = reserved; }
+
+    public List<StockDto> getStocks() { return stocks; }
+    public void setStocks(List<StockDto> stocks) { this.stocks = stocks; }
+
+    public List<UnavailableItem> getUnavailableItems() { return unavailableItems; }
+    public void setUnavailableItems(List<UnavailableItem> unavailableItems) { this.unavailableItems = unavailableItems; }
+
+    /**
+     * Reason a line could not be reserved
+     */
+    public enum UnavailableReason {
+        PRODUCT_UNAVAILABLE,
+        STOCK_NOT_FOUND,
+        INSUFFICIENT_STOCK
+    }
+
+    /**
+     * A product line that blocked the batch reservation
+     */
+    public static class UnavailableItem {
+        private String productId;
+        private Integer requestedQuantity;
+        private Integer availableQuantity;
+        private UnavailableReason reason;
+
+        public UnavailableItem() {}
+
+        public UnavailableItem(String productId, Integer requestedQuantity, Integer availableQuantity,
+                               UnavailableReason reason) {
+            this.productId = productId;
+            this.requestedQuantity = requestedQuantity;
+            this.availableQuantity = availableQuantity;
+            this.reason = reason;
+        }
+
+        public String getProductId() { return productId; }
+        public void setProductId(String productId) { this.productId = productId; }
+
+        public Integer getRequestedQuantity() { return requestedQuantity; }
+        public void setRequestedQuantity(Integer requestedQuantity) { this.requestedQuantity = requestedQuantity; }
+
+        public Integer getAvailableQuantity() { return availableQuantity; }
+        public void setAvailableQuantity(Integer availableQuantity) { this.availableQuantity = availableQuantity; }
+
+        public UnavailableReason getReason() { return reason; }
+        public void setReason(UnavailableReason reason) { this.reason = reason; }
+
+        @Override
+        public String toString() {
+            return "UnavailableItem{" +
+                    "productId='" + productId + '\'' +
+                    ", requestedQuantity=" + requestedQuantity +
+                    ", availableQuantity=" + availableQuantity +
+                    ", reason=" + reason +
+                    '}';
+        }
+    }
+}
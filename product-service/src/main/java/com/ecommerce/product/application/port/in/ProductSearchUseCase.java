@@ -1,5 +1,6 @@
 package com.ecommerce.product.application.port.in;
 
+import com.ecommerce.common.dto.CursorPage;
 import com.ecommerce.product.application.dto.ProductDto;
 import com.ecommerce.product.application.dto.ProductSearchRequest;
 import com.ecommerce.product.application.dto.ProductSearchResponse;
@@ -19,6 +20,16 @@ public interface ProductSearchUseCase {
      */
     List<ProductDto> searchByKeyword(String keyword);
     
+    /**
+     * Search products by keyword with cursor pagination, ordered by product ID
+     * @param keyword the search keyword
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the page size
+     * @param includeTotal whether to run the count query for an estimated total
+     * @return one page of matching products with the next cursor
+     */
+    CursorPage<ProductDto> searchByKeyword(String keyword, String cursor, int size, boolean includeTotal);
+    
     /**
      * Search products with advanced criteria
      * @param searchRequest the search criteria
@@ -42,6 +53,16 @@ public interface ProductSearchUseCase {
      */
     ProductSearchResponse getProductsByCategory(String category, int page, int size);
     
+    /**
+     * Get products by category with cursor pagination, ordered by product ID
+     * @param category the product category
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the page size
+     * @param includeTotal whether to run the count query for an estimated total
+     * @return one page of products in the category with the next cursor
+     */
+    CursorPage<ProductDto> getProductsByCategory(String category, String cursor, int size, boolean includeTotal);
+    
     /**
      * Get product by ID
      * @param productId the product ID
@@ -63,6 +84,16 @@ public interface ProductSearchUseCase {
      */
     ProductSearchResponse getAvailableProducts(int page, int size);
     
+    /**
+     * Get available products with cursor pagination, ordered by product ID
+     * The total is estimated from the status count and ignores stock
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the page size
+     * @param includeTotal whether to run the count query for an estimated total
+     * @return one page of available in-stock products with the next cursor
+     */
+    CursorPage<ProductDto> getAvailableProducts(String cursor, int size, boolean includeTotal);
+    
     /**
      * Get products by brand
      * @param brand the product brand
@@ -1,5 +1,6 @@
 package com.ecommerce.product.application.port.in;
 
+import com.ecommerce.product.application.dto.StockBatchReservationResponse;
 import com.ecommerce.product.application.dto.StockDto;
 import com.ecommerce.product.application.dto.StockReservationRequest;
 import com.ecommerce.product.application.dto.StockUpdateRequest;
@@ -102,6 +103,22 @@ public interface StockManagementUseCase {
      */
     List<StockDto> bulkReserveStock(List<StockReservationRequest> reservationRequests);
     
+    /**
+     * Check product availability and reserve stock for multiple products in one transaction
+     * All-or-nothing: when any line is unavailable nothing is reserved and every offending line is reported
+     * @param reservationRequests list of reservation requests
+     * @return the batch reservation outcome
+     */
+    StockBatchReservationResponse checkAndReserveStock(List<StockReservationRequest> reservationRequests);
+    
+    /**
+     * Release reservations for multiple products in one transaction
+     * Releases exceeding the current reservation only clear what is still reserved
+     * @param releaseRequests list of product IDs and quantities to release
+     * @return list of updated stock information
+     */
+    List<StockDto> bulkReleaseReservation(List<StockReservationRequest> releaseRequests);
+    
     /**
      * Update stock information
      * @param stockUpdateRequest the stock update request
@@ -27,6 +27,20 @@ public interface ProductPersistencePort {
      */
     Optional<Product> findById(String productId);
     
+    /**
+     * Find products by multiple IDs in a single query
+     * @param productIds the product IDs
+     * @return list of found products (missing IDs are omitted)
+     */
+    List<Product> findByIdIn(List<String> productIds);
+    
+    /**
+     * Find every product in the catalog
+     * Used to build in-memory projections such as the search index
+     * @return list of all products
+     */
+    List<Product> findAll();
+    
     /**
      * Search products by keyword
      * @param keyword the search keyword
@@ -82,6 +96,34 @@ public interface ProductPersistencePort {
      */
     List<Product> findByStatus(ProductStatus status, int page, int size);
     
+    /**
+     * Find products in a category after a keyset position, ordered by product ID
+     * Seeks on the key instead of skipping rows, so late pages cost the same as the first
+     * @param category the product category
+     * @param afterProductId the last product ID of the previous page, or null for the first page
+     * @param limit the maximum number of products to return
+     * @return list of products in the category following the position
+     */
+    List<Product> findByCategoryAfter(String category, String afterProductId, int limit);
+    
+    /**
+     * Find products with a status after a keyset position, ordered by product ID
+     * @param status the product status
+     * @param afterProductId the last product ID of the previous page, or null for the first page
+     * @param limit the maximum number of products to return
+     * @return list of products with the status following the position
+     */
+    List<Product> findByStatusAfter(ProductStatus status, String afterProductId, int limit);
+    
+    /**
+     * Search products by keyword after a keyset position, ordered by product ID
+     * @param keyword the search keyword
+     * @param afterProductId the last product ID of the previous page, or null for the first page
+     * @param limit the maximum number of products to return
+     * @return list of matching products following the position
+     */
+    List<Product> searchByKeywordAfter(String keyword, String afterProductId, int limit);
+    
     /**
      * Find products by price range
      * @param minPrice the minimum price
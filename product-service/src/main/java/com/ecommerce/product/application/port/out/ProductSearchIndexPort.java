@@ -0,0 +1,72 @@
+package com.ecommerce.product.application.port.out;
+
+import com.ecommerce.product.application.dto.ProductSearchFacets;
+import com.ecommerce.product.application.dto.ProductSearchRequest;
+
+import java.util.List;
+
+/**
+ * Output port for full-text product search
+ * Follows DIP principle by defining abstraction for the search index
+ */
+public interface ProductSearchIndexPort {
+    
+    /**
+     * Check whether the index is built and can serve queries
+     * Callers fall back to the persistence search while this is false
+     * @return true if the index is ready
+     */
+    boolean isReady();
+    
+    /**
+     * Search products by keyword, best matches first
+     * Every keyword term must match; the last term also matches as a prefix
+     * @param keyword the search keyword
+     * @param page the page number (0-based)
+     * @param size the page size
+     * @return the matching product IDs for the page and the total hit count
+     */
+    SearchHits search(String keyword, int page, int size);
+    
+    /**
+     * Search with every filter of the request combined and count facets in the same pass
+     * Status defaults to AVAILABLE; keyword matching follows the same rules as {@link #search}
+     * @param searchRequest the search criteria, including page and sort
+     * @return the matching product IDs for the page, the total match count and the facet counts
+     */
+    FacetedSearchHits facetedSearch(ProductSearchRequest searchRequest);
+    
+    /**
+     * Ranked product IDs for one page of search results
+     */
+    class SearchHits {
+        private final List<String> productIds;
+        private final long totalHits;
+        
+        public SearchHits(List<String> productIds, long totalHits) {
+            this.productIds = productIds;
+            this.totalHits = totalHits;
+        }
+        
+        public static SearchHits empty() {
+            return new SearchHits(List.of(), 0);
+        }
+        
+        public List<String> getProductIds() { return productIds; }
+        public long getTotalHits() { return totalHits; }
+    }
+    
+    /**
+     * One page of filtered search results with facet counts over all matches
+     */
+    class FacetedSearchHits extends SearchHits {
+        private final ProductSearchFacets facets;
+        
+        public FacetedSearchHits(List<String> productIds, long totalHits, ProductSearchFacets facets) {
+            super(productIds, totalHits);
+            this.facets = facets;
+        }
+        
+        public ProductSearchFacets getFacets() { return facets; }
+    }
+}
@@ -19,6 +19,13 @@ public interface StockPersistencePort {
      */
     Stock save(Stock stock);
     
+    /**
+     * Save multiple stock records in one batched write within a single transaction
+     * @param stocks the stocks to save
+     * @return the saved stocks
+     */
+    List<Stock> saveAll(List<Stock> stocks);
+    
     /**
      * Find stock by ID
      * @param stockId the stock ID
@@ -33,6 +40,13 @@ public interface StockPersistencePort {
      */
     Optional<Stock> findByProductId(String productId);
     
+    /**
+     * Find all stock records
+     * Used to build in-memory projections such as the search facets
+     * @return list of all stocks
+     */
+    List<Stock> findAll();
+    
     /**
      * Find stocks by warehouse location
      * @param warehouseLocation the warehouse location
@@ -101,6 +115,14 @@ public interface StockPersistencePort {
      */
     List<Stock> findByProductIdIn(List<String> productIds);
     
+    /**
+     * Atomically reserve stock with a single conditional update
+     * @param productId the product ID
+     * @param quantity the quantity to reserve
+     * @return true if reserved, false if stock is missing or insufficient
+     */
+    boolean reserveIfAvailable(String productId, Integer quantity);
+    
     /**
      * Check if stock exists for a product
      * @param productId the product ID
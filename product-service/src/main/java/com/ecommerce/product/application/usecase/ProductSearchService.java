@@ -1,12 +1,15 @@
 package com.ecommerce.product.application.usecase;
 
 import com.ecommerce.common.architecture.UseCase;
+import com.ecommerce.common.dto.CursorPage;
+import com.ecommerce.common.dto.PageCursor;
 import com.ecommerce.product.application.dto.ProductDto;
 import com.ecommerce.product.application.dto.ProductSearchRequest;
 import com.ecommerce.product.application.dto.ProductSearchResponse;
 import com.ecommerce.product.application.mapper.ProductMapper;
 import com.ecommerce.product.application.port.in.ProductSearchUseCase;
 import com.ecommerce.product.application.port.out.ProductPersistencePort;
+import com.ecommerce.product.application.port.out.ProductSearchIndexPort;
 import com.ecommerce.product.application.port.out.StockPersistencePort;
 import com.ecommerce.product.domain.exception.ProductNotFoundException;
 import com.ecommerce.product.domain.model.Product;
@@ -14,8 +17,13 @@ import com.ecommerce.product.domain.model.ProductStatus;
 import com.ecommerce.product.domain.model.Stock;
 import com.ecommerce.product.domain.service.ProductDomainService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Product search use case implementation
@@ -24,16 +32,28 @@ import java.util.Optional;
 @UseCase
 public class ProductSearchService implements ProductSearchUseCase {
     
+    // Bounds how many batches one available-products page may scan past out-of-stock products
+    private static final int MAX_AVAILABLE_SCAN_BATCHES = 10;
+    
     private final ProductPersistencePort productPersistencePort;
     private final StockPersistencePort stockPersistencePort;
     private final ProductDomainService productDomainService;
+    private final ProductSearchIndexPort productSearchIndexPort;
     
     public ProductSearchService(ProductPersistencePort productPersistencePort,
                               StockPersistencePort stockPersistencePort,
                               ProductDomainService productDomainService) {
+        this(productPersistencePort, stockPersistencePort, productDomainService, null);
+    }
+    
+    public ProductSearchService(ProductPersistencePort productPersistencePort,
+                              StockPersistencePort stockPersistencePort,
+                              ProductDomainService productDomainService,
+                              ProductSearchIndexPort productSearchIndexPort) {
         this.productPersistencePort = productPersistencePort;
         this.stockPersistencePort = stockPersistencePort;
         this.productDomainService = productDomainService;
+        this.productSearchIndexPort = productSearchIndexPort;
     }
     
     @Override
@@ -48,10 +68,30 @@ public class ProductSearchService implements ProductSearchUseCase {
         return ProductMapper.toDtoListFromProductWithStock(productsWithStock);
     }
     
+    @Override
+    public CursorPage<ProductDto> searchByKeyword(String keyword, String cursor, int size, boolean includeTotal) {
+        int pageSize = PageCursor.resolvePageSize(size);
+        String afterProductId = decodeProductCursor(cursor);
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return new CursorPage<>(List.of(), pageSize, null);
+        }
+        
+        List<Product> products = productPersistencePort.searchByKeywordAfter(keyword.trim(), afterProductId, pageSize + 1);
+        CursorPage<ProductDto> page = toProductPage(products, pageSize);
+        if (includeTotal) {
+            page.withTotalEstimate(productPersistencePort.countSearchResults(keyword.trim()));
+        }
+        return page;
+    }
+    
     @Override
     public ProductSearchResponse searchProducts(ProductSearchRequest searchRequest) {
         validateSearchRequest(searchRequest);
         
+        if (isSearchIndexReady()) {
+            return facetedSearch(searchRequest);
+        }
+        
         List<Product> products;
         long totalCount;
         
@@ -127,6 +167,22 @@ public class ProductSearchService implements ProductSearchUseCase {
         return new ProductSearchResponse(productDtos, page, size, totalCount);
     }
     
+    @Override
+    public CursorPage<ProductDto> getProductsByCategory(String category, String cursor, int size, boolean includeTotal) {
+        int pageSize = PageCursor.resolvePageSize(size);
+        String afterProductId = decodeProductCursor(cursor);
+        if (category == null || category.trim().isEmpty()) {
+            return new CursorPage<>(List.of(), pageSize, null);
+        }
+        
+        List<Product> products = productPersistencePort.findByCategoryAfter(category.trim(), afterProductId, pageSize + 1);
+        CursorPage<ProductDto> page = toProductPage(products, pageSize);
+        if (includeTotal) {
+            page.withTotalEstimate(productPersistencePort.countByCategory(category.trim()));
+        }
+        return page;
+    }
+    
     @Override
     public ProductDto getProductById(String productId) {
         if (productId == null || productId.trim().isEmpty()) {
@@ -162,6 +218,40 @@ public class ProductSearchService implements ProductSearchUseCase {
         return new ProductSearchResponse(productDtos, page, size, totalCount);
     }
     
+    @Override
+    public CursorPage<ProductDto> getAvailableProducts(String cursor, int size, boolean includeTotal) {
+        int pageSize = PageCursor.resolvePageSize(size);
+        String position = decodeProductCursor(cursor);
+        
+        // Keep seeking until the page is full, since out-of-stock products are filtered after the query
+        List<ProductDto> inStock = new ArrayList<>(pageSize + 1);
+        boolean exhausted = false;
+        for (int batch = 0; batch < MAX_AVAILABLE_SCAN_BATCHES && inStock.size() <= pageSize && !exhausted; batch++) {
+            List<Product> products = productPersistencePort.findByStatusAfter(ProductStatus.AVAILABLE, position, pageSize + 1);
+            exhausted = products.size() <= pageSize;
+            if (!products.isEmpty()) {
+                position = products.get(products.size() - 1).getProductId();
+            }
+            for (ProductDto productDto : enrichProductsWithStock(products)) {
+                if (productDto.isInStock() && inStock.size() <= pageSize) {
+                    inStock.add(productDto);
+                }
+            }
+        }
+        
+        CursorPage<ProductDto> page;
+        if (inStock.size() > pageSize || exhausted) {
+            page = CursorPage.fromLookahead(inStock, pageSize, product -> PageCursor.of(product.getProductId()));
+        } else {
+            // Scan budget used up: resume after the last product examined
+            page = new CursorPage<>(inStock, pageSize, PageCursor.of(position).encode());
+        }
+        if (includeTotal) {
+            page.withTotalEstimate(productPersistencePort.countByStatus(ProductStatus.AVAILABLE));
+        }
+        return page;
+    }
+    
     @Override
     public List<ProductDto> getProductsByBrand(String brand) {
         if (brand == null || brand.trim().isEmpty()) {
@@ -215,12 +305,69 @@ public class ProductSearchService implements ProductSearchUseCase {
         }
     }
     
+    private String decodeProductCursor(String cursor) {
+        PageCursor position = PageCursor.decode(cursor, 1);
+        return position != null ? position.getString(0) : null;
+    }
+    
+    private CursorPage<ProductDto> toProductPage(List<Product> products, int pageSize) {
+        CursorPage<Product> page = CursorPage.fromLookahead(products, pageSize,
+            product -> PageCursor.of(product.getProductId()));
+        
+        // Only the products actually returned need their stock loaded
+        List<ProductDto> productDtos = enrichProductsWithStock(page.getItems());
+        return new CursorPage<>(productDtos, pageSize, page.getNextCursor());
+    }
+    
+    private boolean isSearchIndexReady() {
+        return productSearchIndexPort != null && productSearchIndexPort.isReady();
+    }
+    
+    /**
+     * Serve a search from the index with every filter combined before pagination
+     * Only the requested page is loaded from the database
+     */
+    private ProductSearchResponse facetedSearch(ProductSearchRequest searchRequest) {
+        ProductSearchIndexPort.FacetedSearchHits hits = productSearchIndexPort.facetedSearch(searchRequest);
+        List<ProductDto> productDtos = enrichProductsWithStock(loadInRankOrder(hits.getProductIds()));
+        
+        ProductSearchResponse response = new ProductSearchResponse(
+            productDtos,
+            searchRequest.getPage(),
+            searchRequest.getSize(),
+            hits.getTotalHits(),
+            searchRequest.getSortBy(),
+            searchRequest.getSortDirection()
+        );
+        response.setFacets(hits.getFacets());
+        return response;
+    }
+    
+    private List<Product> loadInRankOrder(List<String> rankedProductIds) {
+        Map<String, Product> productsById = productPersistencePort.findByIdIn(rankedProductIds).stream()
+            .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        
+        // Products deleted since the index saw them are simply skipped
+        return rankedProductIds.stream()
+            .map(productsById::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+    
     private List<ProductDto> enrichProductsWithStock(List<Product> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        
+        // One stock query per page instead of one per product
+        List<String> productIds = products.stream()
+            .map(Product::getProductId)
+            .toList();
+        Map<String, Stock> stocksByProductId = stockPersistencePort.findByProductIdIn(productIds).stream()
+            .collect(Collectors.toMap(Stock::getProductId, Function.identity()));
+        
         return products.stream()
-            .map(product -> {
-                Optional<Stock> stock = stockPersistencePort.findByProductId(product.getProductId());
-                return ProductMapper.toDto(product, stock.orElse(null));
-            })
+            .map(product -> ProductMapper.toDto(product, stocksByProductId.get(product.getProductId())))
             .toList();
     }
 }
\ No newline at end of file
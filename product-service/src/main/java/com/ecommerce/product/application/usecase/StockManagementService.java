@@ -1,6 +1,7 @@
 package com.ecommerce.product.application.usecase;
 
 import com.ecommerce.common.architecture.UseCase;
+import com.ecommerce.product.application.dto.StockBatchReservationResponse;
 import com.ecommerce.product.application.dto.StockDto;
 import com.ecommerce.product.application.dto.StockReservationRequest;
 import com.ecommerce.product.application.dto.StockUpdateRequest;
@@ -13,9 +14,13 @@ import com.ecommerce.product.domain.exception.StockNotFoundException;
 import com.ecommerce.product.domain.model.Product;
 import com.ecommerce.product.domain.model.Stock;
 import com.ecommerce.product.domain.service.StockDomainService;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Stock management use case implementation
@@ -138,18 +143,14 @@ public class StockManagementService implements StockManagementUseCase {
     public List<StockDto> getLowStockProducts() {
         List<Stock> lowStockItems = stockDomainService.getProductsNeedingRestock();
         
-        return lowStockItems.stream()
-            .map(this::enrichStockWithProductInfo)
-            .toList();
+        return enrichStocksWithProductInfo(lowStockItems);
     }
     
     @Override
     public List<StockDto> getOutOfStockProducts() {
         List<Stock> outOfStockItems = stockDomainService.getOutOfStockProducts();
         
-        return outOfStockItems.stream()
-            .map(this::enrichStockWithProductInfo)
-            .toList();
+        return enrichStocksWithProductInfo(outOfStockItems);
     }
     
     @Override
@@ -166,19 +167,69 @@ public class StockManagementService implements StockManagementUseCase {
     }
     
     @Override
+    @Transactional
     public List<StockDto> bulkReserveStock(List<StockReservationRequest> reservationRequests) {
         validateReservationRequests(reservationRequests);
         
-        // Convert to domain service request format
-        List<StockDomainService.StockReservationRequest> domainRequests = reservationRequests.stream()
-            .map(req -> new StockDomainService.StockReservationRequest(req.getProductId(), req.getQuantity()))
-            .toList();
+        List<Stock> updatedStocks = stockDomainService.bulkReserveStock(toDomainRequests(reservationRequests));
         
-        List<Stock> updatedStocks = stockDomainService.bulkReserveStock(domainRequests);
+        return enrichStocksWithProductInfo(updatedStocks);
+    }
+    
+    @Override
+    @Transactional
+    public StockBatchReservationResponse checkAndReserveStock(List<StockReservationRequest> reservationRequests) {
+        validateReservationRequests(reservationRequests);
         
-        return updatedStocks.stream()
-            .map(this::enrichStockWithProductInfo)
+        // One product lookup for the whole batch instead of a status call per line
+        List<String> productIds = reservationRequests.stream()
+            .map(StockReservationRequest::getProductId)
+            .distinct()
             .toList();
+        Map<String, Product> productsById = productPersistencePort.findByIdIn(productIds).stream()
+            .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        
+        List<StockBatchReservationResponse.UnavailableItem> unavailableProducts = reservationRequests.stream()
+            .filter(req -> {
+                Product product = productsById.get(req.getProductId());
+                return product == null || !product.isAvailable();
+            })
+            .map(req -> new StockBatchReservationResponse.UnavailableItem(
+                req.getProductId(), req.getQuantity(), 0,
+                StockBatchReservationResponse.UnavailableReason.PRODUCT_UNAVAILABLE))
+            .toList();
+        if (!unavailableProducts.isEmpty()) {
+            return StockBatchReservationResponse.rejected(unavailableProducts);
+        }
+        
+        StockDomainService.BulkReservationResult result =
+            stockDomainService.tryBulkReserveStock(toDomainRequests(reservationRequests));
+        
+        if (!result.isReserved()) {
+            return StockBatchReservationResponse.rejected(result.getShortfalls().stream()
+                .map(shortfall -> new StockBatchReservationResponse.UnavailableItem(
+                    shortfall.getProductId(),
+                    shortfall.getRequestedQuantity(),
+                    shortfall.getAvailableQuantity(),
+                    shortfall.isStockMissing()
+                        ? StockBatchReservationResponse.UnavailableReason.STOCK_NOT_FOUND
+                        : StockBatchReservationResponse.UnavailableReason.INSUFFICIENT_STOCK))
+                .toList());
+        }
+        
+        return StockBatchReservationResponse.reserved(result.getStocks().stream()
+            .map(stock -> StockMapper.toDto(stock, productsById.get(stock.getProductId())))
+            .toList());
+    }
+    
+    @Override
+    @Transactional
+    public List<StockDto> bulkReleaseReservation(List<StockReservationRequest> releaseRequests) {
+        validateReservationRequests(releaseRequests);
+        
+        List<Stock> updatedStocks = stockDomainService.bulkReleaseReservation(toDomainRequests(releaseRequests));
+        
+        return enrichStocksWithProductInfo(updatedStocks);
     }
     
     @Override
@@ -236,9 +287,7 @@ public class StockManagementService implements StockManagementUseCase {
         
         List<Stock> stocks = stockPersistencePort.findByWarehouseLocation(warehouseLocation.trim());
         
-        return stocks.stream()
-            .map(this::enrichStockWithProductInfo)
-            .toList();
+        return enrichStocksWithProductInfo(stocks);
     }
     
     // Private helper methods
@@ -272,6 +321,27 @@ public class StockManagementService implements StockManagementUseCase {
         }
     }
     
+    private List<StockDomainService.StockReservationRequest> toDomainRequests(List<StockReservationRequest> requests) {
+        return requests.stream()
+            .map(req -> new StockDomainService.StockReservationRequest(req.getProductId(), req.getQuantity()))
+            .toList();
+    }
+    
+    private List<StockDto> enrichStocksWithProductInfo(List<Stock> stocks) {
+        if (stocks.isEmpty()) {
+            return List.of();
+        }
+        
+        // One product query for the whole list instead of one per stock
+        List<String> productIds = stocks.stream().map(Stock::getProductId).distinct().toList();
+        Map<String, Product> productsById = productPersistencePort.findByIdIn(productIds).stream()
+            .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        
+        return stocks.stream()
+            .map(stock -> StockMapper.toDto(stock, productsById.get(stock.getProductId())))
+            .toList();
+    }
+    
     private StockDto enrichStockWithProductInfo(Stock stock) {
         Optional<Product> product = productPersistencePort.findById(stock.getProductId());
         return StockMapper.toDto(stock, product.orElse(null));
@@ -0,0 +1,28 @@
+package com.ecommerce.product.domain.event;
+
+import com.ecommerce.common.architecture.DomainEvent;
+
+/**
+ * Domain event fired when a product is removed from the catalog
+ * Follows the DDD event-driven architecture pattern
+ */
+public class ProductDeletedEvent extends DomainEvent {
+    
+    private final String productId;
+    
+    public ProductDeletedEvent(String productId) {
+        super("ProductDeleted");
+        this.productId = productId;
+    }
+    
+    public String getProductId() { return productId; }
+    
+    @Override
+    public String toString() {
+        return "ProductDeletedEvent{" +
+                "productId='" + productId + '\'' +
+                ", eventId=" + getEventId() +
+                ", occurredOn=" + getOccurredOn() +
+                '}';
+    }
+}
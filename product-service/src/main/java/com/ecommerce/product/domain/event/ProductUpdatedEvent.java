@@ -0,0 +1,48 @@
+package com.ecommerce.product.domain.event;
+
+import com.ecommerce.common.architecture.DomainEvent;
+import com.ecommerce.product.domain.model.ProductStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Domain event fired when an existing product is changed
+ * Follows the DDD event-driven architecture pattern
+ */
+public class ProductUpdatedEvent extends DomainEvent {
+    
+    private final String productId;
+    private final String name;
+    private final String category;
+    private final BigDecimal price;
+    private final ProductStatus status;
+    
+    public ProductUpdatedEvent(String productId, String name, String category, 
+                             BigDecimal price, ProductStatus status) {
+        super("ProductUpdated");
+        this.productId = productId;
+        this.name = name;
+        this.category = category;
+        this.price = price;
+        this.status = status;
+    }
+    
+    public String getProductId() { return productId; }
+    public String getName() { return name; }
+    public String getCategory() { return category; }
+    public BigDecimal getPrice() { return price; }
+    public ProductStatus getStatus() { return status; }
+    
+    @Override
+    public String toString() {
+        return "ProductUpdatedEvent{" +
+                "productId='" + productId + '\'' +
+                ", name='" + name + '\'' +
+                ", category='" + category + '\'' +
+                ", price=" + price +
+                ", status=" + status +
+                ", eventId=" + getEventId() +
+                ", occurredOn=" + getOccurredOn() +
+                '}';
+    }
+}
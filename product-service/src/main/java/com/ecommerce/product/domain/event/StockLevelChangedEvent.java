@@ -0,0 +1,33 @@
+package com.ecommerce.product.domain.event;
+
+import com.ecommerce.common.architecture.DomainEvent;
+
+/**
+ * Domain event fired whenever a stock record of a product is written or removed
+ * Lets read-side projections refresh the product's stock state after commit
+ * Follows the DDD event-driven architecture pattern
+ */
+public class StockLevelChangedEvent extends DomainEvent {
+    
+    private final String productId;
+    private final Integer availableQuantity;
+    
+    public StockLevelChangedEvent(String productId, Integer availableQuantity) {
+        super("StockLevelChanged");
+        this.productId = productId;
+        this.availableQuantity = availableQuantity;
+    }
+    
+    public String getProductId() { return productId; }
+    public Integer getAvailableQuantity() { return availableQuantity; }
+    
+    @Override
+    public String toString() {
+        return "StockLevelChangedEvent{" +
+                "productId='" + productId + '\'' +
+                ", availableQuantity=" + availableQuantity +
+                ", eventId=" + getEventId() +
+                ", occurredOn=" + getOccurredOn() +
+                '}';
+    }
+}
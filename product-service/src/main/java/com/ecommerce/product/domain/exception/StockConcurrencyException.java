@@ -0,0 +1,30 @@
+package com.ecommerce.product.domain.exception;
+
+import com.ecommerce.common.exception.BusinessException;
+
+/**
+ * Exception thrown when a stock record was modified concurrently and the
+ * optimistic version check failed
+ * Follows SRP principle by handling only concurrent stock modification scenarios
+ */
+public class StockConcurrencyException extends BusinessException {
+    
+    private final String productId;
+    
+    public StockConcurrencyException(String productId, Throwable cause) {
+        super("STOCK_CONCURRENT_MODIFICATION", 
+              String.format("Stock for product %s was modified concurrently", productId), cause);
+        this.productId = productId;
+    }
+    
+    public StockConcurrencyException(String productId, int attempts) {
+        super("STOCK_CONCURRENT_MODIFICATION", 
+              String.format("Stock for product %s is under heavy contention. Gave up after %d attempts", 
+                          productId, attempts));
+        this.productId = productId;
+    }
+    
+    public String getProductId() {
+        return productId;
+    }
+}
@@ -45,6 +45,26 @@ public class Product extends BaseEntity {
         return product;
     }
     
+    // Factory method for reconstructing products from persistence
+    // Restores the persisted identity and state without re-running creation rules
+    public static Product reconstitute(String productId, String name, String description, String category,
+                                       BigDecimal price, String brand, String model, ProductStatus status,
+                                       String specifications, String imageUrl, LocalDateTime launchDate) {
+        Product product = new Product();
+        product.productId = productId;
+        product.name = name;
+        product.description = description;
+        product.category = category;
+        product.price = price;
+        product.brand = brand;
+        product.model = model;
+        product.status = status != null ? status : ProductStatus.AVAILABLE;
+        product.specifications = specifications;
+        product.imageUrl = imageUrl;
+        product.launchDate = launchDate;
+        return product;
+    }
+    
     // Factory method for iPhone 17 Pro
     public static Product createIPhone17Pro() {
         return create(
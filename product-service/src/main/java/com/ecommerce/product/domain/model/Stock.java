@@ -21,6 +21,7 @@ public class Stock extends BaseEntity {
     private String warehouseLocation;
     private LocalDateTime lastRestockDate;
     private LocalDateTime lastSaleDate;
+    private Long version;
     
     // Private constructor for JPA
     protected Stock() {}
@@ -40,6 +41,25 @@ public class Stock extends BaseEntity {
         return stock;
     }
     
+    // Factory method for reconstructing stock records from persistence
+    // Restores the exact persisted state (including reservations and version) without re-running creation rules
+    public static Stock reconstitute(String stockId, String productId, Integer quantity, Integer reservedQuantity,
+                                     Integer minimumThreshold, Integer maximumCapacity, String warehouseLocation,
+                                     LocalDateTime lastRestockDate, LocalDateTime lastSaleDate, Long version) {
+        Stock stock = new Stock();
+        stock.stockId = stockId;
+        stock.productId = productId;
+        stock.quantity = quantity;
+        stock.reservedQuantity = reservedQuantity != null ? reservedQuantity : 0;
+        stock.minimumThreshold = minimumThreshold;
+        stock.maximumCapacity = maximumCapacity;
+        stock.warehouseLocation = warehouseLocation;
+        stock.lastRestockDate = lastRestockDate;
+        stock.lastSaleDate = lastSaleDate;
+        stock.version = version;
+        return stock;
+    }
+    
     // Business methods for stock management
     public void addStock(Integer additionalQuantity) {
         if (additionalQuantity == null || additionalQuantity <= 0) {
@@ -213,6 +233,7 @@ public class Stock extends BaseEntity {
     public String getWarehouseLocation() { return warehouseLocation; }
     public LocalDateTime getLastRestockDate() { return lastRestockDate; }
     public LocalDateTime getLastSaleDate() { return lastSaleDate; }
+    public Long getVersion() { return version; }
     
     @Override
     public boolean equals(Object o) {
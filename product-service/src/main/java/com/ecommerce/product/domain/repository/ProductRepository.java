@@ -28,6 +28,13 @@ public interface ProductRepository {
      */
     Optional<Product> findById(String productId);
     
+    /**
+     * Find products by IDs in a single query
+     * @param productIds the product IDs
+     * @return list of products found, missing IDs are skipped
+     */
+    List<Product> findByIdIn(List<String> productIds);
+    
     /**
      * Find products by name (case-insensitive partial match)
      * @param name the product name or partial name
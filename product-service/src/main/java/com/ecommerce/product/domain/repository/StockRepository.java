@@ -19,6 +19,13 @@ public interface StockRepository {
      */
     Stock save(Stock stock);
     
+    /**
+     * Save multiple stock entities in one batched write
+     * @param stocks the stocks to save
+     * @return the saved stocks
+     */
+    List<Stock> saveAll(List<Stock> stocks);
+    
     /**
      * Find stock by ID
      * @param stockId the stock ID
@@ -33,6 +40,15 @@ public interface StockRepository {
      */
     Optional<Stock> findByProductId(String productId);
     
+    /**
+     * Find the available quantity (quantity - reserved) for a product
+     * This is the hot read path for availability checks and may be served from a cache
+     * that implementations keep current on every write
+     * @param productId the product ID
+     * @return optional available quantity, empty if no stock exists for the product
+     */
+    Optional<Integer> findAvailableQuantityByProductId(String productId);
+    
     /**
      * Find stocks by warehouse location
      * @param warehouseLocation the warehouse location
@@ -101,6 +117,15 @@ public interface StockRepository {
      */
     List<Stock> findByProductIdIn(List<String> productIds);
     
+    /**
+     * Atomically reserve stock when (quantity - reserved) covers the requested amount
+     * Implementations must perform the check and the increment as one conditional update
+     * @param productId the product ID
+     * @param quantity the quantity to reserve
+     * @return true if reserved, false if stock is missing or insufficient
+     */
+    boolean reserveIfAvailable(String productId, Integer quantity);
+    
     /**
      * Check if stock exists for a product
      * @param productId the product ID
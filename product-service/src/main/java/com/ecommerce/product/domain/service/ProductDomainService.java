@@ -10,8 +10,12 @@ import com.ecommerce.product.domain.repository.ProductRepository;
 import com.ecommerce.product.domain.repository.StockRepository;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Product domain service following DDD principles
@@ -90,9 +94,7 @@ public class ProductDomainService {
     public List<ProductWithStock> searchProductsWithStock(String keyword) {
         List<Product> products = productRepository.searchByKeyword(keyword);
         
-        return products.stream()
-            .map(this::enrichProductWithStock)
-            .toList();
+        return enrichProductsWithStock(products);
     }
     
     /**
@@ -103,9 +105,7 @@ public class ProductDomainService {
     public List<ProductWithStock> getProductsByCategoryWithStock(String category) {
         List<Product> products = productRepository.findByCategory(category);
         
-        return products.stream()
-            .map(this::enrichProductWithStock)
-            .toList();
+        return enrichProductsWithStock(products);
     }
     
     /**
@@ -115,8 +115,7 @@ public class ProductDomainService {
     public List<ProductWithStock> getAvailableProductsWithStock() {
         List<Product> availableProducts = productRepository.findByStatus(ProductStatus.AVAILABLE);
         
-        return availableProducts.stream()
-            .map(this::enrichProductWithStock)
+        return enrichProductsWithStock(availableProducts).stream()
             .filter(pws -> pws.getStock() != null && !pws.getStock().isOutOfStock())
             .toList();
     }
@@ -149,16 +148,19 @@ public class ProductDomainService {
      * @return list of products needing attention
      */
     public List<ProductWithStock> getProductsNeedingAttention() {
-        List<Stock> problematicStocks = stockRepository.findLowStockItems();
+        List<Stock> problematicStocks = new ArrayList<>(stockRepository.findLowStockItems());
         problematicStocks.addAll(stockRepository.findOutOfStockItems());
         
+        List<String> productIds = problematicStocks.stream()
+            .map(Stock::getProductId)
+            .distinct()
+            .toList();
+        Map<String, Product> productsById = productRepository.findByIdIn(productIds).stream()
+            .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        
         return problematicStocks.stream()
-            .map(stock -> {
-                Optional<Product> productOpt = productRepository.findById(stock.getProductId());
-                return productOpt.map(product -> new ProductWithStock(product, stock))
-                                .orElse(null);
-            })
-            .filter(pws -> pws != null)
+            .filter(stock -> productsById.containsKey(stock.getProductId()))
+            .map(stock -> new ProductWithStock(productsById.get(stock.getProductId()), stock))
             .toList();
     }
     
@@ -205,11 +207,23 @@ public class ProductDomainService {
     }
     
     /**
-     * Helper method to enrich product with stock information
+     * Helper method to enrich products with stock information
+     * Loads every stock in one query rather than one lookup per product
      */
-    private ProductWithStock enrichProductWithStock(Product product) {
-        Optional<Stock> stockOpt = stockRepository.findByProductId(product.getProductId());
-        return new ProductWithStock(product, stockOpt.orElse(null));
+    private List<ProductWithStock> enrichProductsWithStock(List<Product> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        
+        List<String> productIds = products.stream()
+            .map(Product::getProductId)
+            .toList();
+        Map<String, Stock> stocksByProductId = stockRepository.findByProductIdIn(productIds).stream()
+            .collect(Collectors.toMap(Stock::getProductId, Function.identity()));
+        
+        return products.stream()
+            .map(product -> new ProductWithStock(product, stocksByProductId.get(product.getProductId())))
+            .toList();
     }
     
     /**
@@ -1,13 +1,20 @@
 package com.ecommerce.product.domain.service;
 
 import com.ecommerce.common.architecture.DomainService;
+import com.ecommerce.common.exception.ValidationException;
 import com.ecommerce.product.domain.exception.InsufficientStockException;
+import com.ecommerce.product.domain.exception.StockConcurrencyException;
 import com.ecommerce.product.domain.exception.StockNotFoundException;
 import com.ecommerce.product.domain.model.Stock;
 import com.ecommerce.product.domain.repository.StockRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Stock domain service following DDD principles
@@ -16,31 +23,104 @@ import java.util.List;
 @DomainService
 public class StockDomainService {
     
+    private static final int DEFAULT_MAX_OPTIMISTIC_ATTEMPTS = 3;
+    
     private final StockRepository stockRepository;
+    private final boolean atomicReservation;
+    private final int maxOptimisticAttempts;
     
     public StockDomainService(StockRepository stockRepository) {
+        this(stockRepository, false, DEFAULT_MAX_OPTIMISTIC_ATTEMPTS);
+    }
+    
+    /**
+     * @param stockRepository the stock repository
+     * @param atomicReservation whether reservations use the single-statement conditional update
+     * @param maxOptimisticAttempts attempts for the optimistic (versioned) read-modify-write path
+     */
+    public StockDomainService(StockRepository stockRepository, boolean atomicReservation, int maxOptimisticAttempts) {
+        if (maxOptimisticAttempts < 1) {
+            throw new IllegalArgumentException("Max optimistic attempts must be at least 1");
+        }
         this.stockRepository = stockRepository;
+        this.atomicReservation = atomicReservation;
+        this.maxOptimisticAttempts = maxOptimisticAttempts;
     }
     
     /**
      * Reserve stock for a product with validation
+     * Uses the atomic conditional update when enabled, otherwise the optimistic
+     * read-modify-write path that runs the full {@link Stock#reserveStock} invariants
      * @param productId the product ID
      * @param quantityToReserve the quantity to reserve
      * @return the updated stock
      * @throws StockNotFoundException if stock not found for product
      * @throws InsufficientStockException if insufficient stock available
+     * @throws StockConcurrencyException if optimistic retries are exhausted
      */
     public Stock reserveStock(String productId, Integer quantityToReserve) {
+        if (atomicReservation) {
+            return reserveStockAtomically(productId, quantityToReserve);
+        }
+        return reserveStockOptimistically(productId, quantityToReserve);
+    }
+    
+    /**
+     * Reserve stock with a single conditional update ({@code quantity - reserved >= n})
+     * The database decides availability, so concurrent reservations cannot oversell
+     * @param productId the product ID
+     * @param quantityToReserve the quantity to reserve
+     * @return the updated stock
+     * @throws StockNotFoundException if stock not found for product
+     * @throws InsufficientStockException if insufficient stock available
+     */
+    public Stock reserveStockAtomically(String productId, Integer quantityToReserve) {
+        if (quantityToReserve == null || quantityToReserve <= 0) {
+            throw new ValidationException("Quantity to reserve must be positive");
+        }
+        
+        boolean reserved = stockRepository.reserveIfAvailable(productId, quantityToReserve);
+        
+        // Read back either the updated row or the state that explains the rejection
         Stock stock = stockRepository.findByProductId(productId)
             .orElseThrow(() -> StockNotFoundException.byProductId(productId));
         
-        if (!stock.hasAvailableStock(quantityToReserve)) {
+        if (!reserved) {
             throw InsufficientStockException.forReservation(
                 productId, quantityToReserve, stock.getAvailableQuantity());
         }
-        
-        stock.reserveStock(quantityToReserve);
-        return stockRepository.save(stock);
+        return stock;
+    }
+    
+    /**
+     * Reserve stock through the domain aggregate with optimistic version checks
+     * Retries on concurrent modification up to the configured number of attempts
+     * @param productId the product ID
+     * @param quantityToReserve the quantity to reserve
+     * @return the updated stock
+     * @throws StockNotFoundException if stock not found for product
+     * @throws InsufficientStockException if insufficient stock available
+     * @throws StockConcurrencyException if optimistic retries are exhausted
+     */
+    public Stock reserveStockOptimistically(String productId, Integer quantityToReserve) {
+        for (int attempt = 1; ; attempt++) {
+            Stock stock = stockRepository.findByProductId(productId)
+                .orElseThrow(() -> StockNotFoundException.byProductId(productId));
+            
+            if (!stock.hasAvailableStock(quantityToReserve)) {
+                throw InsufficientStockException.forReservation(
+                    productId, quantityToReserve, stock.getAvailableQuantity());
+            }
+            
+            stock.reserveStock(quantityToReserve);
+            try {
+                return stockRepository.save(stock);
+            } catch (StockConcurrencyException e) {
+                if (attempt >= maxOptimisticAttempts) {
+                    throw new StockConcurrencyException(productId, attempt);
+                }
+            }
+        }
     }
     
     /**
@@ -123,8 +203,8 @@ public class StockDomainService {
      * @return true if sufficient stock is available, false otherwise
      */
     public boolean hasAvailableStock(String productId, Integer requiredQuantity) {
-        return stockRepository.findByProductId(productId)
-            .map(stock -> stock.hasAvailableStock(requiredQuantity))
+        return stockRepository.findAvailableQuantityByProductId(productId)
+            .map(available -> available >= requiredQuantity)
             .orElse(false);
     }
     
@@ -134,8 +214,7 @@ public class StockDomainService {
      * @return the available quantity, or 0 if stock not found
      */
     public Integer getAvailableQuantity(String productId) {
-        return stockRepository.findByProductId(productId)
-            .map(Stock::getAvailableQuantity)
+        return stockRepository.findAvailableQuantityByProductId(productId)
             .orElse(0);
     }
     
@@ -188,25 +267,97 @@ public class StockDomainService {
     }
     
     /**
-     * Bulk reserve stock for multiple products
+     * Bulk reserve stock for multiple products with all-or-nothing semantics
      * @param reservationRequests list of product IDs and quantities to reserve
      * @return list of updated stocks
+     * @throws StockNotFoundException if any product has no stock record
      * @throws InsufficientStockException if any product has insufficient stock
      */
     public List<Stock> bulkReserveStock(List<StockReservationRequest> reservationRequests) {
-        // First, validate all reservations are possible
+        BulkReservationResult result = tryBulkReserveStock(reservationRequests);
+        
+        if (!result.isReserved()) {
+            StockShortfall shortfall = result.getShortfalls().get(0);
+            if (shortfall.isStockMissing()) {
+                throw StockNotFoundException.byProductId(shortfall.getProductId());
+            }
+            throw InsufficientStockException.forReservation(
+                shortfall.getProductId(), shortfall.getRequestedQuantity(), shortfall.getAvailableQuantity());
+        }
+        return result.getStocks();
+    }
+    
+    /**
+     * Set-based bulk reservation: one lookup for all products, every line validated
+     * before anything is mutated, then one batched write
+     * Duplicate product lines are merged so each SKU is checked against its total demand
+     * @param reservationRequests list of product IDs and quantities to reserve
+     * @return the reserved stocks, or every shortfall when nothing was reserved
+     */
+    public BulkReservationResult tryBulkReserveStock(List<StockReservationRequest> reservationRequests) {
+        Map<String, Integer> requestedByProduct = new LinkedHashMap<>();
         for (StockReservationRequest request : reservationRequests) {
-            if (!hasAvailableStock(request.getProductId(), request.getQuantity())) {
-                Integer available = getAvailableQuantity(request.getProductId());
-                throw InsufficientStockException.forReservation(
-                    request.getProductId(), request.getQuantity(), available);
+            requestedByProduct.merge(request.getProductId(), request.getQuantity(), Integer::sum);
+        }
+        
+        Map<String, Stock> stocksByProduct = stockRepository
+            .findByProductIdIn(new ArrayList<>(requestedByProduct.keySet()))
+            .stream()
+            .collect(Collectors.toMap(Stock::getProductId, Function.identity()));
+        
+        // Validate all reservations before mutating any aggregate
+        List<StockShortfall> shortfalls = new ArrayList<>();
+        requestedByProduct.forEach((productId, quantity) -> {
+            Stock stock = stocksByProduct.get(productId);
+            if (stock == null) {
+                shortfalls.add(new StockShortfall(productId, quantity, 0, true));
+            } else if (!stock.hasAvailableStock(quantity)) {
+                shortfalls.add(new StockShortfall(productId, quantity, stock.getAvailableQuantity(), false));
             }
+        });
+        
+        if (!shortfalls.isEmpty()) {
+            return BulkReservationResult.rejected(shortfalls);
         }
         
-        // If all validations pass, perform the reservations
-        return reservationRequests.stream()
-            .map(request -> reserveStock(request.getProductId(), request.getQuantity()))
-            .toList();
+        List<Stock> reservedStocks = new ArrayList<>(requestedByProduct.size());
+        requestedByProduct.forEach((productId, quantity) -> {
+            Stock stock = stocksByProduct.get(productId);
+            stock.reserveStock(quantity);
+            reservedStocks.add(stock);
+        });
+        
+        return BulkReservationResult.reserved(stockRepository.saveAll(reservedStocks));
+    }
+    
+    /**
+     * Set-based bulk release: one lookup for all products and one batched write
+     * Releases are compensations (expired or cancelled orders), so they are applied leniently:
+     * duplicate lines are merged, products without a stock record are skipped and a release
+     * larger than the current reservation only clears what is still reserved, which keeps
+     * a retried release from failing the whole batch
+     * @param releaseRequests list of product IDs and quantities to release
+     * @return the stocks whose reservation changed
+     */
+    public List<Stock> bulkReleaseReservation(List<StockReservationRequest> releaseRequests) {
+        Map<String, Integer> releasedByProduct = new LinkedHashMap<>();
+        for (StockReservationRequest request : releaseRequests) {
+            releasedByProduct.merge(request.getProductId(), request.getQuantity(), Integer::sum);
+        }
+        
+        List<Stock> releasedStocks = new ArrayList<>(releasedByProduct.size());
+        for (Stock stock : stockRepository.findByProductIdIn(new ArrayList<>(releasedByProduct.keySet()))) {
+            int quantity = Math.min(releasedByProduct.get(stock.getProductId()), stock.getReservedQuantity());
+            if (quantity > 0) {
+                stock.releaseReservation(quantity);
+                releasedStocks.add(stock);
+            }
+        }
+        
+        if (releasedStocks.isEmpty()) {
+            return List.of();
+        }
+        return stockRepository.saveAll(releasedStocks);
     }
     
     /**
@@ -224,4 +375,51 @@ public class StockDomainService {
         public String getProductId() { return productId; }
         public Integer getQuantity() { return quantity; }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Inner class describing why a product line could not be reserved
+     */
+    public static class StockShortfall {
+        private final String productId;
+        private final Integer requestedQuantity;
+        private final Integer availableQuantity;
+        private final boolean stockMissing;
+        
+        public StockShortfall(String productId, Integer requestedQuantity, Integer availableQuantity, boolean stockMissing) {
+            this.productId = productId;
+            this.requestedQuantity = requestedQuantity;
+            this.availableQuantity = availableQuantity;
+            this.stockMissing = stockMissing;
+        }
+        
+        public String getProductId() { return productId; }
+        public Integer getRequestedQuantity() { return requestedQuantity; }
+        public Integer getAvailableQuantity() { return availableQuantity; }
+        public boolean isStockMissing() { return stockMissing; }
+    }
+    
+    /**
+     * Inner class for the outcome of an all-or-nothing bulk reservation
+     */
+    public static class BulkReservationResult {
+        private final List<Stock> stocks;
+        private final List<StockShortfall> shortfalls;
+        
+        private BulkReservationResult(List<Stock> stocks, List<StockShortfall> shortfalls) {
+            this.stocks = stocks;
+            this.shortfalls = shortfalls;
+        }
+        
+        public static BulkReservationResult reserved(List<Stock> stocks) {
+            return new BulkReservationResult(stocks, List.of());
+        }
+        
+        public static BulkReservationResult rejected(List<StockShortfall> shortfalls) {
+            return new BulkReservationResult(List.of(), shortfalls);
+        }
+        
+        public boolean isReserved() { return shortfalls.isEmpty(); }
+        public List<Stock> getStocks() { return stocks; }
+        public List<StockShortfall> getShortfalls() { return shortfalls; }
+    }
+}
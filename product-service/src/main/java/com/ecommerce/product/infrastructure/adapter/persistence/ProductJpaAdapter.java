@@ -47,6 +47,23 @@ public class ProductJpaAdapter implements ProductPersistencePort {
                 .map(ProductJpaMapper::toDomainEntity);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findByIdIn(List<String> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return List.of();
+        }
+        List<ProductJpaEntity> jpaEntities = productJpaRepository.findByProductIdIn(productIds);
+        return ProductJpaMapper.toDomainEntityList(jpaEntities);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findAll() {
+        List<ProductJpaEntity> jpaEntities = productJpaRepository.findAll();
+        return ProductJpaMapper.toDomainEntityList(jpaEntities);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<Product> searchByKeyword(String keyword) {
@@ -99,6 +116,30 @@ public class ProductJpaAdapter implements ProductPersistencePort {
         return ProductJpaMapper.toDomainEntityList(jpaEntitiesPage.getContent());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findByCategoryAfter(String category, String afterProductId, int limit) {
+        List<ProductJpaEntity> jpaEntities = productJpaRepository.findByCategoryAndProductIdGreaterThanOrderByProductIdAsc(
+            category, keysetStart(afterProductId), PageRequest.of(0, limit));
+        return ProductJpaMapper.toDomainEntityList(jpaEntities);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findByStatusAfter(ProductStatus status, String afterProductId, int limit) {
+        List<ProductJpaEntity> jpaEntities = productJpaRepository.findByStatusAndProductIdGreaterThanOrderByProductIdAsc(
+            status, keysetStart(afterProductId), PageRequest.of(0, limit));
+        return ProductJpaMapper.toDomainEntityList(jpaEntities);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> searchByKeywordAfter(String keyword, String afterProductId, int limit) {
+        List<ProductJpaEntity> jpaEntities = productJpaRepository.searchByKeywordAfter(
+            keyword, keysetStart(afterProductId), PageRequest.of(0, limit));
+        return ProductJpaMapper.toDomainEntityList(jpaEntities);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
@@ -141,4 +182,9 @@ public class ProductJpaAdapter implements ProductPersistencePort {
     public long countSearchResults(String keyword) {
         return productJpaRepository.countSearchResults(keyword);
     }
+    
+    // Every product ID sorts after the empty string, so the first page needs no separate query
+    private static String keysetStart(String afterProductId) {
+        return afterProductId == null ? "" : afterProductId;
+    }
 }
\ No newline at end of file
@@ -2,10 +2,12 @@ package com.ecommerce.product.infrastructure.adapter.persistence;
 
 import com.ecommerce.common.architecture.Adapter;
 import com.ecommerce.product.application.port.out.StockPersistencePort;
+import com.ecommerce.product.domain.exception.StockConcurrencyException;
 import com.ecommerce.product.domain.model.Stock;
 import com.ecommerce.product.infrastructure.adapter.persistence.entity.StockJpaEntity;
 import com.ecommerce.product.infrastructure.adapter.persistence.mapper.StockJpaMapper;
 import com.ecommerce.product.infrastructure.adapter.persistence.repository.StockJpaRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Stock JPA Adapter
@@ -35,8 +38,37 @@ public class StockJpaAdapter implements StockPersistencePort {
     @Override
     public Stock save(Stock stock) {
         StockJpaEntity jpaEntity = StockJpaMapper.toJpaEntity(stock);
-        StockJpaEntity savedEntity = stockJpaRepository.save(jpaEntity);
-        return StockJpaMapper.toDomainEntity(savedEntity);
+        try {
+            // Flush inside the adapter so a stale version surfaces here rather than at commit
+            StockJpaEntity savedEntity = stockJpaRepository.saveAndFlush(jpaEntity);
+            return StockJpaMapper.toDomainEntity(savedEntity);
+        } catch (OptimisticLockingFailureException e) {
+            throw new StockConcurrencyException(stock.getProductId(), e);
+        }
+    }
+    
+    @Override
+    public List<Stock> saveAll(List<Stock> stocks) {
+        List<StockJpaEntity> jpaEntities = StockJpaMapper.toJpaEntityList(stocks);
+        try {
+            List<StockJpaEntity> savedEntities = stockJpaRepository.saveAllAndFlush(jpaEntities);
+            return StockJpaMapper.toDomainEntityList(savedEntities);
+        } catch (OptimisticLockingFailureException e) {
+            throw new StockConcurrencyException(
+                stocks.stream().map(Stock::getProductId).collect(Collectors.joining(",")), e);
+        }
+    }
+    
+    @Override
+    public boolean reserveIfAvailable(String productId, Integer quantity) {
+        return stockJpaRepository.reserveIfAvailable(productId, quantity, LocalDateTime.now()) == 1;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Stock> findAll() {
+        List<StockJpaEntity> jpaEntities = stockJpaRepository.findAll();
+        return StockJpaMapper.toDomainEntityList(jpaEntities);
     }
     
     @Override
@@ -119,6 +151,9 @@ public class StockJpaAdapter implements StockPersistencePort {
     @Override
     @Transactional(readOnly = true)
     public List<Stock> findByProductIdIn(List<String> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return List.of();
+        }
         List<StockJpaEntity> jpaEntities = stockJpaRepository.findByProductIdIn(productIds);
         return StockJpaMapper.toDomainEntityList(jpaEntities);
     }
@@ -14,8 +14,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "products", indexes = {
     @Index(name = "idx_product_brand_model", columnList = "brand, model"),
-    @Index(name = "idx_product_category", columnList = "category"),
-    @Index(name = "idx_product_status", columnList = "status"),
+    @Index(name = "idx_product_category", columnList = "category, product_id"),
+    @Index(name = "idx_product_status", columnList = "status, product_id"),
     @Index(name = "idx_product_name", columnList = "name")
 })
 public class ProductJpaEntity extends BaseEntity {
@@ -46,6 +46,10 @@ public class StockJpaEntity extends BaseEntity {
     @Column(name = "last_sale_date")
     private LocalDateTime lastSaleDate;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Constructors
     public StockJpaEntity() {}
     
@@ -109,6 +113,9 @@ public class StockJpaEntity extends BaseEntity {
     public LocalDateTime getLastSaleDate() { return lastSaleDate; }
     public void setLastSaleDate(LocalDateTime lastSaleDate) { this.lastSaleDate = lastSaleDate; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     @Override
     public String toString() {
         return "StockJpaEntity{" +
@@ -118,6 +125,7 @@ public class StockJpaEntity extends BaseEntity {
                 ", reservedQuantity=" + reservedQuantity +
                 ", availableQuantity=" + getAvailableQuantity() +
                 ", warehouseLocation='" + warehouseLocation + '\'' +
+                ", version=" + version +
                 ", lowStock=" + isLowStock() +
                 ", outOfStock=" + isOutOfStock() +
                 '}';
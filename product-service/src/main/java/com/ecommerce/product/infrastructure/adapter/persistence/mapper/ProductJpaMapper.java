@@ -49,18 +49,22 @@ public class ProductJpaMapper {
             return null;
         }
         
-        Product product = Product.create(
+        // Reconstitute with the persisted identity so callers can correlate products by ID
+        Product product = Product.reconstitute(
+            jpaEntity.getProductId(),
             jpaEntity.getName(),
             jpaEntity.getDescription(),
             jpaEntity.getCategory(),
             jpaEntity.getPrice(),
             jpaEntity.getBrand(),
             jpaEntity.getModel(),
-            jpaEntity.getSpecifications()
+            jpaEntity.getStatus(),
+            jpaEntity.getSpecifications(),
+            jpaEntity.getImageUrl(),
+            jpaEntity.getLaunchDate()
         );
-        
-        // Set additional fields that are not set by the factory method
-        setDomainEntityFields(product, jpaEntity);
+        product.setCreatedAt(jpaEntity.getCreatedAt());
+        product.setUpdatedAt(jpaEntity.getUpdatedAt());
         
         return product;
     }
@@ -144,27 +148,4 @@ public class ProductJpaMapper {
             }
         }
     }
-    
-    /**
-     * Private helper method to set domain entity fields using reflection-like approach
-     * Since domain entities may have private setters, we need to handle this carefully
-     */
-    private static void setDomainEntityFields(Product product, ProductJpaEntity jpaEntity) {
-        // Note: In a real implementation, you might need to use reflection or 
-        // provide package-private setters in the domain entity for persistence purposes
-        // For now, we'll assume the factory method creates the entity correctly
-        // and only the status might need to be updated
-        
-        if (jpaEntity.getStatus() != null) {
-            switch (jpaEntity.getStatus()) {
-                case AVAILABLE -> product.makeAvailable();
-                case OUT_OF_STOCK -> product.markOutOfStock();
-                case DISCONTINUED -> product.discontinue();
-            }
-        }
-        
-        if (jpaEntity.getImageUrl() != null) {
-            product.setImageUrl(jpaEntity.getImageUrl());
-        }
-    }
 }
\ No newline at end of file
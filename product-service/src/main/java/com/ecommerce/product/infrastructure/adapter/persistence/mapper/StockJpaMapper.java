@@ -31,6 +31,7 @@ public class StockJpaMapper {
         jpaEntity.setWarehouseLocation(stock.getWarehouseLocation());
         jpaEntity.setLastRestockDate(stock.getLastRestockDate());
         jpaEntity.setLastSaleDate(stock.getLastSaleDate());
+        jpaEntity.setVersion(stock.getVersion());
         jpaEntity.setCreatedAt(stock.getCreatedAt());
         jpaEntity.setUpdatedAt(stock.getUpdatedAt());
         
@@ -47,15 +48,22 @@ public class StockJpaMapper {
             return null;
         }
         
-        Stock stock = Stock.create(
+        // Reconstitute with the persisted identity, reservations and version so that
+        // a subsequent save updates the same row under optimistic locking
+        Stock stock = Stock.reconstitute(
+            jpaEntity.getStockId(),
             jpaEntity.getProductId(),
             jpaEntity.getQuantity(),
+            jpaEntity.getReservedQuantity(),
             jpaEntity.getMinimumThreshold(),
-            jpaEntity.getWarehouseLocation()
+            jpaEntity.getMaximumCapacity(),
+            jpaEntity.getWarehouseLocation(),
+            jpaEntity.getLastRestockDate(),
+            jpaEntity.getLastSaleDate(),
+            jpaEntity.getVersion()
         );
-        
-        // Set additional fields that are not set by the factory method
-        setDomainEntityFields(stock, jpaEntity);
+        stock.setCreatedAt(jpaEntity.getCreatedAt());
+        stock.setUpdatedAt(jpaEntity.getUpdatedAt());
         
         return stock;
     }
@@ -135,29 +143,6 @@ public class StockJpaMapper {
         // rather than direct updates to maintain business rules and invariants
     }
     
-    /**
-     * Private helper method to set domain entity fields
-     * Since domain entities may have private setters, we need to handle this carefully
-     */
-    private static void setDomainEntityFields(Stock stock, StockJpaEntity jpaEntity) {
-        // Note: In a real implementation, you might need to use reflection or 
-        // provide package-private setters in the domain entity for persistence purposes
-        // For now, we'll assume the factory method creates the entity correctly
-        
-        // Update maximum capacity if different from default
-        if (!stock.getMaximumCapacity().equals(jpaEntity.getMaximumCapacity())) {
-            stock.updateThresholds(jpaEntity.getMinimumThreshold(), jpaEntity.getMaximumCapacity());
-        }
-        
-        // Handle reserved quantity - this would typically be set through business operations
-        // but for persistence reconstruction, we might need to set it directly
-        // This is a compromise between domain purity and persistence requirements
-        if (jpaEntity.getReservedQuantity() != null && jpaEntity.getReservedQuantity() > 0) {
-            // In a real implementation, you might need a special method for persistence reconstruction
-            // For now, we'll assume the reserved quantity is handled correctly by the persistence layer
-        }
-    }
-    
     /**
      * Create a new Stock domain entity from JPA entity for persistence reconstruction
      * This method is specifically for reconstructing domain entities from persistence
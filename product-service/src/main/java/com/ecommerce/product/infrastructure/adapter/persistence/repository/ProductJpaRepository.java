@@ -129,6 +129,40 @@ public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, St
            "LOWER(p.category) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     long countSearchResults(@Param("keyword") String keyword);
     
+    /**
+     * Find the next keyset page of products in a category, ordered by product ID
+     * Pass an empty afterProductId for the first page
+     */
+    List<ProductJpaEntity> findByCategoryAndProductIdGreaterThanOrderByProductIdAsc(
+        String category, String afterProductId, Pageable pageable);
+    
+    /**
+     * Find the next keyset page of products with a status, ordered by product ID
+     * Pass an empty afterProductId for the first page
+     */
+    List<ProductJpaEntity> findByStatusAndProductIdGreaterThanOrderByProductIdAsc(
+        ProductStatus status, String afterProductId, Pageable pageable);
+    
+    /**
+     * Find the next keyset page of keyword matches, ordered by product ID
+     * Pass an empty afterProductId for the first page
+     */
+    @Query("SELECT p FROM ProductJpaEntity p WHERE p.productId > :afterProductId AND (" +
+           "LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.brand) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.model) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.category) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "ORDER BY p.productId ASC")
+    List<ProductJpaEntity> searchByKeywordAfter(@Param("keyword") String keyword,
+                                                @Param("afterProductId") String afterProductId,
+                                                Pageable pageable);
+    
+    /**
+     * Find products by multiple product IDs
+     */
+    List<ProductJpaEntity> findByProductIdIn(List<String> productIds);
+    
     /**
      * Find products by multiple categories
      */
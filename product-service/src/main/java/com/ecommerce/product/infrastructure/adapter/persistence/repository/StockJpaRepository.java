@@ -4,6 +4,7 @@ import com.ecommerce.product.infrastructure.adapter.persistence.entity.StockJpaE
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -91,6 +92,20 @@ public interface StockJpaRepository extends JpaRepository<StockJpaEntity, String
      */
     List<StockJpaEntity> findByProductIdIn(List<String> productIds);
     
+    /**
+     * Atomically reserve stock in a single conditional statement
+     * Only matches the row when (quantity - reserved) covers the requested amount,
+     * so concurrent reservations can never oversell and no lock is held across a Java round trip
+     * @return number of rows updated (1 when reserved, 0 when missing or insufficient)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StockJpaEntity s SET s.reservedQuantity = s.reservedQuantity + :quantity, " +
+           "s.version = s.version + 1, s.updatedAt = :updatedAt " +
+           "WHERE s.productId = :productId AND (s.quantity - s.reservedQuantity) >= :quantity")
+    int reserveIfAvailable(@Param("productId") String productId,
+                           @Param("quantity") Integer quantity,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+    
     /**
      * Check if stock exists for a product
      */
@@ -0,0 +1,682 @@
+package com.ecommerce.product.infrastructure.adapter.search;
+
+import com.ecommerce.product.application.dto.ProductSearchFacets;
+import com.ecommerce.product.application.dto.ProductSearchFacets.StockState;
+import com.ecommerce.product.application.dto.ProductSearchRequest;
+import com.ecommerce.product.application.port.out.ProductSearchIndexPort.FacetedSearchHits;
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.domain.model.Stock;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar in-memory projection of the catalog for filtered, faceted search
+ * Each product is a row number; every category, brand, status, price bucket and stock state value
+ * owns a bitset of its rows, backed by primitive ordinal columns for updates and sorting
+ * Filters are word-wise ANDs and facet counts are popcounts, so a query never touches the database
+ * Thread-safe: queries share a read lock, mutations take the write lock
+ */
+public class ProductFacetIndex {
+
+    /** Upper bounds (exclusive, in whole currency units) of the price facet buckets */
+    static final long[] PRICE_BUCKET_BOUNDS = {10_000, 20_000, 30_000, 50_000};
+
+    private static final String[] PRICE_BUCKET_LABELS = {"0-9999", "10000-19999", "20000-29999", "30000-49999", "50000+"};
+    private static final StockState[] STOCK_STATES = StockState.values();
+    private static final int STATUS_COUNT = ProductStatus.values().length;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NAME_KEY_CHARS = 8;
+    /** Ordinal for a filter value never indexed; it matches no row */
+    private static final int UNKNOWN_VALUE = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> rowByProductId = new HashMap<>();
+    private final List<String> productIdByRow = new ArrayList<>();
+    private final List<String> nameByRow = new ArrayList<>();
+    private final Dictionary categories = new Dictionary();
+    private final Dictionary brands = new Dictionary();
+
+    private final RowSet liveRows = new RowSet();
+    private final RowSet[] statusRows = newRowSets(STATUS_COUNT);
+    private final RowSet[] priceBucketRows = newRowSets(PRICE_BUCKET_LABELS.length);
+    private final RowSet[] stockStateRows = newRowSets(STOCK_STATES.length);
+
+    private int[] categoryColumn = new int[INITIAL_CAPACITY];
+    private int[] brandColumn = new int[INITIAL_CAPACITY];
+    private byte[] statusColumn = new byte[INITIAL_CAPACITY];
+    private long[] priceCentsColumn = new long[INITIAL_CAPACITY];
+    private long[] nameKeyColumn = new long[INITIAL_CAPACITY];
+    private byte[] priceBucketColumn = new byte[INITIAL_CAPACITY];
+    private byte[] stockStateColumn = new byte[INITIAL_CAPACITY];
+
+    /**
+     * Replace the whole projection
+     * @param products every product in the catalog
+     * @param stocks every stock record; products without one are out of stock
+     */
+    public void rebuild(Collection<Product> products, Collection<Stock> stocks) {
+        lock.writeLock().lock();
+        try {
+            rowByProductId.clear();
+            productIdByRow.clear();
+            nameByRow.clear();
+            categories.clear();
+            brands.clear();
+            liveRows.clear();
+            clearAll(statusRows);
+            clearAll(priceBucketRows);
+            clearAll(stockStateRows);
+            for (Product product : products) {
+                writeRow(product);
+            }
+            for (Stock stock : stocks) {
+                writeStockState(stock.getProductId(), stockStateOf(stock));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or update a product row, keeping its stock state
+     * @param product the product
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            writeRow(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Update the stock state of a product
+     * @param productId the product ID
+     * @param stockState the new stock state
+     */
+    public void updateStockState(String productId, StockState stockState) {
+        lock.writeLock().lock();
+        try {
+            writeStockState(productId, stockState);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a product row; its row number is reused if the product comes back
+     * @param productId the product ID
+     */
+    public void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByProductId.get(productId);
+            if (row != null) {
+                liveRows.clear(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of live product rows
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveRows.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Filter, facet, sort and page in one query
+     * Sorting by price is honoured; otherwise keyword searches rank by relevance and the rest sort by name
+     * @param request the search criteria; status defaults to AVAILABLE
+     * @param keywordMatches products matching the keyword with relevance scores, or null for no keyword
+     * @return the page of product IDs, the total match count and the facet counts
+     */
+    public FacetedSearchHits search(ProductSearchRequest request, ProductInvertedIndex.Matches keywordMatches) {
+        lock.readLock().lock();
+        try {
+            int words = RowSet.wordsFor(productIdByRow.size());
+            ProductStatus status = request.getStatus() != null ? request.getStatus() : ProductStatus.AVAILABLE;
+            long[] base = new long[words];
+            for (int i = 0; i < words; i++) {
+                base[i] = liveRows.word(i) & statusRows[status.ordinal()].word(i);
+            }
+
+            float[] scoreByRow = null;
+            if (keywordMatches != null) {
+                scoreByRow = new float[productIdByRow.size()];
+                long[] keywordRows = new long[words];
+                for (int i = 0; i < keywordMatches.size(); i++) {
+                    Integer row = rowByProductId.get(keywordMatches.productIdAt(i));
+                    if (row != null) {
+                        keywordRows[row >>> 6] |= 1L << row;
+                        scoreByRow[row] = keywordMatches.scoreAt(i);
+                    }
+                }
+                for (int i = 0; i < words; i++) {
+                    base[i] &= keywordRows[i];
+                }
+            }
+
+            // A null mask means the filter is not set
+            long[] categoryMask = request.hasCategory() ? categories.mask(request.getCategory(), words) : null;
+            long[] brandMask = request.hasBrand() ? brands.mask(request.getBrand(), words) : null;
+            long[] priceMask = request.hasPriceRange() ? priceMask(request, base) : null;
+            long[] stockMask = null;
+            if (Boolean.TRUE.equals(request.getInStockOnly())) {
+                stockMask = new long[words];
+                for (StockState state : STOCK_STATES) {
+                    if (state.isInStock()) {
+                        stockStateRows[state.ordinal()].orInto(stockMask);
+                    }
+                }
+            }
+
+            // Each facet is counted over the rows passing every filter except its own
+            long[] matched = new long[words];
+            long[] categoryFacetRows = categoryMask != null ? new long[words] : matched;
+            long[] brandFacetRows = brandMask != null ? new long[words] : matched;
+            long[] priceFacetRows = priceMask != null ? new long[words] : matched;
+            long[] stockFacetRows = stockMask != null ? new long[words] : matched;
+            for (int i = 0; i < words; i++) {
+                long category = categoryMask != null ? categoryMask[i] : -1L;
+                long brand = brandMask != null ? brandMask[i] : -1L;
+                long price = priceMask != null ? priceMask[i] : -1L;
+                long stock = stockMask != null ? stockMask[i] : -1L;
+                matched[i] = base[i] & category & brand & price & stock;
+                if (categoryMask != null) {
+                    categoryFacetRows[i] = base[i] & brand & price & stock;
+                }
+                if (brandMask != null) {
+                    brandFacetRows[i] = base[i] & category & price & stock;
+                }
+                if (priceMask != null) {
+                    priceFacetRows[i] = base[i] & category & brand & stock;
+                }
+                if (stockMask != null) {
+                    stockFacetRows[i] = base[i] & category & brand & price;
+                }
+            }
+
+            ProductSearchFacets facets = new ProductSearchFacets(
+                categories.toCounts(categories.count(categoryFacetRows, categoryColumn)),
+                brands.toCounts(brands.count(brandFacetRows, brandColumn)),
+                labelled(PRICE_BUCKET_LABELS, countEach(priceFacetRows, priceBucketRows)),
+                stockStateCounts(countEach(stockFacetRows, stockStateRows)));
+
+            int[] matchedRows = rowsOf(matched);
+            float[] matchedScores = null;
+            if (scoreByRow != null) {
+                matchedScores = new float[matchedRows.length];
+                for (int i = 0; i < matchedRows.length; i++) {
+                    matchedScores[i] = scoreByRow[matchedRows[i]];
+                }
+            }
+            List<String> pageProductIds = page(matchedRows, matchedScores, request);
+            return new FacetedSearchHits(pageProductIds, matchedRows.length, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rows of the base set within the requested price range
+     * Buckets wholly inside the range come from their bitsets; only boundary buckets check row prices
+     */
+    private long[] priceMask(ProductSearchRequest request, long[] base) {
+        long minCents = request.getMinPrice() != null ? toCents(request.getMinPrice()) : Long.MIN_VALUE;
+        long maxCents = request.getMaxPrice() != null ? toCents(request.getMaxPrice()) : Long.MAX_VALUE;
+        long[] mask = new long[base.length];
+        for (int bucket = 0; bucket < PRICE_BUCKET_LABELS.length; bucket++) {
+            long bucketMin = bucket == 0 ? Long.MIN_VALUE : PRICE_BUCKET_BOUNDS[bucket - 1] * 100;
+            long bucketMax = bucket == PRICE_BUCKET_BOUNDS.length ? Long.MAX_VALUE : PRICE_BUCKET_BOUNDS[bucket] * 100 - 1;
+            if (bucketMax < minCents || bucketMin > maxCents) {
+                continue;
+            }
+            RowSet bucketRows = priceBucketRows[bucket];
+            if (bucketMin >= minCents && bucketMax <= maxCents) {
+                bucketRows.orInto(mask);
+                continue;
+            }
+            for (int i = 0; i < base.length; i++) {
+                long candidates = base[i] & bucketRows.word(i);
+                while (candidates != 0) {
+                    int row = (i << 6) + Long.numberOfTrailingZeros(candidates);
+                    if (priceCentsColumn[row] >= minCents && priceCentsColumn[row] <= maxCents) {
+                        mask[i] |= 1L << row;
+                    }
+                    candidates &= candidates - 1;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private List<String> page(int[] rows, float[] scores, ProductSearchRequest request) {
+        long offset = (long) request.getPage() * request.getSize();
+        int keep = (int) Math.min(offset + request.getSize(), rows.length);
+        if (keep <= offset) {
+            return List.of();
+        }
+
+        String sortBy = request.getSortBy() == null ? "" : request.getSortBy().toLowerCase(Locale.ROOT);
+        int direction = "DESC".equalsIgnoreCase(request.getSortDirection()) ? -1 : 1;
+        boolean byPrice = sortBy.equals("price");
+        boolean byName = !byPrice && scores == null;
+        // Unsigned primitive sort keys decide most comparisons; only equal keys fall back to strings
+        long[] keys = new long[rows.length];
+        if (byPrice) {
+            for (int i = 0; i < rows.length; i++) {
+                keys[i] = (direction * priceCentsColumn[rows[i]]) ^ Long.MIN_VALUE;
+            }
+        } else if (byName) {
+            for (int i = 0; i < rows.length; i++) {
+                keys[i] = direction > 0 ? nameKeyColumn[rows[i]] : ~nameKeyColumn[rows[i]];
+            }
+        } else {
+            // Relevance is always best first; non-negative float bits order like the floats
+            for (int i = 0; i < rows.length; i++) {
+                keys[i] = -(long) Float.floatToIntBits(scores[i]) ^ Long.MIN_VALUE;
+            }
+        }
+        PositionOrder order = (a, b) -> {
+            int result = Long.compareUnsigned(keys[a], keys[b]);
+            if (result == 0 && byName) {
+                result = direction * String.CASE_INSENSITIVE_ORDER.compare(nameByRow.get(rows[a]), nameByRow.get(rows[b]));
+            }
+            return result != 0 ? result : productIdByRow.get(rows[a]).compareTo(productIdByRow.get(rows[b]));
+        };
+
+        // Bounded max-heap of the best offset+size positions instead of sorting every match
+        int[] heap = new int[keep];
+        int heapSize = 0;
+        for (int position = 0; position < rows.length; position++) {
+            if (heapSize < keep) {
+                heap[heapSize] = position;
+                siftUp(heap, heapSize++, order);
+            } else if (Long.compareUnsigned(keys[position], keys[heap[0]]) > 0) {
+                // Cheap primitive reject for the common case of a match ranking below the kept ones
+                continue;
+            } else if (order.compare(position, heap[0]) < 0) {
+                heap[0] = position;
+                siftDown(heap, heapSize, order);
+            }
+        }
+
+        Integer[] ranked = new Integer[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            ranked[i] = heap[i];
+        }
+        Arrays.sort(ranked, order::compare);
+        List<String> productIds = new ArrayList<>(heapSize - (int) offset);
+        for (int i = (int) offset; i < heapSize; i++) {
+            productIds.add(productIdByRow.get(rows[ranked[i]]));
+        }
+        return productIds;
+    }
+
+    private void writeRow(Product product) {
+        Integer existing = rowByProductId.get(product.getProductId());
+        int row;
+        if (existing != null) {
+            row = existing;
+            nameByRow.set(row, product.getName());
+            categories.rowsOf(categoryColumn[row]).clear(row);
+            brands.rowsOf(brandColumn[row]).clear(row);
+            statusRows[statusColumn[row]].clear(row);
+            priceBucketRows[priceBucketColumn[row]].clear(row);
+        } else {
+            row = productIdByRow.size();
+            ensureCapacity(row + 1);
+            productIdByRow.add(product.getProductId());
+            nameByRow.add(product.getName());
+            rowByProductId.put(product.getProductId(), row);
+            stockStateColumn[row] = (byte) StockState.OUT_OF_STOCK.ordinal();
+            stockStateRows[stockStateColumn[row]].set(row);
+        }
+
+        long priceCents = product.getPrice() != null ? toCents(product.getPrice()) : 0L;
+        categoryColumn[row] = categories.ordinalOf(product.getCategory());
+        brandColumn[row] = brands.ordinalOf(product.getBrand());
+        statusColumn[row] = (byte) product.getStatus().ordinal();
+        priceCentsColumn[row] = priceCents;
+        nameKeyColumn[row] = nameKeyOf(product.getName());
+        priceBucketColumn[row] = (byte) priceBucketOf(priceCents);
+
+        categories.rowsOf(categoryColumn[row]).set(row);
+        brands.rowsOf(brandColumn[row]).set(row);
+        statusRows[statusColumn[row]].set(row);
+        priceBucketRows[priceBucketColumn[row]].set(row);
+        liveRows.set(row);
+    }
+
+    private void writeStockState(String productId, StockState stockState) {
+        Integer row = rowByProductId.get(productId);
+        if (row != null) {
+            stockStateRows[stockStateColumn[row]].clear(row);
+            stockStateColumn[row] = (byte) stockState.ordinal();
+            stockStateRows[stockStateColumn[row]].set(row);
+        }
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= categoryColumn.length) {
+            return;
+        }
+        int capacity = Math.max(rows, categoryColumn.length * 2);
+        categoryColumn = Arrays.copyOf(categoryColumn, capacity);
+        brandColumn = Arrays.copyOf(brandColumn, capacity);
+        statusColumn = Arrays.copyOf(statusColumn, capacity);
+        priceCentsColumn = Arrays.copyOf(priceCentsColumn, capacity);
+        nameKeyColumn = Arrays.copyOf(nameKeyColumn, capacity);
+        priceBucketColumn = Arrays.copyOf(priceBucketColumn, capacity);
+        stockStateColumn = Arrays.copyOf(stockStateColumn, capacity);
+    }
+
+    /**
+     * Derive the stock state shown for a product, matching ProductDto inStock/lowStock
+     */
+    public static StockState stockStateOf(Stock stock) {
+        if (stock == null || stock.isOutOfStock()) {
+            return StockState.OUT_OF_STOCK;
+        }
+        return stock.isLowStock() ? StockState.LOW_STOCK : StockState.IN_STOCK;
+    }
+
+    private static int priceBucketOf(long priceCents) {
+        for (int bucket = 0; bucket < PRICE_BUCKET_BOUNDS.length; bucket++) {
+            if (priceCents < PRICE_BUCKET_BOUNDS[bucket] * 100) {
+                return bucket;
+            }
+        }
+        return PRICE_BUCKET_BOUNDS.length;
+    }
+
+    /**
+     * Unsigned sort key packing the first eight case-folded characters as bytes
+     * Keys order like String.CASE_INSENSITIVE_ORDER wherever they differ; a character beyond
+     * Latin-1 saturates its byte and ends the key, so such names tie and compare as strings
+     */
+    private static long nameKeyOf(String name) {
+        long key = 0;
+        int length = name == null ? 0 : name.length();
+        boolean saturated = false;
+        for (int i = 0; i < NAME_KEY_CHARS; i++) {
+            int c = 0;
+            if (!saturated && i < length) {
+                c = Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+                if (c >= 0xFF) {
+                    c = 0xFF;
+                    saturated = true;
+                }
+            }
+            key = (key << 8) | c;
+        }
+        return key;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+
+    private static long[] countEach(long[] selected, RowSet[] valueRows) {
+        long[] counts = new long[valueRows.length];
+        for (int value = 0; value < valueRows.length; value++) {
+            counts[value] = valueRows[value].intersectionCount(selected);
+        }
+        return counts;
+    }
+
+    private static int[] rowsOf(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        int[] rows = new int[count];
+        int next = 0;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                rows[next++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return rows;
+    }
+
+    private static void siftUp(int[] heap, int index, PositionOrder order) {
+        int position = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (order.compare(position, heap[parent]) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = position;
+    }
+
+    private static void siftDown(int[] heap, int size, PositionOrder order) {
+        int position = heap[0];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (order.compare(position, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = position;
+    }
+
+    private static Map<String, Long> labelled(String[] labels, long[] counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < labels.length; i++) {
+            result.put(labels[i], counts[i]);
+        }
+        return result;
+    }
+
+    private static Map<StockState, Long> stockStateCounts(long[] counts) {
+        Map<StockState, Long> result = new EnumMap<>(StockState.class);
+        for (StockState state : STOCK_STATES) {
+            result.put(state, counts[state.ordinal()]);
+        }
+        return result;
+    }
+
+    private static RowSet[] newRowSets(int count) {
+        RowSet[] rowSets = new RowSet[count];
+        for (int i = 0; i < count; i++) {
+            rowSets[i] = new RowSet();
+        }
+        return rowSets;
+    }
+
+    private static void clearAll(RowSet[] rowSets) {
+        for (RowSet rowSet : rowSets) {
+            rowSet.clear();
+        }
+    }
+
+    /**
+     * Ordering over positions in the matched row array, negative when the first ranks higher
+     */
+    @FunctionalInterface
+    private interface PositionOrder {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Growable bitset of row numbers exposing its words for allocation-free intersections
+     */
+    private static final class RowSet {
+        private long[] words = new long[wordsFor(INITIAL_CAPACITY)];
+
+        static int wordsFor(int rows) {
+            return (rows + 63) >>> 6;
+        }
+
+        long word(int index) {
+            return index < words.length ? words[index] : 0L;
+        }
+
+        void set(int row) {
+            int index = row >>> 6;
+            if (index >= words.length) {
+                words = Arrays.copyOf(words, Math.max(index + 1, words.length * 2));
+            }
+            words[index] |= 1L << row;
+        }
+
+        void clear(int row) {
+            int index = row >>> 6;
+            if (index < words.length) {
+                words[index] &= ~(1L << row);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(words, 0L);
+        }
+
+        void orInto(long[] target) {
+            int limit = Math.min(words.length, target.length);
+            for (int i = 0; i < limit; i++) {
+                target[i] |= words[i];
+            }
+        }
+
+        int intersectionCount(long[] other) {
+            int limit = Math.min(words.length, other.length);
+            int count = 0;
+            for (int i = 0; i < limit; i++) {
+                count += Long.bitCount(words[i] & other[i]);
+            }
+            return count;
+        }
+
+        int cardinality() {
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Case-insensitive value dictionary mapping facet values to dense ordinals and their row sets
+     * The first spelling seen is the one reported in facet counts
+     */
+    private static final class Dictionary {
+        private static final String NONE = "";
+
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<RowSet> rows = new ArrayList<>();
+
+        int ordinalOf(String value) {
+            String display = value == null ? NONE : value.trim();
+            return ordinals.computeIfAbsent(display.toLowerCase(Locale.ROOT), key -> {
+                values.add(display);
+                rows.add(new RowSet());
+                return values.size() - 1;
+            });
+        }
+
+        RowSet rowsOf(int ordinal) {
+            return rows.get(ordinal);
+        }
+
+        /**
+         * Rows holding the given value; an unknown value matches no row
+         */
+        long[] mask(String value, int words) {
+            long[] mask = new long[words];
+            int ordinal = ordinals.getOrDefault(value.trim().toLowerCase(Locale.ROOT), UNKNOWN_VALUE);
+            if (ordinal != UNKNOWN_VALUE) {
+                rows.get(ordinal).orInto(mask);
+            }
+            return mask;
+        }
+
+        void clear() {
+            ordinals.clear();
+            values.clear();
+            rows.clear();
+        }
+
+        /**
+         * Count the selected rows per value
+         * Few values intersect bitsets word by word; many values walk the selected rows through the ordinal column
+         */
+        long[] count(long[] selected, int[] column) {
+            long[] counts = new long[values.size()];
+            int selectedRows = 0;
+            for (long word : selected) {
+                selectedRows += Long.bitCount(word);
+            }
+            if ((long) values.size() * selected.length <= selectedRows) {
+                for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+                    counts[ordinal] = rows.get(ordinal).intersectionCount(selected);
+                }
+                return counts;
+            }
+            for (int i = 0; i < selected.length; i++) {
+                long word = selected[i];
+                while (word != 0) {
+                    counts[column[(i << 6) + Long.numberOfTrailingZeros(word)]]++;
+                    word &= word - 1;
+                }
+            }
+            return counts;
+        }
+
+        /**
+         * Facet counts by value, most frequent first, zero counts and missing values omitted
+         */
+        Map<String, Long> toCounts(long[] counts) {
+            Integer[] order = new Integer[values.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> counts[b] != counts[a]
+                ? Long.compare(counts[b], counts[a])
+                : values.get(a).compareTo(values.get(b)));
+
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (int ordinal : order) {
+                if (counts[ordinal] > 0 && !values.get(ordinal).isEmpty()) {
+                    result.put(values.get(ordinal), counts[ordinal]);
+                }
+            }
+            return result;
+        }
+    }
+}
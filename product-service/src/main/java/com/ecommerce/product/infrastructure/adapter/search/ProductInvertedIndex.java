@@ -0,0 +1,469 @@
+package com.ecommerce.product.infrastructure.adapter.search;
+
+import com.ecommerce.product.application.port.out.ProductSearchIndexPort.SearchHits;
+import com.ecommerce.product.domain.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, brand, model, category and description
+ * Postings are append-only arrays of document numbers with a per-term field weight;
+ * re-indexing a product tombstones its old document and appends a new one, and
+ * tombstones are compacted away once they outnumber live documents
+ * Thread-safe: queries share a read lock, mutations take the write lock
+ */
+public class ProductInvertedIndex {
+
+    static final float NAME_WEIGHT = 5.0f;
+    static final float BRAND_WEIGHT = 3.0f;
+    static final float MODEL_WEIGHT = 3.0f;
+    static final float CATEGORY_WEIGHT = 2.0f;
+    static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    /** Prefix matches rank below exact term matches */
+    static final float PREFIX_MATCH_FACTOR = 0.5f;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 128;
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> dictionary = new TreeMap<>();
+    private final Map<String, Integer> docByProductId = new HashMap<>();
+    private final List<String> productIdByDoc = new ArrayList<>();
+    private final BitSet liveDocs = new BitSet();
+
+    /**
+     * Replace the whole index content
+     * @param products every product in the catalog
+     */
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            dictionary.clear();
+            docByProductId.clear();
+            productIdByDoc.clear();
+            liveDocs.clear();
+            for (Product product : products) {
+                addDocument(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace a product
+     * @param product the product to index
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            tombstone(product.getProductId());
+            addDocument(product);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a product
+     * @param productId the product ID
+     */
+    public void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            tombstone(productId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed products
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByProductId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search with AND semantics over the query terms, ranked by weighted term frequency x IDF
+     * The last query term also matches any indexed term it is a prefix of
+     * @param query the search keyword
+     * @param offset number of ranked hits to skip
+     * @param limit maximum number of hits to return
+     * @return ranked product IDs and the total number of matching products
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        if (limit <= 0) {
+            return SearchHits.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            Candidates candidates = match(query);
+            return candidates == null ? SearchHits.empty() : rank(candidates, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find every product matching the query with its relevance score, unordered
+     * Used when further filtering has to happen before ranking and pagination
+     * @param query the search keyword
+     * @return matching product IDs and scores
+     */
+    public Matches matchAll(String query) {
+        lock.readLock().lock();
+        try {
+            Candidates candidates = match(query);
+            if (candidates == null) {
+                return new Matches(new String[0], new float[0]);
+            }
+            String[] productIds = new String[candidates.size];
+            for (int i = 0; i < candidates.size; i++) {
+                productIds[i] = productIdByDoc.get(candidates.docs[i]);
+            }
+            return new Matches(productIds, Arrays.copyOf(candidates.scores, candidates.size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Score the documents matching every query term; callers must hold the read lock
+     * @return the candidates, or null when the query cannot match anything
+     */
+    private Candidates match(String query) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(ProductTextAnalyzer.analyze(query)));
+        if (queryTerms.isEmpty()) {
+            return null;
+        }
+
+        List<Clause> clauses = new ArrayList<>(queryTerms.size());
+        for (int i = 0; i < queryTerms.size(); i++) {
+            Clause clause = resolveClause(queryTerms.get(i), i == queryTerms.size() - 1);
+            if (clause.isEmpty()) {
+                return null;
+            }
+            clauses.add(clause);
+        }
+        // Drive the intersection from the rarest clause to keep the candidate set small
+        clauses.sort(Comparator.comparingInt(Clause::estimatedDocFrequency));
+
+        int liveDocCount = docByProductId.size();
+        Candidates candidates = clauses.get(0).scoreAll(liveDocCount, liveDocs);
+        for (int i = 1; i < clauses.size() && candidates.size > 0; i++) {
+            clauses.get(i).intersect(candidates, liveDocCount);
+        }
+        return candidates;
+    }
+
+    private Clause resolveClause(String term, boolean allowPrefix) {
+        Clause clause = new Clause();
+        Postings exact = dictionary.get(term);
+        if (exact != null) {
+            clause.add(exact, 1.0f);
+        }
+        if (allowPrefix) {
+            int expansions = 0;
+            for (Map.Entry<String, Postings> entry
+                    : dictionary.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                clause.add(entry.getValue(), PREFIX_MATCH_FACTOR);
+            }
+        }
+        return clause;
+    }
+
+    private SearchHits rank(Candidates candidates, int offset, int limit) {
+        Comparator<Integer> bestFirst = (a, b) -> {
+            int byScore = Float.compare(candidates.scores[b], candidates.scores[a]);
+            return byScore != 0 ? byScore
+                : productIdByDoc.get(candidates.docs[a]).compareTo(productIdByDoc.get(candidates.docs[b]));
+        };
+
+        // Keep only the top offset+limit hits instead of sorting every match
+        int keep = (int) Math.min((long) offset + limit, candidates.size);
+        if (keep <= offset) {
+            return new SearchHits(List.of(), candidates.size);
+        }
+        PriorityQueue<Integer> top = new PriorityQueue<>(keep + 1, bestFirst.reversed());
+        for (int i = 0; i < candidates.size; i++) {
+            if (top.size() < keep) {
+                top.offer(i);
+            } else if (bestFirst.compare(i, top.peek()) < 0) {
+                top.poll();
+                top.offer(i);
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(top);
+        ranked.sort(bestFirst);
+        List<String> productIds = ranked.subList(offset, ranked.size()).stream()
+            .map(position -> productIdByDoc.get(candidates.docs[position]))
+            .toList();
+        return new SearchHits(productIds, candidates.size);
+    }
+
+    private void addDocument(Product product) {
+        Map<String, Float> termWeights = new HashMap<>();
+        addField(termWeights, product.getName(), NAME_WEIGHT);
+        addField(termWeights, product.getBrand(), BRAND_WEIGHT);
+        addField(termWeights, product.getModel(), MODEL_WEIGHT);
+        addField(termWeights, product.getCategory(), CATEGORY_WEIGHT);
+        addField(termWeights, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        int doc = productIdByDoc.size();
+        productIdByDoc.add(product.getProductId());
+        docByProductId.put(product.getProductId(), doc);
+        liveDocs.set(doc);
+        termWeights.forEach((term, weight) -> dictionary.computeIfAbsent(term, t -> new Postings()).append(doc, weight));
+    }
+
+    private static void addField(Map<String, Float> termWeights, String text, float weight) {
+        for (String term : ProductTextAnalyzer.analyze(text)) {
+            termWeights.merge(term, weight, Float::sum);
+        }
+    }
+
+    private void tombstone(String productId) {
+        Integer doc = docByProductId.remove(productId);
+        if (doc != null) {
+            liveDocs.clear(doc);
+        }
+    }
+
+    private void compactIfNeeded() {
+        int live = docByProductId.size();
+        int tombstones = productIdByDoc.size() - live;
+        if (tombstones < MIN_TOMBSTONES_FOR_COMPACTION || tombstones < live) {
+            return;
+        }
+
+        int[] remap = new int[productIdByDoc.size()];
+        List<String> compactedIds = new ArrayList<>(live);
+        for (int doc = 0; doc < productIdByDoc.size(); doc++) {
+            if (liveDocs.get(doc)) {
+                remap[doc] = compactedIds.size();
+                compactedIds.add(productIdByDoc.get(doc));
+            } else {
+                remap[doc] = -1;
+            }
+        }
+
+        dictionary.values().removeIf(postings -> postings.compact(remap) == 0);
+        productIdByDoc.clear();
+        productIdByDoc.addAll(compactedIds);
+        docByProductId.clear();
+        liveDocs.clear();
+        for (int doc = 0; doc < compactedIds.size(); doc++) {
+            docByProductId.put(compactedIds.get(doc), doc);
+        }
+        liveDocs.set(0, compactedIds.size());
+    }
+
+    /**
+     * Products matching a query with their relevance scores
+     */
+    public static final class Matches {
+        private final String[] productIds;
+        private final float[] scores;
+
+        Matches(String[] productIds, float[] scores) {
+            this.productIds = productIds;
+            this.scores = scores;
+        }
+
+        public int size() { return productIds.length; }
+        public String productIdAt(int i) { return productIds[i]; }
+        public float scoreAt(int i) { return scores[i]; }
+    }
+
+    /**
+     * Document numbers in ascending order with the term weight in each document
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void append(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        float weightOf(int doc) {
+            int position = Arrays.binarySearch(docs, 0, size, doc);
+            return position >= 0 ? weights[position] : 0.0f;
+        }
+
+        int compact(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int newDoc = remap[docs[i]];
+                if (newDoc >= 0) {
+                    docs[kept] = newDoc;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    /**
+     * One query term: its exact postings plus any prefix expansions
+     * A document's clause weight is its best weight across those postings
+     */
+    private static final class Clause {
+        private final List<Postings> postings = new ArrayList<>();
+        private final List<Float> factors = new ArrayList<>();
+
+        void add(Postings termPostings, float factor) {
+            postings.add(termPostings);
+            factors.add(factor);
+        }
+
+        boolean isEmpty() {
+            return postings.isEmpty();
+        }
+
+        int estimatedDocFrequency() {
+            int total = 0;
+            for (Postings p : postings) {
+                total += p.size;
+            }
+            return total;
+        }
+
+        float idf(int liveDocCount) {
+            return (float) Math.log(1.0 + (double) liveDocCount / (estimatedDocFrequency() + 1));
+        }
+
+        Candidates scoreAll(int liveDocCount, BitSet liveDocs) {
+            float idf = idf(liveDocCount);
+            if (postings.size() == 1) {
+                Postings p = postings.get(0);
+                float factor = factors.get(0) * idf;
+                Candidates candidates = new Candidates(p.size);
+                for (int j = 0; j < p.size; j++) {
+                    if (liveDocs.get(p.docs[j])) {
+                        candidates.add(p.docs[j], p.weights[j] * factor);
+                    }
+                }
+                return candidates;
+            }
+
+            // Union of several postings: sort (doc, weight) pairs packed into longs by doc, keep the best weight
+            long[] packed = new long[estimatedDocFrequency()];
+            int count = 0;
+            for (int i = 0; i < postings.size(); i++) {
+                Postings p = postings.get(i);
+                float factor = factors.get(i) * idf;
+                for (int j = 0; j < p.size; j++) {
+                    if (liveDocs.get(p.docs[j])) {
+                        packed[count++] = ((long) p.docs[j] << 32)
+                            | (Float.floatToRawIntBits(p.weights[j] * factor) & 0xFFFFFFFFL);
+                    }
+                }
+            }
+            Arrays.sort(packed, 0, count);
+
+            Candidates candidates = new Candidates(count);
+            for (int i = 0; i < count; i++) {
+                // Positive float bits sort like the floats, so the last entry per doc holds its best weight
+                if (i + 1 < count && (packed[i + 1] >>> 32) == (packed[i] >>> 32)) {
+                    continue;
+                }
+                candidates.add((int) (packed[i] >>> 32), Float.intBitsToFloat((int) packed[i]));
+            }
+            return candidates;
+        }
+
+        void intersect(Candidates candidates, int liveDocCount) {
+            float idf = idf(liveDocCount);
+            float[] best = new float[candidates.size];
+            for (int i = 0; i < postings.size(); i++) {
+                Postings p = postings.get(i);
+                float factor = factors.get(i);
+                if (candidates.size * 16L < p.size) {
+                    // Few candidates against a long postings list: probe instead of scanning it
+                    for (int c = 0; c < candidates.size; c++) {
+                        best[c] = Math.max(best[c], p.weightOf(candidates.docs[c]) * factor);
+                    }
+                } else {
+                    for (int c = 0, j = 0; c < candidates.size && j < p.size; ) {
+                        if (p.docs[j] < candidates.docs[c]) {
+                            j++;
+                        } else if (p.docs[j] > candidates.docs[c]) {
+                            c++;
+                        } else {
+                            best[c] = Math.max(best[c], p.weights[j] * factor);
+                            c++;
+                            j++;
+                        }
+                    }
+                }
+            }
+
+            int kept = 0;
+            for (int c = 0; c < candidates.size; c++) {
+                if (best[c] > 0.0f) {
+                    candidates.docs[kept] = candidates.docs[c];
+                    candidates.scores[kept] = candidates.scores[c] + best[c] * idf;
+                    kept++;
+                }
+            }
+            candidates.size = kept;
+        }
+    }
+
+    /**
+     * Matching documents in ascending order with their accumulated score
+     */
+    private static final class Candidates {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            this.docs = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void add(int doc, float score) {
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+    }
+}
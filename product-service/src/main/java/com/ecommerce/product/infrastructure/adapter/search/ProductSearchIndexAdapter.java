@@ -0,0 +1,175 @@
+package com.ecommerce.product.infrastructure.adapter.search;
+
+import com.ecommerce.common.architecture.Adapter;
+import com.ecommerce.product.application.dto.ProductSearchRequest;
+import com.ecommerce.product.application.port.out.ProductPersistencePort;
+import com.ecommerce.product.application.port.out.ProductSearchIndexPort;
+import com.ecommerce.product.application.port.out.StockPersistencePort;
+import com.ecommerce.product.domain.event.ProductCreatedEvent;
+import com.ecommerce.product.domain.event.ProductDeletedEvent;
+import com.ecommerce.product.domain.event.ProductUpdatedEvent;
+import com.ecommerce.product.domain.event.StockLevelChangedEvent;
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.Stock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Product Search Index Adapter
+ * Implements ProductSearchIndexPort with an in-process inverted index and a columnar facet projection
+ * Built from the catalog at startup and kept current from product and stock domain events after commit
+ */
+@Adapter
+@Component
+public class ProductSearchIndexAdapter implements ProductSearchIndexPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndexAdapter.class);
+
+    private final ProductPersistencePort productPersistencePort;
+    private final StockPersistencePort stockPersistencePort;
+    private final boolean enabled;
+    private final ProductInvertedIndex index = new ProductInvertedIndex();
+    private final ProductFacetIndex facetIndex = new ProductFacetIndex();
+
+    /** Products changed while a rebuild was loading the catalog, replayed once it finishes */
+    private final Set<String> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<String> stockChangedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    public ProductSearchIndexAdapter(ProductPersistencePort productPersistencePort,
+                                     StockPersistencePort stockPersistencePort,
+                                     @Value("${app.product.search.inverted-index.enabled:true}") boolean enabled) {
+        this.productPersistencePort = productPersistencePort;
+        this.stockPersistencePort = stockPersistencePort;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public SearchHits search(String keyword, int page, int size) {
+        return index.search(keyword, page * size, size);
+    }
+
+    @Override
+    public FacetedSearchHits facetedSearch(ProductSearchRequest searchRequest) {
+        ProductInvertedIndex.Matches keywordMatches = searchRequest.hasKeyword()
+            ? index.matchAll(searchRequest.getKeyword())
+            : null;
+        return facetIndex.search(searchRequest, keywordMatches);
+    }
+
+    /**
+     * Build the index from the full catalog once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            logger.info("Inverted product search index disabled, product search stays on the database");
+            return;
+        }
+
+        long start = System.nanoTime();
+        rebuilding = true;
+        try {
+            List<Product> products = productPersistencePort.findAll();
+            List<Stock> stocks = stockPersistencePort.findAll();
+            index.rebuild(products);
+            facetIndex.rebuild(products, stocks);
+        } finally {
+            rebuilding = false;
+        }
+        changedDuringRebuild.forEach(this::refresh);
+        changedDuringRebuild.clear();
+        stockChangedDuringRebuild.forEach(this::refreshStock);
+        stockChangedDuringRebuild.clear();
+        ready = true;
+
+        logger.info("Built product search index with {} products in {} ms",
+            index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCreated(ProductCreatedEvent event) {
+        refresh(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductUpdated(ProductUpdatedEvent event) {
+        refresh(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductDeleted(ProductDeletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(event.getProductId());
+        }
+        index.remove(event.getProductId());
+        facetIndex.remove(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        refreshStock(event.getProductId());
+    }
+
+    /**
+     * Re-read a product and re-index it, or drop it if it no longer exists
+     */
+    private void refresh(String productId) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(productId);
+        }
+        try {
+            Optional<Product> product = productPersistencePort.findById(productId);
+            product.ifPresentOrElse(p -> {
+                index.index(p);
+                facetIndex.index(p);
+            }, () -> {
+                index.remove(productId);
+                facetIndex.remove(productId);
+            });
+        } catch (RuntimeException e) {
+            // The committed write stands; search just misses this change until the next rebuild
+            logger.warn("Failed to refresh search index for product {}: {}", productId, e.getMessage());
+        }
+    }
+
+    /**
+     * Re-read the stock of a product and update its stock state facet
+     */
+    private void refreshStock(String productId) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding) {
+            stockChangedDuringRebuild.add(productId);
+        }
+        try {
+            Optional<Stock> stock = stockPersistencePort.findByProductId(productId);
+            facetIndex.updateStockState(productId, ProductFacetIndex.stockStateOf(stock.orElse(null)));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh stock facet for product {}: {}", productId, e.getMessage());
+        }
+    }
+}
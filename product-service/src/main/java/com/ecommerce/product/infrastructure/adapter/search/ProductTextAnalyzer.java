@@ -0,0 +1,82 @@
+package com.ecommerce.product.infrastructure.adapter.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Product text analyzer
+ * Splits product text into index terms: lower-cased alphanumeric words for Latin text
+ * and overlapping bigrams for CJK text, which has no word separators
+ */
+public final class ProductTextAnalyzer {
+    
+    private ProductTextAnalyzer() {}
+    
+    /**
+     * Analyze text into index terms
+     * @param text the text to analyze, may be null
+     * @return terms in text order, duplicates preserved
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        
+        String normalized = text.toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        StringBuilder cjkRun = new StringBuilder();
+        
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            
+            if (isCjk(codePoint)) {
+                flushWord(word, terms);
+                cjkRun.appendCodePoint(codePoint);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushCjkRun(cjkRun, terms);
+                word.appendCodePoint(codePoint);
+            } else {
+                flushWord(word, terms);
+                flushCjkRun(cjkRun, terms);
+            }
+        }
+        flushWord(word, terms);
+        flushCjkRun(cjkRun, terms);
+        
+        return terms;
+    }
+    
+    private static void flushWord(StringBuilder word, List<String> terms) {
+        if (word.length() > 0) {
+            terms.add(word.toString());
+            word.setLength(0);
+        }
+    }
+    
+    private static void flushCjkRun(StringBuilder run, List<String> terms) {
+        if (run.length() == 0) {
+            return;
+        }
+        
+        int[] codePoints = run.codePoints().toArray();
+        if (codePoints.length == 1) {
+            terms.add(new String(codePoints, 0, 1));
+        } else {
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                terms.add(new String(codePoints, i, 2));
+            }
+        }
+        run.setLength(0);
+    }
+    
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+            || script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA
+            || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -1,6 +1,8 @@
 package com.ecommerce.product.infrastructure.adapter.web;
 
 import com.ecommerce.common.dto.ApiResponse;
+import com.ecommerce.common.dto.CursorPage;
+import com.ecommerce.common.dto.PageCursor;
 import com.ecommerce.product.application.dto.ProductDto;
 import com.ecommerce.product.application.dto.ProductSearchRequest;
 import com.ecommerce.product.application.dto.ProductSearchResponse;
@@ -38,6 +40,19 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success(products, "Products found successfully"));
     }
     
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Search products by keyword with cursor pagination", description = "Search products page by page using an opaque continuation cursor")
+    public ResponseEntity<ApiResponse<CursorPage<ProductDto>>> searchProductsWithCursor(
+            @Parameter(description = "Search keyword") @RequestParam String keyword,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "" + PageCursor.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = "Include an estimated total") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        CursorPage<ProductDto> page = productSearchUseCase.searchByKeyword(keyword, cursor, size, includeTotal);
+        
+        return ResponseEntity.ok(ApiResponse.success("Products found successfully", page));
+    }
+    
     @PostMapping("/search")
     @Operation(summary = "Advanced product search", description = "Search products with advanced criteria and pagination")
     public ResponseEntity<ApiResponse<ProductSearchResponse>> advancedSearch(
@@ -80,6 +95,19 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success(response, "Paginated products in category retrieved successfully"));
     }
     
+    @GetMapping("/category/{category}/cursor")
+    @Operation(summary = "Get products by category with cursor pagination", description = "Retrieve products in a category page by page using an opaque continuation cursor")
+    public ResponseEntity<ApiResponse<CursorPage<ProductDto>>> getProductsByCategoryWithCursor(
+            @Parameter(description = "Product category") @PathVariable String category,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "" + PageCursor.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = "Include an estimated total") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        CursorPage<ProductDto> page = productSearchUseCase.getProductsByCategory(category, cursor, size, includeTotal);
+        
+        return ResponseEntity.ok(ApiResponse.success("Products in category retrieved successfully", page));
+    }
+    
     @GetMapping("/brand/{brand}")
     @Operation(summary = "Get products by brand", description = "Retrieve products from a specific brand")
     public ResponseEntity<ApiResponse<List<ProductDto>>> getProductsByBrand(
@@ -110,6 +138,18 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success(response, "Paginated available products retrieved successfully"));
     }
     
+    @GetMapping("/available/cursor")
+    @Operation(summary = "Get available products with cursor pagination", description = "Retrieve available products page by page using an opaque continuation cursor")
+    public ResponseEntity<ApiResponse<CursorPage<ProductDto>>> getAvailableProductsWithCursor(
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "" + PageCursor.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = "Include an estimated total") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        CursorPage<ProductDto> page = productSearchUseCase.getAvailableProducts(cursor, size, includeTotal);
+        
+        return ResponseEntity.ok(ApiResponse.success("Available products retrieved successfully", page));
+    }
+    
     @GetMapping("/featured")
     @Operation(summary = "Get featured products", description = "Retrieve featured products like iPhone 17 Pro")
     public ResponseEntity<ApiResponse<List<ProductDto>>> getFeaturedProducts() {
@@ -1,6 +1,7 @@
 package com.ecommerce.product.infrastructure.adapter.web;
 
 import com.ecommerce.common.dto.ApiResponse;
+import com.ecommerce.product.application.dto.StockBatchReservationResponse;
 import com.ecommerce.product.application.dto.StockDto;
 import com.ecommerce.product.application.dto.StockReservationRequest;
 import com.ecommerce.product.application.dto.StockUpdateRequest;
@@ -8,6 +9,7 @@ import com.ecommerce.product.application.port.in.StockManagementUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -136,6 +138,32 @@ public class StockController {
         return ResponseEntity.ok(ApiResponse.success(stocks, "Bulk stock reservation completed successfully"));
     }
     
+    @PostMapping("/batch/check-and-reserve")
+    @Operation(summary = "Batch check and reserve stock",
+               description = "Check availability and reserve stock for multiple products in one all-or-nothing transaction")
+    public ResponseEntity<ApiResponse<StockBatchReservationResponse>> checkAndReserveStock(
+            @RequestBody List<StockReservationRequest> reservationRequests) {
+        
+        StockBatchReservationResponse result = stockManagementUseCase.checkAndReserveStock(reservationRequests);
+        
+        if (!result.isReserved()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiResponse<>(false, "Some products are unavailable, nothing was reserved", result));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Batch stock reservation completed successfully", result));
+    }
+    
+    @PostMapping("/batch/release")
+    @Operation(summary = "Batch release stock reservations",
+               description = "Release reservations for multiple products in one transaction")
+    public ResponseEntity<ApiResponse<List<StockDto>>> bulkReleaseReservation(
+            @RequestBody List<StockReservationRequest> releaseRequests) {
+        
+        List<StockDto> stocks = stockManagementUseCase.bulkReleaseReservation(releaseRequests);
+        
+        return ResponseEntity.ok(ApiResponse.success(stocks, "Batch stock release completed successfully"));
+    }
+    
     @PutMapping("/update")
     @Operation(summary = "Update stock", description = "Update stock with specific operation type")
     public ResponseEntity<ApiResponse<StockDto>> updateStock(
@@ -0,0 +1,78 @@
+package com.ecommerce.product.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Stock Availability Cache
+ * Bounded in-process cache of available quantity per productId with TTL and size-based eviction
+ * Invalidated by the stock repository on every write and again after the writing transaction completes;
+ * the TTL only bounds staleness against writes made by other instances
+ * Hit/miss/eviction statistics are published to actuator under the cache name {@value #CACHE_NAME}
+ */
+public class StockAvailabilityCache {
+    
+    public static final String CACHE_NAME = "stockAvailability";
+    
+    private final Cache<String, Integer> cache;
+    
+    public StockAvailabilityCache(long maximumSize, Duration timeToLive, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+    
+    /**
+     * Get the available quantity, loading it on a miss
+     * @param productId the product ID
+     * @param loader loads the available quantity from persistence; may return null when no stock exists
+     * @return the available quantity, empty when no stock record exists
+     */
+    public Optional<Integer> get(String productId, Function<String, Integer> loader) {
+        return Optional.ofNullable(cache.get(productId, loader));
+    }
+    
+    /**
+     * Record the available quantity after a write
+     * @param productId the product ID
+     * @param availableQuantity the available quantity now persisted
+     */
+    public void put(String productId, Integer availableQuantity) {
+        if (availableQuantity == null) {
+            cache.invalidate(productId);
+            return;
+        }
+        cache.put(productId, availableQuantity);
+    }
+    
+    /**
+     * Drop the cached quantity for a product
+     * @param productId the product ID
+     */
+    public void evict(String productId) {
+        cache.invalidate(productId);
+    }
+    
+    /**
+     * Drop every cached quantity
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+    
+    /**
+     * @return approximate number of cached products
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -4,17 +4,30 @@ import com.ecommerce.product.application.port.in.ProductSearchUseCase;
 import com.ecommerce.product.application.port.in.StockManagementUseCase;
 import com.ecommerce.product.application.port.out.NotificationPort;
 import com.ecommerce.product.application.port.out.ProductPersistencePort;
+import com.ecommerce.product.application.port.out.ProductSearchIndexPort;
 import com.ecommerce.product.application.port.out.StockPersistencePort;
 import com.ecommerce.product.application.usecase.ProductSearchService;
 import com.ecommerce.product.application.usecase.StockManagementService;
+import com.ecommerce.product.domain.event.ProductCreatedEvent;
+import com.ecommerce.product.domain.event.ProductDeletedEvent;
+import com.ecommerce.product.domain.event.ProductUpdatedEvent;
+import com.ecommerce.product.domain.event.StockLevelChangedEvent;
 import com.ecommerce.product.domain.repository.ProductRepository;
 import com.ecommerce.product.domain.repository.StockRepository;
 import com.ecommerce.product.domain.service.ProductDomainService;
 import com.ecommerce.product.domain.service.StockDomainService;
 import com.ecommerce.product.infrastructure.adapter.persistence.ProductJpaAdapter;
 import com.ecommerce.product.infrastructure.adapter.persistence.StockJpaAdapter;
+import com.ecommerce.product.infrastructure.cache.StockAvailabilityCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
 
 /**
  * Product Service Configuration
@@ -28,18 +41,32 @@ public class ProductConfig {
      * Configure ProductRepository using JPA adapter
      */
     @Bean
-    public ProductRepository productRepository(ProductPersistencePort productPersistencePort) {
+    public ProductRepository productRepository(ProductPersistencePort productPersistencePort,
+                                               ApplicationEventPublisher eventPublisher) {
         // Create an adapter that implements ProductRepository using ProductPersistencePort
-        return new ProductRepositoryAdapter(productPersistencePort);
+        return new ProductRepositoryAdapter(productPersistencePort, eventPublisher);
+    }
+    
+    /**
+     * Configure the in-process stock availability cache
+     */
+    @Bean
+    public StockAvailabilityCache stockAvailabilityCache(
+            @Value("${app.product.stock.availability-cache.max-size:10000}") long maximumSize,
+            @Value("${app.product.stock.availability-cache.ttl:10s}") Duration timeToLive,
+            MeterRegistry meterRegistry) {
+        return new StockAvailabilityCache(maximumSize, timeToLive, meterRegistry);
     }
     
     /**
      * Configure StockRepository using JPA adapter
      */
     @Bean
-    public StockRepository stockRepository(StockPersistencePort stockPersistencePort) {
+    public StockRepository stockRepository(StockPersistencePort stockPersistencePort,
+                                           StockAvailabilityCache stockAvailabilityCache,
+                                           ApplicationEventPublisher eventPublisher) {
         // Create an adapter that implements StockRepository using StockPersistencePort
-        return new StockRepositoryAdapter(stockPersistencePort);
+        return new StockRepositoryAdapter(stockPersistencePort, stockAvailabilityCache, eventPublisher);
     }
     
     /**
@@ -55,8 +82,10 @@ public class ProductConfig {
      * Configure StockDomainService
      */
     @Bean
-    public StockDomainService stockDomainService(StockRepository stockRepository) {
-        return new StockDomainService(stockRepository);
+    public StockDomainService stockDomainService(StockRepository stockRepository,
+                                               @Value("${app.product.stock.reservation.atomic:true}") boolean atomicReservation,
+                                               @Value("${app.product.stock.reservation.max-optimistic-attempts:3}") int maxOptimisticAttempts) {
+        return new StockDomainService(stockRepository, atomicReservation, maxOptimisticAttempts);
     }
     
     /**
@@ -65,8 +94,10 @@ public class ProductConfig {
     @Bean
     public ProductSearchUseCase productSearchUseCase(ProductPersistencePort productPersistencePort,
                                                    StockPersistencePort stockPersistencePort,
-                                                   ProductDomainService productDomainService) {
-        return new ProductSearchService(productPersistencePort, stockPersistencePort, productDomainService);
+                                                   ProductDomainService productDomainService,
+                                                   ProductSearchIndexPort productSearchIndexPort) {
+        return new ProductSearchService(productPersistencePort, stockPersistencePort, productDomainService,
+                                        productSearchIndexPort);
     }
     
     /**
@@ -83,17 +114,30 @@ public class ProductConfig {
     
     /**
      * Adapter class to bridge ProductRepository domain interface with ProductPersistencePort
+     * Publishes product domain events on every write so read-side projections stay current
      */
     private static class ProductRepositoryAdapter implements ProductRepository {
         private final ProductPersistencePort persistencePort;
+        private final ApplicationEventPublisher eventPublisher;
         
-        public ProductRepositoryAdapter(ProductPersistencePort persistencePort) {
+        public ProductRepositoryAdapter(ProductPersistencePort persistencePort, ApplicationEventPublisher eventPublisher) {
             this.persistencePort = persistencePort;
+            this.eventPublisher = eventPublisher;
         }
         
         @Override
         public com.ecommerce.product.domain.model.Product save(com.ecommerce.product.domain.model.Product product) {
-            return persistencePort.save(product);
+            // Products that were never persisted carry no creation timestamp yet
+            boolean created = product.getCreatedAt() == null;
+            com.ecommerce.product.domain.model.Product saved = persistencePort.save(product);
+            if (created) {
+                eventPublisher.publishEvent(new ProductCreatedEvent(saved.getProductId(), saved.getName(),
+                    saved.getBrand(), saved.getModel(), saved.getCategory(), saved.getPrice(), saved.getCreatedAt()));
+            } else {
+                eventPublisher.publishEvent(new ProductUpdatedEvent(saved.getProductId(), saved.getName(),
+                    saved.getCategory(), saved.getPrice(), saved.getStatus()));
+            }
+            return saved;
         }
         
         @Override
@@ -101,6 +145,11 @@ public class ProductConfig {
             return persistencePort.findById(productId);
         }
         
+        @Override
+        public java.util.List<com.ecommerce.product.domain.model.Product> findByIdIn(java.util.List<String> productIds) {
+            return persistencePort.findByIdIn(productIds);
+        }
+        
         @Override
         public java.util.List<com.ecommerce.product.domain.model.Product> findByNameContaining(String name) {
             return persistencePort.searchByKeyword(name);
@@ -171,6 +220,7 @@ public class ProductConfig {
         @Override
         public void deleteById(String productId) {
             persistencePort.deleteById(productId);
+            eventPublisher.publishEvent(new ProductDeletedEvent(productId));
         }
         
         @Override
@@ -208,17 +258,48 @@ public class ProductConfig {
     
     /**
      * Adapter class to bridge StockRepository domain interface with StockPersistencePort
+     * Invalidates the availability cache on every stock mutation, both immediately and again once the
+     * surrounding transaction completes, so a concurrent read cannot re-cache the pre-commit quantity
+     * Publishes a stock level event on every write so read-side projections stay current
      */
     private static class StockRepositoryAdapter implements StockRepository {
         private final StockPersistencePort persistencePort;
+        private final StockAvailabilityCache availabilityCache;
+        private final ApplicationEventPublisher eventPublisher;
         
-        public StockRepositoryAdapter(StockPersistencePort persistencePort) {
+        public StockRepositoryAdapter(StockPersistencePort persistencePort, StockAvailabilityCache availabilityCache,
+                                      ApplicationEventPublisher eventPublisher) {
             this.persistencePort = persistencePort;
+            this.availabilityCache = availabilityCache;
+            this.eventPublisher = eventPublisher;
         }
         
         @Override
         public com.ecommerce.product.domain.model.Stock save(com.ecommerce.product.domain.model.Stock stock) {
-            return persistencePort.save(stock);
+            try {
+                com.ecommerce.product.domain.model.Stock saved = persistencePort.save(stock);
+                evictOnCompletion(saved.getProductId());
+                eventPublisher.publishEvent(new StockLevelChangedEvent(saved.getProductId(), saved.getAvailableQuantity()));
+                return saved;
+            } catch (RuntimeException e) {
+                availabilityCache.evict(stock.getProductId());
+                throw e;
+            }
+        }
+        
+        @Override
+        public java.util.List<com.ecommerce.product.domain.model.Stock> saveAll(java.util.List<com.ecommerce.product.domain.model.Stock> stocks) {
+            try {
+                java.util.List<com.ecommerce.product.domain.model.Stock> saved = persistencePort.saveAll(stocks);
+                saved.forEach(s -> {
+                    evictOnCompletion(s.getProductId());
+                    eventPublisher.publishEvent(new StockLevelChangedEvent(s.getProductId(), s.getAvailableQuantity()));
+                });
+                return saved;
+            } catch (RuntimeException e) {
+                stocks.forEach(s -> availabilityCache.evict(s.getProductId()));
+                throw e;
+            }
         }
         
         @Override
@@ -228,7 +309,23 @@ public class ProductConfig {
         
         @Override
         public java.util.Optional<com.ecommerce.product.domain.model.Stock> findByProductId(String productId) {
-            return persistencePort.findByProductId(productId);
+            java.util.Optional<com.ecommerce.product.domain.model.Stock> stock = persistencePort.findByProductId(productId);
+            // A full aggregate read is fresher than anything cached, so refresh the entry, unless it may
+            // include this transaction's uncommitted writes
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                return stock;
+            }
+            stock.ifPresentOrElse(
+                s -> availabilityCache.put(productId, s.getAvailableQuantity()),
+                () -> availabilityCache.evict(productId));
+            return stock;
+        }
+        
+        @Override
+        public java.util.Optional<Integer> findAvailableQuantityByProductId(String productId) {
+            return availabilityCache.get(productId, id -> persistencePort.findByProductId(id)
+                .map(com.ecommerce.product.domain.model.Stock::getAvailableQuantity)
+                .orElse(null));
         }
         
         @Override
@@ -281,6 +378,20 @@ public class ProductConfig {
             return persistencePort.findByProductIdIn(productIds);
         }
         
+        @Override
+        public boolean reserveIfAvailable(String productId, Integer quantity) {
+            boolean reserved = persistencePort.reserveIfAvailable(productId, quantity);
+            if (reserved) {
+                evictOnCompletion(productId);
+                // The conditional update does not return the row, so read back the level it left behind
+                Integer availableQuantity = persistencePort.findByProductId(productId)
+                    .map(com.ecommerce.product.domain.model.Stock::getAvailableQuantity)
+                    .orElse(0);
+                eventPublisher.publishEvent(new StockLevelChangedEvent(productId, availableQuantity));
+            }
+            return reserved;
+        }
+        
         @Override
         public boolean existsByProductId(String productId) {
             return persistencePort.existsByProductId(productId);
@@ -288,12 +399,17 @@ public class ProductConfig {
         
         @Override
         public void deleteById(String stockId) {
+            java.util.Optional<String> productId = persistencePort.findById(stockId)
+                .map(com.ecommerce.product.domain.model.Stock::getProductId);
             persistencePort.deleteById(stockId);
+            productId.ifPresent(this::evictOnCompletion);
         }
         
         @Override
         public void deleteByProductId(String productId) {
             persistencePort.deleteByProductId(productId);
+            evictOnCompletion(productId);
+            eventPublisher.publishEvent(new StockLevelChangedEvent(productId, 0));
         }
         
         @Override
@@ -328,5 +444,19 @@ public class ProductConfig {
             // This would need to be implemented in persistence port
             return java.util.List.of();
         }
+        
+        // Evict now and again once the transaction commits or rolls back, so a read that raced the write
+        // cannot leave the pre-commit quantity cached
+        private void evictOnCompletion(String productId) {
+            availabilityCache.evict(productId);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        availabilityCache.evict(productId);
+                    }
+                });
+            }
+        }
     }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.ecommerce.product.application.usecase;
 
+import com.ecommerce.common.dto.CursorPage;
+import com.ecommerce.common.dto.PageCursor;
+import com.ecommerce.common.exception.ValidationException;
 import com.ecommerce.product.application.dto.ProductDto;
+import com.ecommerce.product.application.dto.ProductSearchFacets;
 import com.ecommerce.product.application.dto.ProductSearchRequest;
 import com.ecommerce.product.application.dto.ProductSearchResponse;
 import com.ecommerce.product.application.port.out.ProductPersistencePort;
+import com.ecommerce.product.application.port.out.ProductSearchIndexPort;
 import com.ecommerce.product.application.port.out.StockPersistencePort;
 import com.ecommerce.product.domain.exception.ProductNotFoundException;
 import com.ecommerce.product.domain.model.Product;
@@ -19,8 +24,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,6 +51,9 @@ class ProductSearchServiceTest {
     @Mock
     private ProductDomainService productDomainService;
 
+    @Mock
+    private ProductSearchIndexPort productSearchIndexPort;
+
     private ProductSearchService productSearchService;
 
     @BeforeEach
@@ -51,7 +61,8 @@ class ProductSearchServiceTest {
         productSearchService = new ProductSearchService(
             productPersistencePort,
             stockPersistencePort,
-            productDomainService
+            productDomainService,
+            productSearchIndexPort
         );
     }
 
@@ -146,7 +157,7 @@ class ProductSearchServiceTest {
 
             when(productPersistencePort.searchByKeyword("iPhone", 0, 10)).thenReturn(products);
             when(productPersistencePort.countSearchResults("iPhone")).thenReturn(1L);
-            when(stockPersistencePort.findByProductId(product.getProductId())).thenReturn(Optional.of(stock));
+            when(stockPersistencePort.findByProductIdIn(List.of(product.getProductId()))).thenReturn(List.of(stock));
 
             // When
             ProductSearchResponse result = productSearchService.searchProducts(request);
@@ -156,11 +167,80 @@ class ProductSearchServiceTest {
             assertEquals(1, result.getProducts().size());
             assertEquals(0, result.getPage());
             assertEquals(10, result.getSize());
-            assertEquals(1L, result.getTotalCount());
+            assertEquals(1L, result.getTotalElements());
             verify(productPersistencePort).searchByKeyword("iPhone", 0, 10);
             verify(productPersistencePort).countSearchResults("iPhone");
         }
 
+        @Test
+        @DisplayName("Should route keyword search to the search index when ready")
+        void shouldRouteKeywordSearchToSearchIndexWhenReady() {
+            // Given
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setKeyword("iPhone");
+            request.setPage(0);
+            request.setSize(10);
+
+            Product best = Product.createIPhone17Pro();
+            Product second = Product.create("iPhone 16", "Older model", "Smartphones",
+                new BigDecimal("29900"), "Apple", "iPhone 16", "A17 chip");
+            List<String> rankedIds = List.of(best.getProductId(), second.getProductId());
+
+            when(productSearchIndexPort.isReady()).thenReturn(true);
+            when(productSearchIndexPort.facetedSearch(request))
+                .thenReturn(new ProductSearchIndexPort.FacetedSearchHits(rankedIds, 42L, new ProductSearchFacets()));
+            when(productPersistencePort.findByIdIn(rankedIds)).thenReturn(List.of(second, best));
+            when(stockPersistencePort.findByProductIdIn(rankedIds)).thenReturn(List.of());
+
+            // When
+            ProductSearchResponse result = productSearchService.searchProducts(request);
+
+            // Then
+            assertEquals(2, result.getProducts().size());
+            assertEquals(best.getProductId(), result.getProducts().get(0).getProductId());
+            assertEquals(second.getProductId(), result.getProducts().get(1).getProductId());
+            assertEquals(42L, result.getTotalElements());
+            verify(productPersistencePort, never()).searchByKeyword(anyString(), anyInt(), anyInt());
+            verify(productPersistencePort, never()).countSearchResults(anyString());
+        }
+
+        @Test
+        @DisplayName("Should return index totals and facets for combined filters")
+        void shouldReturnIndexTotalsAndFacetsForCombinedFilters() {
+            // Given
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setCategory("Smartphones");
+            request.setBrand("Apple");
+            request.setMaxPrice(new BigDecimal("40000"));
+            request.setInStockOnly(true);
+            request.setPage(1);
+            request.setSize(1);
+
+            Product product = Product.createIPhone17Pro();
+            List<String> pageIds = List.of(product.getProductId());
+            ProductSearchFacets facets = new ProductSearchFacets(
+                Map.of("Smartphones", 2L), Map.of("Apple", 2L, "Samsung", 1L),
+                Map.of("30000-49999", 2L), Map.of(ProductSearchFacets.StockState.IN_STOCK, 2L));
+
+            when(productSearchIndexPort.isReady()).thenReturn(true);
+            when(productSearchIndexPort.facetedSearch(request))
+                .thenReturn(new ProductSearchIndexPort.FacetedSearchHits(pageIds, 2L, facets));
+            when(productPersistencePort.findByIdIn(pageIds)).thenReturn(List.of(product));
+            when(stockPersistencePort.findByProductIdIn(pageIds))
+                .thenReturn(List.of(Stock.create(product.getProductId(), 50, 10, "台北倉庫")));
+
+            // When
+            ProductSearchResponse result = productSearchService.searchProducts(request);
+
+            // Then
+            assertEquals(1, result.getProducts().size());
+            assertEquals(2L, result.getTotalElements());
+            assertEquals(2, result.getTotalPages());
+            assertSame(facets, result.getFacets());
+            verify(productPersistencePort, never()).findByCategory(anyString(), anyInt(), anyInt());
+            verify(productPersistencePort, never()).findByBrand(anyString());
+        }
+
         @Test
         @DisplayName("Should search products by category successfully")
         void shouldSearchProductsByCategorySuccessfully() {
@@ -175,7 +255,7 @@ class ProductSearchServiceTest {
 
             when(productPersistencePort.findByCategory("Smartphones", 0, 10)).thenReturn(products);
             when(productPersistencePort.countByCategory("Smartphones")).thenReturn(1L);
-            when(stockPersistencePort.findByProductId(product.getProductId())).thenReturn(Optional.empty());
+            when(stockPersistencePort.findByProductIdIn(List.of(product.getProductId()))).thenReturn(List.of());
 
             // When
             ProductSearchResponse result = productSearchService.searchProducts(request);
@@ -207,8 +287,8 @@ class ProductSearchServiceTest {
 
             when(productPersistencePort.searchByKeyword("iPhone", 0, 10)).thenReturn(products);
             when(productPersistencePort.countSearchResults("iPhone")).thenReturn(2L);
-            when(stockPersistencePort.findByProductId(product1.getProductId())).thenReturn(Optional.of(stock1));
-            when(stockPersistencePort.findByProductId(product2.getProductId())).thenReturn(Optional.of(stock2));
+            when(stockPersistencePort.findByProductIdIn(List.of(product1.getProductId(), product2.getProductId())))
+                .thenReturn(List.of(stock1, stock2));
 
             // When
             ProductSearchResponse result = productSearchService.searchProducts(request);
@@ -374,7 +454,7 @@ class ProductSearchServiceTest {
             Stock stock = Stock.create(iPhoneProduct.getProductId(), 50, 10, "台北倉庫");
 
             when(productPersistencePort.findByBrandAndModel("Apple", "iPhone 17 Pro")).thenReturn(featuredProducts);
-            when(stockPersistencePort.findByProductId(iPhoneProduct.getProductId())).thenReturn(Optional.of(stock));
+            when(stockPersistencePort.findByProductIdIn(List.of(iPhoneProduct.getProductId()))).thenReturn(List.of(stock));
 
             // When
             List<ProductDto> result = productSearchService.getFeaturedProducts();
@@ -396,7 +476,7 @@ class ProductSearchServiceTest {
             List<Product> products = Arrays.asList(product);
 
             when(productPersistencePort.findByCategory(category, 0, limit)).thenReturn(products);
-            when(stockPersistencePort.findByProductId(product.getProductId())).thenReturn(Optional.empty());
+            when(stockPersistencePort.findByProductIdIn(List.of(product.getProductId()))).thenReturn(List.of());
 
             // When
             List<ProductDto> result = productSearchService.getProductSuggestions(category, limit);
@@ -416,7 +496,7 @@ class ProductSearchServiceTest {
             List<Product> featuredProducts = Arrays.asList(iPhoneProduct);
 
             when(productPersistencePort.findByBrandAndModel("Apple", "iPhone 17 Pro")).thenReturn(featuredProducts);
-            when(stockPersistencePort.findByProductId(iPhoneProduct.getProductId())).thenReturn(Optional.empty());
+            when(stockPersistencePort.findByProductIdIn(List.of(iPhoneProduct.getProductId()))).thenReturn(List.of());
 
             // When
             List<ProductDto> result = productSearchService.getProductSuggestions(null, limit);
@@ -467,7 +547,7 @@ class ProductSearchServiceTest {
 
             when(productPersistencePort.findByStatus(ProductStatus.AVAILABLE, page, size)).thenReturn(products);
             when(productPersistencePort.countByStatus(ProductStatus.AVAILABLE)).thenReturn(1L);
-            when(stockPersistencePort.findByProductId(product.getProductId())).thenReturn(Optional.of(stock));
+            when(stockPersistencePort.findByProductIdIn(List.of(product.getProductId()))).thenReturn(List.of(stock));
 
             // When
             ProductSearchResponse result = productSearchService.getAvailableProducts(page, size);
@@ -476,8 +556,85 @@ class ProductSearchServiceTest {
             assertNotNull(result);
             assertEquals(1, result.getProducts().size());
             assertTrue(result.getProducts().get(0).isInStock());
-            assertEquals(1L, result.getTotalCount());
+            assertEquals(1L, result.getTotalElements());
             verify(productPersistencePort).findByStatus(ProductStatus.AVAILABLE, page, size);
         }
     }
+    @Nested
+    @DisplayName("Cursor Pagination Tests")
+    class CursorPaginationTests {
+
+        @Test
+        @DisplayName("Should return a next cursor when more products follow the page")
+        void shouldReturnNextCursorWhenMoreProductsFollow() {
+            // Given
+            List<Product> products = List.of(product("PROD-1"), product("PROD-2"), product("PROD-3"));
+            when(productPersistencePort.findByCategoryAfter("Smartphones", null, 3)).thenReturn(products);
+            when(stockPersistencePort.findByProductIdIn(List.of("PROD-1", "PROD-2"))).thenReturn(List.of());
+
+            // When
+            CursorPage<ProductDto> page = productSearchService.getProductsByCategory("Smartphones", null, 2, false);
+
+            // Then
+            assertEquals(List.of("PROD-1", "PROD-2"), page.getItems().stream().map(ProductDto::getProductId).toList());
+            assertTrue(page.isHasNext());
+            assertEquals(PageCursor.of("PROD-2").encode(), page.getNextCursor());
+            assertNull(page.getTotalEstimate());
+            verify(productPersistencePort, never()).countByCategory(anyString());
+        }
+
+        @Test
+        @DisplayName("Should resume after the cursor position and stop on the last page")
+        void shouldResumeAfterCursorPosition() {
+            // Given
+            String cursor = PageCursor.of("PROD-2").encode();
+            when(productPersistencePort.findByCategoryAfter("Smartphones", "PROD-2", 3)).thenReturn(List.of(product("PROD-3")));
+            when(stockPersistencePort.findByProductIdIn(List.of("PROD-3"))).thenReturn(List.of());
+            when(productPersistencePort.countByCategory("Smartphones")).thenReturn(3L);
+
+            // When
+            CursorPage<ProductDto> page = productSearchService.getProductsByCategory("Smartphones", cursor, 2, true);
+
+            // Then
+            assertEquals(1, page.getItems().size());
+            assertFalse(page.isHasNext());
+            assertNull(page.getNextCursor());
+            assertEquals(3L, page.getTotalEstimate());
+        }
+
+        @Test
+        @DisplayName("Should keep seeking past out-of-stock products to fill an available page")
+        void shouldSeekPastOutOfStockProducts() {
+            // Given
+            when(productPersistencePort.findByStatusAfter(ProductStatus.AVAILABLE, null, 2))
+                .thenReturn(List.of(product("PROD-1"), product("PROD-2")));
+            when(productPersistencePort.findByStatusAfter(ProductStatus.AVAILABLE, "PROD-2", 2))
+                .thenReturn(List.of(product("PROD-3")));
+            when(stockPersistencePort.findByProductIdIn(List.of("PROD-1", "PROD-2")))
+                .thenReturn(List.of(Stock.create("PROD-1", 0, 10, "台北倉庫"), Stock.create("PROD-2", 0, 10, "台北倉庫")));
+            when(stockPersistencePort.findByProductIdIn(List.of("PROD-3")))
+                .thenReturn(List.of(Stock.create("PROD-3", 20, 10, "台北倉庫")));
+
+            // When
+            CursorPage<ProductDto> page = productSearchService.getAvailableProducts(null, 1, false);
+
+            // Then
+            assertEquals(List.of("PROD-3"), page.getItems().stream().map(ProductDto::getProductId).toList());
+            assertFalse(page.isHasNext());
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void shouldRejectMalformedCursor() {
+            // When & Then
+            assertThrows(ValidationException.class, () ->
+                productSearchService.getProductsByCategory("Smartphones", "not-a-cursor", 20, false));
+            verifyNoInteractions(productPersistencePort);
+        }
+    }
+
+    private static Product product(String productId) {
+        return Product.reconstitute(productId, "Product " + productId, "Description", "Smartphones",
+            new BigDecimal("1000"), "Apple", productId, ProductStatus.AVAILABLE, null, null, LocalDateTime.now());
+    }
 }
\ No newline at end of file
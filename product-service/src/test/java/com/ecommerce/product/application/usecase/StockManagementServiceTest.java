@@ -1,5 +1,6 @@
 package com.ecommerce.product.application.usecase;
 
+import com.ecommerce.product.application.dto.StockBatchReservationResponse;
 import com.ecommerce.product.application.dto.StockDto;
 import com.ecommerce.product.application.dto.StockReservationRequest;
 import com.ecommerce.product.application.dto.StockUpdateRequest;
@@ -8,6 +9,7 @@ import com.ecommerce.product.application.port.out.ProductPersistencePort;
 import com.ecommerce.product.application.port.out.StockPersistencePort;
 import com.ecommerce.product.domain.exception.StockNotFoundException;
 import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.ProductStatus;
 import com.ecommerce.product.domain.model.Stock;
 import com.ecommerce.product.domain.service.StockDomainService;
 import org.junit.jupiter.api.BeforeEach;
@@ -309,12 +311,10 @@ class StockManagementServiceTest {
             Stock stock1 = Stock.create("PROD-123", 5, 10, "台北倉庫");
             Stock stock2 = Stock.create("PROD-124", 8, 10, "台北倉庫");
             List<Stock> lowStockItems = Arrays.asList(stock1, stock2);
-            Product product1 = Product.createIPhone17Pro();
-            Product product2 = Product.createIPhone17Pro();
 
             when(stockDomainService.getProductsNeedingRestock()).thenReturn(lowStockItems);
-            when(productPersistencePort.findById("PROD-123")).thenReturn(Optional.of(product1));
-            when(productPersistencePort.findById("PROD-124")).thenReturn(Optional.of(product2));
+            when(productPersistencePort.findByIdIn(List.of("PROD-123", "PROD-124")))
+                .thenReturn(List.of(availableProduct("PROD-123"), availableProduct("PROD-124")));
 
             // When
             List<StockDto> result = stockManagementService.getLowStockProducts();
@@ -323,6 +323,7 @@ class StockManagementServiceTest {
             assertNotNull(result);
             assertEquals(2, result.size());
             verify(stockDomainService).getProductsNeedingRestock();
+            verify(productPersistencePort, never()).findById(anyString());
         }
 
         @Test
@@ -331,10 +332,10 @@ class StockManagementServiceTest {
             // Given
             Stock stock = Stock.create("PROD-123", 0, 10, "台北倉庫");
             List<Stock> outOfStockItems = Arrays.asList(stock);
-            Product product = Product.createIPhone17Pro();
 
             when(stockDomainService.getOutOfStockProducts()).thenReturn(outOfStockItems);
-            when(productPersistencePort.findById("PROD-123")).thenReturn(Optional.of(product));
+            when(productPersistencePort.findByIdIn(List.of("PROD-123")))
+                .thenReturn(List.of(availableProduct("PROD-123")));
 
             // When
             List<StockDto> result = stockManagementService.getOutOfStockProducts();
@@ -367,8 +368,8 @@ class StockManagementServiceTest {
             Product product2 = Product.createIPhone17Pro();
 
             when(stockDomainService.bulkReserveStock(anyList())).thenReturn(updatedStocks);
-            when(productPersistencePort.findById("PROD-123")).thenReturn(Optional.of(product1));
-            when(productPersistencePort.findById("PROD-124")).thenReturn(Optional.of(product2));
+            when(productPersistencePort.findByIdIn(List.of("PROD-123", "PROD-124")))
+                .thenReturn(List.of(product1, product2));
 
             // When
             List<StockDto> result = stockManagementService.bulkReserveStock(requests);
@@ -377,6 +378,91 @@ class StockManagementServiceTest {
             assertNotNull(result);
             assertEquals(2, result.size());
             verify(stockDomainService).bulkReserveStock(anyList());
+            verify(productPersistencePort, never()).findById(anyString());
+        }
+
+        @Test
+        @DisplayName("Should check and reserve a whole cart in one batch")
+        void shouldCheckAndReserveWholeCartInOneBatch() {
+            // Given
+            List<StockReservationRequest> requests = List.of(
+                new StockReservationRequest("PROD-123", 10),
+                new StockReservationRequest("PROD-124", 5));
+
+            Stock stock1 = Stock.create("PROD-123", 50, 10, "台北倉庫");
+            Stock stock2 = Stock.create("PROD-124", 30, 10, "台北倉庫");
+
+            when(productPersistencePort.findByIdIn(List.of("PROD-123", "PROD-124")))
+                .thenReturn(List.of(availableProduct("PROD-123"), availableProduct("PROD-124")));
+            when(stockDomainService.tryBulkReserveStock(anyList()))
+                .thenReturn(StockDomainService.BulkReservationResult.reserved(List.of(stock1, stock2)));
+
+            // When
+            StockBatchReservationResponse result = stockManagementService.checkAndReserveStock(requests);
+
+            // Then
+            assertTrue(result.isReserved());
+            assertEquals(2, result.getStocks().size());
+            assertEquals("iPhone 17 Pro", result.getStocks().get(0).getProductName());
+            verify(productPersistencePort, never()).findById(anyString());
+        }
+
+        @Test
+        @DisplayName("Should reserve nothing when any product is unavailable")
+        void shouldReserveNothingWhenAnyProductIsUnavailable() {
+            // Given
+            List<StockReservationRequest> requests = List.of(
+                new StockReservationRequest("PROD-123", 10),
+                new StockReservationRequest("PROD-999", 1));
+
+            when(productPersistencePort.findByIdIn(List.of("PROD-123", "PROD-999")))
+                .thenReturn(List.of(availableProduct("PROD-123")));
+
+            // When
+            StockBatchReservationResponse result = stockManagementService.checkAndReserveStock(requests);
+
+            // Then
+            assertFalse(result.isReserved());
+            assertEquals(1, result.getUnavailableItems().size());
+            assertEquals("PROD-999", result.getUnavailableItems().get(0).getProductId());
+            assertEquals(StockBatchReservationResponse.UnavailableReason.PRODUCT_UNAVAILABLE,
+                         result.getUnavailableItems().get(0).getReason());
+            verify(stockDomainService, never()).tryBulkReserveStock(anyList());
+        }
+
+        @Test
+        @DisplayName("Should report every stock shortfall when batch reservation is rejected")
+        void shouldReportEveryStockShortfall() {
+            // Given
+            List<StockReservationRequest> requests = List.of(
+                new StockReservationRequest("PROD-123", 100),
+                new StockReservationRequest("PROD-124", 5));
+
+            when(productPersistencePort.findByIdIn(List.of("PROD-123", "PROD-124")))
+                .thenReturn(List.of(availableProduct("PROD-123"), availableProduct("PROD-124")));
+            when(stockDomainService.tryBulkReserveStock(anyList()))
+                .thenReturn(StockDomainService.BulkReservationResult.rejected(List.of(
+                    new StockDomainService.StockShortfall("PROD-123", 100, 50, false),
+                    new StockDomainService.StockShortfall("PROD-124", 5, 0, true))));
+
+            // When
+            StockBatchReservationResponse result = stockManagementService.checkAndReserveStock(requests);
+
+            // Then
+            assertFalse(result.isReserved());
+            assertTrue(result.getStocks().isEmpty());
+            assertEquals(StockBatchReservationResponse.UnavailableReason.INSUFFICIENT_STOCK,
+                         result.getUnavailableItems().get(0).getReason());
+            assertEquals(50, result.getUnavailableItems().get(0).getAvailableQuantity());
+            assertEquals(StockBatchReservationResponse.UnavailableReason.STOCK_NOT_FOUND,
+                         result.getUnavailableItems().get(1).getReason());
+        }
+
+        private Product availableProduct(String productId) {
+            Product template = Product.createIPhone17Pro();
+            return Product.reconstitute(productId, template.getName(), template.getDescription(),
+                template.getCategory(), template.getPrice(), template.getBrand(), template.getModel(),
+                ProductStatus.AVAILABLE, template.getSpecifications(), null, template.getLaunchDate());
         }
 
         @Test
@@ -513,12 +599,10 @@ class StockManagementServiceTest {
             Stock stock1 = Stock.create("PROD-123", 50, 10, warehouseLocation);
             Stock stock2 = Stock.create("PROD-124", 30, 10, warehouseLocation);
             List<Stock> stocks = Arrays.asList(stock1, stock2);
-            Product product1 = Product.createIPhone17Pro();
-            Product product2 = Product.createIPhone17Pro();
 
             when(stockPersistencePort.findByWarehouseLocation(warehouseLocation)).thenReturn(stocks);
-            when(productPersistencePort.findById("PROD-123")).thenReturn(Optional.of(product1));
-            when(productPersistencePort.findById("PROD-124")).thenReturn(Optional.of(product2));
+            when(productPersistencePort.findByIdIn(List.of("PROD-123", "PROD-124")))
+                .thenReturn(List.of(availableProduct("PROD-123"), availableProduct("PROD-124")));
 
             // When
             List<StockDto> result = stockManagementService.getStockByWarehouse(warehouseLocation);
@@ -1,6 +1,7 @@
 package com.ecommerce.product.domain.service;
 
 import com.ecommerce.product.domain.exception.InsufficientStockException;
+import com.ecommerce.product.domain.exception.StockConcurrencyException;
 import com.ecommerce.product.domain.exception.StockNotFoundException;
 import com.ecommerce.product.domain.model.Stock;
 import com.ecommerce.product.domain.repository.StockRepository;
@@ -22,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 /**
@@ -216,17 +218,16 @@ class StockDomainServiceTest {
             // Given
             String productId = "PROD-123";
             Integer requiredQuantity = 20;
-            Stock stock = Stock.create(productId, 50, 10, "台北倉庫");
-            stock.reserveStock(10); // 40 available
 
-            when(stockRepository.findByProductId(productId)).thenReturn(Optional.of(stock));
+            when(stockRepository.findAvailableQuantityByProductId(productId)).thenReturn(Optional.of(40));
 
             // When
             boolean result = stockDomainService.hasAvailableStock(productId, requiredQuantity);
 
             // Then
             assertTrue(result);
-            verify(stockRepository).findByProductId(productId);
+            verify(stockRepository).findAvailableQuantityByProductId(productId);
+            verify(stockRepository, never()).findByProductId(any());
         }
 
         @Test
@@ -234,17 +235,28 @@ class StockDomainServiceTest {
         void shouldGetAvailableQuantityCorrectly() {
             // Given
             String productId = "PROD-123";
-            Stock stock = Stock.create(productId, 50, 10, "台北倉庫");
-            stock.reserveStock(15); // 35 available
 
-            when(stockRepository.findByProductId(productId)).thenReturn(Optional.of(stock));
+            when(stockRepository.findAvailableQuantityByProductId(productId)).thenReturn(Optional.of(35));
 
             // When
             Integer result = stockDomainService.getAvailableQuantity(productId);
 
             // Then
             assertEquals(35, result);
-            verify(stockRepository).findByProductId(productId);
+            verify(stockRepository).findAvailableQuantityByProductId(productId);
+        }
+
+        @Test
+        @DisplayName("Should treat missing stock as unavailable")
+        void shouldTreatMissingStockAsUnavailable() {
+            // Given
+            String productId = "PROD-999";
+
+            when(stockRepository.findAvailableQuantityByProductId(productId)).thenReturn(Optional.empty());
+
+            // When & Then
+            assertFalse(stockDomainService.hasAvailableStock(productId, 1));
+            assertEquals(0, stockDomainService.getAvailableQuantity(productId));
         }
     }
 
@@ -310,8 +322,8 @@ class StockDomainServiceTest {
             Stock stock1 = Stock.create("PROD-123", 50, 10, "台北倉庫");
             Stock stock2 = Stock.create("PROD-124", 30, 10, "台北倉庫");
 
-            when(stockRepository.findByProductId("PROD-123")).thenReturn(Optional.of(stock1));
-            when(stockRepository.findByProductId("PROD-124")).thenReturn(Optional.of(stock2));
+            when(stockRepository.findByProductIdIn(List.of("PROD-123", "PROD-124")))
+                .thenReturn(Arrays.asList(stock1, stock2));
             when(stockRepository.saveAll(anyList())).thenReturn(Arrays.asList(stock1, stock2));
 
             // When
@@ -320,7 +332,11 @@ class StockDomainServiceTest {
             // Then
             assertNotNull(result);
             assertEquals(2, result.size());
+            assertEquals(10, stock1.getReservedQuantity());
+            assertEquals(5, stock2.getReservedQuantity());
+            verify(stockRepository).findByProductIdIn(anyList());
             verify(stockRepository).saveAll(anyList());
+            verify(stockRepository, never()).findByProductId(any());
         }
 
         @Test
@@ -335,14 +351,185 @@ class StockDomainServiceTest {
 
             Stock stock1 = Stock.create("PROD-123", 50, 10, "台北倉庫");
 
-            when(stockRepository.findByProductId("PROD-123")).thenReturn(Optional.of(stock1));
-            when(stockRepository.findByProductId("PROD-999")).thenReturn(Optional.empty());
+            when(stockRepository.findByProductIdIn(List.of("PROD-123", "PROD-999")))
+                .thenReturn(List.of(stock1));
 
             // When & Then
             StockNotFoundException exception = assertThrows(StockNotFoundException.class, () ->
                 stockDomainService.bulkReserveStock(requests)
             );
             verify(stockRepository, never()).saveAll(anyList());
+            assertEquals(0, stock1.getReservedQuantity());
+        }
+
+        @Test
+        @DisplayName("Should validate merged demand for duplicate product lines")
+        void shouldValidateMergedDemandForDuplicateProductLines() {
+            // Given
+            List<StockDomainService.StockReservationRequest> requests = List.of(
+                new StockDomainService.StockReservationRequest("PROD-123", 30),
+                new StockDomainService.StockReservationRequest("PROD-123", 30));
+            Stock stock = Stock.create("PROD-123", 50, 10, "台北倉庫");
+
+            when(stockRepository.findByProductIdIn(List.of("PROD-123"))).thenReturn(List.of(stock));
+
+            // When
+            StockDomainService.BulkReservationResult result = stockDomainService.tryBulkReserveStock(requests);
+
+            // Then
+            assertFalse(result.isReserved());
+            assertEquals(60, result.getShortfalls().get(0).getRequestedQuantity());
+            assertEquals(50, result.getShortfalls().get(0).getAvailableQuantity());
+            verify(stockRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Should bulk release merged reservations in one batched write")
+        void shouldBulkReleaseMergedReservations() {
+            // Given
+            List<StockDomainService.StockReservationRequest> requests = List.of(
+                new StockDomainService.StockReservationRequest("PROD-123", 3),
+                new StockDomainService.StockReservationRequest("PROD-124", 2),
+                new StockDomainService.StockReservationRequest("PROD-123", 4));
+            Stock stock1 = Stock.create("PROD-123", 50, 10, "台北倉庫");
+            stock1.reserveStock(10);
+            Stock stock2 = Stock.create("PROD-124", 30, 10, "台北倉庫");
+            stock2.reserveStock(5);
+
+            when(stockRepository.findByProductIdIn(List.of("PROD-123", "PROD-124")))
+                .thenReturn(Arrays.asList(stock1, stock2));
+            when(stockRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            List<Stock> result = stockDomainService.bulkReleaseReservation(requests);
+
+            // Then
+            assertEquals(2, result.size());
+            assertEquals(3, stock1.getReservedQuantity());
+            assertEquals(3, stock2.getReservedQuantity());
+            verify(stockRepository).saveAll(anyList());
+            verify(stockRepository, never()).findByProductId(any());
+        }
+
+        @Test
+        @DisplayName("Should release only what is still reserved and skip missing stock")
+        void shouldReleaseOnlyRemainingReservationAndSkipMissingStock() {
+            // Given
+            List<StockDomainService.StockReservationRequest> requests = List.of(
+                new StockDomainService.StockReservationRequest("PROD-123", 8),
+                new StockDomainService.StockReservationRequest("PROD-999", 1));
+            Stock stock = Stock.create("PROD-123", 50, 10, "台北倉庫");
+            stock.reserveStock(5);
+
+            when(stockRepository.findByProductIdIn(List.of("PROD-123", "PROD-999"))).thenReturn(List.of(stock));
+            when(stockRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            List<Stock> result = stockDomainService.bulkReleaseReservation(requests);
+
+            // Then
+            assertEquals(1, result.size());
+            assertEquals(0, stock.getReservedQuantity());
+        }
+    }
+
+    @Nested
+    @DisplayName("Atomic Reservation Tests")
+    class AtomicReservationTests {
+
+        private StockDomainService atomicService;
+
+        @BeforeEach
+        void setUp() {
+            atomicService = new StockDomainService(stockRepository, true, 3);
+        }
+
+        @Test
+        @DisplayName("Should reserve stock with a single conditional update")
+        void shouldReserveStockWithConditionalUpdate() {
+            // Given
+            String productId = "PROD-123";
+            Stock reserved = Stock.create(productId, 50, 10, "台北倉庫");
+            reserved.reserveStock(10);
+
+            when(stockRepository.reserveIfAvailable(productId, 10)).thenReturn(true);
+            when(stockRepository.findByProductId(productId)).thenReturn(Optional.of(reserved));
+
+            // When
+            Stock result = atomicService.reserveStock(productId, 10);
+
+            // Then
+            assertEquals(10, result.getReservedQuantity());
+            verify(stockRepository).reserveIfAvailable(productId, 10);
+            verify(stockRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should report insufficient stock when conditional update matches no row")
+        void shouldReportInsufficientStockWhenConditionalUpdateFails() {
+            // Given
+            String productId = "PROD-123";
+            Stock stock = Stock.create(productId, 5, 1, "台北倉庫");
+
+            when(stockRepository.reserveIfAvailable(productId, 10)).thenReturn(false);
+            when(stockRepository.findByProductId(productId)).thenReturn(Optional.of(stock));
+
+            // When & Then
+            InsufficientStockException exception = assertThrows(InsufficientStockException.class, () ->
+                atomicService.reserveStock(productId, 10)
+            );
+            assertEquals(5, exception.getAvailableQuantity());
+            verify(stockRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should report missing stock when conditional update matches no row")
+        void shouldReportMissingStockWhenConditionalUpdateFails() {
+            // Given
+            String productId = "PROD-999";
+
+            when(stockRepository.reserveIfAvailable(productId, 1)).thenReturn(false);
+            when(stockRepository.findByProductId(productId)).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThrows(StockNotFoundException.class, () -> atomicService.reserveStock(productId, 1));
+        }
+
+        @Test
+        @DisplayName("Should retry optimistic reservation after concurrent modification")
+        void shouldRetryOptimisticReservationAfterConcurrentModification() {
+            // Given
+            String productId = "PROD-123";
+            when(stockRepository.findByProductId(productId))
+                .thenAnswer(invocation -> Optional.of(Stock.create(productId, 50, 10, "台北倉庫")));
+            when(stockRepository.save(any(Stock.class)))
+                .thenThrow(new StockConcurrencyException(productId, new RuntimeException("stale")))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            Stock result = stockDomainService.reserveStockOptimistically(productId, 10);
+
+            // Then
+            assertEquals(10, result.getReservedQuantity());
+            verify(stockRepository, times(2)).findByProductId(productId);
+            verify(stockRepository, times(2)).save(any(Stock.class));
+        }
+
+        @Test
+        @DisplayName("Should give up optimistic reservation after max attempts")
+        void shouldGiveUpOptimisticReservationAfterMaxAttempts() {
+            // Given
+            String productId = "PROD-123";
+            when(stockRepository.findByProductId(productId))
+                .thenAnswer(invocation -> Optional.of(Stock.create(productId, 50, 10, "台北倉庫")));
+            when(stockRepository.save(any(Stock.class)))
+                .thenThrow(new StockConcurrencyException(productId, new RuntimeException("stale")));
+
+            // When & Then
+            assertThrows(StockConcurrencyException.class, () ->
+                atomicService.reserveStockOptimistically(productId, 10)
+            );
+            verify(stockRepository, times(3)).save(any(Stock.class));
         }
     }
 
@@ -0,0 +1,154 @@
+package com.ecommerce.product.infrastructure.adapter.persistence;
+
+import com.ecommerce.product.application.dto.ProductSearchRequest;
+import com.ecommerce.product.application.dto.ProductSearchResponse;
+import com.ecommerce.product.application.port.in.ProductSearchUseCase;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.infrastructure.adapter.external.NotificationAdapter;
+import com.ecommerce.product.infrastructure.adapter.persistence.entity.ProductJpaEntity;
+import com.ecommerce.product.infrastructure.adapter.persistence.entity.StockJpaEntity;
+import com.ecommerce.product.infrastructure.adapter.search.ProductSearchIndexAdapter;
+import com.ecommerce.product.infrastructure.config.ProductConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-count harness for product search served from the inverted index
+ * The index is rebuilt after every seeding step so each search has hits to load,
+ * and the page must be loaded with a constant number of statements however many products match
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.product.search.inverted-index.enabled=true"
+})
+@Import({ProductJpaAdapter.class, StockJpaAdapter.class, NotificationAdapter.class, ProductSearchIndexAdapter.class,
+         ProductConfig.class, ProductIndexedSearchQueryCountTest.TestConfig.class})
+@DisplayName("Indexed Product Search Query Count Tests")
+class ProductIndexedSearchQueryCountTest {
+
+    private static final int SMALL_CATALOG = 5;
+    private static final int LARGE_CATALOG = 60;
+    private static final int PAGE_SIZE = 100;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductSearchUseCase productSearchUseCase;
+
+    @Autowired
+    private ProductSearchIndexAdapter productSearchIndexAdapter;
+
+    private Statistics statistics;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        seeded = 0;
+    }
+
+    @Test
+    @DisplayName("Indexed keyword search should load every hit with constant statements")
+    void indexedKeywordSearchShouldRunConstantStatements() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setKeyword("Phone");
+        request.setPage(0);
+        request.setSize(PAGE_SIZE);
+
+        assertConstantStatementCount(() -> productSearchUseCase.searchProducts(request));
+    }
+
+    @Test
+    @DisplayName("Indexed category search should load every hit with constant statements")
+    void indexedCategorySearchShouldRunConstantStatements() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategory("Smartphones");
+        request.setPage(0);
+        request.setSize(PAGE_SIZE);
+
+        assertConstantStatementCount(() -> productSearchUseCase.searchProducts(request));
+    }
+
+    @Test
+    @DisplayName("Indexed in-stock search should load every hit with constant statements")
+    void indexedInStockSearchShouldRunConstantStatements() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setInStockOnly(true);
+        request.setPage(0);
+        request.setSize(PAGE_SIZE);
+
+        assertConstantStatementCount(() -> productSearchUseCase.searchProducts(request));
+    }
+
+    /**
+     * Runs the search against a small and a large catalog, checks every seeded product came back
+     * and that the statement count stayed the same
+     */
+    private void assertConstantStatementCount(Supplier<ProductSearchResponse> search) {
+        seedCatalogUpTo(SMALL_CATALOG);
+        long smallCatalogStatements = countStatements(search, SMALL_CATALOG);
+
+        seedCatalogUpTo(LARGE_CATALOG);
+        long largeCatalogStatements = countStatements(search, LARGE_CATALOG);
+
+        assertTrue(smallCatalogStatements > 0, "indexed search should load its hits from the database");
+        assertEquals(smallCatalogStatements, largeCatalogStatements,
+            "statement count grew with result size: " + SMALL_CATALOG + " products -> " + smallCatalogStatements
+                + ", " + LARGE_CATALOG + " products -> " + largeCatalogStatements);
+    }
+
+    private long countStatements(Supplier<ProductSearchResponse> search, int expectedHits) {
+        entityManager.clear();
+        statistics.clear();
+        ProductSearchResponse response = search.get();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(expectedHits, response.getProducts().size(), "index should return every seeded product");
+        return statements;
+    }
+
+    private void seedCatalogUpTo(int size) {
+        for (; seeded < size; seeded++) {
+            String productId = String.format("PROD-IX-%03d", seeded);
+            entityManager.persist(new ProductJpaEntity(productId, "Phone " + seeded, "Test phone " + seeded,
+                "Smartphones", new BigDecimal("29900.00"), "Apple", "Model " + seeded, ProductStatus.AVAILABLE,
+                "Test specifications", null, LocalDateTime.now()));
+            entityManager.persist(new StockJpaEntity("STOCK-IX-" + seeded, productId, 50, 0,
+                10, 1_000, "台北倉庫", null, null));
+        }
+        entityManager.flush();
+
+        // The index only knows what was in the catalog when it was built
+        productSearchIndexAdapter.rebuild();
+    }
+}
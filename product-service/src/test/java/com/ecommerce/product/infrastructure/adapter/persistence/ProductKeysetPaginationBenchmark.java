@@ -0,0 +1,159 @@
+package com.ecommerce.product.infrastructure.adapter.persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing offset pagination with keyset pagination for the available products listing
+ * The offset pair runs the page and count SQL Hibernate generates for ProductJpaRepository.findByStatus(status, Pageable)
+ * The keyset side runs the single look-ahead query behind findByStatusAndProductIdGreaterThanOrderByProductIdAsc
+ * Offset latency grows with the page number while keyset latency stays flat
+ * Run with: ./gradlew :product-service:jmhProductPagination
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductKeysetPaginationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int CATALOG_SIZE = 250_000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private static final String OFFSET_PAGE_SQL =
+        "SELECT product_id, name, price FROM products WHERE status = 'AVAILABLE' ORDER BY product_id LIMIT ? OFFSET ?";
+    private static final String COUNT_SQL =
+        "SELECT COUNT(*) FROM products WHERE status = 'AVAILABLE'";
+    private static final String KEYSET_PAGE_SQL =
+        "SELECT product_id, name, price FROM products WHERE status = 'AVAILABLE' AND product_id > ? " +
+        "ORDER BY product_id LIMIT ?";
+
+    @Param({"1", "100", "1000", "10000"})
+    public int page;
+
+    private Connection connection;
+    private PreparedStatement offsetStatement;
+    private PreparedStatement countStatement;
+    private PreparedStatement keysetStatement;
+    private String cursorProductId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:product_pagination_" + page + ";DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE products (product_id VARCHAR(64) PRIMARY KEY, name VARCHAR(255), " +
+                        "price DECIMAL(10, 2), status VARCHAR(20))");
+            ddl.execute("CREATE INDEX idx_product_status ON products (status, product_id)");
+        }
+
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO products (product_id, name, price, status) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < CATALOG_SIZE; i++) {
+                insert.setString(1, String.format("PROD-%08d", i));
+                insert.setString(2, "Product " + i);
+                insert.setBigDecimal(3, new BigDecimal(1000 + random.nextInt(50_000)));
+                // A few discontinued products keep the status filter selective like the real catalog
+                insert.setString(4, random.nextInt(20) == 0 ? "DISCONTINUED" : "AVAILABLE");
+                insert.addBatch();
+                if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        // The cursor a client would hold after walking to the requested page
+        cursorProductId = page == 1 ? "" : availableProductIds().get((page - 1) * PAGE_SIZE - 1);
+
+        offsetStatement = connection.prepareStatement(OFFSET_PAGE_SQL);
+        countStatement = connection.prepareStatement(COUNT_SQL);
+        keysetStatement = connection.prepareStatement(KEYSET_PAGE_SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void offsetPageWithCount(Blackhole blackhole) throws SQLException {
+        offsetStatement.setInt(1, PAGE_SIZE);
+        offsetStatement.setInt(2, (page - 1) * PAGE_SIZE);
+        consumeRows(offsetStatement, blackhole);
+
+        try (ResultSet count = countStatement.executeQuery()) {
+            count.next();
+            blackhole.consume(count.getLong(1));
+        }
+    }
+
+    @Benchmark
+    public void keysetPage(Blackhole blackhole) throws SQLException {
+        keysetStatement.setString(1, cursorProductId);
+        keysetStatement.setInt(2, PAGE_SIZE + 1);
+        consumeRows(keysetStatement, blackhole);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ProductKeysetPaginationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    private List<String> availableProductIds() throws SQLException {
+        List<String> productIds = new ArrayList<>(CATALOG_SIZE);
+        try (Statement query = connection.createStatement();
+             ResultSet rows = query.executeQuery(
+                 "SELECT product_id FROM products WHERE status = 'AVAILABLE' ORDER BY product_id")) {
+            while (rows.next()) {
+                productIds.add(rows.getString(1));
+            }
+        }
+        return productIds;
+    }
+
+    private static void consumeRows(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getString(1));
+                blackhole.consume(rows.getBigDecimal(3));
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecommerce.product.infrastructure.adapter.persistence;
+
+import com.ecommerce.product.application.dto.ProductSearchRequest;
+import com.ecommerce.product.application.port.in.ProductSearchUseCase;
+import com.ecommerce.product.application.port.in.StockManagementUseCase;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.infrastructure.adapter.external.NotificationAdapter;
+import com.ecommerce.product.infrastructure.adapter.persistence.entity.ProductJpaEntity;
+import com.ecommerce.product.infrastructure.adapter.persistence.entity.StockJpaEntity;
+import com.ecommerce.product.infrastructure.adapter.search.ProductSearchIndexAdapter;
+import com.ecommerce.product.infrastructure.config.ProductConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-count harness for the product search endpoints
+ * Uses Hibernate statistics to prove each search issues a constant number of statements
+ * regardless of how many products end up on the page
+ * The inverted index is disabled so searchProducts stays on the database path;
+ * the indexed path is covered by {@link ProductIndexedSearchQueryCountTest}
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.product.search.inverted-index.enabled=false"
+})
+@Import({ProductJpaAdapter.class, StockJpaAdapter.class, NotificationAdapter.class, ProductSearchIndexAdapter.class,
+         ProductConfig.class, ProductSearchQueryCountTest.TestConfig.class})
+@DisplayName("Product Search Query Count Tests")
+class ProductSearchQueryCountTest {
+
+    private static final int SMALL_CATALOG = 5;
+    private static final int LARGE_CATALOG = 60;
+    private static final int PAGE_SIZE = 100;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductSearchUseCase productSearchUseCase;
+
+    @Autowired
+    private StockManagementUseCase stockManagementUseCase;
+
+    private Statistics statistics;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        seeded = 0;
+    }
+
+    @Test
+    @DisplayName("Keyword search should run constant statements")
+    void keywordSearchShouldRunConstantStatements() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setKeyword("Phone");
+        request.setPage(0);
+        request.setSize(PAGE_SIZE);
+
+        assertConstantStatementCount(() -> productSearchUseCase.searchProducts(request));
+    }
+
+    @Test
+    @DisplayName("Category search should run constant statements")
+    void categorySearchShouldRunConstantStatements() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategory("Smartphones");
+        request.setPage(0);
+        request.setSize(PAGE_SIZE);
+
+        assertConstantStatementCount(
+            () -> productSearchUseCase.searchProducts(request),
+            () -> productSearchUseCase.getProductsByCategory("Smartphones", 0, PAGE_SIZE));
+    }
+
+    @Test
+    @DisplayName("Available product listing should run constant statements")
+    void availableProductListingShouldRunConstantStatements() {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setInStockOnly(true);
+        request.setPage(0);
+        request.setSize(PAGE_SIZE);
+
+        assertConstantStatementCount(
+            () -> productSearchUseCase.searchProducts(request),
+            () -> productSearchUseCase.getAvailableProducts(0, PAGE_SIZE));
+    }
+
+    @Test
+    @DisplayName("Unpaged listings should run constant statements")
+    void unpagedListingsShouldRunConstantStatements() {
+        assertConstantStatementCount(
+            () -> productSearchUseCase.searchByKeyword("Phone"),
+            () -> productSearchUseCase.getAvailableProducts(),
+            () -> productSearchUseCase.getProductsByBrand("Apple"));
+    }
+
+    @Test
+    @DisplayName("Warehouse stock listing should run constant statements")
+    void warehouseStockListingShouldRunConstantStatements() {
+        assertConstantStatementCount(() -> stockManagementUseCase.getStockByWarehouse("台北倉庫"));
+    }
+
+    /**
+     * Runs each endpoint against a small and a large catalog and asserts its statement count did not grow
+     */
+    private void assertConstantStatementCount(Runnable... endpoints) {
+        seedCatalogUpTo(SMALL_CATALOG);
+        long[] smallCatalogStatements = new long[endpoints.length];
+        for (int i = 0; i < endpoints.length; i++) {
+            smallCatalogStatements[i] = countStatements(endpoints[i]);
+        }
+
+        seedCatalogUpTo(LARGE_CATALOG);
+        for (int i = 0; i < endpoints.length; i++) {
+            long largeCatalogStatements = countStatements(endpoints[i]);
+
+            assertTrue(smallCatalogStatements[i] > 0, "endpoint #" + i + " should hit the database");
+            assertEquals(smallCatalogStatements[i], largeCatalogStatements,
+                "endpoint #" + i + " statement count grew with result size: " + SMALL_CATALOG + " products -> "
+                    + smallCatalogStatements[i] + ", " + LARGE_CATALOG + " products -> " + largeCatalogStatements);
+        }
+    }
+
+    private long countStatements(Runnable endpoint) {
+        entityManager.clear();
+        statistics.clear();
+        endpoint.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedCatalogUpTo(int size) {
+        for (; seeded < size; seeded++) {
+            String productId = String.format("PROD-QC-%03d", seeded);
+            entityManager.persist(new ProductJpaEntity(productId, "Phone " + seeded, "Test phone " + seeded,
+                "Smartphones", new BigDecimal("29900.00"), "Apple", "Model " + seeded, ProductStatus.AVAILABLE,
+                "Test specifications", null, LocalDateTime.now()));
+            entityManager.persist(new StockJpaEntity("STOCK-QC-" + seeded, productId, 50, 0,
+                10, 1_000, "台北倉庫", null, null));
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,161 @@
+package com.ecommerce.product.infrastructure.adapter.persistence;
+
+import com.ecommerce.product.domain.exception.InsufficientStockException;
+import com.ecommerce.product.domain.model.Stock;
+import com.ecommerce.product.domain.repository.StockRepository;
+import com.ecommerce.product.domain.service.StockDomainService;
+import com.ecommerce.product.infrastructure.adapter.persistence.entity.StockJpaEntity;
+import com.ecommerce.product.infrastructure.adapter.persistence.repository.StockJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contention benchmark for stock reservations on a single hot product
+ * Hammers one productId from 200 threads and reports reservations/sec and oversell count
+ * for both the atomic conditional update and the optimistic read-modify-write path
+ * Tagged "benchmark" so it stays out of the default test task; run it with {@code gradle benchmarkTest}
+ */
+@DataJpaTest(properties = "spring.datasource.hikari.maximum-pool-size=50")
+@Import(StockJpaAdapter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("benchmark")
+@DisplayName("Stock Reservation Contention Benchmark")
+class StockReservationContentionBenchmarkTest {
+
+    private static final String HOT_PRODUCT_ID = "PROD-FLASH-SALE";
+    private static final int INITIAL_QUANTITY = 1_000;
+    private static final int THREADS = 200;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private StockJpaRepository stockJpaRepository;
+
+    @Autowired
+    private StockJpaAdapter stockJpaAdapter;
+
+    @BeforeEach
+    void setUp() {
+        stockJpaRepository.deleteAll();
+        StockJpaEntity entity = new StockJpaEntity("STOCK-HOT", HOT_PRODUCT_ID, INITIAL_QUANTITY, 0,
+                                                   10, 10_000, "台北倉庫", null, null);
+        stockJpaRepository.saveAndFlush(entity);
+    }
+
+    @Test
+    @DisplayName("Atomic conditional reservation should never oversell under contention")
+    void atomicReservationShouldNeverOversell() throws Exception {
+        BenchmarkResult result = hammer(new StockDomainService(stockRepository(), true, 3));
+        result.print("ATOMIC");
+
+        assertEquals(0, result.oversell());
+        assertEquals(result.reserved(), reservedInDatabase());
+        // Atomic path never loses to a version conflict, so only insufficient stock rejects
+        assertEquals(0, result.conflicts());
+        assertEquals(INITIAL_QUANTITY, result.reserved());
+    }
+
+    @Test
+    @DisplayName("Optimistic reservation should never oversell under contention")
+    void optimisticReservationShouldNeverOversell() throws Exception {
+        BenchmarkResult result = hammer(new StockDomainService(stockRepository(), false, 3));
+        result.print("OPTIMISTIC");
+
+        assertEquals(0, result.oversell());
+        assertEquals(result.reserved(), reservedInDatabase());
+    }
+
+    private BenchmarkResult hammer(StockDomainService service) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger insufficient = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        service.reserveStock(HOT_PRODUCT_ID, 1);
+                        reserved.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        insufficient.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        // Version conflicts after retries and lock timeouts are rejections, not oversells
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long start = System.nanoTime();
+        startGate.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        return new BenchmarkResult(reserved.get(), insufficient.get(), conflicts.get(), elapsedNanos);
+    }
+
+    private int reservedInDatabase() {
+        return stockJpaRepository.findByProductId(HOT_PRODUCT_ID)
+            .map(StockJpaEntity::getReservedQuantity)
+            .orElseThrow();
+    }
+
+    /**
+     * Exposes the adapter through the domain repository interface for the methods the benchmark needs
+     */
+    private StockRepository stockRepository() {
+        return (StockRepository) Proxy.newProxyInstance(
+            StockRepository.class.getClassLoader(),
+            new Class<?>[]{StockRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findByProductId" -> stockJpaAdapter.findByProductId((String) args[0]);
+                case "save" -> stockJpaAdapter.save((Stock) args[0]);
+                case "reserveIfAvailable" -> stockJpaAdapter.reserveIfAvailable((String) args[0], (Integer) args[1]);
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    private record BenchmarkResult(int reserved, int insufficient, int conflicts, long elapsedNanos) {
+
+        int oversell() {
+            return Math.max(0, reserved - INITIAL_QUANTITY);
+        }
+
+        double reservationsPerSecond() {
+            return reserved / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        void print(String mode) {
+            System.out.printf("[%s] threads=%d reserved=%d insufficient=%d conflicts=%d " +
+                              "elapsed=%dms reservations/sec=%.1f oversell=%d%n",
+                              mode, THREADS, reserved, insufficient, conflicts,
+                              TimeUnit.NANOSECONDS.toMillis(elapsedNanos), reservationsPerSecond(), oversell());
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.ecommerce.product.infrastructure.adapter.search;
+
+import com.ecommerce.product.application.dto.ProductSearchFacets;
+import com.ecommerce.product.application.dto.ProductSearchFacets.StockState;
+import com.ecommerce.product.application.dto.ProductSearchRequest;
+import com.ecommerce.product.application.port.out.ProductSearchIndexPort.FacetedSearchHits;
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.domain.model.Stock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProductFacetIndex
+ */
+@DisplayName("Product Facet Index Tests")
+class ProductFacetIndexTest {
+
+    private ProductInvertedIndex keywordIndex;
+    private ProductFacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = List.of(
+            product("PROD-1", "iPhone 17 Pro", "Smartphones", "Apple", "36900", ProductStatus.AVAILABLE),
+            product("PROD-2", "Galaxy S25", "Smartphones", "Samsung", "27900", ProductStatus.AVAILABLE),
+            product("PROD-3", "MagSafe Charger", "Accessories", "Apple", "1490", ProductStatus.AVAILABLE),
+            product("PROD-4", "AirPods Pro", "Audio", "Apple", "7490", ProductStatus.AVAILABLE),
+            product("PROD-5", "iPhone 12", "Smartphones", "Apple", "19900", ProductStatus.DISCONTINUED)
+        );
+        List<Stock> stocks = List.of(
+            Stock.create("PROD-1", 50, 10, "台北倉庫"),
+            Stock.create("PROD-2", 5, 10, "台北倉庫"),
+            Stock.create("PROD-3", 0, 10, "台北倉庫")
+        );
+        keywordIndex = new ProductInvertedIndex();
+        keywordIndex.rebuild(products);
+        facetIndex = new ProductFacetIndex();
+        facetIndex.rebuild(products, stocks);
+    }
+
+    @Nested
+    @DisplayName("Filter Tests")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should list available products by name when no filter is given")
+        void shouldListAvailableProductsByName() {
+            FacetedSearchHits hits = search(new ProductSearchRequest());
+
+            assertEquals(List.of("PROD-4", "PROD-2", "PROD-1", "PROD-3"), hits.getProductIds());
+            assertEquals(4, hits.getTotalHits());
+        }
+
+        @Test
+        @DisplayName("Should combine every filter before pagination")
+        void shouldCombineFiltersBeforePagination() {
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setBrand("apple");
+            request.setInStockOnly(true);
+            request.setSortBy("price");
+            request.setSortDirection("DESC");
+            request.setSize(1);
+
+            FacetedSearchHits firstPage = search(request);
+            request.setPage(1);
+            FacetedSearchHits secondPage = search(request);
+
+            assertEquals(List.of("PROD-1"), firstPage.getProductIds());
+            assertEquals(List.of(), secondPage.getProductIds());
+            assertEquals(1, firstPage.getTotalHits());
+            assertEquals(1, secondPage.getTotalHits());
+        }
+
+        @Test
+        @DisplayName("Should apply price range and status filters")
+        void shouldApplyPriceRangeAndStatus() {
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setMinPrice(new BigDecimal("10000"));
+            request.setMaxPrice(new BigDecimal("30000"));
+            request.setSortBy("price");
+
+            assertEquals(List.of("PROD-2"), search(request).getProductIds());
+
+            request.setStatus(ProductStatus.DISCONTINUED);
+            assertEquals(List.of("PROD-5"), search(request).getProductIds());
+        }
+
+        @Test
+        @DisplayName("Should rank keyword matches by relevance within the filters")
+        void shouldRankKeywordMatchesWithinFilters() {
+            ProductSearchRequest request = new ProductSearchRequest("pro");
+            request.setCategory("Smartphones");
+
+            FacetedSearchHits hits = search(request);
+
+            assertEquals(List.of("PROD-1"), hits.getProductIds());
+            assertEquals(Map.of("Smartphones", 1L, "Audio", 1L), hits.getFacets().getCategories());
+        }
+
+        @Test
+        @DisplayName("Should match nothing for an unknown category")
+        void shouldMatchNothingForUnknownCategory() {
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setCategory("Cameras");
+
+            FacetedSearchHits hits = search(request);
+
+            assertTrue(hits.getProductIds().isEmpty());
+            assertEquals(0, hits.getTotalHits());
+            assertEquals(3, hits.getFacets().getCategories().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Facet Tests")
+    class FacetTests {
+
+        @Test
+        @DisplayName("Should count every facet over the whole result set")
+        void shouldCountFacetsOverWholeResultSet() {
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setSize(1);
+
+            ProductSearchFacets facets = search(request).getFacets();
+
+            assertEquals(Map.of("Smartphones", 2L, "Accessories", 1L, "Audio", 1L), facets.getCategories());
+            assertEquals(Map.of("Apple", 3L, "Samsung", 1L), facets.getBrands());
+            assertEquals(3L, facets.getPriceRanges().get("0-9999") + facets.getPriceRanges().get("20000-29999"));
+            assertEquals(1L, facets.getPriceRanges().get("30000-49999"));
+            assertEquals(1L, facets.getStockStates().get(StockState.IN_STOCK));
+            assertEquals(1L, facets.getStockStates().get(StockState.LOW_STOCK));
+            assertEquals(2L, facets.getStockStates().get(StockState.OUT_OF_STOCK));
+        }
+
+        @Test
+        @DisplayName("Should count a facet with the other filters but not its own")
+        void shouldExcludeOwnFilterFromFacet() {
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setBrand("Apple");
+            request.setCategory("Smartphones");
+
+            FacetedSearchHits hits = search(request);
+
+            assertEquals(List.of("PROD-1"), hits.getProductIds());
+            assertEquals(Map.of("Apple", 1L, "Samsung", 1L), hits.getFacets().getBrands());
+            assertEquals(Map.of("Smartphones", 1L, "Accessories", 1L, "Audio", 1L), hits.getFacets().getCategories());
+        }
+
+        @Test
+        @DisplayName("Should keep stock state facet counts when filtering in-stock only")
+        void shouldKeepStockStateCountsWhenFilteringInStock() {
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setInStockOnly(true);
+
+            FacetedSearchHits hits = search(request);
+
+            assertEquals(2, hits.getTotalHits());
+            assertEquals(2L, hits.getFacets().getStockStates().get(StockState.OUT_OF_STOCK));
+            assertEquals(Map.of("Smartphones", 2L), hits.getFacets().getCategories());
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should move a product between facet values when re-indexed")
+        void shouldMoveProductBetweenFacetValues() {
+            facetIndex.index(product("PROD-3", "MagSafe Charger", "Smartphones", "Apple", "1490", ProductStatus.AVAILABLE));
+
+            ProductSearchFacets facets = search(new ProductSearchRequest()).getFacets();
+
+            assertEquals(Map.of("Smartphones", 3L, "Audio", 1L), facets.getCategories());
+            assertEquals(5, facetIndex.size());
+        }
+
+        @Test
+        @DisplayName("Should update stock state without touching the product row")
+        void shouldUpdateStockState() {
+            facetIndex.updateStockState("PROD-4", StockState.IN_STOCK);
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setInStockOnly(true);
+
+            assertEquals(List.of("PROD-4", "PROD-2", "PROD-1"), search(request).getProductIds());
+        }
+
+        @Test
+        @DisplayName("Should drop removed products from results and facets")
+        void shouldDropRemovedProducts() {
+            facetIndex.remove("PROD-2");
+
+            FacetedSearchHits hits = search(new ProductSearchRequest());
+
+            assertFalse(hits.getProductIds().contains("PROD-2"));
+            assertEquals(Map.of("Apple", 3L), hits.getFacets().getBrands());
+            assertEquals(4, facetIndex.size());
+        }
+
+        @Test
+        @DisplayName("Should derive stock state from quantity and threshold")
+        void shouldDeriveStockState() {
+            assertEquals(StockState.IN_STOCK, ProductFacetIndex.stockStateOf(Stock.create("P", 50, 10, "W")));
+            assertEquals(StockState.LOW_STOCK, ProductFacetIndex.stockStateOf(Stock.create("P", 5, 10, "W")));
+            assertEquals(StockState.OUT_OF_STOCK, ProductFacetIndex.stockStateOf(Stock.create("P", 0, 10, "W")));
+            assertEquals(StockState.OUT_OF_STOCK, ProductFacetIndex.stockStateOf(null));
+        }
+    }
+
+    private FacetedSearchHits search(ProductSearchRequest request) {
+        ProductInvertedIndex.Matches matches = request.hasKeyword() ? keywordIndex.matchAll(request.getKeyword()) : null;
+        return facetIndex.search(request, matches);
+    }
+
+    private static Product product(String productId, String name, String category, String brand,
+                                   String price, ProductStatus status) {
+        return Product.reconstitute(productId, name, name, category, new BigDecimal(price),
+            brand, name, status, null, null, LocalDateTime.now());
+    }
+}
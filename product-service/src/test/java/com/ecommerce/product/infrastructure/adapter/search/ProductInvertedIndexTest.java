@@ -0,0 +1,192 @@
+package com.ecommerce.product.infrastructure.adapter.search;
+
+import com.ecommerce.product.application.port.out.ProductSearchIndexPort.SearchHits;
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.ProductStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProductInvertedIndex and ProductTextAnalyzer
+ */
+@DisplayName("Product Inverted Index Tests")
+class ProductInvertedIndexTest {
+
+    private ProductInvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductInvertedIndex();
+        index.rebuild(List.of(
+            product("PROD-1", "iPhone 17 Pro", "Apple 旗艦智慧型手機", "Apple", "iPhone 17 Pro", "Smartphones"),
+            product("PROD-2", "Galaxy S25", "Samsung flagship phone", "Samsung", "S25", "Smartphones"),
+            product("PROD-3", "MagSafe 充電器", "Charger for iPhone", "Apple", "MagSafe", "Accessories"),
+            product("PROD-4", "藍牙耳機", "無線降噪耳機", "Sony", "WH-1000", "Audio")
+        ));
+    }
+
+    @Nested
+    @DisplayName("Analyzer Tests")
+    class AnalyzerTests {
+
+        @Test
+        @DisplayName("Should lower-case Latin words and split on punctuation")
+        void shouldLowerCaseLatinWords() {
+            assertEquals(List.of("iphone", "17", "pro", "max"), ProductTextAnalyzer.analyze("iPhone 17-Pro/MAX"));
+        }
+
+        @Test
+        @DisplayName("Should emit overlapping bigrams for CJK runs")
+        void shouldEmitBigramsForCjk() {
+            assertEquals(List.of("智慧", "慧型", "型手", "手機"), ProductTextAnalyzer.analyze("智慧型手機"));
+        }
+
+        @Test
+        @DisplayName("Should split mixed CJK and Latin text")
+        void shouldSplitMixedText() {
+            assertEquals(List.of("magsafe", "充電", "電器"), ProductTextAnalyzer.analyze("MagSafe充電器"));
+        }
+
+        @Test
+        @DisplayName("Should keep single CJK character as unigram")
+        void shouldKeepSingleCjkCharacter() {
+            assertEquals(List.of("手"), ProductTextAnalyzer.analyze("手"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should find Chinese product names by bigram")
+        void shouldFindChineseNames() {
+            SearchHits hits = index.search("耳機", 0, 10);
+
+            assertEquals(List.of("PROD-4"), hits.getProductIds());
+            assertEquals(1, hits.getTotalHits());
+        }
+
+        @Test
+        @DisplayName("Should require every query term to match")
+        void shouldRequireEveryTerm() {
+            assertEquals(List.of("PROD-1"), index.search("apple 手機", 0, 10).getProductIds());
+            assertTrue(index.search("samsung 手機", 0, 10).getProductIds().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should rank name matches above description matches")
+        void shouldRankNameMatchesFirst() {
+            SearchHits hits = index.search("iphone", 0, 10);
+
+            assertEquals(List.of("PROD-1", "PROD-3"), hits.getProductIds());
+        }
+
+        @Test
+        @DisplayName("Should match the last term as a prefix")
+        void shouldMatchPrefix() {
+            assertEquals(List.of("PROD-2"), index.search("gal", 0, 10).getProductIds());
+            assertEquals(List.of("PROD-3"), index.search("mag", 0, 10).getProductIds());
+            assertEquals(List.of("PROD-1"), index.search("手", 0, 10).getProductIds());
+        }
+
+        @Test
+        @DisplayName("Should rank exact term matches above prefix matches")
+        void shouldRankExactAbovePrefix() {
+            index.index(product("PROD-5", "Pro Case", "Case", "Generic", "Case", "Accessories"));
+            index.index(product("PROD-6", "Projector", "Projector", "Generic", "P1", "Accessories"));
+
+            List<String> ids = index.search("pro", 0, 10).getProductIds();
+
+            assertTrue(ids.indexOf("PROD-5") < ids.indexOf("PROD-6"));
+        }
+
+        @Test
+        @DisplayName("Should page ranked results and report total hits")
+        void shouldPageResults() {
+            SearchHits firstPage = index.search("smartphones", 0, 1);
+            SearchHits secondPage = index.search("smartphones", 1, 1);
+            SearchHits pastEnd = index.search("smartphones", 4, 1);
+
+            assertEquals(2, firstPage.getTotalHits());
+            assertEquals(1, firstPage.getProductIds().size());
+            assertEquals(1, secondPage.getProductIds().size());
+            assertNotEquals(firstPage.getProductIds(), secondPage.getProductIds());
+            assertTrue(pastEnd.getProductIds().isEmpty());
+            assertEquals(2, pastEnd.getTotalHits());
+        }
+
+        @Test
+        @DisplayName("Should return nothing for blank or unknown queries")
+        void shouldReturnNothingForBlankOrUnknownQueries() {
+            assertEquals(0, index.search("   ", 0, 10).getTotalHits());
+            assertEquals(0, index.search("nokia", 0, 10).getTotalHits());
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should replace old terms when a product is re-indexed")
+        void shouldReplaceOldTerms() {
+            index.index(product("PROD-2", "Galaxy Fold", "Samsung foldable", "Samsung", "Fold", "Smartphones"));
+
+            assertTrue(index.search("s25", 0, 10).getProductIds().isEmpty());
+            assertEquals(List.of("PROD-2"), index.search("fold", 0, 10).getProductIds());
+            assertEquals(4, index.size());
+        }
+
+        @Test
+        @DisplayName("Should drop removed products from results")
+        void shouldDropRemovedProducts() {
+            index.remove("PROD-4");
+
+            assertTrue(index.search("耳機", 0, 10).getProductIds().isEmpty());
+            assertEquals(3, index.size());
+        }
+
+        @Test
+        @DisplayName("Should keep results correct after compaction")
+        void shouldKeepResultsCorrectAfterCompaction() {
+            // Re-index the same product enough times to trigger tombstone compaction
+            for (int i = 0; i < 3_000; i++) {
+                index.index(product("PROD-2", "Galaxy S" + i, "Samsung phone", "Samsung", "S" + i, "Smartphones"));
+            }
+
+            assertEquals(List.of("PROD-2"), index.search("galaxy s2999", 0, 10).getProductIds());
+            assertTrue(index.search("s25", 0, 10).getProductIds().isEmpty());
+            assertEquals(List.of("PROD-1", "PROD-3"), index.search("iphone", 0, 10).getProductIds());
+            assertEquals(4, index.size());
+        }
+
+        @Test
+        @DisplayName("Should rebuild from a new catalog")
+        void shouldRebuildFromNewCatalog() {
+            List<Product> catalog = new ArrayList<>();
+            catalog.add(product("PROD-9", "Pixel 10", "Google phone", "Google", "Pixel 10", "Smartphones"));
+
+            index.rebuild(catalog);
+
+            assertEquals(1, index.size());
+            assertTrue(index.search("iphone", 0, 10).getProductIds().isEmpty());
+            assertEquals(List.of("PROD-9"), index.search("pixel", 0, 10).getProductIds());
+        }
+    }
+
+    private static Product product(String productId, String name, String description, String brand,
+                                   String model, String category) {
+        return Product.reconstitute(productId, name, description, category, new BigDecimal("1000"),
+            brand, model, ProductStatus.AVAILABLE, null, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,253 @@
+package com.ecommerce.product.infrastructure.adapter.search;
+
+import com.ecommerce.product.application.dto.ProductSearchRequest;
+import com.ecommerce.product.domain.model.Product;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.domain.model.Stock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the inverted index with the JPQL LIKE scan for paginated keyword search
+ * The database side runs the SQL Hibernate generates for ProductJpaRepository.searchByKeyword
+ * and countSearchResults against an in-memory H2 table, as the paginated search path does
+ * The faceted pair compares the facet index with one filtered page, count and GROUP BY query per facet
+ * Run with: ./gradlew :product-service:jmhProductSearch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ProductSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Sony", "Google", "ASUS", "Xiaomi", "華碩", "小米"};
+    private static final String[] CATEGORIES = {"Smartphones", "Laptops", "Audio", "Accessories", "Tablets", "Wearables"};
+    private static final String[] NOUNS = {"Phone", "Laptop", "Headphones", "Charger", "Tablet", "Watch",
+                                           "智慧型手機", "筆記型電腦", "藍牙耳機", "無線充電器", "平板電腦", "智慧手錶"};
+    private static final String[] ADJECTIVES = {"Pro", "Max", "Ultra", "Lite", "Plus", "Mini", "旗艦", "輕薄", "降噪"};
+    private static final String[] QUERIES = {"iphone", "藍牙耳機", "samsung ultra", "充電器", "lap", "華碩 筆記型電腦"};
+
+    private static final String PAGE_SQL =
+        "SELECT product_id, name FROM products WHERE " + likePredicates() + " LIMIT ? OFFSET ?";
+    private static final String COUNT_SQL =
+        "SELECT COUNT(*) FROM products WHERE " + likePredicates();
+
+    private static final String FACET_FILTER_CATEGORY = "Smartphones";
+    private static final BigDecimal FACET_FILTER_MIN_PRICE = new BigDecimal("10000");
+    private static final BigDecimal FACET_FILTER_MAX_PRICE = new BigDecimal("40000");
+    private static final String CATEGORY_FILTER = "category = '" + FACET_FILTER_CATEGORY + "'";
+    private static final String PRICE_FILTER = "price BETWEEN " + FACET_FILTER_MIN_PRICE + " AND " + FACET_FILTER_MAX_PRICE;
+    private static final String STATUS_FILTER = "status = 'AVAILABLE'";
+    private static final String[] FACET_SQL = {
+        "SELECT product_id FROM products WHERE " + STATUS_FILTER + " AND " + CATEGORY_FILTER + " AND " + PRICE_FILTER +
+            " ORDER BY price, product_id LIMIT " + PAGE_SIZE,
+        "SELECT COUNT(*) FROM products WHERE " + STATUS_FILTER + " AND " + CATEGORY_FILTER + " AND " + PRICE_FILTER,
+        "SELECT category, COUNT(*) FROM products WHERE " + STATUS_FILTER + " AND " + PRICE_FILTER + " GROUP BY category",
+        "SELECT brand, COUNT(*) FROM products WHERE " + STATUS_FILTER + " AND " + CATEGORY_FILTER + " AND " + PRICE_FILTER +
+            " GROUP BY brand",
+        "SELECT CASE WHEN price < 10000 THEN 0 WHEN price < 20000 THEN 1 WHEN price < 30000 THEN 2 " +
+            "WHEN price < 50000 THEN 3 ELSE 4 END AS bucket, COUNT(*) FROM products WHERE " + STATUS_FILTER +
+            " AND " + CATEGORY_FILTER + " GROUP BY bucket",
+        "SELECT CASE WHEN quantity <= 0 THEN 'OUT' WHEN quantity <= minimum_threshold THEN 'LOW' ELSE 'IN' END AS state, " +
+            "COUNT(*) FROM products WHERE " + STATUS_FILTER + " AND " + CATEGORY_FILTER + " AND " + PRICE_FILTER +
+            " GROUP BY state"
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    private ProductInvertedIndex index;
+    private ProductFacetIndex facetIndex;
+    private ProductSearchRequest facetRequest;
+    private Connection connection;
+    private PreparedStatement pageStatement;
+    private PreparedStatement countStatement;
+    private PreparedStatement[] facetStatements;
+    private int queryCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        index = new ProductInvertedIndex();
+        facetIndex = new ProductFacetIndex();
+        connection = DriverManager.getConnection("jdbc:h2:mem:product_search_" + catalogSize + ";DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE products (product_id VARCHAR(64) PRIMARY KEY, name VARCHAR(255), " +
+                        "description VARCHAR(1000), brand VARCHAR(100), model VARCHAR(100), category VARCHAR(100), " +
+                        "price DECIMAL(10, 2), status VARCHAR(20), quantity INT, minimum_threshold INT)");
+            ddl.execute("CREATE INDEX idx_products_category ON products (category)");
+            ddl.execute("CREATE INDEX idx_products_price ON products (price)");
+        }
+
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(catalogSize);
+        List<Stock> stocks = new ArrayList<>(catalogSize);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO products (product_id, name, description, brand, model, category, price, status, " +
+                "quantity, minimum_threshold) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < catalogSize; i++) {
+                Product product = randomProduct(i, random);
+                Stock stock = Stock.create(product.getProductId(), random.nextInt(40), 10, "台北倉庫");
+                products.add(product);
+                stocks.add(stock);
+                insert.setString(1, product.getProductId());
+                insert.setString(2, product.getName());
+                insert.setString(3, product.getDescription());
+                insert.setString(4, product.getBrand());
+                insert.setString(5, product.getModel());
+                insert.setString(6, product.getCategory());
+                insert.setBigDecimal(7, product.getPrice());
+                insert.setString(8, product.getStatus().name());
+                insert.setInt(9, stock.getQuantity());
+                insert.setInt(10, stock.getMinimumThreshold());
+                insert.addBatch();
+                if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        index.rebuild(products);
+        facetIndex.rebuild(products, stocks);
+        pageStatement = connection.prepareStatement(PAGE_SQL);
+        countStatement = connection.prepareStatement(COUNT_SQL);
+        facetStatements = new PreparedStatement[FACET_SQL.length];
+        for (int i = 0; i < FACET_SQL.length; i++) {
+            facetStatements[i] = connection.prepareStatement(FACET_SQL[i]);
+        }
+
+        facetRequest = new ProductSearchRequest();
+        facetRequest.setCategory(FACET_FILTER_CATEGORY);
+        facetRequest.setMinPrice(FACET_FILTER_MIN_PRICE);
+        facetRequest.setMaxPrice(FACET_FILTER_MAX_PRICE);
+        facetRequest.setSortBy("price");
+        facetRequest.setSize(PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void invertedIndexSearch(Blackhole blackhole) {
+        blackhole.consume(index.search(nextQuery(), 0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public void jpqlLikeSearch(Blackhole blackhole) throws SQLException {
+        String keyword = nextQuery();
+        bindKeyword(pageStatement, keyword);
+        pageStatement.setInt(6, PAGE_SIZE);
+        pageStatement.setInt(7, 0);
+        try (ResultSet rows = pageStatement.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getString(1));
+            }
+        }
+
+        bindKeyword(countStatement, keyword);
+        try (ResultSet count = countStatement.executeQuery()) {
+            count.next();
+            blackhole.consume(count.getLong(1));
+        }
+    }
+
+    @Benchmark
+    public void facetIndexSearch(Blackhole blackhole) {
+        blackhole.consume(facetIndex.search(facetRequest, null));
+    }
+
+    @Benchmark
+    public void sqlFacetCountQueries(Blackhole blackhole) throws SQLException {
+        for (PreparedStatement statement : facetStatements) {
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    blackhole.consume(rows.getObject(1));
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ProductSearchBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    private String nextQuery() {
+        String query = QUERIES[queryCursor];
+        queryCursor = (queryCursor + 1) % QUERIES.length;
+        return query;
+    }
+
+    private static void bindKeyword(PreparedStatement statement, String keyword) throws SQLException {
+        for (int parameter = 1; parameter <= 5; parameter++) {
+            statement.setString(parameter, keyword);
+        }
+    }
+
+    private static String likePredicates() {
+        String like = " LIKE LOWER(CONCAT('%', ?, '%'))";
+        return "LOWER(name)" + like + " OR LOWER(description)" + like + " OR LOWER(brand)" + like +
+               " OR LOWER(model)" + like + " OR LOWER(category)" + like;
+    }
+
+    private static Product randomProduct(int i, Random random) {
+        String brand = BRANDS[random.nextInt(BRANDS.length)];
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+        String model = (brand.equals("Apple") && noun.equals("Phone") ? "iPhone " : noun + " ") + (10 + random.nextInt(10));
+        return Product.reconstitute(
+            String.format("PROD-%08d", i),
+            brand + " " + noun + " " + adjective,
+            brand + " " + adjective + " " + noun + "，" + CATEGORIES[random.nextInt(CATEGORIES.length)] + " series",
+            CATEGORIES[random.nextInt(CATEGORIES.length)],
+            new BigDecimal(1000 + random.nextInt(50_000)),
+            brand,
+            model,
+            ProductStatus.AVAILABLE,
+            null,
+            null,
+            LocalDateTime.now());
+    }
+}
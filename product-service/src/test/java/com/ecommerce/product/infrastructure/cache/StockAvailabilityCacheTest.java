@@ -0,0 +1,97 @@
+package com.ecommerce.product.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StockAvailabilityCache
+ */
+@DisplayName("Stock Availability Cache Tests")
+class StockAvailabilityCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockAvailabilityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new StockAvailabilityCache(100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should load once and serve subsequent reads from cache")
+    void shouldLoadOnceAndServeFromCache() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        Optional<Integer> first = cache.get("PROD-123", id -> { loads.incrementAndGet(); return 40; });
+        Optional<Integer> second = cache.get("PROD-123", id -> { loads.incrementAndGet(); return 0; });
+
+        // Then
+        assertEquals(Optional.of(40), first);
+        assertEquals(Optional.of(40), second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should serve written value after write-through put")
+    void shouldServeWrittenValueAfterPut() {
+        // Given
+        cache.get("PROD-123", id -> 40);
+
+        // When
+        cache.put("PROD-123", 35);
+
+        // Then
+        assertEquals(Optional.of(35), cache.get("PROD-123", id -> fail("should not reload")));
+    }
+
+    @Test
+    @DisplayName("Should reload after eviction")
+    void shouldReloadAfterEviction() {
+        // Given
+        cache.get("PROD-123", id -> 40);
+
+        // When
+        cache.evict("PROD-123");
+
+        // Then
+        assertEquals(Optional.of(10), cache.get("PROD-123", id -> 10));
+    }
+
+    @Test
+    @DisplayName("Should not cache missing stock")
+    void shouldNotCacheMissingStock() {
+        // When
+        Optional<Integer> result = cache.get("PROD-999", id -> null);
+
+        // Then
+        assertTrue(result.isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should publish hit and miss metrics")
+    void shouldPublishHitAndMissMetrics() {
+        // Given
+        cache.get("PROD-123", id -> 40);
+        cache.get("PROD-123", id -> 40);
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+            .tag("cache", StockAvailabilityCache.CACHE_NAME).tag("result", "hit")
+            .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+            .tag("cache", StockAvailabilityCache.CACHE_NAME).tag("result", "miss")
+            .functionCounter().count());
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.product.infrastructure.config;
+
+import com.ecommerce.product.domain.event.StockLevelChangedEvent;
+import com.ecommerce.product.domain.model.ProductStatus;
+import com.ecommerce.product.domain.repository.StockRepository;
+import com.ecommerce.product.infrastructure.adapter.external.NotificationAdapter;
+import com.ecommerce.product.infrastructure.adapter.persistence.ProductJpaAdapter;
+import com.ecommerce.product.infrastructure.adapter.persistence.StockJpaAdapter;
+import com.ecommerce.product.infrastructure.adapter.persistence.entity.ProductJpaEntity;
+import com.ecommerce.product.infrastructure.adapter.persistence.entity.StockJpaEntity;
+import com.ecommerce.product.infrastructure.adapter.search.ProductSearchIndexAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stock repository event tests
+ * Every stock write, including the atomic reservation, must announce the new level
+ * so the search index's in-stock facet follows it
+ */
+@DataJpaTest
+@RecordApplicationEvents
+@Import({ProductJpaAdapter.class, StockJpaAdapter.class, NotificationAdapter.class, ProductSearchIndexAdapter.class,
+         ProductConfig.class, StockRepositoryEventTest.TestConfig.class})
+@DisplayName("Stock Repository Event Tests")
+class StockRepositoryEventTest {
+
+    private static final String PRODUCT_ID = "PROD-EV-001";
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(new ProductJpaEntity(PRODUCT_ID, "Phone", "Test phone", "Smartphones",
+            new BigDecimal("29900.00"), "Apple", "Model", ProductStatus.AVAILABLE, "Test specifications",
+            null, LocalDateTime.now()));
+        entityManager.persist(new StockJpaEntity("STOCK-EV-001", PRODUCT_ID, 10, 0,
+            2, 1_000, "台北倉庫", null, null));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Successful atomic reservation should publish the remaining available quantity")
+    void shouldPublishStockLevelAfterAtomicReservation() {
+        // When
+        boolean reserved = stockRepository.reserveIfAvailable(PRODUCT_ID, 4);
+
+        // Then
+        assertTrue(reserved);
+        List<StockLevelChangedEvent> events = applicationEvents.stream(StockLevelChangedEvent.class).toList();
+        assertEquals(1, events.size());
+        assertEquals(PRODUCT_ID, events.get(0).getProductId());
+        assertEquals(6, events.get(0).getAvailableQuantity());
+    }
+
+    @Test
+    @DisplayName("Rejected atomic reservation should not publish a stock level change")
+    void shouldNotPublishWhenReservationIsRejected() {
+        // When
+        boolean reserved = stockRepository.reserveIfAvailable(PRODUCT_ID, 11);
+
+        // Then
+        assertFalse(reserved);
+        assertEquals(0, applicationEvents.stream(StockLevelChangedEvent.class).count());
+    }
+}
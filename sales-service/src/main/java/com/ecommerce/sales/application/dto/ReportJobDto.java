@@ -0,0 +1,80 @@
+package com.ecommerce.sales.application.dto;
+
+import com.ecommerce.common.dto.BaseDto;
+import com.ecommerce.sales.domain.model.ReportType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 報表產生工作 DTO
+ * 工作完成後以 reportId 取得或匯出報表
+ */
+public class ReportJobDto extends BaseDto {
+    
+    private String jobId;
+    private ReportJobStatus status;
+    private String reportName;
+    private ReportType reportType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long processedRecords;
+    private Long totalRecords;
+    private Integer progressPercentage;
+    private String reportId;
+    private String errorMessage;
+    private Boolean coalesced;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    
+    public ReportJobDto() {}
+    
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    
+    public ReportJobStatus getStatus() { return status; }
+    public void setStatus(ReportJobStatus status) { this.status = status; }
+    
+    public String getReportName() { return reportName; }
+    public void setReportName(String reportName) { this.reportName = reportName; }
+    
+    public ReportType getReportType() { return reportType; }
+    public void setReportType(ReportType reportType) { this.reportType = reportType; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public Long getProcessedRecords() { return processedRecords; }
+    public void setProcessedRecords(Long processedRecords) { this.processedRecords = processedRecords; }
+    
+    public Long getTotalRecords() { return totalRecords; }
+    public void setTotalRecords(Long totalRecords) { this.totalRecords = totalRecords; }
+    
+    public Integer getProgressPercentage() { return progressPercentage; }
+    public void setProgressPercentage(Integer progressPercentage) { this.progressPercentage = progressPercentage; }
+    
+    public String getReportId() { return reportId; }
+    public void setReportId(String reportId) { this.reportId = reportId; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    /**
+     * 是否併入了已在進行中的相同報表工作
+     */
+    public Boolean getCoalesced() { return coalesced; }
+    public void setCoalesced(Boolean coalesced) { this.coalesced = coalesced; }
+    
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
\ No newline at end of file
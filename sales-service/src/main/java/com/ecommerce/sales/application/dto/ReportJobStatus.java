@@ -0,0 +1,29 @@
+package com.ecommerce.sales.application.dto;
+
+/**
+ * 報表產生工作狀態
+ */
+public enum ReportJobStatus {
+    QUEUED("排隊中"),
+    RUNNING("產生中"),
+    COMPLETED("已完成"),
+    FAILED("失敗"),
+    CANCELLED("已取消");
+    
+    private final String displayName;
+    
+    ReportJobStatus(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * 是否已結束（不會再改變狀態）
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
\ No newline at end of file
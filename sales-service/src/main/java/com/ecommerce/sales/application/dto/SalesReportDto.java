@@ -5,7 +5,6 @@ import com.ecommerce.sales.domain.model.ReportType;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,7 +23,7 @@ public class SalesReportDto extends BaseDto {
     private BigDecimal averageOrderValue;
     private BigDecimal totalDiscount;
     private BigDecimal highValueSalesRate;
-    private List<SalesRecordDto> records;
+    private Integer recordCount;
     private Map<String, Object> additionalData;
     
     public SalesReportDto() {}
@@ -63,8 +62,8 @@ public class SalesReportDto extends BaseDto {
     public BigDecimal getHighValueSalesRate() { return highValueSalesRate; }
     public void setHighValueSalesRate(BigDecimal highValueSalesRate) { this.highValueSalesRate = highValueSalesRate; }
     
-    public List<SalesRecordDto> getRecords() { return records; }
-    public void setRecords(List<SalesRecordDto> records) { this.records = records; }
+    public Integer getRecordCount() { return recordCount; }
+    public void setRecordCount(Integer recordCount) { this.recordCount = recordCount; }
     
     public Map<String, Object> getAdditionalData() { return additionalData; }
     public void setAdditionalData(Map<String, Object> additionalData) { this.additionalData = additionalData; }
@@ -3,6 +3,7 @@ package com.ecommerce.sales.application.mapper;
 import com.ecommerce.sales.application.dto.*;
 import com.ecommerce.sales.domain.model.SalesRecord;
 import com.ecommerce.sales.domain.model.SalesReport;
+import com.ecommerce.sales.domain.model.SalesRollup;
 import com.ecommerce.sales.domain.service.SalesDomainService.*;
 import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
@@ -77,46 +78,38 @@ public class SalesMapper {
         dto.setAverageOrderValue(salesReport.getMetrics().getAverageOrderValue());
         dto.setTotalDiscount(salesReport.getMetrics().getTotalDiscount());
         dto.setHighValueSalesRate(salesReport.getMetrics().getHighValueSalesRate());
-        dto.setRecords(toDtoList(salesReport.getRecords()));
+        dto.setRecordCount(salesReport.getRecordCount());
         dto.setAdditionalData(salesReport.getAdditionalData());
         
         return dto;
     }
     
     /**
-     * 將 SalesTrendAnalysis 轉換為 SalesAnalysisResponse
+     * 將 SalesTrendAnalysis 與期間彙總值轉換為 SalesAnalysisResponse
      */
-    public SalesAnalysisResponse toDto(SalesTrendAnalysis analysis, List<SalesRecord> records) {
+    public SalesAnalysisResponse toDto(SalesTrendAnalysis analysis, SalesRollup summary) {
         if (analysis == null) {
             return null;
         }
         
         // 計算統計資料
-        BigDecimal totalRevenue = records.stream()
-                .map(SalesRecord::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalRevenue = summary.getRevenue();
+        Integer totalQuantity = (int) summary.getQuantity();
+        int recordCount = (int) summary.getRecordCount();
         
-        Integer totalQuantity = records.stream()
-                .mapToInt(SalesRecord::getQuantity)
-                .sum();
+        BigDecimal averageOrderValue = recordCount == 0 ? BigDecimal.ZERO :
+                totalRevenue.divide(BigDecimal.valueOf(recordCount), 2, BigDecimal.ROUND_HALF_UP);
         
-        BigDecimal averageOrderValue = records.isEmpty() ? BigDecimal.ZERO :
-                totalRevenue.divide(BigDecimal.valueOf(records.size()), 2, BigDecimal.ROUND_HALF_UP);
-        
-        BigDecimal totalDiscount = records.stream()
-                .map(SalesRecord::getDiscount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalDiscount = summary.getDiscount();
         
         BigDecimal discountRate = totalRevenue.compareTo(BigDecimal.ZERO) == 0 ? BigDecimal.ZERO :
                 totalDiscount.divide(totalRevenue, 4, BigDecimal.ROUND_HALF_UP);
         
-        int highValueSalesCount = (int) records.stream()
-                .mapToLong(record -> record.isHighValueSale() ? 1 : 0)
-                .sum();
+        int highValueSalesCount = (int) summary.getHighValueCount();
         
-        BigDecimal highValueSalesRate = records.isEmpty() ? BigDecimal.ZERO :
+        BigDecimal highValueSalesRate = recordCount == 0 ? BigDecimal.ZERO :
                 BigDecimal.valueOf(highValueSalesCount)
-                        .divide(BigDecimal.valueOf(records.size()), 4, BigDecimal.ROUND_HALF_UP);
+                        .divide(BigDecimal.valueOf(recordCount), 4, BigDecimal.ROUND_HALF_UP);
         
         return new SalesAnalysisResponse(
             null, null, // startDate, endDate 由呼叫者設定
@@ -128,7 +121,7 @@ public class SalesMapper {
             analysis.getAverageDailyRevenue(),
             analysis.getDirection(),
             analysis.getAnalysis(),
-            records.size(),
+            recordCount,
             highValueSalesCount,
             highValueSalesRate
         );
@@ -0,0 +1,20 @@
+package com.ecommerce.sales.application.port.in;
+
+/**
+ * 報表產生進度監聽器
+ * 報表產生期間定期回報已處理的記錄數；監聽器拋出 CancellationException 時中止產生，報表不會被儲存
+ */
+@FunctionalInterface
+public interface ReportProgressListener {
+    
+    /**
+     * 不追蹤進度
+     */
+    ReportProgressListener NONE = (processedRecords, totalRecords) -> { };
+    
+    /**
+     * @param processedRecords 已處理的記錄數
+     * @param totalRecords 開始產生時符合條件的記錄數，產生期間新增的記錄可能使已處理數略為超過
+     */
+    void onProgress(long processedRecords, long totalRecords);
+}
@@ -49,4 +49,10 @@ public interface SalesAnalysisUseCase {
      * 取得銷售統計摘要
      */
     SalesAnalysisResponse getSalesSummary(LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * 以原始銷售記錄重建期間內的日彙總資料
+     * @return 重建的彙總列數
+     */
+    int rebuildSalesRollups(LocalDate startDate, LocalDate endDate);
 }
\ No newline at end of file
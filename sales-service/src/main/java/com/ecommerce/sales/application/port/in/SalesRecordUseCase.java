@@ -19,6 +19,12 @@ public interface SalesRecordUseCase {
      */
     SalesRecordDto createSalesRecord(CreateSalesRecordRequest request);
     
+    /**
+     * 批次建立銷售記錄
+     * 已有銷售記錄的訂單會整筆略過，其餘在同一交易中批次寫入
+     */
+    List<SalesRecordDto> createSalesRecords(List<CreateSalesRecordRequest> requests);
+    
     /**
      * 根據ID取得銷售記錄
      */
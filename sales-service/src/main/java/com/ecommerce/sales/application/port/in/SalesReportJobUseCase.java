@@ -0,0 +1,30 @@
+package com.ecommerce.sales.application.port.in;
+
+import com.ecommerce.common.architecture.UseCase;
+import com.ecommerce.sales.application.dto.GenerateReportRequest;
+import com.ecommerce.sales.application.dto.ReportJobDto;
+
+/**
+ * 報表產生工作使用案例介面
+ * 遵循 ISP：只處理背景報表工作的排程、查詢與取消
+ */
+@UseCase
+public interface SalesReportJobUseCase {
+    
+    /**
+     * 排入報表產生工作並立即回傳
+     * 相同類型、期間與過濾條件的工作尚未結束時，併入該工作而不重複產生
+     */
+    ReportJobDto submitReportJob(GenerateReportRequest request);
+    
+    /**
+     * 取得報表工作的狀態與進度
+     */
+    ReportJobDto getReportJob(String jobId);
+    
+    /**
+     * 取消尚未結束的報表工作；工作已結束時不做任何事
+     * 併入同一工作的所有請求都會一併取消
+     */
+    ReportJobDto cancelReportJob(String jobId);
+}
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.ecommerce.common.architecture.UseCase;
 import com.ecommerce.sales.application.dto.GenerateReportRequest;
 import com.ecommerce.sales.application.dto.SalesReportDto;
 import com.ecommerce.sales.domain.model.ReportType;
+
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -19,6 +21,17 @@ public interface SalesReportUseCase {
      */
     SalesReportDto generateReport(GenerateReportRequest request);
     
+    /**
+     * 生成銷售報表並回報進度，供背景報表工作使用
+     */
+    SalesReportDto generateReport(GenerateReportRequest request, ReportProgressListener progressListener);
+    
+    /**
+     * 檢查報表參數是否合理，不符合時拋出例外
+     * 供呼叫端在排入背景工作前先行驗證
+     */
+    void validateReportRequest(GenerateReportRequest request);
+    
     /**
      * 取得報表清單
      */
@@ -30,9 +43,15 @@ public interface SalesReportUseCase {
     SalesReportDto getReportById(String reportId);
     
     /**
-     * 匯出報表
+     * 檢查報表是否存在且支援指定的匯出格式，不符合時拋出例外
+     * 供呼叫端在開始寫出回應前先行驗證
+     */
+    void validateExport(String reportId, String format);
+    
+    /**
+     * 匯出報表，明細以串流逐筆寫入輸出串流
      */
-    byte[] exportReport(String reportId, String format);
+    void exportReport(String reportId, String format, OutputStream outputStream);
     
     /**
      * 刪除報表
@@ -1,27 +1,32 @@
 package com.ecommerce.sales.application.port.out;
 
+import com.ecommerce.sales.domain.model.SalesRecord;
 import com.ecommerce.sales.domain.model.SalesReport;
 
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
 /**
  * 報表生成輸出埠
  * 遵循 DIP：應用層定義抽象介面，基礎設施層實作
+ * 報表明細以串流逐筆寫入輸出，不在記憶體中組出完整內容；輸出串流由呼叫端負責關閉
  */
 public interface ReportGenerationPort {
     
     /**
      * 生成 PDF 格式報表
      */
-    byte[] generatePdfReport(SalesReport report);
+    void writePdfReport(SalesReport report, Stream<SalesRecord> records, OutputStream outputStream);
     
     /**
      * 生成 Excel 格式報表
      */
-    byte[] generateExcelReport(SalesReport report);
+    void writeExcelReport(SalesReport report, Stream<SalesRecord> records, OutputStream outputStream);
     
     /**
      * 生成 CSV 格式報表
      */
-    byte[] generateCsvReport(SalesReport report);
+    void writeCsvReport(SalesReport report, Stream<SalesRecord> records, OutputStream outputStream);
     
     /**
      * 檢查支援的格式
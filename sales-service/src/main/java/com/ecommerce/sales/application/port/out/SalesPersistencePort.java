@@ -3,8 +3,11 @@ package com.ecommerce.sales.application.port.out;
 import com.ecommerce.sales.domain.model.SalesChannel;
 import com.ecommerce.sales.domain.model.SalesRecord;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * 銷售資料持久化輸出埠
@@ -14,6 +17,11 @@ public interface SalesPersistencePort {
     
     SalesRecord save(SalesRecord salesRecord);
     
+    /**
+     * 批次寫入銷售記錄（單一交易、JDBC 批次插入）
+     */
+    void saveAll(List<SalesRecord> salesRecords);
+    
     Optional<SalesRecord> findById(String salesRecordId);
     
     List<SalesRecord> findByOrderId(String orderId);
@@ -24,6 +32,19 @@ public interface SalesPersistencePort {
     
     List<SalesRecord> findByDateRange(LocalDate startDate, LocalDate endDate);
     
+    /**
+     * 以資料庫游標逐筆讀取期間內的銷售記錄（依銷售時間排序），過濾條件為 null 時表示不過濾
+     * 必須在交易內使用並於讀取完畢後關閉串流，已讀取的記錄不會留在持久化內容中
+     */
+    Stream<SalesRecord> streamByDateRange(LocalDate startDate, LocalDate endDate,
+                                          String category, String region, String customerId);
+    
+    /**
+     * 計算期間內符合過濾條件的銷售記錄數，過濾條件與 streamByDateRange 相同
+     */
+    long countByDateRange(LocalDate startDate, LocalDate endDate,
+                          String category, String region, String customerId);
+    
     List<SalesRecord> findByCategory(String category);
     
     List<SalesRecord> findByChannel(SalesChannel channel);
@@ -41,4 +62,9 @@ public interface SalesPersistencePort {
     boolean existsById(String salesRecordId);
     
     boolean existsByOrderId(String orderId);
+    
+    /**
+     * 以單一 IN 查詢找出已有銷售記錄的訂單ID
+     */
+    Set<String> findExistingOrderIds(Collection<String> orderIds);
 }
\ No newline at end of file
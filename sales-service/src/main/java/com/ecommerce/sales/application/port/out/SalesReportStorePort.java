@@ -0,0 +1,31 @@
+package com.ecommerce.sales.application.port.out;
+
+import com.ecommerce.sales.domain.model.ReportType;
+import com.ecommerce.sales.domain.model.SalesReport;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 銷售報表儲存輸出埠
+ * 遵循 DIP：應用層定義抽象介面，基礎設施層決定報表保存在記憶體或磁碟
+ */
+public interface SalesReportStorePort {
+    
+    void save(SalesReport report);
+    
+    Optional<SalesReport> findById(String reportId);
+    
+    /**
+     * 依報表類型與日期範圍查詢報表，條件為 null 時表示不限制
+     * 回傳開始日期不早於 startDate 且結束日期不晚於 endDate 的報表
+     */
+    List<SalesReport> findReports(ReportType reportType, LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * 刪除報表
+     * @return 報表存在並已刪除時回傳 true
+     */
+    boolean delete(String reportId);
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.ecommerce.sales.application.service;
 
 import com.ecommerce.sales.application.dto.CreateSalesRecordRequest;
+import com.ecommerce.sales.application.dto.SalesRecordDto;
 import com.ecommerce.sales.application.port.in.SalesRecordUseCase;
 import com.ecommerce.sales.domain.model.SalesChannel;
 import org.slf4j.Logger;
@@ -8,6 +9,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 銷售事件處理服務
@@ -26,34 +31,56 @@ public class SalesEventHandlerService {
     
     /**
      * 處理訂單完成事件，建立銷售記錄
+     * 視為只有一筆的批次，與批次監聽共用同一條去重與寫入路徑；失敗時例外會往外拋出
      */
-    public void handleOrderCompletedEvent(OrderCompletedEvent event) {
-        try {
-            logger.info("處理訂單完成事件: {}", event.getOrderId());
-            
-            // 為每個訂單項目建立銷售記錄
-            for (OrderItemEvent item : event.getOrderItems()) {
-                CreateSalesRecordRequest request = new CreateSalesRecordRequest(
-                    event.getOrderId(),
-                    event.getCustomerId(),
-                    item.getProductId(),
-                    item.getProductName(),
-                    item.getQuantity(),
-                    item.getUnitPrice(),
-                    item.getDiscount(),
-                    item.getCategory(),
-                    SalesChannel.ONLINE, // 預設為線上通道
-                    "台北" // 預設區域
-                );
-                
-                salesRecordUseCase.createSalesRecord(request);
-                logger.info("已建立銷售記錄: 訂單={}, 商品={}", event.getOrderId(), item.getProductId());
-            }
-            
-        } catch (Exception e) {
-            logger.error("處理訂單完成事件失敗: {}", event.getOrderId(), e);
-            // 實際應用中應該有重試機制或死信佇列處理
+    public OrderCompletedBatchResult handleOrderCompletedEvent(OrderCompletedEvent event) {
+        return handleOrderCompletedEvents(List.of(event));
+    }
+    
+    /**
+     * 批次處理訂單完成事件
+     * 同一批中重複的訂單只保留第一筆，已有銷售記錄的訂單由 createSalesRecords 以一次查詢排除；
+     * 失敗時例外會往外拋出，讓整批訊息不被確認而重新投遞
+     */
+    public OrderCompletedBatchResult handleOrderCompletedEvents(List<OrderCompletedEvent> events) {
+        Map<String, OrderCompletedEvent> uniqueEvents = new LinkedHashMap<>();
+        for (OrderCompletedEvent event : events) {
+            uniqueEvents.putIfAbsent(event.getOrderId(), event);
+        }
+        
+        List<CreateSalesRecordRequest> requests = new ArrayList<>();
+        for (OrderCompletedEvent event : uniqueEvents.values()) {
+            requests.addAll(toSalesRecordRequests(event));
         }
+        
+        List<SalesRecordDto> created = salesRecordUseCase.createSalesRecords(requests);
+        long ordersRecorded = created.stream().map(SalesRecordDto::getOrderId).distinct().count();
+        
+        logger.info("批次處理訂單完成事件: 收到={}, 新增訂單={}, 新增銷售記錄={}",
+                   events.size(), ordersRecorded, created.size());
+        return new OrderCompletedBatchResult(events.size(), (int) ordersRecorded, created.size());
+    }
+    
+    private List<CreateSalesRecordRequest> toSalesRecordRequests(OrderCompletedEvent event) {
+        if (event.getOrderItems() == null) {
+            return List.of();
+        }
+        List<CreateSalesRecordRequest> requests = new ArrayList<>(event.getOrderItems().size());
+        for (OrderItemEvent item : event.getOrderItems()) {
+            requests.add(new CreateSalesRecordRequest(
+                event.getOrderId(),
+                event.getCustomerId(),
+                item.getProductId(),
+                item.getProductName(),
+                item.getQuantity(),
+                item.getUnitPrice(),
+                item.getDiscount(),
+                item.getCategory(),
+                SalesChannel.ONLINE, // 預設為線上通道
+                "台北" // 預設區域
+            ));
+        }
+        return requests;
     }
     
     /**
@@ -65,6 +92,30 @@ public class SalesEventHandlerService {
         // 這裡暫時只記錄日誌
     }
     
+    /**
+     * 批次處理結果
+     */
+    public static class OrderCompletedBatchResult {
+        private final int eventsReceived;
+        private final int ordersRecorded;
+        private final int salesRecordsCreated;
+        
+        public OrderCompletedBatchResult(int eventsReceived, int ordersRecorded, int salesRecordsCreated) {
+            this.eventsReceived = eventsReceived;
+            this.ordersRecorded = ordersRecorded;
+            this.salesRecordsCreated = salesRecordsCreated;
+        }
+        
+        public int getEventsReceived() { return eventsReceived; }
+        public int getOrdersRecorded() { return ordersRecorded; }
+        public int getSalesRecordsCreated() { return salesRecordsCreated; }
+        
+        /**
+         * 重複（同批重複或已處理過）而略過的事件數
+         */
+        public int getEventsSkipped() { return eventsReceived - ordersRecorded; }
+    }
+    
     // 內部事件類別定義（實際應用中這些應該在共用模組中定義）
     
     public static class OrderCompletedEvent {
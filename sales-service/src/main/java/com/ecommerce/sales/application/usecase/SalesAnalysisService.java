@@ -5,7 +5,7 @@ import com.ecommerce.sales.application.mapper.SalesMapper;
 import com.ecommerce.sales.application.port.in.SalesAnalysisUseCase;
 import com.ecommerce.sales.application.port.out.SalesPersistencePort;
 import com.ecommerce.sales.domain.model.SalesChannel;
-import com.ecommerce.sales.domain.model.SalesRecord;
+import com.ecommerce.sales.domain.model.SalesRollup;
 import com.ecommerce.sales.domain.service.SalesDomainService;
 import com.ecommerce.sales.domain.service.SalesDomainService.*;
 import org.springframework.stereotype.Service;
@@ -13,7 +13,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -40,15 +39,22 @@ public class SalesAnalysisService implements SalesAnalysisUseCase {
     public SalesAnalysisResponse analyzeSalesTrend(SalesAnalysisRequest request) {
         request.validate();
         
-        // 取得指定期間的銷售記錄
-        List<SalesRecord> records = getFilteredRecords(request);
+        // 取得指定期間（依請求條件過濾）的彙總值
+        SalesRollup summary = salesDomainService.summarizeSales(
+            request.getStartDate(),
+            request.getEndDate(),
+            blankToNull(request.getCategory()),
+            blankToNull(request.getRegion()),
+            blankToNull(request.getCustomerId()),
+            blankToNull(request.getProductId())
+        );
         
         // 使用領域服務分析趨勢
         SalesTrendAnalysis trendAnalysis = salesDomainService.analyzeSalesTrend(
             request.getStartDate(), request.getEndDate());
         
         // 轉換為 DTO 並設定日期範圍
-        SalesAnalysisResponse response = salesMapper.toDto(trendAnalysis, records);
+        SalesAnalysisResponse response = salesMapper.toDto(trendAnalysis, summary);
         response.setStartDate(request.getStartDate());
         response.setEndDate(request.getEndDate());
         
@@ -121,37 +127,19 @@ public class SalesAnalysisService implements SalesAnalysisUseCase {
         return analyzeSalesTrend(request);
     }
     
-    // 私有輔助方法
-    
-    private List<SalesRecord> getFilteredRecords(SalesAnalysisRequest request) {
-        List<SalesRecord> records = salesPersistencePort.findByDateRange(
-            request.getStartDate(), request.getEndDate());
-        
-        // 根據請求參數進行過濾
-        if (request.getCategory() != null && !request.getCategory().trim().isEmpty()) {
-            records = records.stream()
-                    .filter(record -> request.getCategory().equals(record.getCategory()))
-                    .toList();
-        }
-        
-        if (request.getRegion() != null && !request.getRegion().trim().isEmpty()) {
-            records = records.stream()
-                    .filter(record -> request.getRegion().equals(record.getRegion()))
-                    .toList();
-        }
-        
-        if (request.getCustomerId() != null && !request.getCustomerId().trim().isEmpty()) {
-            records = records.stream()
-                    .filter(record -> request.getCustomerId().equals(record.getCustomerId()))
-                    .toList();
-        }
-        
-        if (request.getProductId() != null && !request.getProductId().trim().isEmpty()) {
-            records = records.stream()
-                    .filter(record -> request.getProductId().equals(record.getProductId()))
-                    .toList();
+    @Override
+    @Transactional
+    public int rebuildSalesRollups(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("開始日期不能晚於結束日期");
         }
         
-        return records;
+        return salesDomainService.rebuildSalesRollups(startDate, endDate);
+    }
+    
+    // 私有輔助方法
+    
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value;
     }
 }
\ No newline at end of file
@@ -16,7 +16,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 銷售記錄服務實作
@@ -58,6 +63,50 @@ public class SalesRecordService implements SalesRecordUseCase {
             request.getRegion()
         );
         
+        publishCreatedEvents(salesRecord);
+        
+        return salesMapper.toDto(salesRecord);
+    }
+    
+    @Override
+    public List<SalesRecordDto> createSalesRecords(List<CreateSalesRecordRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        
+        // 一次查詢找出已有銷售記錄的訂單（例如重送的事件），整筆略過
+        Set<String> existingOrderIds = salesPersistencePort.findExistingOrderIds(
+            requests.stream().map(CreateSalesRecordRequest::getOrderId).collect(Collectors.toSet()));
+        
+        Map<String, Integer> lineNumbers = new HashMap<>();
+        List<SalesRecord> salesRecords = new ArrayList<>(requests.size());
+        for (CreateSalesRecordRequest request : requests) {
+            if (existingOrderIds.contains(request.getOrderId())) {
+                continue;
+            }
+            int lineNumber = lineNumbers.merge(request.getOrderId(), 1, Integer::sum);
+            salesRecords.add(salesDomainService.newSalesRecordForOrderLine(
+                request.getOrderId(),
+                lineNumber,
+                request.getCustomerId(),
+                request.getProductId(),
+                request.getProductName(),
+                request.getQuantity(),
+                request.getUnitPrice(),
+                request.getDiscount(),
+                request.getCategory(),
+                request.getChannel(),
+                request.getRegion()
+            ));
+        }
+        
+        salesPersistencePort.saveAll(salesRecords);
+        salesRecords.forEach(this::publishCreatedEvents);
+        
+        return salesMapper.toDtoList(salesRecords);
+    }
+    
+    private void publishCreatedEvents(SalesRecord salesRecord) {
         // 發布銷售記錄建立事件
         SalesRecordCreatedEvent createdEvent = new SalesRecordCreatedEvent(
             salesRecord.getSalesRecordId(),
@@ -81,8 +130,6 @@ public class SalesRecordService implements SalesRecordUseCase {
             );
             salesEventPublisherPort.publishHighValueSale(highValueEvent);
         }
-        
-        return salesMapper.toDto(salesRecord);
     }
     
     @Override
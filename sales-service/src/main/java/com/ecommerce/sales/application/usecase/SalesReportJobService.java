@@ -0,0 +1,280 @@
+package com.ecommerce.sales.application.usecase;
+
+import com.ecommerce.sales.application.dto.GenerateReportRequest;
+import com.ecommerce.sales.application.dto.ReportJobDto;
+import com.ecommerce.sales.application.dto.ReportJobStatus;
+import com.ecommerce.sales.application.dto.SalesReportDto;
+import com.ecommerce.sales.application.port.in.ReportProgressListener;
+import com.ecommerce.sales.application.port.in.SalesReportJobUseCase;
+import com.ecommerce.sales.application.port.in.SalesReportUseCase;
+import com.ecommerce.sales.domain.exception.ReportJobNotFoundException;
+import com.ecommerce.sales.domain.exception.ReportJobRejectedException;
+import com.ecommerce.sales.domain.model.ReportType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 報表產生工作服務實作
+ * 報表在有界的背景執行緒池中產生，HTTP 請求只負責排入工作並立即回傳工作ID；
+ * 相同類型、期間與過濾條件的請求在工作結束前併入同一工作（single-flight），不重複讀取資料
+ * 已結束的工作保留 retention 時間供查詢結果，之後於下次排入工作時清除
+ */
+@Service
+public class SalesReportJobService implements SalesReportJobUseCase {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SalesReportJobService.class);
+    
+    private final SalesReportUseCase salesReportUseCase;
+    private final ExecutorService reportJobExecutor;
+    private final Duration retention;
+    
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    // 尚未結束的工作，以報表條件為鍵；由自身的鎖保護
+    private final Map<ReportJobKey, ReportJob> inFlightJobs = new HashMap<>();
+    
+    public SalesReportJobService(SalesReportUseCase salesReportUseCase,
+                               @Qualifier("salesReportJobExecutor") ExecutorService reportJobExecutor,
+                               @Value("${sales.report-jobs.retention:1h}") Duration retention) {
+        this.salesReportUseCase = salesReportUseCase;
+        this.reportJobExecutor = reportJobExecutor;
+        this.retention = retention;
+    }
+    
+    @Override
+    public ReportJobDto submitReportJob(GenerateReportRequest request) {
+        // 參數錯誤直接回應給呼叫端，不排入工作
+        salesReportUseCase.validateReportRequest(request);
+        purgeExpiredJobs();
+        
+        ReportJobKey key = ReportJobKey.of(request);
+        ReportJob job;
+        synchronized (inFlightJobs) {
+            ReportJob existing = inFlightJobs.get(key);
+            if (existing != null && !existing.isFinished()) {
+                return existing.toDto(true);
+            }
+            
+            job = new ReportJob(generateJobId(), key, request);
+            jobs.put(job.jobId, job);
+            inFlightJobs.put(key, job);
+            try {
+                reportJobExecutor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(job.jobId);
+                inFlightJobs.remove(key);
+                logger.warn("Report job queue is full, rejecting report request {}", key);
+                throw new ReportJobRejectedException();
+            }
+        }
+        return job.toDto(false);
+    }
+    
+    @Override
+    public ReportJobDto getReportJob(String jobId) {
+        return findJob(jobId).toDto(false);
+    }
+    
+    @Override
+    public ReportJobDto cancelReportJob(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.requestCancel()) {
+            // 之後相同條件的請求改為建立新工作，不再併入取消中的工作
+            releaseInFlight(job);
+        }
+        return job.toDto(false);
+    }
+    
+    // 私有輔助方法
+    
+    private void run(ReportJob job) {
+        if (!job.start()) {
+            return; // 排隊期間已被取消
+        }
+        
+        try {
+            SalesReportDto report = salesReportUseCase.generateReport(job.request, job);
+            job.complete(report.getReportId());
+        } catch (CancellationException e) {
+            logger.info("Report job {} cancelled after {} records", job.jobId, job.processedRecords);
+            job.cancelled();
+        } catch (RuntimeException e) {
+            logger.error("Report job {} failed: {}", job.jobId, e.getMessage(), e);
+            job.fail(e.getMessage());
+        } finally {
+            releaseInFlight(job);
+        }
+    }
+    
+    private void releaseInFlight(ReportJob job) {
+        synchronized (inFlightJobs) {
+            inFlightJobs.remove(job.key, job);
+        }
+    }
+    
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ReportJobNotFoundException(jobId);
+        }
+        return job;
+    }
+    
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinishedBefore(cutoff));
+    }
+    
+    private String generateJobId() {
+        return "JOB-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+    
+    /**
+     * 判斷兩個請求是否為相同報表的鍵；報表名稱與額外參數不影響報表內容，不列入比較
+     */
+    private record ReportJobKey(ReportType reportType, LocalDate startDate, LocalDate endDate,
+                                String category, String region, String customerId) {
+        
+        static ReportJobKey of(GenerateReportRequest request) {
+            return new ReportJobKey(request.getReportType(), request.getStartDate(), request.getEndDate(),
+                                    blankToNull(request.getCategory()), blankToNull(request.getRegion()),
+                                    blankToNull(request.getCustomerId()));
+        }
+        
+        private static String blankToNull(String value) {
+            return value == null || value.trim().isEmpty() ? null : value.trim();
+        }
+    }
+    
+    /**
+     * 單一報表工作的狀態；狀態轉換由自身的鎖保護，進度以 volatile 欄位在產生期間更新
+     */
+    private static final class ReportJob implements ReportProgressListener {
+        
+        private final String jobId;
+        private final ReportJobKey key;
+        private final GenerateReportRequest request;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        
+        private ReportJobStatus status = ReportJobStatus.QUEUED;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private String reportId;
+        private String errorMessage;
+        
+        private volatile boolean cancelRequested;
+        private volatile long processedRecords;
+        private volatile long totalRecords;
+        
+        private ReportJob(String jobId, ReportJobKey key, GenerateReportRequest request) {
+            this.jobId = jobId;
+            this.key = key;
+            this.request = request;
+        }
+        
+        @Override
+        public void onProgress(long processedRecords, long totalRecords) {
+            this.processedRecords = processedRecords;
+            this.totalRecords = totalRecords;
+            if (cancelRequested) {
+                throw new CancellationException("報表產生工作已取消：" + jobId);
+            }
+        }
+        
+        synchronized boolean start() {
+            if (status != ReportJobStatus.QUEUED) {
+                return false;
+            }
+            status = ReportJobStatus.RUNNING;
+            startedAt = LocalDateTime.now();
+            return true;
+        }
+        
+        /**
+         * 排隊中的工作直接取消；產生中的工作在下次回報進度時中止
+         * @return 工作尚未結束、取消請求已受理時回傳 true
+         */
+        synchronized boolean requestCancel() {
+            if (status.isFinished()) {
+                return false;
+            }
+            cancelRequested = true;
+            if (status == ReportJobStatus.QUEUED) {
+                finish(ReportJobStatus.CANCELLED);
+            }
+            return true;
+        }
+        
+        synchronized void complete(String reportId) {
+            // 最後一次回報進度後才收到的取消請求來不及中止，報表已儲存，仍視為完成
+            this.reportId = reportId;
+            finish(ReportJobStatus.COMPLETED);
+        }
+        
+        synchronized void cancelled() {
+            finish(ReportJobStatus.CANCELLED);
+        }
+        
+        synchronized void fail(String errorMessage) {
+            this.errorMessage = errorMessage;
+            finish(ReportJobStatus.FAILED);
+        }
+        
+        synchronized boolean isFinished() {
+            return status.isFinished();
+        }
+        
+        synchronized boolean isFinishedBefore(LocalDateTime cutoff) {
+            return status.isFinished() && finishedAt.isBefore(cutoff);
+        }
+        
+        synchronized ReportJobDto toDto(boolean coalesced) {
+            ReportJobDto dto = new ReportJobDto();
+            dto.setJobId(jobId);
+            dto.setStatus(status);
+            dto.setReportName(request.getReportName());
+            dto.setReportType(request.getReportType());
+            dto.setStartDate(request.getStartDate());
+            dto.setEndDate(request.getEndDate());
+            dto.setProcessedRecords(processedRecords);
+            dto.setTotalRecords(totalRecords);
+            dto.setProgressPercentage(progressPercentage());
+            dto.setReportId(reportId);
+            dto.setErrorMessage(errorMessage);
+            dto.setCoalesced(coalesced);
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            return dto;
+        }
+        
+        private void finish(ReportJobStatus finalStatus) {
+            status = finalStatus;
+            finishedAt = LocalDateTime.now();
+        }
+        
+        private int progressPercentage() {
+            if (status == ReportJobStatus.COMPLETED) {
+                return 100;
+            }
+            if (totalRecords == 0) {
+                return 0;
+            }
+            // 產生期間新增的記錄可能使已處理數超過總數，完成前最多顯示 99%
+            return (int) Math.min(99, processedRecords * 100 / totalRecords);
+        }
+    }
+}
@@ -3,23 +3,27 @@ package com.ecommerce.sales.application.usecase;
 import com.ecommerce.sales.application.dto.GenerateReportRequest;
 import com.ecommerce.sales.application.dto.SalesReportDto;
 import com.ecommerce.sales.application.mapper.SalesMapper;
+import com.ecommerce.sales.application.port.in.ReportProgressListener;
 import com.ecommerce.sales.application.port.in.SalesReportUseCase;
 import com.ecommerce.sales.application.port.out.ReportGenerationPort;
 import com.ecommerce.sales.application.port.out.SalesEventPublisherPort;
 import com.ecommerce.sales.application.port.out.SalesPersistencePort;
+import com.ecommerce.sales.application.port.out.SalesReportStorePort;
 import com.ecommerce.sales.domain.event.SalesReportGeneratedEvent;
 import com.ecommerce.sales.domain.exception.InvalidReportParametersException;
 import com.ecommerce.sales.domain.model.ReportType;
 import com.ecommerce.sales.domain.model.SalesRecord;
 import com.ecommerce.sales.domain.model.SalesReport;
+import com.ecommerce.sales.domain.model.SalesRollup;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * 銷售報表服務實作
@@ -29,30 +33,43 @@ import java.util.concurrent.ConcurrentHashMap;
 @Transactional
 public class SalesReportService implements SalesReportUseCase {
     
+    // 每累加這麼多筆記錄回報一次進度
+    private static final int PROGRESS_INTERVAL = 1000;
+    
     private final SalesPersistencePort salesPersistencePort;
     private final ReportGenerationPort reportGenerationPort;
     private final SalesEventPublisherPort salesEventPublisherPort;
+    private final SalesReportStorePort salesReportStorePort;
     private final SalesMapper salesMapper;
     
-    // 簡單的記憶體快取，實際應用中應使用 Redis 或其他快取解決方案
-    private final Map<String, SalesReport> reportCache = new ConcurrentHashMap<>();
-    
     public SalesReportService(SalesPersistencePort salesPersistencePort,
                             ReportGenerationPort reportGenerationPort,
                             SalesEventPublisherPort salesEventPublisherPort,
+                            SalesReportStorePort salesReportStorePort,
                             SalesMapper salesMapper) {
         this.salesPersistencePort = salesPersistencePort;
         this.reportGenerationPort = reportGenerationPort;
         this.salesEventPublisherPort = salesEventPublisherPort;
+        this.salesReportStorePort = salesReportStorePort;
         this.salesMapper = salesMapper;
     }
     
     @Override
     public SalesReportDto generateReport(GenerateReportRequest request) {
+        return generateReport(request, ReportProgressListener.NONE);
+    }
+    
+    @Override
+    public SalesReportDto generateReport(GenerateReportRequest request, ReportProgressListener progressListener) {
         validateReportRequest(request);
         
-        // 根據報表類型取得相應的銷售記錄
-        List<SalesRecord> records = getRecordsForReport(request);
+        String category = blankToNull(request.getCategory());
+        String region = blankToNull(request.getRegion());
+        String customerId = blankToNull(request.getCustomerId());
+        
+        // 以游標逐筆累加指標，不把整段期間的記錄載入記憶體
+        SalesRollup totals = aggregateRecords(request.getStartDate(), request.getEndDate(),
+                                              category, region, customerId, progressListener);
         
         // 生成報表ID
         String reportId = generateReportId();
@@ -63,7 +80,8 @@ public class SalesReportService implements SalesReportUseCase {
                 .reportName(request.getReportName())
                 .dateRange(request.getStartDate(), request.getEndDate())
                 .reportType(request.getReportType())
-                .records(records);
+                .filters(category, region, customerId)
+                .metrics(totals.toMetrics(), Math.toIntExact(totals.getRecordCount()));
         
         // 設定額外參數
         if (request.getAdditionalParameters() != null) {
@@ -72,8 +90,8 @@ public class SalesReportService implements SalesReportUseCase {
         
         SalesReport salesReport = reportBuilder.build();
         
-        // 快取報表
-        reportCache.put(reportId, salesReport);
+        // 儲存報表（只保留指標，明細匯出時再讀取）
+        salesReportStorePort.save(salesReport);
         
         // 發布報表生成事件
         SalesReportGeneratedEvent event = new SalesReportGeneratedEvent(
@@ -82,7 +100,7 @@ public class SalesReportService implements SalesReportUseCase {
             request.getReportType(),
             request.getStartDate(),
             request.getEndDate(),
-            records.size(),
+            salesReport.getRecordCount(),
             "SYSTEM" // 實際應用中應該是當前使用者
         );
         salesEventPublisherPort.publishSalesReportGenerated(event);
@@ -90,14 +108,23 @@ public class SalesReportService implements SalesReportUseCase {
         return salesMapper.toDto(salesReport);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public void validateReportRequest(GenerateReportRequest request) {
+        if (request.getStartDate().isAfter(request.getEndDate())) {
+            throw new InvalidReportParametersException("開始日期不能晚於結束日期");
+        }
+        
+        // 檢查日期範圍是否合理（不超過一年）
+        if (request.getStartDate().plusYears(1).isBefore(request.getEndDate())) {
+            throw new InvalidReportParametersException("報表日期範圍不能超過一年");
+        }
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<SalesReportDto> getReports(ReportType reportType, LocalDate startDate, LocalDate endDate) {
-        // 從快取中過濾符合條件的報表
-        return reportCache.values().stream()
-                .filter(report -> reportType == null || report.getReportType() == reportType)
-                .filter(report -> startDate == null || !report.getStartDate().isBefore(startDate))
-                .filter(report -> endDate == null || !report.getEndDate().isAfter(endDate))
+        return salesReportStorePort.findReports(reportType, startDate, endDate).stream()
                 .map(salesMapper::toDto)
                 .toList();
     }
@@ -105,80 +132,82 @@ public class SalesReportService implements SalesReportUseCase {
     @Override
     @Transactional(readOnly = true)
     public SalesReportDto getReportById(String reportId) {
-        SalesReport report = reportCache.get(reportId);
-        if (report == null) {
-            throw new InvalidReportParametersException("報表不存在：" + reportId);
-        }
+        SalesReport report = salesReportStorePort.findById(reportId)
+                .orElseThrow(() -> new InvalidReportParametersException("報表不存在：" + reportId));
         
         return salesMapper.toDto(report);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public byte[] exportReport(String reportId, String format) {
-        SalesReport report = reportCache.get(reportId);
-        if (report == null) {
-            throw new InvalidReportParametersException("報表不存在：" + reportId);
-        }
-        
-        if (!reportGenerationPort.supportsFormat(format)) {
-            throw new InvalidReportParametersException("不支援的格式：" + format);
+    public void validateExport(String reportId, String format) {
+        getExportableReport(reportId, format);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void exportReport(String reportId, String format, OutputStream outputStream) {
+        SalesReport report = getExportableReport(reportId, format);
+        
+        // 明細依報表條件以游標重新讀取，邊讀邊寫，不經過報表中的記錄列表
+        try (Stream<SalesRecord> records = salesPersistencePort.streamByDateRange(
+                report.getStartDate(), report.getEndDate(),
+                report.getCategory(), report.getRegion(), report.getCustomerId())) {
+            
+            switch (format.toLowerCase()) {
+                case "pdf" -> reportGenerationPort.writePdfReport(report, records, outputStream);
+                case "excel", "xlsx" -> reportGenerationPort.writeExcelReport(report, records, outputStream);
+                case "csv" -> reportGenerationPort.writeCsvReport(report, records, outputStream);
+                default -> throw new InvalidReportParametersException("不支援的格式：" + format);
+            }
         }
-        
-        return switch (format.toLowerCase()) {
-            case "pdf" -> reportGenerationPort.generatePdfReport(report);
-            case "excel", "xlsx" -> reportGenerationPort.generateExcelReport(report);
-            case "csv" -> reportGenerationPort.generateCsvReport(report);
-            default -> throw new InvalidReportParametersException("不支援的格式：" + format);
-        };
     }
     
     @Override
     public void deleteReport(String reportId) {
-        if (!reportCache.containsKey(reportId)) {
+        if (!salesReportStorePort.delete(reportId)) {
             throw new InvalidReportParametersException("報表不存在：" + reportId);
         }
-        
-        reportCache.remove(reportId);
     }
     
     // 私有輔助方法
     
-    private void validateReportRequest(GenerateReportRequest request) {
-        if (request.getStartDate().isAfter(request.getEndDate())) {
-            throw new InvalidReportParametersException("開始日期不能晚於結束日期");
+    private SalesRollup aggregateRecords(LocalDate startDate, LocalDate endDate,
+                                         String category, String region, String customerId,
+                                         ReportProgressListener progressListener) {
+        long totalRecords = salesPersistencePort.countByDateRange(startDate, endDate, category, region, customerId);
+        progressListener.onProgress(0, totalRecords);
+        
+        SalesRollup totals = SalesRollup.empty();
+        try (Stream<SalesRecord> records = salesPersistencePort.streamByDateRange(
+                startDate, endDate, category, region, customerId)) {
+            
+            Iterator<SalesRecord> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                totals = totals.plus(SalesRollup.of(iterator.next()));
+                if (totals.getRecordCount() % PROGRESS_INTERVAL == 0) {
+                    progressListener.onProgress(totals.getRecordCount(), totalRecords);
+                }
+            }
         }
         
-        // 檢查日期範圍是否合理（不超過一年）
-        if (request.getStartDate().plusYears(1).isBefore(request.getEndDate())) {
-            throw new InvalidReportParametersException("報表日期範圍不能超過一年");
-        }
+        progressListener.onProgress(totals.getRecordCount(), totalRecords);
+        return totals;
     }
     
-    private List<SalesRecord> getRecordsForReport(GenerateReportRequest request) {
-        List<SalesRecord> records = salesPersistencePort.findByDateRange(
-            request.getStartDate(), request.getEndDate());
+    private SalesReport getExportableReport(String reportId, String format) {
+        SalesReport report = salesReportStorePort.findById(reportId)
+                .orElseThrow(() -> new InvalidReportParametersException("報表不存在：" + reportId));
         
-        // 根據報表類型和參數進行過濾
-        if (request.getCategory() != null && !request.getCategory().trim().isEmpty()) {
-            records = records.stream()
-                    .filter(record -> request.getCategory().equals(record.getCategory()))
-                    .toList();
-        }
-        
-        if (request.getRegion() != null && !request.getRegion().trim().isEmpty()) {
-            records = records.stream()
-                    .filter(record -> request.getRegion().equals(record.getRegion()))
-                    .toList();
-        }
-        
-        if (request.getCustomerId() != null && !request.getCustomerId().trim().isEmpty()) {
-            records = records.stream()
-                    .filter(record -> request.getCustomerId().equals(record.getCustomerId()))
-                    .toList();
+        if (!reportGenerationPort.supportsFormat(format)) {
+            throw new InvalidReportParametersException("不支援的格式：" + format);
         }
         
-        return records;
+        return report;
+    }
+    
+    private String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value;
     }
     
     private String generateReportId() {
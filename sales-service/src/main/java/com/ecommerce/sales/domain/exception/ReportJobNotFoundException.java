@@ -0,0 +1,14 @@
+package com.ecommerce.sales.domain.exception;
+
+import com.ecommerce.common.exception.ResourceNotFoundException;
+
+/**
+ * 報表產生工作不存在異常
+ * 當查詢的報表工作不存在或已超過保留期限時拋出此異常
+ */
+public class ReportJobNotFoundException extends ResourceNotFoundException {
+    
+    public ReportJobNotFoundException(String jobId) {
+        super("報表產生工作", jobId);
+    }
+}
\ No newline at end of file
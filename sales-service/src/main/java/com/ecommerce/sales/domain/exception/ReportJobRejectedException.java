@@ -0,0 +1,14 @@
+package com.ecommerce.sales.domain.exception;
+
+import com.ecommerce.common.exception.BusinessException;
+
+/**
+ * 報表產生工作被拒絕異常
+ * 當報表工作佇列已滿、無法再接受新工作時拋出此異常
+ */
+public class ReportJobRejectedException extends BusinessException {
+    
+    public ReportJobRejectedException() {
+        super("REPORT_JOB_REJECTED", "報表產生工作已達上限，請稍後再試");
+    }
+}
\ No newline at end of file
@@ -1,6 +1,5 @@
 package com.ecommerce.sales.domain.model;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,6 +9,7 @@ import java.util.Objects;
 /**
  * 銷售報表值物件 - 不可變的報表資料結構
  * 遵循 SRP：只負責封裝報表資料和計算邏輯
+ * 報表只保留計算後的銷售指標與筆數，明細在匯出時依報表條件重新讀取
  */
 public class SalesReport {
     
@@ -19,8 +19,11 @@ public class SalesReport {
     private final LocalDate endDate;
     private final LocalDateTime generatedAt;
     private final ReportType reportType;
+    private final String category;
+    private final String region;
+    private final String customerId;
     private final SalesMetrics metrics;
-    private final List<SalesRecord> records;
+    private final int recordCount;
     private final Map<String, Object> additionalData;
     
     private SalesReport(Builder builder) {
@@ -28,10 +31,18 @@ public class SalesReport {
         this.reportName = builder.reportName;
         this.startDate = builder.startDate;
         this.endDate = builder.endDate;
-        this.generatedAt = LocalDateTime.now();
+        this.generatedAt = builder.generatedAt != null ? builder.generatedAt : LocalDateTime.now();
         this.reportType = builder.reportType;
-        this.metrics = calculateMetrics(builder.records);
-        this.records = List.copyOf(builder.records); // 不可變列表
+        this.category = builder.category;
+        this.region = builder.region;
+        this.customerId = builder.customerId;
+        if (builder.records != null) {
+            this.metrics = calculateMetrics(builder.records);
+            this.recordCount = builder.records.size();
+        } else {
+            this.metrics = builder.metrics;
+            this.recordCount = builder.recordCount;
+        }
         this.additionalData = Map.copyOf(builder.additionalData); // 不可變映射
     }
     
@@ -39,34 +50,7 @@ public class SalesReport {
      * 計算銷售指標的業務邏輯
      */
     private SalesMetrics calculateMetrics(List<SalesRecord> records) {
-        if (records.isEmpty()) {
-            return new SalesMetrics(BigDecimal.ZERO, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
-        }
-        
-        BigDecimal totalRevenue = records.stream()
-                .map(SalesRecord::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        int totalQuantity = records.stream()
-                .mapToInt(SalesRecord::getQuantity)
-                .sum();
-        
-        BigDecimal averageOrderValue = totalRevenue.divide(
-                BigDecimal.valueOf(records.size()), 2, BigDecimal.ROUND_HALF_UP);
-        
-        BigDecimal totalDiscount = records.stream()
-                .map(SalesRecord::getDiscount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        long highValueSalesCount = records.stream()
-                .mapToLong(record -> record.isHighValueSale() ? 1 : 0)
-                .sum();
-        
-        BigDecimal highValueSalesRate = BigDecimal.valueOf(highValueSalesCount)
-                .divide(BigDecimal.valueOf(records.size()), 4, BigDecimal.ROUND_HALF_UP);
-        
-        return new SalesMetrics(totalRevenue, totalQuantity, averageOrderValue, 
-                              totalDiscount, highValueSalesRate);
+        return SalesRollup.fromRecords(records).toMetrics();
     }
     
     /**
@@ -80,25 +64,7 @@ public class SalesReport {
      * 檢查是否為空報表
      */
     public boolean isEmpty() {
-        return records.isEmpty();
-    }
-    
-    /**
-     * 取得指定分類的銷售記錄
-     */
-    public List<SalesRecord> getRecordsByCategory(String category) {
-        return records.stream()
-                .filter(record -> category.equals(record.getCategory()))
-                .toList();
-    }
-    
-    /**
-     * 取得指定通道的銷售記錄
-     */
-    public List<SalesRecord> getRecordsByChannel(SalesChannel channel) {
-        return records.stream()
-                .filter(record -> channel.equals(record.getChannel()))
-                .toList();
+        return recordCount == 0;
     }
     
     // Getters
@@ -108,8 +74,11 @@ public class SalesReport {
     public LocalDate getEndDate() { return endDate; }
     public LocalDateTime getGeneratedAt() { return generatedAt; }
     public ReportType getReportType() { return reportType; }
+    public String getCategory() { return category; }
+    public String getRegion() { return region; }
+    public String getCustomerId() { return customerId; }
+    public int getRecordCount() { return recordCount; }
     public SalesMetrics getMetrics() { return metrics; }
-    public List<SalesRecord> getRecords() { return records; }
     public Map<String, Object> getAdditionalData() { return additionalData; }
     
     @Override
@@ -133,7 +102,7 @@ public class SalesReport {
                 ", startDate=" + startDate +
                 ", endDate=" + endDate +
                 ", reportType=" + reportType +
-                ", recordCount=" + records.size() +
+                ", recordCount=" + recordCount +
                 ", totalRevenue=" + metrics.getTotalRevenue() +
                 '}';
     }
@@ -147,7 +116,13 @@ public class SalesReport {
         private LocalDate startDate;
         private LocalDate endDate;
         private ReportType reportType;
+        private String category;
+        private String region;
+        private String customerId;
         private List<SalesRecord> records;
+        private SalesMetrics metrics;
+        private int recordCount;
+        private LocalDateTime generatedAt;
         private Map<String, Object> additionalData = Map.of();
         
         public Builder reportId(String reportId) {
@@ -171,11 +146,38 @@ public class SalesReport {
             return this;
         }
         
+        /**
+         * 報表的過濾條件，null 表示不過濾；匯出時依相同條件重新讀取明細
+         */
+        public Builder filters(String category, String region, String customerId) {
+            this.category = category;
+            this.region = region;
+            this.customerId = customerId;
+            return this;
+        }
+        
         public Builder records(List<SalesRecord> records) {
             this.records = records;
             return this;
         }
         
+        /**
+         * 直接指定已計算的指標與筆數（例如由彙總查詢或已儲存的報表還原），與 records 擇一使用
+         */
+        public Builder metrics(SalesMetrics metrics, int recordCount) {
+            this.metrics = metrics;
+            this.recordCount = recordCount;
+            return this;
+        }
+        
+        /**
+         * 指定生成時間，還原已儲存的報表時使用；未指定時為建立當下
+         */
+        public Builder generatedAt(LocalDateTime generatedAt) {
+            this.generatedAt = generatedAt;
+            return this;
+        }
+        
         public Builder additionalData(Map<String, Object> additionalData) {
             this.additionalData = additionalData;
             return this;
@@ -205,9 +207,12 @@ public class SalesReport {
             if (reportType == null) {
                 throw new IllegalArgumentException("報表類型不能為空");
             }
-            if (records == null) {
+            if (records == null && metrics == null) {
                 throw new IllegalArgumentException("銷售記錄不能為空");
             }
+            if (recordCount < 0) {
+                throw new IllegalArgumentException("記錄數量不能為負數");
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.ecommerce.sales.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 銷售彙總值物件 - 預先彙總的銷售度量
+ * 以「日 × 分類 × 通道 × 區域 × 商品」為粒度累加，查詢時再依需要合併
+ * 不可變物件，遵循值物件設計原則
+ */
+public class SalesRollup {
+    
+    private final LocalDate saleDate;
+    private final BigDecimal revenue;
+    private final long quantity;
+    private final long recordCount;
+    private final BigDecimal discount;
+    private final long highValueCount;
+    
+    public SalesRollup(LocalDate saleDate, BigDecimal revenue, long quantity, long recordCount,
+                       BigDecimal discount, long highValueCount) {
+        this.saleDate = saleDate;
+        this.revenue = revenue != null ? revenue : BigDecimal.ZERO;
+        this.quantity = quantity;
+        this.recordCount = recordCount;
+        this.discount = discount != null ? discount : BigDecimal.ZERO;
+        this.highValueCount = highValueCount;
+    }
+    
+    /**
+     * 沒有任何銷售的彙總值
+     */
+    public static SalesRollup empty() {
+        return new SalesRollup(null, BigDecimal.ZERO, 0, 0, BigDecimal.ZERO, 0);
+    }
+    
+    /**
+     * 單筆銷售記錄的彙總值，逐筆累加串流讀取的記錄時使用
+     */
+    public static SalesRollup of(SalesRecord record) {
+        return new SalesRollup(null, record.getTotalAmount(), record.getQuantity(), 1,
+                               record.getDiscount(), record.isHighValueSale() ? 1 : 0);
+    }
+    
+    /**
+     * 由原始銷售記錄計算彙總值（彙總表無法涵蓋的維度，例如客戶，才需要使用）
+     */
+    public static SalesRollup fromRecords(List<SalesRecord> records) {
+        SalesRollup rollup = empty();
+        for (SalesRecord record : records) {
+            rollup = rollup.plus(of(record));
+        }
+        return rollup;
+    }
+    
+    /**
+     * 合併兩個彙總值，結果不屬於特定日期
+     */
+    public SalesRollup plus(SalesRollup other) {
+        return new SalesRollup(
+            Objects.equals(saleDate, other.saleDate) ? saleDate : null,
+            revenue.add(other.revenue),
+            quantity + other.quantity,
+            recordCount + other.recordCount,
+            discount.add(other.discount),
+            highValueCount + other.highValueCount
+        );
+    }
+    
+    public boolean isEmpty() {
+        return recordCount == 0;
+    }
+    
+    /**
+     * 換算為報表使用的銷售指標：平均訂單金額取到小數兩位、高價值銷售比例取到小數四位
+     */
+    public SalesMetrics toMetrics() {
+        if (isEmpty()) {
+            return new SalesMetrics(BigDecimal.ZERO, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        
+        BigDecimal count = BigDecimal.valueOf(recordCount);
+        return new SalesMetrics(
+            revenue,
+            Math.toIntExact(quantity),
+            revenue.divide(count, 2, RoundingMode.HALF_UP),
+            discount,
+            BigDecimal.valueOf(highValueCount).divide(count, 4, RoundingMode.HALF_UP)
+        );
+    }
+    
+    // Getters
+    public LocalDate getSaleDate() { return saleDate; }
+    public BigDecimal getRevenue() { return revenue; }
+    public long getQuantity() { return quantity; }
+    public long getRecordCount() { return recordCount; }
+    public BigDecimal getDiscount() { return discount; }
+    public long getHighValueCount() { return highValueCount; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SalesRollup that = (SalesRollup) o;
+        return quantity == that.quantity &&
+               recordCount == that.recordCount &&
+               highValueCount == that.highValueCount &&
+               Objects.equals(saleDate, that.saleDate) &&
+               revenue.compareTo(that.revenue) == 0 &&
+               discount.compareTo(that.discount) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(saleDate, revenue.stripTrailingZeros(), quantity, recordCount,
+                            discount.stripTrailingZeros(), highValueCount);
+    }
+    
+    @Override
+    public String toString() {
+        return "SalesRollup{" +
+                "saleDate=" + saleDate +
+                ", revenue=" + revenue +
+                ", quantity=" + quantity +
+                ", recordCount=" + recordCount +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.sales.domain.repository;
+
+import com.ecommerce.sales.domain.model.SalesChannel;
+import com.ecommerce.sales.domain.model.SalesRollup;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 銷售日彙總倉儲介面 - 定義預先彙總資料的存取抽象
+ * 彙總表以「日 × 分類 × 通道 × 區域 × 商品」為粒度，隨銷售記錄寫入同步累加
+ * 遵循 DIP：高層模組定義抽象介面
+ */
+public interface SalesRollupRepository {
+    
+    /**
+     * 查詢期間內每日的彙總值（依日期排序，沒有銷售的日期不會出現）
+     */
+    List<SalesRollup> findDailyRollups(LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * 彙總期間內的銷售度量，分類、區域、商品為 null 時表示不過濾
+     */
+    SalesRollup sumRollups(LocalDate startDate, LocalDate endDate,
+                           String category, String region, String productId);
+    
+    /**
+     * 依銷售通道彙總期間內的收入
+     */
+    Map<SalesChannel, BigDecimal> sumRevenueByChannel(LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * 以原始銷售記錄重建期間內的彙總資料（用於回補歷史或修正）
+     * @return 重建的彙總列數
+     */
+    int rebuildRollups(LocalDate startDate, LocalDate endDate);
+}
@@ -3,6 +3,7 @@ package com.ecommerce.sales.domain.service;
 import com.ecommerce.common.architecture.DomainService;
 import com.ecommerce.sales.domain.model.*;
 import com.ecommerce.sales.domain.repository.SalesRepository;
+import com.ecommerce.sales.domain.repository.SalesRollupRepository;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -10,7 +11,6 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * 銷售領域服務 - 包含複雜的銷售業務邏輯和分析規則
@@ -22,9 +22,12 @@ import java.util.stream.Collectors;
 public class SalesDomainService {
     
     private final SalesRepository salesRepository;
+    private final SalesRollupRepository salesRollupRepository;
     
-    public SalesDomainService(SalesRepository salesRepository) {
+    public SalesDomainService(SalesRepository salesRepository,
+                              SalesRollupRepository salesRollupRepository) {
         this.salesRepository = salesRepository;
+        this.salesRollupRepository = salesRollupRepository;
     }
     
     /**
@@ -52,20 +55,34 @@ public class SalesDomainService {
         return salesRepository.save(salesRecord);
     }
     
+    /**
+     * 建立訂單項目的銷售記錄（不檢查重複也不儲存），供批次寫入使用
+     * 記錄ID由訂單ID與項目序號組成，同一訂單的多個項目不會衝突，重送時也會得到相同ID
+     */
+    public SalesRecord newSalesRecordForOrderLine(String orderId, int lineNumber, String customerId,
+                                                  String productId, String productName, Integer quantity,
+                                                  BigDecimal unitPrice, BigDecimal discount, String category,
+                                                  SalesChannel channel, String region) {
+        return SalesRecord.create(
+            "SR-" + orderId + "-" + lineNumber, orderId, customerId, productId, productName,
+            quantity, unitPrice, discount, category, channel, region
+        );
+    }
+    
     /**
      * 分析銷售趨勢的業務邏輯
+     * 以每日彙總計算，一年期間最多只讀取 365 列
      */
     public SalesTrendAnalysis analyzeSalesTrend(LocalDate startDate, LocalDate endDate) {
-        List<SalesRecord> records = salesRepository.findByDateRange(startDate, endDate);
+        List<SalesRollup> dailyRollups = salesRollupRepository.findDailyRollups(startDate, endDate);
         
-        if (records.isEmpty()) {
+        if (dailyRollups.isEmpty()) {
             return new SalesTrendAnalysis(TrendDirection.STABLE, BigDecimal.ZERO, "無銷售資料");
         }
         
-        // 計算期間總收入
-        BigDecimal totalRevenue = records.stream()
-                .map(SalesRecord::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // 計算期間總收入與交易筆數
+        SalesRollup total = dailyRollups.stream().reduce(SalesRollup.empty(), SalesRollup::plus);
+        BigDecimal totalRevenue = total.getRevenue();
         
         // 計算平均日收入
         long daysBetween = ChronoUnit.DAYS.between(startDate, endDate) + 1;
@@ -73,14 +90,35 @@ public class SalesDomainService {
                 BigDecimal.valueOf(daysBetween), 2, BigDecimal.ROUND_HALF_UP);
         
         // 分析趨勢方向
-        TrendDirection direction = analyzeTrendDirection(records, startDate, endDate);
+        TrendDirection direction = analyzeTrendDirection(dailyRollups, startDate, endDate);
         
         // 生成分析說明
-        String analysis = generateTrendAnalysis(direction, totalRevenue, averageDailyRevenue, records.size());
+        String analysis = generateTrendAnalysis(direction, totalRevenue, averageDailyRevenue,
+                                                (int) total.getRecordCount());
         
         return new SalesTrendAnalysis(direction, averageDailyRevenue, analysis);
     }
     
+    /**
+     * 彙總期間內的銷售度量，過濾條件為 null 時表示不過濾
+     * 客戶不在彙總維度內，指定客戶時改由該客戶的原始記錄計算
+     */
+    public SalesRollup summarizeSales(LocalDate startDate, LocalDate endDate, String category,
+                                      String region, String customerId, String productId) {
+        if (customerId == null) {
+            return salesRollupRepository.sumRollups(startDate, endDate, category, region, productId);
+        }
+        
+        List<SalesRecord> customerRecords = salesRepository.findByCustomerId(customerId).stream()
+                .filter(record -> !record.getSaleDate().toLocalDate().isBefore(startDate) &&
+                                !record.getSaleDate().toLocalDate().isAfter(endDate))
+                .filter(record -> category == null || category.equals(record.getCategory()))
+                .filter(record -> region == null || region.equals(record.getRegion()))
+                .filter(record -> productId == null || productId.equals(record.getProductId()))
+                .toList();
+        return SalesRollup.fromRecords(customerRecords);
+    }
+    
     /**
      * 分析客戶購買行為
      */
@@ -109,24 +147,15 @@ public class SalesDomainService {
      * 分析商品績效
      */
     public ProductPerformanceAnalysis analyzeProductPerformance(String category, LocalDate startDate, LocalDate endDate) {
-        List<SalesRecord> categoryRecords = salesRepository.findByCategory(category).stream()
-                .filter(record -> !record.getSaleDate().toLocalDate().isBefore(startDate) &&
-                                !record.getSaleDate().toLocalDate().isAfter(endDate))
-                .toList();
+        SalesRollup categoryRollup = salesRollupRepository.sumRollups(startDate, endDate, category, null, null);
         
-        if (categoryRecords.isEmpty()) {
+        if (categoryRollup.isEmpty()) {
             return new ProductPerformanceAnalysis(category, BigDecimal.ZERO, 0, PerformanceLevel.LOW);
         }
         
-        // 計算分類總收入
-        BigDecimal totalRevenue = categoryRecords.stream()
-                .map(SalesRecord::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        // 計算總銷量
-        int totalQuantity = categoryRecords.stream()
-                .mapToInt(SalesRecord::getQuantity)
-                .sum();
+        // 分類總收入與總銷量
+        BigDecimal totalRevenue = categoryRollup.getRevenue();
+        int totalQuantity = (int) categoryRollup.getQuantity();
         
         // 評估績效等級
         PerformanceLevel performanceLevel = evaluatePerformanceLevel(totalRevenue, totalQuantity);
@@ -138,32 +167,29 @@ public class SalesDomainService {
      * 分析通道績效
      */
     public Map<SalesChannel, BigDecimal> analyzeChannelPerformance(LocalDate startDate, LocalDate endDate) {
-        List<SalesRecord> records = salesRepository.findByDateRange(startDate, endDate);
-        
-        return records.stream()
-                .collect(Collectors.groupingBy(
-                    SalesRecord::getChannel,
-                    Collectors.reducing(BigDecimal.ZERO, SalesRecord::getTotalAmount, BigDecimal::add)
-                ));
+        return salesRollupRepository.sumRevenueByChannel(startDate, endDate);
+    }
+    
+    /**
+     * 重建期間內的銷售日彙總（回補歷史資料或修正彙總）
+     */
+    public int rebuildSalesRollups(LocalDate startDate, LocalDate endDate) {
+        return salesRollupRepository.rebuildRollups(startDate, endDate);
     }
     
     /**
      * 檢查是否需要補貨警告
      */
     public boolean shouldTriggerRestockAlert(String productId, LocalDate startDate, LocalDate endDate) {
-        List<SalesRecord> productRecords = salesRepository.findByProductId(productId).stream()
-                .filter(record -> !record.getSaleDate().toLocalDate().isBefore(startDate) &&
-                                !record.getSaleDate().toLocalDate().isAfter(endDate))
-                .toList();
+        SalesRollup productRollup = salesRollupRepository.sumRollups(startDate, endDate, null, null, productId);
         
-        if (productRecords.isEmpty()) {
+        if (productRollup.isEmpty()) {
             return false;
         }
         
         // 計算平均日銷量
         long daysBetween = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        int totalQuantity = productRecords.stream().mapToInt(SalesRecord::getQuantity).sum();
-        double averageDailySales = (double) totalQuantity / daysBetween;
+        double averageDailySales = (double) productRollup.getQuantity() / daysBetween;
         
         // 如果平均日銷量超過10件，建議補貨
         return averageDailySales > 10.0;
@@ -175,18 +201,18 @@ public class SalesDomainService {
         return "SR-" + orderId + "-" + System.currentTimeMillis();
     }
     
-    private TrendDirection analyzeTrendDirection(List<SalesRecord> records, LocalDate startDate, LocalDate endDate) {
+    private TrendDirection analyzeTrendDirection(List<SalesRollup> dailyRollups, LocalDate startDate, LocalDate endDate) {
         // 簡化的趨勢分析：比較前半期和後半期的收入
         LocalDate midDate = startDate.plusDays(ChronoUnit.DAYS.between(startDate, endDate) / 2);
         
-        BigDecimal firstHalfRevenue = records.stream()
-                .filter(record -> !record.getSaleDate().toLocalDate().isAfter(midDate))
-                .map(SalesRecord::getTotalAmount)
+        BigDecimal firstHalfRevenue = dailyRollups.stream()
+                .filter(rollup -> !rollup.getSaleDate().isAfter(midDate))
+                .map(SalesRollup::getRevenue)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
-        BigDecimal secondHalfRevenue = records.stream()
-                .filter(record -> record.getSaleDate().toLocalDate().isAfter(midDate))
-                .map(SalesRecord::getTotalAmount)
+        BigDecimal secondHalfRevenue = dailyRollups.stream()
+                .filter(rollup -> rollup.getSaleDate().isAfter(midDate))
+                .map(SalesRollup::getRevenue)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
         if (secondHalfRevenue.compareTo(firstHalfRevenue.multiply(new BigDecimal("1.1"))) > 0) {
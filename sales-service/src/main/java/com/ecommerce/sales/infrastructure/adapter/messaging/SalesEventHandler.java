@@ -1,14 +1,25 @@
 package com.ecommerce.sales.infrastructure.adapter.messaging;
 
 import com.ecommerce.sales.application.service.SalesEventHandlerService;
+import com.ecommerce.sales.application.service.SalesEventHandlerService.OrderCompletedBatchResult;
 import com.ecommerce.sales.application.service.SalesEventHandlerService.OrderCompletedEvent;
 import com.ecommerce.sales.application.service.SalesEventHandlerService.PaymentCompletedEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 銷售事件處理器
  * 遵循 SRP：只負責監聽和處理外部事件
@@ -21,30 +32,76 @@ public class SalesEventHandler {
     private final SalesEventHandlerService salesEventHandlerService;
     private final ObjectMapper objectMapper;
     
+    // 訂單完成事件批次處理指標
+    private final Timer orderCompletedBatchTimer;
+    private final DistributionSummary orderCompletedBatchSize;
+    private final Counter salesRecordsCreated;
+    private final Counter orderCompletedSkipped;
+    private final Counter orderCompletedRejected;
+    
     public SalesEventHandler(SalesEventHandlerService salesEventHandlerService,
-                           ObjectMapper objectMapper) {
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
         this.salesEventHandlerService = salesEventHandlerService;
         this.objectMapper = objectMapper;
+        this.orderCompletedBatchTimer = Timer.builder("sales.ingestion.order-completed.batch")
+                .description("每批訂單完成事件的處理時間")
+                .register(meterRegistry);
+        this.orderCompletedBatchSize = DistributionSummary.builder("sales.ingestion.order-completed.batch.size")
+                .description("每批收到的訂單完成事件數")
+                .register(meterRegistry);
+        this.salesRecordsCreated = Counter.builder("sales.ingestion.records.created")
+                .description("批次寫入的銷售記錄數")
+                .register(meterRegistry);
+        this.orderCompletedSkipped = Counter.builder("sales.ingestion.order-completed.skipped")
+                .description("因重複而略過的訂單完成事件數")
+                .register(meterRegistry);
+        this.orderCompletedRejected = Counter.builder("sales.ingestion.order-completed.rejected")
+                .description("無法解析而丟棄的訂單完成事件數")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 批次監聽訂單完成事件
+     * 一次取得最多 batch-size 筆訊息，整批在同一交易中寫入後一併確認；
+     * 寫入失敗時由容器重試整批，重試用盡後整批轉送死信佇列；重送的訂單會在去重查詢中被排除
+     */
+    @RabbitListener(queues = "sales.order.completed.queue", containerFactory = "orderCompletedBatchContainerFactory")
+    public void handleOrderCompletedEvents(List<Message> messages) {
+        orderCompletedBatchSize.record(messages.size());
+        
+        List<OrderCompletedEvent> events = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            OrderCompletedEvent event = parseOrderCompletedEvent(message);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        
+        OrderCompletedBatchResult result = orderCompletedBatchTimer.record(
+            () -> salesEventHandlerService.handleOrderCompletedEvents(events));
+        salesRecordsCreated.increment(result.getSalesRecordsCreated());
+        orderCompletedSkipped.increment(result.getEventsSkipped());
     }
     
     /**
-     * 監聽訂單完成事件
+     * 解析單筆訊息；格式錯誤的訊息重送也不會成功，記錄後丟棄以免卡住整批
      */
-    @RabbitListener(queues = "sales.order.completed.queue")
-    public void handleOrderCompletedEvent(String eventJson) {
+    private OrderCompletedEvent parseOrderCompletedEvent(Message message) {
         try {
-            logger.info("收到訂單完成事件: {}", eventJson);
-            
-            OrderCompletedEvent event = objectMapper.readValue(eventJson, OrderCompletedEvent.class);
-            salesEventHandlerService.handleOrderCompletedEvent(event);
-            
-            logger.info("訂單完成事件處理成功: orderId={}", event.getOrderId());
-            
-        } catch (Exception e) {
-            logger.error("處理訂單完成事件失敗: {}", eventJson, e);
-            // 實際應用中應該有重試機制或死信佇列處理
-            throw new RuntimeException("事件處理失敗", e);
+            OrderCompletedEvent event = objectMapper.readValue(message.getBody(), OrderCompletedEvent.class);
+            if (event.getOrderId() != null && !event.getOrderId().isBlank()) {
+                return event;
+            }
+        } catch (IOException e) {
+            logger.error("無法解析訂單完成事件", e);
         }
+        orderCompletedRejected.increment();
+        logger.error("丟棄無效的訂單完成事件: {}", new String(message.getBody(), StandardCharsets.UTF_8));
+        return null;
     }
     
     /**
@@ -8,39 +8,92 @@ import com.ecommerce.sales.domain.repository.SalesRepository;
 import com.ecommerce.sales.infrastructure.adapter.persistence.entity.SalesRecordJpaEntity;
 import com.ecommerce.sales.infrastructure.adapter.persistence.mapper.SalesRecordJpaMapper;
 import com.ecommerce.sales.infrastructure.adapter.persistence.repository.SalesRecordJpaRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * 銷售 JPA 適配器
  * 遵循 DIP：實作輸出埠介面，提供資料持久化功能
  * 遵循 SRP：只負責資料存取邏輯
+ * 銷售記錄只會新增或刪除，寫入時同步維護日彙總表
  */
 @Component
 @PersistenceAdapter
 public class SalesJpaAdapter implements SalesPersistencePort, SalesRepository {
     
+    // 銷售記錄使用指派的字串主鍵，透過 JPA save 會先 merge（每筆一次 SELECT），批次寫入改走 JDBC
+    private static final String INSERT_SALES_RECORD_SQL =
+        "INSERT INTO sales_records (sales_record_id, order_id, customer_id, product_id, product_name, " +
+        "quantity, unit_price, total_amount, discount, category, sale_date, channel, region, " +
+        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int JDBC_BATCH_SIZE = 500;
+    
     private final SalesRecordJpaRepository salesRecordJpaRepository;
     private final SalesRecordJpaMapper salesRecordJpaMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final SalesRollupJpaAdapter salesRollupJpaAdapter;
+    private final EntityManager entityManager;
     
     public SalesJpaAdapter(SalesRecordJpaRepository salesRecordJpaRepository,
-                         SalesRecordJpaMapper salesRecordJpaMapper) {
+                         SalesRecordJpaMapper salesRecordJpaMapper,
+                         JdbcTemplate jdbcTemplate,
+                         SalesRollupJpaAdapter salesRollupJpaAdapter,
+                         EntityManager entityManager) {
         this.salesRecordJpaRepository = salesRecordJpaRepository;
         this.salesRecordJpaMapper = salesRecordJpaMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.salesRollupJpaAdapter = salesRollupJpaAdapter;
+        this.entityManager = entityManager;
     }
     
     @Override
     public SalesRecord save(SalesRecord salesRecord) {
+        salesRollupJpaAdapter.lockForAccumulate();
         SalesRecordJpaEntity jpaEntity = salesRecordJpaMapper.toJpaEntity(salesRecord);
         SalesRecordJpaEntity savedEntity = salesRecordJpaRepository.save(jpaEntity);
+        salesRollupJpaAdapter.accumulate(List.of(salesRecord));
         return salesRecordJpaMapper.toDomainObject(savedEntity);
     }
     
+    @Override
+    public void saveAll(List<SalesRecord> salesRecords) {
+        if (salesRecords.isEmpty()) {
+            return;
+        }
+        salesRollupJpaAdapter.lockForAccumulate();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SALES_RECORD_SQL, salesRecords, JDBC_BATCH_SIZE, (ps, record) -> {
+            ps.setString(1, record.getSalesRecordId());
+            ps.setString(2, record.getOrderId());
+            ps.setString(3, record.getCustomerId());
+            ps.setString(4, record.getProductId());
+            ps.setString(5, record.getProductName());
+            ps.setInt(6, record.getQuantity());
+            ps.setBigDecimal(7, record.getUnitPrice());
+            ps.setBigDecimal(8, record.getTotalAmount());
+            ps.setBigDecimal(9, record.getDiscount());
+            ps.setString(10, record.getCategory());
+            ps.setTimestamp(11, Timestamp.valueOf(record.getSaleDate()));
+            ps.setString(12, record.getChannel().name());
+            ps.setString(13, record.getRegion());
+            ps.setTimestamp(14, now);
+            ps.setTimestamp(15, now);
+        });
+        salesRollupJpaAdapter.accumulate(salesRecords);
+    }
+    
     @Override
     public Optional<SalesRecord> findById(String salesRecordId) {
         return salesRecordJpaRepository.findById(salesRecordId)
@@ -75,6 +128,28 @@ public class SalesJpaAdapter implements SalesPersistencePort, SalesRepository {
         return salesRecordJpaMapper.toDomainObjectList(jpaEntities);
     }
     
+    @Override
+    public Stream<SalesRecord> streamByDateRange(LocalDate startDate, LocalDate endDate,
+                                                 String category, String region, String customerId) {
+        LocalDateTime startDateTime = startDate.atStartOfDay();
+        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
+        
+        // 唯讀實體仍會留在持久化內容中，轉換後立即 detach，記憶體用量才不會隨筆數成長
+        return salesRecordJpaRepository
+                .streamForExport(startDateTime, endDateTime, category, region, customerId)
+                .map(jpaEntity -> {
+                    entityManager.detach(jpaEntity);
+                    return salesRecordJpaMapper.toDomainObject(jpaEntity);
+                });
+    }
+    
+    @Override
+    public long countByDateRange(LocalDate startDate, LocalDate endDate,
+                                 String category, String region, String customerId) {
+        return salesRecordJpaRepository.countForExport(
+                startDate.atStartOfDay(), endDate.atTime(23, 59, 59), category, region, customerId);
+    }
+    
     @Override
     public List<SalesRecord> findByCategory(String category) {
         List<SalesRecordJpaEntity> jpaEntities = salesRecordJpaRepository.findByCategory(category);
@@ -122,7 +197,11 @@ public class SalesJpaAdapter implements SalesPersistencePort, SalesRepository {
     
     @Override
     public void deleteById(String salesRecordId) {
-        salesRecordJpaRepository.deleteById(salesRecordId);
+        salesRollupJpaAdapter.lockForAccumulate();
+        findById(salesRecordId).ifPresent(salesRecord -> {
+            salesRecordJpaRepository.deleteById(salesRecordId);
+            salesRollupJpaAdapter.subtract(salesRecord);
+        });
     }
     
     @Override
@@ -135,6 +214,14 @@ public class SalesJpaAdapter implements SalesPersistencePort, SalesRepository {
         return salesRecordJpaRepository.existsByOrderId(orderId);
     }
     
+    @Override
+    public Set<String> findExistingOrderIds(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(salesRecordJpaRepository.findExistingOrderIds(orderIds));
+    }
+    
     // 額外的查詢方法
     
     /**
@@ -0,0 +1,243 @@
+package com.ecommerce.sales.infrastructure.adapter.persistence;
+
+import com.ecommerce.sales.domain.model.ReportType;
+import com.ecommerce.sales.domain.model.SalesMetrics;
+import com.ecommerce.sales.domain.model.SalesReport;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 銷售報表的精簡二進位格式
+ * 報表只含標頭、過濾條件、指標與額外資料，每份通常不到 1KB；
+ * 日期以 epoch day、金額以 unscaled value + scale 儲存
+ */
+final class SalesReportCodec {
+
+    private static final int MAGIC = 0x53525054; // "SRPT"
+    private static final byte VERSION = 1;
+
+    // additionalData 的值類型標記
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_BOOLEAN = 2;
+    private static final byte TAG_INTEGER = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_DOUBLE = 5;
+    private static final byte TAG_DECIMAL = 6;
+    private static final byte TAG_LIST = 7;
+    private static final byte TAG_MAP = 8;
+
+    private SalesReportCodec() {
+    }
+
+    static void write(SalesReport report, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+
+        out.writeUTF(report.getReportId());
+        out.writeUTF(report.getReportName());
+        out.writeByte(report.getReportType().ordinal());
+        out.writeLong(report.getStartDate().toEpochDay());
+        out.writeLong(report.getEndDate().toEpochDay());
+        out.writeLong(report.getGeneratedAt().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(report.getGeneratedAt().getNano());
+        writeNullableString(report.getCategory(), out);
+        writeNullableString(report.getRegion(), out);
+        writeNullableString(report.getCustomerId(), out);
+
+        SalesMetrics metrics = report.getMetrics();
+        writeDecimal(metrics.getTotalRevenue(), out);
+        out.writeInt(metrics.getTotalQuantity());
+        writeDecimal(metrics.getAverageOrderValue(), out);
+        writeDecimal(metrics.getTotalDiscount(), out);
+        writeDecimal(metrics.getHighValueSalesRate(), out);
+        out.writeInt(report.getRecordCount());
+
+        out.writeInt(report.getAdditionalData().size());
+        for (Map.Entry<String, Object> entry : report.getAdditionalData().entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeValue(entry.getValue(), out);
+        }
+    }
+
+    static SalesReport read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("不是銷售報表檔案");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("不支援的報表檔案版本：" + version);
+        }
+
+        String reportId = in.readUTF();
+        String reportName = in.readUTF();
+        ReportType reportType = ReportType.values()[in.readByte()];
+        LocalDate startDate = LocalDate.ofEpochDay(in.readLong());
+        LocalDate endDate = LocalDate.ofEpochDay(in.readLong());
+        LocalDateTime generatedAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        String category = readNullableString(in);
+        String region = readNullableString(in);
+        String customerId = readNullableString(in);
+
+        SalesMetrics metrics = new SalesMetrics(
+            readDecimal(in), in.readInt(), readDecimal(in), readDecimal(in), readDecimal(in));
+        int recordCount = in.readInt();
+
+        int additionalDataSize = in.readInt();
+        Map<String, Object> additionalData = new HashMap<>(additionalDataSize * 2);
+        for (int i = 0; i < additionalDataSize; i++) {
+            String key = in.readUTF();
+            Object value = readValue(in);
+            // SalesReport 的 additionalData 為 Map.copyOf，不接受 null 值
+            if (value != null) {
+                additionalData.put(key, value);
+            }
+        }
+
+        return new SalesReport.Builder()
+                .reportId(reportId)
+                .reportName(reportName)
+                .dateRange(startDate, endDate)
+                .reportType(reportType)
+                .filters(category, region, customerId)
+                .metrics(metrics, recordCount)
+                .generatedAt(generatedAt)
+                .additionalData(additionalData)
+                .build();
+    }
+
+    /**
+     * 估算報表常駐記憶體的大小，作為記憶體預算的權重
+     */
+    static long estimateHeapSize(SalesReport report) {
+        // 報表物件、指標與 BigDecimal、日期等固定部分
+        long size = 512;
+        size += stringSize(report.getReportId()) + stringSize(report.getReportName())
+                + stringSize(report.getCategory()) + stringSize(report.getRegion())
+                + stringSize(report.getCustomerId());
+        for (Map.Entry<String, Object> entry : report.getAdditionalData().entrySet()) {
+            size += 64 + stringSize(entry.getKey()) + stringSize(String.valueOf(entry.getValue()));
+        }
+        return size;
+    }
+
+    // 私有輔助方法
+
+    private static long stringSize(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+
+    private static void writeNullableString(String value, DataOutputStream out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDecimal(BigDecimal value, DataOutputStream out) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedByte()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeValue(Object value, DataOutputStream out) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof Integer number) {
+            out.writeByte(TAG_INTEGER);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(TAG_LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof BigDecimal number) {
+            out.writeByte(TAG_DECIMAL);
+            writeDecimal(number, out);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(element, out);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(TAG_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                out.writeUTF(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue(), out);
+            }
+        } else {
+            // 其他類型（JSON 反序列化後不會出現）以字串保存
+            out.writeByte(TAG_STRING);
+            out.writeUTF(value.toString());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_STRING:
+                return in.readUTF();
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_INTEGER:
+                return in.readInt();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_DECIMAL:
+                return readDecimal(in);
+            case TAG_LIST: {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return Collections.unmodifiableList(list);
+            }
+            case TAG_MAP: {
+                int size = in.readInt();
+                Map<String, Object> map = new HashMap<>(size * 2);
+                for (int i = 0; i < size; i++) {
+                    String key = in.readUTF();
+                    map.put(key, readValue(in));
+                }
+                return Collections.unmodifiableMap(map);
+            }
+            default:
+                throw new IOException("未知的資料類型標記：" + tag);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.ecommerce.sales.infrastructure.adapter.persistence;
+
+import com.ecommerce.common.architecture.PersistenceAdapter;
+import com.ecommerce.sales.application.port.out.SalesReportStorePort;
+import com.ecommerce.sales.domain.model.ReportType;
+import com.ecommerce.sales.domain.model.SalesReport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 銷售報表儲存適配器
+ * 報表常駐於記憶體直到超過記憶體預算，再依最近最少使用的順序寫到本機檔案並釋放，
+ * 下次讀取時自動從檔案載回；所有報表（不論在記憶體或檔案）都依類型與開始日期建立索引，
+ * 查詢報表清單時不需掃描全部報表
+ * 報表檔案只在本次程序內有效，啟動時會清除上次遺留的檔案
+ */
+@Component
+@PersistenceAdapter
+public class SalesReportFileStore implements SalesReportStorePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesReportFileStore.class);
+
+    private static final String FILE_SUFFIX = ".rpt";
+
+    private final Path directory;
+    private final long memoryBudgetBytes;
+
+    // 以下狀態皆由 this 鎖保護；報表檔案很小，讀寫在鎖內完成
+    private final Map<String, SalesReport> residentReports = new HashMap<>();
+    // 存取順序的 LRU，值為報表估算的記憶體大小
+    private final LinkedHashMap<String, Long> residentWeights = new LinkedHashMap<>(16, 0.75f, true);
+    // 已有檔案的報表，載回記憶體後仍保留，再次淘汰時不需重寫
+    private final Set<String> spilledReportIds = new HashSet<>();
+    private final Map<String, IndexEntry> index = new HashMap<>();
+    private final Map<ReportType, NavigableMap<LocalDate, Set<String>>> indexByTypeAndStartDate =
+        new EnumMap<>(ReportType.class);
+    private long residentBytes;
+    // 只存在檔案、不在記憶體中的報表數；載回記憶體的報表只計入記憶體層
+    private int diskOnlyCount;
+
+    private final Counter spillCounter;
+    private final Counter reloadCounter;
+
+    public SalesReportFileStore(@Value("${sales.report-store.directory:${java.io.tmpdir}/sales-report-store}") String directory,
+                                @Value("${sales.report-store.memory-budget:16MB}") DataSize memoryBudget,
+                                MeterRegistry meterRegistry) {
+        this.directory = Paths.get(directory);
+        this.memoryBudgetBytes = memoryBudget.toBytes();
+        prepareDirectory();
+
+        Gauge.builder("sales.report.store.heap", this, store -> store.getResidentBytes())
+            .description("常駐記憶體報表的估算大小")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("sales.report.store.reports", this, store -> store.getResidentCount())
+            .description("常駐記憶體的報表數")
+            .tag("tier", "memory")
+            .register(meterRegistry);
+        Gauge.builder("sales.report.store.reports", this, store -> store.getSpilledCount())
+            .description("只保存在檔案中的報表數")
+            .tag("tier", "disk")
+            .register(meterRegistry);
+        this.spillCounter = Counter.builder("sales.report.store.spills")
+            .description("超過記憶體預算而寫到檔案的報表數")
+            .register(meterRegistry);
+        this.reloadCounter = Counter.builder("sales.report.store.reloads")
+            .description("從檔案載回記憶體的報表數")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void save(SalesReport report) {
+        remove(report.getReportId());
+
+        IndexEntry entry = new IndexEntry(report.getReportId(), report.getReportType(),
+                                          report.getStartDate(), report.getEndDate());
+        index.put(entry.reportId(), entry);
+        indexByTypeAndStartDate
+            .computeIfAbsent(entry.reportType(), type -> new TreeMap<>())
+            .computeIfAbsent(entry.startDate(), date -> new LinkedHashSet<>())
+            .add(entry.reportId());
+
+        admit(report);
+    }
+
+    @Override
+    public synchronized Optional<SalesReport> findById(String reportId) {
+        if (residentWeights.get(reportId) != null) { // 同時更新 LRU 順序
+            return Optional.of(residentReports.get(reportId));
+        }
+        if (!spilledReportIds.contains(reportId)) {
+            return Optional.empty();
+        }
+
+        SalesReport report = readSpilled(reportId);
+        reloadCounter.increment();
+        diskOnlyCount--;
+        admit(report);
+        return Optional.of(report);
+    }
+
+    @Override
+    public synchronized List<SalesReport> findReports(ReportType reportType, LocalDate startDate, LocalDate endDate) {
+        List<SalesReport> reports = new ArrayList<>();
+        for (ReportType type : reportType != null ? List.of(reportType) : indexByTypeAndStartDate.keySet()) {
+            NavigableMap<LocalDate, Set<String>> byStartDate = indexByTypeAndStartDate.get(type);
+            if (byStartDate == null) {
+                continue;
+            }
+            // 結束日期不早於開始日期，因此開始日期也必須落在查詢範圍內
+            NavigableMap<LocalDate, Set<String>> candidates = startDate != null ? byStartDate.tailMap(startDate, true) : byStartDate;
+            if (endDate != null) {
+                candidates = candidates.headMap(endDate, true);
+            }
+            for (Set<String> reportIds : candidates.values()) {
+                for (String reportId : reportIds) {
+                    if (endDate != null && index.get(reportId).endDate().isAfter(endDate)) {
+                        continue;
+                    }
+                    // 清單查詢不改變 LRU 順序，也不把檔案中的報表載回記憶體
+                    SalesReport report = residentReports.get(reportId);
+                    reports.add(report != null ? report : readSpilled(reportId));
+                }
+            }
+        }
+        return reports;
+    }
+
+    @Override
+    public synchronized boolean delete(String reportId) {
+        return remove(reportId);
+    }
+
+    synchronized long getResidentBytes() {
+        return residentBytes;
+    }
+
+    synchronized int getResidentCount() {
+        return residentReports.size();
+    }
+
+    synchronized int getSpilledCount() {
+        return diskOnlyCount;
+    }
+
+    // 私有輔助方法
+
+    private void admit(SalesReport report) {
+        long weight = SalesReportCodec.estimateHeapSize(report);
+        residentReports.put(report.getReportId(), report);
+        residentWeights.put(report.getReportId(), weight);
+        residentBytes += weight;
+        evictOverBudget();
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, Long>> eldest = residentWeights.entrySet().iterator();
+        while (residentBytes > memoryBudgetBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            String reportId = entry.getKey();
+            try {
+                // 曾經寫出的報表內容不會改變，載回後再次淘汰時不需要重寫
+                if (!spilledReportIds.contains(reportId)) {
+                    writeSpilled(residentReports.get(reportId));
+                    spilledReportIds.add(reportId);
+                    spillCounter.increment();
+                }
+            } catch (IOException e) {
+                // 無法寫出時保留在記憶體，避免遺失報表
+                logger.warn("Failed to spill sales report {} to {}: {}", reportId, directory, e.getMessage());
+                return;
+            }
+            residentReports.remove(reportId);
+            residentBytes -= entry.getValue();
+            diskOnlyCount++;
+            eldest.remove();
+        }
+    }
+
+    private boolean remove(String reportId) {
+        IndexEntry entry = index.remove(reportId);
+        if (entry == null) {
+            return false;
+        }
+
+        NavigableMap<LocalDate, Set<String>> byStartDate = indexByTypeAndStartDate.get(entry.reportType());
+        Set<String> reportIds = byStartDate.get(entry.startDate());
+        reportIds.remove(reportId);
+        if (reportIds.isEmpty()) {
+            byStartDate.remove(entry.startDate());
+        }
+
+        Long weight = residentWeights.remove(reportId);
+        if (weight != null) {
+            residentReports.remove(reportId);
+            residentBytes -= weight;
+        }
+        if (spilledReportIds.remove(reportId)) {
+            if (weight == null) {
+                diskOnlyCount--;
+            }
+            try {
+                Files.deleteIfExists(fileFor(reportId));
+            } catch (IOException e) {
+                logger.warn("Failed to delete spilled sales report {}: {}", reportId, e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void writeSpilled(SalesReport report) throws IOException {
+        Path target = fileFor(report.getReportId());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            SalesReportCodec.write(report, out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private SalesReport readSpilled(String reportId) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(fileFor(reportId))))) {
+            return SalesReportCodec.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("讀取報表檔案失敗：" + reportId, e);
+        }
+    }
+
+    private Path fileFor(String reportId) {
+        return directory.resolve(reportId + FILE_SUFFIX);
+    }
+
+    private void prepareDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> staleFiles = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX + "*")) {
+                for (Path staleFile : staleFiles) {
+                    Files.deleteIfExists(staleFile);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("無法建立報表儲存目錄：" + directory, e);
+        }
+    }
+
+    private record IndexEntry(String reportId, ReportType reportType, LocalDate startDate, LocalDate endDate) {
+    }
+}
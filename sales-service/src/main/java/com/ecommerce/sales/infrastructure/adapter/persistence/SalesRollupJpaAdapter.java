@@ -0,0 +1,239 @@
+package com.ecommerce.sales.infrastructure.adapter.persistence;
+
+import com.ecommerce.common.architecture.PersistenceAdapter;
+import com.ecommerce.sales.domain.model.SalesChannel;
+import com.ecommerce.sales.domain.model.SalesRecord;
+import com.ecommerce.sales.domain.model.SalesRollup;
+import com.ecommerce.sales.domain.repository.SalesRollupRepository;
+import com.ecommerce.sales.infrastructure.adapter.persistence.entity.SalesRollupGuardJpaEntity;
+import com.ecommerce.sales.infrastructure.adapter.persistence.repository.SalesDailyRollupJpaRepository;
+import com.ecommerce.sales.infrastructure.adapter.persistence.repository.SalesRollupGuardJpaRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 銷售日彙總 JPA 適配器
+ * 銷售記錄寫入時由 SalesJpaAdapter 在同一交易中呼叫 accumulate 累加彙總列，
+ * 分析查詢只讀取彙總表，不再載入原始銷售記錄
+ * 累加與重建以守衛列的共享鎖／排他鎖互斥，重建期間不會有累加寫入被刪除或重複計算
+ * 遵循 DIP：實作領域倉儲介面
+ */
+@Component
+@PersistenceAdapter
+public class SalesRollupJpaAdapter implements SalesRollupRepository {
+
+    // 與 SalesRecord.isHighValueSale 的門檻一致
+    private static final BigDecimal HIGH_VALUE_THRESHOLD = new BigDecimal("10000");
+
+    // MySQL upsert：彙總列不存在時新增，存在時累加
+    private static final String UPSERT_ROLLUP_SQL =
+        "INSERT INTO sales_daily_rollups (sale_date, category, channel, region, product_id, " +
+        "revenue, quantity, record_count, discount_total, high_value_count, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE revenue = revenue + VALUES(revenue), " +
+        "quantity = quantity + VALUES(quantity), " +
+        "record_count = record_count + VALUES(record_count), " +
+        "discount_total = discount_total + VALUES(discount_total), " +
+        "high_value_count = high_value_count + VALUES(high_value_count), " +
+        "updated_at = VALUES(updated_at)";
+
+    private static final String REBUILD_ROLLUPS_SQL =
+        "INSERT INTO sales_daily_rollups (sale_date, category, channel, region, product_id, " +
+        "revenue, quantity, record_count, discount_total, high_value_count, updated_at) " +
+        "SELECT CAST(sale_date AS DATE), category, channel, region, product_id, " +
+        "SUM(total_amount), SUM(quantity), COUNT(*), SUM(COALESCE(discount, 0)), " +
+        "SUM(CASE WHEN total_amount >= ? THEN 1 ELSE 0 END), ? " +
+        "FROM sales_records WHERE sale_date >= ? AND sale_date < ? " +
+        "GROUP BY CAST(sale_date AS DATE), category, channel, region, product_id";
+
+    private static final String INSERT_GUARD_SQL = "INSERT INTO sales_rollup_guard (guard_id) VALUES (?)";
+
+    private final SalesDailyRollupJpaRepository salesDailyRollupJpaRepository;
+    private final SalesRollupGuardJpaRepository salesRollupGuardJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesRollupJpaAdapter(SalesDailyRollupJpaRepository salesDailyRollupJpaRepository,
+                                 SalesRollupGuardJpaRepository salesRollupGuardJpaRepository,
+                                 JdbcTemplate jdbcTemplate) {
+        this.salesDailyRollupJpaRepository = salesDailyRollupJpaRepository;
+        this.salesRollupGuardJpaRepository = salesRollupGuardJpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 以共享鎖取得守衛列，直到交易結束前重建都會等待
+     * 必須在寫入 sales_records 之前呼叫，否則重建讀取到未提交的記錄時兩個交易會互相等待
+     */
+    public void lockForAccumulate() {
+        if (salesRollupGuardJpaRepository.lockShared(SalesRollupGuardJpaEntity.GUARD_ID).isEmpty()) {
+            createGuard();
+            salesRollupGuardJpaRepository.lockShared(SalesRollupGuardJpaEntity.GUARD_ID);
+        }
+    }
+
+    /**
+     * 將新增的銷售記錄累加到彙總列
+     * 先在記憶體中依彙總鍵合併，並依鍵排序寫入，讓並行的批次以相同順序取得列鎖
+     */
+    public void accumulate(List<SalesRecord> salesRecords) {
+        applyDelta(salesRecords, 1);
+    }
+
+    /**
+     * 從彙總列扣除已刪除的銷售記錄
+     */
+    public void subtract(SalesRecord salesRecord) {
+        applyDelta(List.of(salesRecord), -1);
+    }
+
+    @Override
+    public List<SalesRollup> findDailyRollups(LocalDate startDate, LocalDate endDate) {
+        List<SalesRollup> dailyRollups = new ArrayList<>();
+        for (Object[] row : salesDailyRollupJpaRepository.sumByDay(startDate, endDate)) {
+            dailyRollups.add(toRollup((LocalDate) row[0], row, 1));
+        }
+        return dailyRollups;
+    }
+
+    @Override
+    public SalesRollup sumRollups(LocalDate startDate, LocalDate endDate,
+                                  String category, String region, String productId) {
+        List<Object[]> rows = salesDailyRollupJpaRepository.sumFiltered(startDate, endDate, category, region, productId);
+        if (rows.isEmpty() || rows.get(0)[0] == null) {
+            return SalesRollup.empty();
+        }
+        return toRollup(null, rows.get(0), 0);
+    }
+
+    @Override
+    public Map<SalesChannel, BigDecimal> sumRevenueByChannel(LocalDate startDate, LocalDate endDate) {
+        Map<SalesChannel, BigDecimal> revenueByChannel = new EnumMap<>(SalesChannel.class);
+        for (Object[] row : salesDailyRollupJpaRepository.sumRevenueByChannel(startDate, endDate)) {
+            revenueByChannel.put((SalesChannel) row[0], (BigDecimal) row[1]);
+        }
+        return revenueByChannel;
+    }
+
+    @Override
+    public int rebuildRollups(LocalDate startDate, LocalDate endDate) {
+        // 等待進行中的累加提交，並在重建完成前擋住新的累加
+        if (salesRollupGuardJpaRepository.lockExclusive(SalesRollupGuardJpaEntity.GUARD_ID).isEmpty()) {
+            createGuard();
+            salesRollupGuardJpaRepository.lockExclusive(SalesRollupGuardJpaEntity.GUARD_ID);
+        }
+        salesDailyRollupJpaRepository.deleteBySaleDateBetween(startDate, endDate);
+        return jdbcTemplate.update(REBUILD_ROLLUPS_SQL,
+            HIGH_VALUE_THRESHOLD,
+            Timestamp.valueOf(LocalDateTime.now()),
+            Timestamp.valueOf(startDate.atStartOfDay()),
+            Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+    }
+
+    // 私有輔助方法
+
+    private void createGuard() {
+        try {
+            jdbcTemplate.update(INSERT_GUARD_SQL, SalesRollupGuardJpaEntity.GUARD_ID);
+        } catch (DuplicateKeyException e) {
+            // 其他交易已先建立守衛列
+        }
+    }
+
+    private void applyDelta(List<SalesRecord> salesRecords, int sign) {
+        if (salesRecords.isEmpty()) {
+            return;
+        }
+
+        Map<RollupKey, RollupDelta> deltas = new TreeMap<>();
+        for (SalesRecord record : salesRecords) {
+            deltas.computeIfAbsent(RollupKey.of(record), key -> new RollupDelta()).add(record, sign);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map.Entry<RollupKey, RollupDelta>> rows = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, rows, rows.size(), (ps, row) -> {
+            RollupKey key = row.getKey();
+            RollupDelta delta = row.getValue();
+            ps.setDate(1, Date.valueOf(key.saleDate));
+            ps.setString(2, key.category);
+            ps.setString(3, key.channel.name());
+            ps.setString(4, key.region);
+            ps.setString(5, key.productId);
+            ps.setBigDecimal(6, delta.revenue);
+            ps.setLong(7, delta.quantity);
+            ps.setLong(8, delta.recordCount);
+            ps.setBigDecimal(9, delta.discount);
+            ps.setLong(10, delta.highValueCount);
+            ps.setTimestamp(11, now);
+        });
+    }
+
+    private static SalesRollup toRollup(LocalDate saleDate, Object[] row, int offset) {
+        return new SalesRollup(
+            saleDate,
+            (BigDecimal) row[offset],
+            toLong(row[offset + 1]),
+            toLong(row[offset + 2]),
+            (BigDecimal) row[offset + 3],
+            toLong(row[offset + 4])
+        );
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    /**
+     * 彙總鍵：日 × 分類 × 通道 × 區域 × 商品
+     */
+    private record RollupKey(LocalDate saleDate, String category, SalesChannel channel,
+                             String region, String productId) implements Comparable<RollupKey> {
+
+        private static final Comparator<RollupKey> ORDER = Comparator
+                .comparing(RollupKey::saleDate)
+                .thenComparing(RollupKey::category)
+                .thenComparing(RollupKey::channel)
+                .thenComparing(RollupKey::region)
+                .thenComparing(RollupKey::productId);
+
+        static RollupKey of(SalesRecord record) {
+            return new RollupKey(record.getSaleDate().toLocalDate(), record.getCategory(), record.getChannel(),
+                                 record.getRegion(), record.getProductId());
+        }
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private static final class RollupDelta {
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long quantity;
+        private long recordCount;
+        private BigDecimal discount = BigDecimal.ZERO;
+        private long highValueCount;
+
+        void add(SalesRecord record, int sign) {
+            BigDecimal multiplier = BigDecimal.valueOf(sign);
+            revenue = revenue.add(record.getTotalAmount().multiply(multiplier));
+            quantity += (long) sign * record.getQuantity();
+            recordCount += sign;
+            discount = discount.add(record.getDiscount().multiply(multiplier));
+            highValueCount += record.isHighValueSale() ? sign : 0;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.sales.infrastructure.adapter.persistence.entity;
+
+import com.ecommerce.sales.domain.model.SalesChannel;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 銷售日彙總 JPA 實體
+ * 每列為「日 × 分類 × 通道 × 區域 × 商品」的累計值，由 SalesRollupJpaAdapter 以 upsert 維護
+ * 遵循 SRP：只負責資料庫映射
+ */
+@Entity
+@Table(name = "sales_daily_rollups",
+    uniqueConstraints = @UniqueConstraint(name = "uk_sales_rollup_key",
+        columnNames = {"sale_date", "category", "channel", "region", "product_id"}),
+    indexes = {
+        @Index(name = "idx_sales_rollup_category_date", columnList = "category, sale_date"),
+        @Index(name = "idx_sales_rollup_product_date", columnList = "product_id, sale_date")
+    })
+public class SalesDailyRollupJpaEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+    
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+    
+    @Column(name = "category", nullable = false, length = 100)
+    private String category;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "channel", nullable = false, length = 20)
+    private SalesChannel channel;
+    
+    @Column(name = "region", nullable = false, length = 100)
+    private String region;
+    
+    @Column(name = "product_id", nullable = false, length = 50)
+    private String productId;
+    
+    @Column(name = "revenue", nullable = false, precision = 15, scale = 2)
+    private BigDecimal revenue;
+    
+    @Column(name = "quantity", nullable = false)
+    private Long quantity;
+    
+    @Column(name = "record_count", nullable = false)
+    private Long recordCount;
+    
+    @Column(name = "discount_total", nullable = false, precision = 15, scale = 2)
+    private BigDecimal discountTotal;
+    
+    @Column(name = "high_value_count", nullable = false)
+    private Long highValueCount;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // JPA 需要預設建構子
+    protected SalesDailyRollupJpaEntity() {}
+    
+    // Getters
+    public Long getRollupId() { return rollupId; }
+    public LocalDate getSaleDate() { return saleDate; }
+    public String getCategory() { return category; }
+    public SalesChannel getChannel() { return channel; }
+    public String getRegion() { return region; }
+    public String getProductId() { return productId; }
+    public BigDecimal getRevenue() { return revenue; }
+    public Long getQuantity() { return quantity; }
+    public Long getRecordCount() { return recordCount; }
+    public BigDecimal getDiscountTotal() { return discountTotal; }
+    public Long getHighValueCount() { return highValueCount; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.sales.infrastructure.adapter.persistence.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 銷售日彙總守衛列 JPA 實體
+ * 表中只有一列，累加彙總的交易取得共享鎖、重建彙總的交易取得排他鎖，讓兩者不會交錯執行
+ * 遵循 SRP：只負責資料庫映射
+ */
+@Entity
+@Table(name = "sales_rollup_guard")
+public class SalesRollupGuardJpaEntity {
+    
+    public static final long GUARD_ID = 1L;
+    
+    @Id
+    @Column(name = "guard_id")
+    private Long guardId;
+    
+    // JPA 需要預設建構子
+    protected SalesRollupGuardJpaEntity() {}
+    
+    public Long getGuardId() { return guardId; }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.sales.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.sales.infrastructure.adapter.persistence.entity.SalesDailyRollupJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 銷售日彙總 JPA 倉儲介面
+ * 查詢結果為 Object[]，欄位順序為 [revenue, quantity, recordCount, discountTotal, highValueCount]
+ */
+@Repository
+public interface SalesDailyRollupJpaRepository extends JpaRepository<SalesDailyRollupJpaEntity, Long> {
+    
+    /**
+     * 依日期彙總期間內的度量，每列前方加上 saleDate
+     */
+    @Query("SELECT r.saleDate, SUM(r.revenue), SUM(r.quantity), SUM(r.recordCount), " +
+           "SUM(r.discountTotal), SUM(r.highValueCount) FROM SalesDailyRollupJpaEntity r " +
+           "WHERE r.saleDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.saleDate ORDER BY r.saleDate")
+    List<Object[]> sumByDay(@Param("startDate") LocalDate startDate,
+                            @Param("endDate") LocalDate endDate);
+    
+    /**
+     * 彙總期間內的度量，分類、區域、商品為 null 時不過濾
+     */
+    @Query("SELECT SUM(r.revenue), SUM(r.quantity), SUM(r.recordCount), " +
+           "SUM(r.discountTotal), SUM(r.highValueCount) FROM SalesDailyRollupJpaEntity r " +
+           "WHERE r.saleDate BETWEEN :startDate AND :endDate " +
+           "AND (:category IS NULL OR r.category = :category) " +
+           "AND (:region IS NULL OR r.region = :region) " +
+           "AND (:productId IS NULL OR r.productId = :productId)")
+    List<Object[]> sumFiltered(@Param("startDate") LocalDate startDate,
+                               @Param("endDate") LocalDate endDate,
+                               @Param("category") String category,
+                               @Param("region") String region,
+                               @Param("productId") String productId);
+    
+    /**
+     * 依通道彙總期間內的收入，回傳 [channel, revenue]
+     */
+    @Query("SELECT r.channel, SUM(r.revenue) FROM SalesDailyRollupJpaEntity r " +
+           "WHERE r.saleDate BETWEEN :startDate AND :endDate GROUP BY r.channel")
+    List<Object[]> sumRevenueByChannel(@Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate);
+    
+    /**
+     * 刪除期間內的彙總列（重建前使用）
+     */
+    @Modifying
+    @Query("DELETE FROM SalesDailyRollupJpaEntity r WHERE r.saleDate BETWEEN :startDate AND :endDate")
+    int deleteBySaleDateBetween(@Param("startDate") LocalDate startDate,
+                                @Param("endDate") LocalDate endDate);
+}
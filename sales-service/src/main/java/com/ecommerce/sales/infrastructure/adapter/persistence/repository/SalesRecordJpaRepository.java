@@ -3,13 +3,18 @@ package com.ecommerce.sales.infrastructure.adapter.persistence.repository;
 import com.ecommerce.sales.domain.model.SalesChannel;
 import com.ecommerce.sales.infrastructure.adapter.persistence.entity.SalesRecordJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 銷售記錄 JPA 倉儲介面
@@ -38,6 +43,41 @@ public interface SalesRecordJpaRepository extends JpaRepository<SalesRecordJpaEn
      */
     List<SalesRecordJpaEntity> findBySaleDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
+    /**
+     * 以串流逐筆讀取期間內的銷售記錄供報表匯出
+     * fetch size 為 Integer.MIN_VALUE 時 MySQL 驅動改為逐列串流結果，不會一次載入整個結果集
+     */
+    @Query("SELECT s FROM SalesRecordJpaEntity s WHERE s.saleDate BETWEEN :startDate AND :endDate " +
+           "AND (:category IS NULL OR s.category = :category) " +
+           "AND (:region IS NULL OR s.region = :region) " +
+           "AND (:customerId IS NULL OR s.customerId = :customerId) " +
+           "ORDER BY s.saleDate, s.salesRecordId")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<SalesRecordJpaEntity> streamForExport(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("category") String category,
+            @Param("region") String region,
+            @Param("customerId") String customerId);
+    
+    /**
+     * 計算期間內符合過濾條件的銷售記錄數，條件與 streamForExport 相同
+     */
+    @Query("SELECT COUNT(s) FROM SalesRecordJpaEntity s WHERE s.saleDate BETWEEN :startDate AND :endDate " +
+           "AND (:category IS NULL OR s.category = :category) " +
+           "AND (:region IS NULL OR s.region = :region) " +
+           "AND (:customerId IS NULL OR s.customerId = :customerId)")
+    long countForExport(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("category") String category,
+            @Param("region") String region,
+            @Param("customerId") String customerId);
+    
     /**
      * 根據分類查詢銷售記錄
      */
@@ -77,6 +117,12 @@ public interface SalesRecordJpaRepository extends JpaRepository<SalesRecordJpaEn
      */
     boolean existsByOrderId(String orderId);
     
+    /**
+     * 從指定訂單ID中找出已有銷售記錄者
+     */
+    @Query("SELECT DISTINCT s.orderId FROM SalesRecordJpaEntity s WHERE s.orderId IN :orderIds")
+    List<String> findExistingOrderIds(@Param("orderIds") Collection<String> orderIds);
+    
     /**
      * 根據客戶ID和日期範圍查詢銷售記錄
      */
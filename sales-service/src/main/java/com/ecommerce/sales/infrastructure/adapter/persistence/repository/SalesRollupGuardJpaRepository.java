@@ -0,0 +1,32 @@
+package com.ecommerce.sales.infrastructure.adapter.persistence.repository;
+
+import com.ecommerce.sales.infrastructure.adapter.persistence.entity.SalesRollupGuardJpaEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 銷售日彙總守衛列 JPA 倉儲介面
+ */
+@Repository
+public interface SalesRollupGuardJpaRepository extends JpaRepository<SalesRollupGuardJpaEntity, Long> {
+    
+    /**
+     * 以共享鎖讀取守衛列，多個累加交易可同時持有，但會等待進行中的重建
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT g FROM SalesRollupGuardJpaEntity g WHERE g.guardId = :guardId")
+    Optional<SalesRollupGuardJpaEntity> lockShared(@Param("guardId") Long guardId);
+    
+    /**
+     * 以排他鎖讀取守衛列，等待進行中的累加交易結束並阻擋新的累加
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM SalesRollupGuardJpaEntity g WHERE g.guardId = :guardId")
+    Optional<SalesRollupGuardJpaEntity> lockExclusive(@Param("guardId") Long guardId);
+}
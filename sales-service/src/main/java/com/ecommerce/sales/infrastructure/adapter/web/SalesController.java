@@ -4,6 +4,7 @@ import com.ecommerce.common.response.ApiResponse;
 import com.ecommerce.sales.application.dto.*;
 import com.ecommerce.sales.application.port.in.SalesAnalysisUseCase;
 import com.ecommerce.sales.application.port.in.SalesRecordUseCase;
+import com.ecommerce.sales.application.port.in.SalesReportJobUseCase;
 import com.ecommerce.sales.application.port.in.SalesReportUseCase;
 import com.ecommerce.sales.domain.model.ReportType;
 import com.ecommerce.sales.domain.model.SalesChannel;
@@ -17,8 +18,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -36,13 +39,16 @@ public class SalesController {
     private final SalesRecordUseCase salesRecordUseCase;
     private final SalesAnalysisUseCase salesAnalysisUseCase;
     private final SalesReportUseCase salesReportUseCase;
+    private final SalesReportJobUseCase salesReportJobUseCase;
     
     public SalesController(SalesRecordUseCase salesRecordUseCase,
                          SalesAnalysisUseCase salesAnalysisUseCase,
-                         SalesReportUseCase salesReportUseCase) {
+                         SalesReportUseCase salesReportUseCase,
+                         SalesReportJobUseCase salesReportJobUseCase) {
         this.salesRecordUseCase = salesRecordUseCase;
         this.salesAnalysisUseCase = salesAnalysisUseCase;
         this.salesReportUseCase = salesReportUseCase;
+        this.salesReportJobUseCase = salesReportJobUseCase;
     }
     
     // 銷售記錄相關 API
@@ -169,17 +175,49 @@ public class SalesController {
         return ResponseEntity.ok(ApiResponse.success(summary));
     }
     
+    @PostMapping("/analysis/rollups/rebuild")
+    @Operation(summary = "重建銷售日彙總", description = "以原始銷售記錄重建指定期間的日彙總資料，用於回補歷史資料")
+    public ResponseEntity<ApiResponse<Integer>> rebuildSalesRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+    
+        int rebuiltRows = salesAnalysisUseCase.rebuildSalesRollups(startDate, endDate);
+    
+        return ResponseEntity.ok(ApiResponse.success("銷售日彙總重建完成", rebuiltRows));
+    }
+    
     // 銷售報表相關 API
     
     @PostMapping("/reports")
-    @Operation(summary = "生成銷售報表", description = "根據指定條件生成銷售報表")
-    public ResponseEntity<ApiResponse<SalesReportDto>> generateReport(
+    @Operation(summary = "生成銷售報表", description = "排入背景報表產生工作並立即回傳工作ID，相同條件且進行中的工作會被併入")
+    public ResponseEntity<ApiResponse<ReportJobDto>> generateReport(
             @Valid @RequestBody GenerateReportRequest request) {
         
-        SalesReportDto report = salesReportUseCase.generateReport(request);
+        ReportJobDto job = salesReportJobUseCase.submitReportJob(request);
         
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("報表生成成功", report));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/sales/reports/jobs/" + job.getJobId()))
+                .body(ApiResponse.success("報表產生工作已受理", job));
+    }
+    
+    @GetMapping("/reports/jobs/{jobId}")
+    @Operation(summary = "取得報表工作狀態", description = "取得報表產生工作的狀態與進度，完成後回傳報表ID")
+    public ResponseEntity<ApiResponse<ReportJobDto>> getReportJob(
+            @PathVariable String jobId) {
+        
+        ReportJobDto job = salesReportJobUseCase.getReportJob(jobId);
+        
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+    
+    @DeleteMapping("/reports/jobs/{jobId}")
+    @Operation(summary = "取消報表工作", description = "取消尚未結束的報表產生工作，併入同一工作的請求會一併取消")
+    public ResponseEntity<ApiResponse<ReportJobDto>> cancelReportJob(
+            @PathVariable String jobId) {
+        
+        ReportJobDto job = salesReportJobUseCase.cancelReportJob(jobId);
+        
+        return ResponseEntity.ok(ApiResponse.success("報表工作取消請求已受理", job));
     }
     
     @GetMapping("/reports")
@@ -206,11 +244,14 @@ public class SalesController {
     
     @GetMapping("/reports/{reportId}/export")
     @Operation(summary = "匯出報表", description = "將報表匯出為指定格式")
-    public ResponseEntity<byte[]> exportReport(
+    public ResponseEntity<StreamingResponseBody> exportReport(
             @PathVariable String reportId,
             @RequestParam(defaultValue = "pdf") String format) {
         
-        byte[] reportData = salesReportUseCase.exportReport(reportId, format);
+        // 先驗證再開始串流，錯誤時仍能回傳一般的錯誤回應
+        salesReportUseCase.validateExport(reportId, format);
+        StreamingResponseBody reportData = outputStream ->
+                salesReportUseCase.exportReport(reportId, format, outputStream);
         
         String filename = "sales-report-" + reportId + "." + format.toLowerCase();
         MediaType mediaType = getMediaTypeForFormat(format);
@@ -3,14 +3,24 @@ package com.ecommerce.sales.infrastructure.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * 銷售服務配置
  * 遵循 SRP：只負責銷售服務的配置
@@ -21,7 +31,9 @@ public class SalesConfig {
     
     // 交換器和佇列常數
     private static final String SALES_EXCHANGE = "sales.exchange";
+    private static final String SALES_DEAD_LETTER_EXCHANGE = "sales.dlx";
     private static final String ORDER_COMPLETED_QUEUE = "sales.order.completed.queue";
+    private static final String ORDER_COMPLETED_DEAD_LETTER_QUEUE = "sales.order.completed.dlq";
     private static final String PAYMENT_COMPLETED_QUEUE = "sales.payment.completed.queue";
     private static final String SALES_RECORD_CREATED_QUEUE = "sales.record.created.queue";
     private static final String HIGH_VALUE_SALE_QUEUE = "sales.high-value.queue";
@@ -66,6 +78,59 @@ public class SalesConfig {
         return factory;
     }
     
+    /**
+     * 配置訂單完成事件的批次監聽容器工廠
+     * 湊滿 batch-size 筆或閒置超過 receive-timeout 即交付一批，prefetch 至少為一批的大小；
+     * 寫入失敗的批次在本機重試 max-attempts 次後整批拒絕且不重新排隊，由佇列轉送到死信佇列，
+     * 修復後可將死信重新投遞，已寫入的訂單會在去重查詢中被排除
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory orderCompletedBatchContainerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${sales.ingestion.order-completed.batch-size:100}") int batchSize,
+            @Value("${sales.ingestion.order-completed.receive-timeout:200ms}") Duration receiveTimeout,
+            @Value("${sales.ingestion.order-completed.prefetch:250}") int prefetch,
+            @Value("${sales.ingestion.order-completed.concurrency:1}") int concurrency,
+            @Value("${sales.ingestion.order-completed.max-attempts:3}") int maxAttempts,
+            @Value("${sales.ingestion.order-completed.retry-backoff:1s}") Duration retryBackoff) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setConcurrentConsumers(concurrency);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+            .maxAttempts(maxAttempts)
+            .backOffOptions(retryBackoff.toMillis(), 2.0, retryBackoff.toMillis() * 10)
+            .recoverer(new RejectAndDontRequeueRecoverer())
+            .build());
+        return factory;
+    }
+    
+    /**
+     * 配置報表產生工作的執行緒池
+     * 執行緒數與佇列長度皆有上限，佇列滿時拒絕新工作而不是無限堆積；程序關閉時中止仍在產生的報表
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService salesReportJobExecutor(
+            @Value("${sales.report-jobs.workers:2}") int workers,
+            @Value("${sales.report-jobs.queue-capacity:20}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(
+            workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "sales-report-job-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+    
     // 交換器配置
     
     @Bean
@@ -73,11 +138,24 @@ public class SalesConfig {
         return new TopicExchange(SALES_EXCHANGE, true, false);
     }
     
+    @Bean
+    public TopicExchange salesDeadLetterExchange() {
+        return new TopicExchange(SALES_DEAD_LETTER_EXCHANGE, true, false);
+    }
+    
     // 佇列配置
     
     @Bean
     public Queue orderCompletedQueue() {
-        return QueueBuilder.durable(ORDER_COMPLETED_QUEUE).build();
+        return QueueBuilder.durable(ORDER_COMPLETED_QUEUE)
+                .deadLetterExchange(SALES_DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey("order.completed")
+                .build();
+    }
+    
+    @Bean
+    public Queue orderCompletedDeadLetterQueue() {
+        return QueueBuilder.durable(ORDER_COMPLETED_DEAD_LETTER_QUEUE).build();
     }
     
     @Bean
@@ -110,6 +188,14 @@ public class SalesConfig {
                 .with("order.completed");
     }
     
+    @Bean
+    public Binding orderCompletedDeadLetterBinding() {
+        return BindingBuilder
+                .bind(orderCompletedDeadLetterQueue())
+                .to(salesDeadLetterExchange())
+                .with("order.completed");
+    }
+    
     @Bean
     public Binding paymentCompletedBinding() {
         return BindingBuilder
@@ -0,0 +1,124 @@
+package com.ecommerce.sales.application.service;
+
+import com.ecommerce.sales.application.dto.CreateSalesRecordRequest;
+import com.ecommerce.sales.application.dto.SalesRecordDto;
+import com.ecommerce.sales.application.port.in.SalesRecordUseCase;
+import com.ecommerce.sales.application.service.SalesEventHandlerService.OrderCompletedBatchResult;
+import com.ecommerce.sales.application.service.SalesEventHandlerService.OrderCompletedEvent;
+import com.ecommerce.sales.application.service.SalesEventHandlerService.OrderItemEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 銷售事件處理服務測試
+ * 測試訂單完成事件的批次處理與去重
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("銷售事件處理服務測試")
+class SalesEventHandlerServiceTest {
+
+    @Mock
+    private SalesRecordUseCase salesRecordUseCase;
+
+    private SalesEventHandlerService salesEventHandlerService;
+
+    @BeforeEach
+    void setUp() {
+        salesEventHandlerService = new SalesEventHandlerService(salesRecordUseCase);
+    }
+
+    @Test
+    @DisplayName("同一批重複投遞的訂單應該只處理一次")
+    void shouldDeduplicateOrdersWithinBatch() {
+        // Given
+        OrderCompletedEvent first = orderCompletedEvent("ORDER-001", "PROD-001", "PROD-002");
+        OrderCompletedEvent redelivered = orderCompletedEvent("ORDER-001", "PROD-001", "PROD-002");
+        OrderCompletedEvent second = orderCompletedEvent("ORDER-002", "PROD-003");
+        when(salesRecordUseCase.createSalesRecords(anyList())).thenReturn(List.of(
+            salesRecordDto("ORDER-001"), salesRecordDto("ORDER-001"), salesRecordDto("ORDER-002")));
+
+        // When
+        OrderCompletedBatchResult result = salesEventHandlerService.handleOrderCompletedEvents(
+            List.of(first, redelivered, second));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateSalesRecordRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(salesRecordUseCase).createSalesRecords(captor.capture());
+        assertEquals(List.of("PROD-001", "PROD-002", "PROD-003"),
+                     captor.getValue().stream().map(CreateSalesRecordRequest::getProductId).toList());
+        verify(salesRecordUseCase, never()).createSalesRecord(any());
+
+        assertEquals(3, result.getEventsReceived());
+        assertEquals(2, result.getOrdersRecorded());
+        assertEquals(3, result.getSalesRecordsCreated());
+        assertEquals(1, result.getEventsSkipped());
+    }
+
+    @Test
+    @DisplayName("寫入失敗時應該拋出例外讓整批重新投遞")
+    void shouldPropagateFailureSoBatchIsRedelivered() {
+        // Given
+        when(salesRecordUseCase.createSalesRecords(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> salesEventHandlerService.handleOrderCompletedEvents(
+            List.of(orderCompletedEvent("ORDER-001", "PROD-001"))));
+    }
+
+    @Test
+    @DisplayName("單筆訂單完成事件應該走批次寫入路徑")
+    void shouldRouteSingleEventThroughBatchWriter() {
+        // Given
+        when(salesRecordUseCase.createSalesRecords(anyList())).thenReturn(List.of(
+            salesRecordDto("ORDER-001"), salesRecordDto("ORDER-001")));
+
+        // When
+        OrderCompletedBatchResult result = salesEventHandlerService.handleOrderCompletedEvent(
+            orderCompletedEvent("ORDER-001", "PROD-001", "PROD-002"));
+
+        // Then
+        verify(salesRecordUseCase).createSalesRecords(argThat(requests -> requests.size() == 2));
+        verify(salesRecordUseCase, never()).createSalesRecord(any());
+        assertEquals(1, result.getOrdersRecorded());
+        assertEquals(2, result.getSalesRecordsCreated());
+    }
+
+    @Test
+    @DisplayName("單筆事件寫入失敗時應該拋出例外而不是吞掉")
+    void shouldPropagateSingleEventFailure() {
+        // Given
+        when(salesRecordUseCase.createSalesRecords(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> salesEventHandlerService.handleOrderCompletedEvent(
+            orderCompletedEvent("ORDER-001", "PROD-001")));
+    }
+
+    private OrderCompletedEvent orderCompletedEvent(String orderId, String... productIds) {
+        List<OrderItemEvent> items = Arrays.stream(productIds)
+            .map(productId -> new OrderItemEvent(productId, "商品 " + productId, 1,
+                                                 new BigDecimal("1000"), BigDecimal.ZERO, "Electronics"))
+            .toList();
+        return new OrderCompletedEvent(orderId, "CUST-001", new BigDecimal("1000"), items);
+    }
+
+    private SalesRecordDto salesRecordDto(String orderId) {
+        SalesRecordDto dto = new SalesRecordDto();
+        dto.setOrderId(orderId);
+        return dto;
+    }
+}
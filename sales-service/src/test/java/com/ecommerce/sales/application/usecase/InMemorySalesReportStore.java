@@ -0,0 +1,43 @@
+package com.ecommerce.sales.application.usecase;
+
+import com.ecommerce.sales.application.port.out.SalesReportStorePort;
+import com.ecommerce.sales.domain.model.ReportType;
+import com.ecommerce.sales.domain.model.SalesReport;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 測試用的記憶體報表儲存
+ */
+class InMemorySalesReportStore implements SalesReportStorePort {
+
+    private final Map<String, SalesReport> reports = new LinkedHashMap<>();
+
+    @Override
+    public void save(SalesReport report) {
+        reports.put(report.getReportId(), report);
+    }
+
+    @Override
+    public Optional<SalesReport> findById(String reportId) {
+        return Optional.ofNullable(reports.get(reportId));
+    }
+
+    @Override
+    public List<SalesReport> findReports(ReportType reportType, LocalDate startDate, LocalDate endDate) {
+        return reports.values().stream()
+                .filter(report -> reportType == null || report.getReportType() == reportType)
+                .filter(report -> startDate == null || !report.getStartDate().isBefore(startDate))
+                .filter(report -> endDate == null || !report.getEndDate().isAfter(endDate))
+                .toList();
+    }
+
+    @Override
+    public boolean delete(String reportId) {
+        return reports.remove(reportId) != null;
+    }
+}
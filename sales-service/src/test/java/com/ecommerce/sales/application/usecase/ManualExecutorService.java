@@ -0,0 +1,74 @@
+package com.ecommerce.sales.application.usecase;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 測試用的執行緒池：工作只排入佇列，由測試決定何時在目前執行緒執行
+ * 佇列長度有上限，滿時與正式的執行緒池一樣拒絕新工作
+ */
+class ManualExecutorService extends AbstractExecutorService {
+
+    private final int queueCapacity;
+    private final Deque<Runnable> queuedTasks = new ArrayDeque<>();
+    private boolean shutdown;
+
+    ManualExecutorService(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown || queuedTasks.size() >= queueCapacity) {
+            throw new RejectedExecutionException("佇列已滿");
+        }
+        queuedTasks.addLast(command);
+    }
+
+    void runNext() {
+        queuedTasks.removeFirst().run();
+    }
+
+    void runAll() {
+        while (!queuedTasks.isEmpty()) {
+            runNext();
+        }
+    }
+
+    int getQueuedCount() {
+        return queuedTasks.size();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> pending = new ArrayList<>(queuedTasks);
+        queuedTasks.clear();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && queuedTasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return isTerminated();
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +24,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * 銷售記錄服務測試
@@ -353,8 +355,49 @@ class SalesRecordServiceTest {
         verify(salesMapper).toDtoList(mockRecords);
     }
 
+    @Test
+    @DisplayName("批次建立時應以一次查詢略過已有記錄的訂單並批次寫入其餘項目")
+    void shouldBatchCreateSalesRecordsSkippingExistingOrders() {
+        // Given
+        List<CreateSalesRecordRequest> requests = List.of(
+            createRequest("ORDER-010", "PROD-001"),
+            createRequest("ORDER-010", "PROD-002"),
+            createRequest("ORDER-011", "PROD-003")
+        );
+        when(salesPersistencePort.findExistingOrderIds(Set.of("ORDER-010", "ORDER-011")))
+                .thenReturn(Set.of("ORDER-011"));
+        when(salesDomainService.newSalesRecordForOrderLine(any(), anyInt(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> SalesRecord.create(
+                    "SR-" + invocation.getArgument(0) + "-" + invocation.getArgument(1),
+                    invocation.getArgument(0), invocation.getArgument(2), invocation.getArgument(3),
+                    invocation.getArgument(4), invocation.getArgument(5), invocation.getArgument(6),
+                    invocation.getArgument(7), invocation.getArgument(8), invocation.getArgument(9),
+                    invocation.getArgument(10)));
+        when(salesMapper.toDtoList(anyList())).thenReturn(List.of(
+            createMockSalesRecordDto("SR-ORDER-010-1"), createMockSalesRecordDto("SR-ORDER-010-2")));
+
+        // When
+        List<SalesRecordDto> result = salesRecordService.createSalesRecords(requests);
+
+        // Then
+        assertEquals(2, result.size());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SalesRecord>> captor = ArgumentCaptor.forClass(List.class);
+        verify(salesPersistencePort).saveAll(captor.capture());
+        assertEquals(List.of("SR-ORDER-010-1", "SR-ORDER-010-2"),
+                     captor.getValue().stream().map(SalesRecord::getSalesRecordId).toList());
+        verify(salesPersistencePort, never()).existsByOrderId(any());
+        verify(salesEventPublisherPort, times(2)).publishSalesRecordCreated(any());
+    }
+
     // 輔助方法
 
+    private CreateSalesRecordRequest createRequest(String orderId, String productId) {
+        return new CreateSalesRecordRequest(orderId, "CUST-001", productId, "商品 " + productId, 1,
+                                            new BigDecimal("1000"), BigDecimal.ZERO, "Electronics",
+                                            SalesChannel.ONLINE, "台北");
+    }
+
     private SalesRecordDto createMockSalesRecordDto(String salesRecordId) {
         SalesRecordDto dto = new SalesRecordDto();
         dto.setSalesRecordId(salesRecordId);
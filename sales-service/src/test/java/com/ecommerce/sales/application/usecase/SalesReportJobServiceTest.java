@@ -0,0 +1,248 @@
+package com.ecommerce.sales.application.usecase;
+
+import com.ecommerce.sales.application.dto.GenerateReportRequest;
+import com.ecommerce.sales.application.dto.ReportJobDto;
+import com.ecommerce.sales.application.dto.ReportJobStatus;
+import com.ecommerce.sales.application.dto.SalesReportDto;
+import com.ecommerce.sales.application.port.in.ReportProgressListener;
+import com.ecommerce.sales.application.port.in.SalesReportUseCase;
+import com.ecommerce.sales.domain.exception.InvalidReportParametersException;
+import com.ecommerce.sales.domain.exception.ReportJobNotFoundException;
+import com.ecommerce.sales.domain.exception.ReportJobRejectedException;
+import com.ecommerce.sales.domain.model.ReportType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 報表產生工作服務測試
+ * 驗證工作排程、相同請求併入、進度回報與取消
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("報表產生工作服務測試")
+class SalesReportJobServiceTest {
+
+    @Mock
+    private SalesReportUseCase salesReportUseCase;
+
+    private ManualExecutorService executor;
+    private SalesReportJobService salesReportJobService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ManualExecutorService(2);
+        salesReportJobService = new SalesReportJobService(salesReportUseCase, executor, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("排入工作後應立即回傳，由背景執行緒產生報表並回報進度")
+    void shouldQueueJobAndCompleteInBackground() {
+        // Given
+        AtomicReference<String> jobId = new AtomicReference<>();
+        AtomicReference<ReportJobDto> progressSnapshot = new AtomicReference<>();
+        when(salesReportUseCase.generateReport(any(GenerateReportRequest.class), any(ReportProgressListener.class)))
+            .thenAnswer(invocation -> {
+                ReportProgressListener listener = invocation.getArgument(1);
+                listener.onProgress(1000, 4000);
+                progressSnapshot.set(salesReportJobService.getReportJob(jobId.get()));
+                listener.onProgress(4000, 4000);
+                return createReportDto("RPT-001");
+            });
+
+        // When
+        ReportJobDto submitted = salesReportJobService.submitReportJob(createRequest("一月報表", null));
+        jobId.set(submitted.getJobId());
+        executor.runAll();
+
+        // Then
+        assertEquals(ReportJobStatus.QUEUED, submitted.getStatus());
+        assertFalse(submitted.getCoalesced());
+
+        assertEquals(ReportJobStatus.RUNNING, progressSnapshot.get().getStatus());
+        assertEquals(25, progressSnapshot.get().getProgressPercentage());
+
+        ReportJobDto finished = salesReportJobService.getReportJob(submitted.getJobId());
+        assertEquals(ReportJobStatus.COMPLETED, finished.getStatus());
+        assertEquals("RPT-001", finished.getReportId());
+        assertEquals(100, finished.getProgressPercentage());
+        assertNotNull(finished.getFinishedAt());
+    }
+
+    @Test
+    @DisplayName("相同條件的請求在工作結束前應併入同一工作，只產生一次報表")
+    void shouldCoalesceIdenticalInFlightRequests() {
+        // Given
+        when(salesReportUseCase.generateReport(any(GenerateReportRequest.class), any(ReportProgressListener.class)))
+            .thenReturn(createReportDto("RPT-001"));
+
+        // When
+        ReportJobDto first = salesReportJobService.submitReportJob(createRequest("分析師 A 的報表", null));
+        ReportJobDto second = salesReportJobService.submitReportJob(createRequest("分析師 B 的報表", " "));
+        executor.runAll();
+
+        // Then
+        assertEquals(first.getJobId(), second.getJobId());
+        assertTrue(second.getCoalesced());
+        assertEquals(0, executor.getQueuedCount());
+        verify(salesReportUseCase, times(1))
+            .generateReport(any(GenerateReportRequest.class), any(ReportProgressListener.class));
+    }
+
+    @Test
+    @DisplayName("過濾條件不同時應建立不同工作")
+    void shouldCreateSeparateJobsForDifferentFilters() {
+        // When
+        ReportJobDto all = salesReportJobService.submitReportJob(createRequest("全區報表", null));
+        ReportJobDto taipei = salesReportJobService.submitReportJob(createRequest("台北報表", "台北"));
+
+        // Then
+        assertNotEquals(all.getJobId(), taipei.getJobId());
+        assertEquals(2, executor.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("工作結束後相同條件的請求應建立新工作")
+    void shouldCreateNewJobAfterPreviousJobFinished() {
+        // Given
+        when(salesReportUseCase.generateReport(any(GenerateReportRequest.class), any(ReportProgressListener.class)))
+            .thenReturn(createReportDto("RPT-001"));
+        ReportJobDto first = salesReportJobService.submitReportJob(createRequest("一月報表", null));
+        executor.runAll();
+
+        // When
+        ReportJobDto second = salesReportJobService.submitReportJob(createRequest("一月報表", null));
+
+        // Then
+        assertNotEquals(first.getJobId(), second.getJobId());
+        assertFalse(second.getCoalesced());
+    }
+
+    @Test
+    @DisplayName("取消排隊中的工作時不應產生報表")
+    void shouldCancelQueuedJobWithoutGeneratingReport() {
+        // Given
+        ReportJobDto submitted = salesReportJobService.submitReportJob(createRequest("一月報表", null));
+
+        // When
+        ReportJobDto cancelled = salesReportJobService.cancelReportJob(submitted.getJobId());
+        ReportJobDto resubmitted = salesReportJobService.submitReportJob(createRequest("一月報表", null));
+        executor.runNext();
+
+        // Then
+        assertEquals(ReportJobStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(ReportJobStatus.CANCELLED, salesReportJobService.getReportJob(submitted.getJobId()).getStatus());
+        assertNotEquals(submitted.getJobId(), resubmitted.getJobId());
+        verify(salesReportUseCase, never())
+            .generateReport(any(GenerateReportRequest.class), any(ReportProgressListener.class));
+    }
+
+    @Test
+    @DisplayName("取消產生中的工作時應在下次回報進度時中止")
+    void shouldAbortRunningJobOnNextProgressReport() {
+        // Given
+        AtomicReference<String> jobId = new AtomicReference<>();
+        when(salesReportUseCase.generateReport(any(GenerateReportRequest.class), any(ReportProgressListener.class)))
+            .thenAnswer(invocation -> {
+                ReportProgressListener listener = invocation.getArgument(1);
+                listener.onProgress(0, 10_000);
+                salesReportJobService.cancelReportJob(jobId.get());
+                listener.onProgress(5_000, 10_000);
+                return createReportDto("RPT-001");
+            });
+        jobId.set(salesReportJobService.submitReportJob(createRequest("一月報表", null)).getJobId());
+
+        // When
+        executor.runAll();
+
+        // Then
+        ReportJobDto job = salesReportJobService.getReportJob(jobId.get());
+        assertEquals(ReportJobStatus.CANCELLED, job.getStatus());
+        assertEquals(5_000, job.getProcessedRecords());
+        assertNull(job.getReportId());
+    }
+
+    @Test
+    @DisplayName("報表產生失敗時工作應標示為失敗並保留錯誤訊息")
+    void shouldMarkJobFailedWhenGenerationThrows() {
+        // Given
+        when(salesReportUseCase.generateReport(any(GenerateReportRequest.class), any(ReportProgressListener.class)))
+            .thenThrow(new IllegalStateException("資料庫連線中斷"));
+        ReportJobDto submitted = salesReportJobService.submitReportJob(createRequest("一月報表", null));
+
+        // When
+        executor.runAll();
+
+        // Then
+        ReportJobDto job = salesReportJobService.getReportJob(submitted.getJobId());
+        assertEquals(ReportJobStatus.FAILED, job.getStatus());
+        assertEquals("資料庫連線中斷", job.getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("佇列已滿時應拒絕新工作且不留下工作記錄")
+    void shouldRejectJobWhenQueueIsFull() {
+        // Given
+        when(salesReportUseCase.generateReport(any(GenerateReportRequest.class), any(ReportProgressListener.class)))
+            .thenReturn(createReportDto("RPT-001"));
+        salesReportJobService.submitReportJob(createRequest("全區報表", null));
+        salesReportJobService.submitReportJob(createRequest("台北報表", "台北"));
+
+        // When & Then
+        assertThrows(ReportJobRejectedException.class,
+            () -> salesReportJobService.submitReportJob(createRequest("台中報表", "台中")));
+
+        executor.runNext();
+        ReportJobDto retried = salesReportJobService.submitReportJob(createRequest("台中報表", "台中"));
+        assertFalse(retried.getCoalesced());
+        assertEquals(2, executor.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("報表參數錯誤時不應排入工作")
+    void shouldNotQueueJobWhenRequestIsInvalid() {
+        // Given
+        GenerateReportRequest request = createRequest("無效報表", null);
+        doThrow(new InvalidReportParametersException("開始日期不能晚於結束日期"))
+            .when(salesReportUseCase).validateReportRequest(request);
+
+        // When & Then
+        assertThrows(InvalidReportParametersException.class,
+            () -> salesReportJobService.submitReportJob(request));
+        assertEquals(0, executor.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("查詢不存在的工作時應拋出異常")
+    void shouldThrowExceptionWhenJobNotFound() {
+        assertThrows(ReportJobNotFoundException.class,
+            () -> salesReportJobService.getReportJob("JOB-NONEXISTENT"));
+        assertThrows(ReportJobNotFoundException.class,
+            () -> salesReportJobService.cancelReportJob("JOB-NONEXISTENT"));
+    }
+
+    // 輔助方法
+
+    private GenerateReportRequest createRequest(String reportName, String region) {
+        GenerateReportRequest request = new GenerateReportRequest(
+            reportName, ReportType.MONTHLY, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        request.setRegion(region);
+        return request;
+    }
+
+    private SalesReportDto createReportDto(String reportId) {
+        SalesReportDto dto = new SalesReportDto();
+        dto.setReportId(reportId);
+        return dto;
+    }
+}
@@ -3,6 +3,7 @@ package com.ecommerce.sales.application.usecase;
 import com.ecommerce.sales.application.dto.GenerateReportRequest;
 import com.ecommerce.sales.application.dto.SalesReportDto;
 import com.ecommerce.sales.application.mapper.SalesMapper;
+import com.ecommerce.sales.application.port.in.ReportProgressListener;
 import com.ecommerce.sales.application.port.out.ReportGenerationPort;
 import com.ecommerce.sales.application.port.out.SalesEventPublisherPort;
 import com.ecommerce.sales.application.port.out.SalesPersistencePort;
@@ -12,15 +13,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 /**
  * 銷售報表服務測試
@@ -47,7 +53,8 @@ class SalesReportServiceTest {
     @BeforeEach
     void setUp() {
         salesReportService = new SalesReportService(
-            salesPersistencePort, reportGenerationPort, salesEventPublisherPort, salesMapper
+            salesPersistencePort, reportGenerationPort, salesEventPublisherPort,
+            new InMemorySalesReportStore(), salesMapper
         );
     }
 
@@ -67,7 +74,7 @@ class SalesReportServiceTest {
         List<SalesRecord> mockRecords = createMockSalesRecords();
         SalesReportDto expectedDto = createMockSalesReportDto();
 
-        when(salesPersistencePort.findByDateRange(startDate, endDate)).thenReturn(mockRecords);
+        stubRecordStream(mockRecords);
         when(salesMapper.toDto(any(SalesReport.class))).thenReturn(expectedDto);
 
         // When
@@ -77,8 +84,15 @@ class SalesReportServiceTest {
         assertNotNull(result);
         assertEquals(expectedDto, result);
         
-        verify(salesPersistencePort).findByDateRange(startDate, endDate);
-        verify(salesMapper).toDto(any(SalesReport.class));
+        ArgumentCaptor<SalesReport> reportCaptor = ArgumentCaptor.forClass(SalesReport.class);
+        verify(salesMapper).toDto(reportCaptor.capture());
+        SalesReport report = reportCaptor.getValue();
+        assertEquals(2, report.getRecordCount());
+        assertEquals(0, new BigDecimal("84000").compareTo(report.getMetrics().getTotalRevenue()));
+        assertEquals(3, report.getMetrics().getTotalQuantity());
+        
+        verify(salesPersistencePort).streamByDateRange(startDate, endDate, null, null, null);
+        verify(salesPersistencePort, never()).findByDateRange(any(), any());
         verify(salesEventPublisherPort).publishSalesReportGenerated(any());
     }
 
@@ -98,13 +112,9 @@ class SalesReportServiceTest {
         request.setCategory(category);
 
         List<SalesRecord> allRecords = createMockSalesRecords();
-        List<SalesRecord> filteredRecords = allRecords.stream()
-                .filter(record -> category.equals(record.getCategory()))
-                .toList();
-        
         SalesReportDto expectedDto = createMockSalesReportDto();
 
-        when(salesPersistencePort.findByDateRange(startDate, endDate)).thenReturn(allRecords);
+        stubRecordStream(allRecords);
         when(salesMapper.toDto(any(SalesReport.class))).thenReturn(expectedDto);
 
         // When
@@ -112,7 +122,8 @@ class SalesReportServiceTest {
 
         // Then
         assertNotNull(result);
-        verify(salesPersistencePort).findByDateRange(startDate, endDate);
+        verify(salesPersistencePort).countByDateRange(startDate, endDate, category, null, null);
+        verify(salesPersistencePort).streamByDateRange(startDate, endDate, category, null, null);
         verify(salesMapper).toDto(any(SalesReport.class));
     }
 
@@ -134,7 +145,7 @@ class SalesReportServiceTest {
         List<SalesRecord> mockRecords = createMockSalesRecords();
         SalesReportDto expectedDto = createMockSalesReportDto();
 
-        when(salesPersistencePort.findByDateRange(startDate, endDate)).thenReturn(mockRecords);
+        stubRecordStream(mockRecords);
         when(salesMapper.toDto(any(SalesReport.class))).thenReturn(expectedDto);
 
         // When
@@ -142,7 +153,7 @@ class SalesReportServiceTest {
 
         // Then
         assertNotNull(result);
-        verify(salesPersistencePort).findByDateRange(startDate, endDate);
+        verify(salesPersistencePort).streamByDateRange(startDate, endDate, null, region, null);
     }
 
     @Test
@@ -163,7 +174,7 @@ class SalesReportServiceTest {
         List<SalesRecord> mockRecords = createMockSalesRecords();
         SalesReportDto expectedDto = createMockSalesReportDto();
 
-        when(salesPersistencePort.findByDateRange(startDate, endDate)).thenReturn(mockRecords);
+        stubRecordStream(mockRecords);
         when(salesMapper.toDto(any(SalesReport.class))).thenReturn(expectedDto);
 
         // When
@@ -171,7 +182,7 @@ class SalesReportServiceTest {
 
         // Then
         assertNotNull(result);
-        verify(salesPersistencePort).findByDateRange(startDate, endDate);
+        verify(salesPersistencePort).streamByDateRange(startDate, endDate, null, null, customerId);
     }
 
     @Test
@@ -191,7 +202,7 @@ class SalesReportServiceTest {
         );
         
         assertEquals("開始日期不能晚於結束日期", exception.getMessage());
-        verify(salesPersistencePort, never()).findByDateRange(any(), any());
+        verify(salesPersistencePort, never()).streamByDateRange(any(), any(), any(), any(), any());
     }
 
     @Test
@@ -231,7 +242,7 @@ class SalesReportServiceTest {
         List<SalesRecord> mockRecords = createMockSalesRecords();
         SalesReportDto mockDto = createMockSalesReportDto();
 
-        when(salesPersistencePort.findByDateRange(startDate, endDate)).thenReturn(mockRecords);
+        stubRecordStream(mockRecords);
         when(salesMapper.toDto(any(SalesReport.class))).thenReturn(mockDto);
 
         // 生成報表
@@ -257,7 +268,7 @@ class SalesReportServiceTest {
 
         List<SalesRecord> mockRecords = createMockSalesRecords();
 
-        when(salesPersistencePort.findByDateRange(any(), any())).thenReturn(mockRecords);
+        stubRecordStream(mockRecords);
         when(salesMapper.toDto(any(SalesReport.class))).thenAnswer(invocation -> {
             SalesReport report = invocation.getArgument(0);
             SalesReportDto dto = createMockSalesReportDto();
@@ -305,7 +316,7 @@ class SalesReportServiceTest {
         List<SalesRecord> mockRecords = createMockSalesRecords();
         byte[] mockPdfData = "PDF內容".getBytes();
 
-        when(salesPersistencePort.findByDateRange(any(), any())).thenReturn(mockRecords);
+        stubRecordStream(mockRecords);
         when(salesMapper.toDto(any(SalesReport.class))).thenAnswer(invocation -> {
             SalesReport report = invocation.getArgument(0);
             SalesReportDto dto = createMockSalesReportDto();
@@ -313,19 +324,23 @@ class SalesReportServiceTest {
             return dto;
         });
         when(reportGenerationPort.supportsFormat("pdf")).thenReturn(true);
-        when(reportGenerationPort.generatePdfReport(any(SalesReport.class))).thenReturn(mockPdfData);
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write(mockPdfData);
+            return null;
+        }).when(reportGenerationPort).writePdfReport(any(SalesReport.class), any(), any(OutputStream.class));
 
         // 先生成報表
         SalesReportDto generatedReport = salesReportService.generateReport(request);
         String reportId = generatedReport.getReportId();
 
         // When
-        byte[] result = salesReportService.exportReport(reportId, "pdf");
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        salesReportService.exportReport(reportId, "pdf", result);
 
         // Then
-        assertNotNull(result);
-        assertArrayEquals(mockPdfData, result);
-        verify(reportGenerationPort).generatePdfReport(any(SalesReport.class));
+        assertArrayEquals(mockPdfData, result.toByteArray());
+        verify(reportGenerationPort).writePdfReport(any(SalesReport.class), any(), any(OutputStream.class));
     }
 
     @Test
@@ -341,7 +356,7 @@ class SalesReportServiceTest {
         List<SalesRecord> mockRecords = createMockSalesRecords();
         byte[] mockExcelData = "Excel內容".getBytes();
 
-        when(salesPersistencePort.findByDateRange(any(), any())).thenReturn(mockRecords);
+        stubRecordStream(mockRecords);
         when(salesMapper.toDto(any(SalesReport.class))).thenAnswer(invocation -> {
             SalesReport report = invocation.getArgument(0);
             SalesReportDto dto = createMockSalesReportDto();
@@ -349,19 +364,63 @@ class SalesReportServiceTest {
             return dto;
         });
         when(reportGenerationPort.supportsFormat("excel")).thenReturn(true);
-        when(reportGenerationPort.generateExcelReport(any(SalesReport.class))).thenReturn(mockExcelData);
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write(mockExcelData);
+            return null;
+        }).when(reportGenerationPort).writeExcelReport(any(SalesReport.class), any(), any(OutputStream.class));
 
         // 先生成報表
         SalesReportDto generatedReport = salesReportService.generateReport(request);
         String reportId = generatedReport.getReportId();
 
         // When
-        byte[] result = salesReportService.exportReport(reportId, "excel");
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        salesReportService.exportReport(reportId, "excel", result);
 
         // Then
-        assertNotNull(result);
-        assertArrayEquals(mockExcelData, result);
-        verify(reportGenerationPort).generateExcelReport(any(SalesReport.class));
+        assertArrayEquals(mockExcelData, result.toByteArray());
+        verify(reportGenerationPort).writeExcelReport(any(SalesReport.class), any(), any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("匯出CSV時應依報表條件串流讀取明細")
+    void shouldStreamRecordsWithReportFiltersWhenExportingCsv() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+
+        GenerateReportRequest request = new GenerateReportRequest();
+        request.setReportName("電子產品銷售報表");
+        request.setReportType(ReportType.PRODUCT_CATEGORY);
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        request.setCategory("Electronics");
+        request.setRegion(" ");
+
+        List<SalesRecord> mockRecords = createMockSalesRecords();
+
+        when(salesPersistencePort.countByDateRange(startDate, endDate, "Electronics", null, null))
+            .thenReturn((long) mockRecords.size());
+        when(salesPersistencePort.streamByDateRange(startDate, endDate, "Electronics", null, null))
+            .thenAnswer(invocation -> mockRecords.stream());
+        when(salesMapper.toDto(any(SalesReport.class))).thenAnswer(invocation -> {
+            SalesReport report = invocation.getArgument(0);
+            SalesReportDto dto = createMockSalesReportDto();
+            dto.setReportId(report.getReportId());
+            return dto;
+        });
+        when(reportGenerationPort.supportsFormat("csv")).thenReturn(true);
+
+        String reportId = salesReportService.generateReport(request).getReportId();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        salesReportService.exportReport(reportId, "csv", outputStream);
+
+        // Then - 產生與匯出都以相同條件讀取
+        verify(salesPersistencePort, times(2)).streamByDateRange(startDate, endDate, "Electronics", null, null);
+        verify(reportGenerationPort).writeCsvReport(any(SalesReport.class), any(), eq(outputStream));
     }
 
     @Test
@@ -376,7 +435,7 @@ class SalesReportServiceTest {
 
         List<SalesRecord> mockRecords = createMockSalesRecords();
 
-        when(salesPersistencePort.findByDateRange(any(), any())).thenReturn(mockRecords);
+        stubRecordStream(mockRecords);
         when(salesMapper.toDto(any(SalesReport.class))).thenAnswer(invocation -> {
             SalesReport report = invocation.getArgument(0);
             SalesReportDto dto = createMockSalesReportDto();
@@ -392,7 +451,7 @@ class SalesReportServiceTest {
         // When & Then
         InvalidReportParametersException exception = assertThrows(
             InvalidReportParametersException.class,
-            () -> salesReportService.exportReport(reportId, "unsupported")
+            () -> salesReportService.exportReport(reportId, "unsupported", new ByteArrayOutputStream())
         );
         
         assertEquals("不支援的格式：unsupported", exception.getMessage());
@@ -410,7 +469,7 @@ class SalesReportServiceTest {
 
         List<SalesRecord> mockRecords = createMockSalesRecords();
 
-        when(salesPersistencePort.findByDateRange(any(), any())).thenReturn(mockRecords);
+        stubRecordStream(mockRecords);
         when(salesMapper.toDto(any(SalesReport.class))).thenAnswer(invocation -> {
             SalesReport report = invocation.getArgument(0);
             SalesReportDto dto = createMockSalesReportDto();
@@ -433,8 +492,44 @@ class SalesReportServiceTest {
         assertEquals("報表不存在：" + reportId, exception.getMessage());
     }
 
+    @Test
+    @DisplayName("回報進度時取消應中止產生且不儲存報表")
+    void shouldAbortWithoutSavingWhenProgressListenerCancels() {
+        // Given
+        GenerateReportRequest request = new GenerateReportRequest();
+        request.setReportName("取消的報表");
+        request.setReportType(ReportType.MONTHLY);
+        request.setStartDate(LocalDate.of(2024, 1, 1));
+        request.setEndDate(LocalDate.of(2024, 1, 31));
+
+        stubRecordStream(createMockSalesRecords());
+        List<Long> reportedTotals = new ArrayList<>();
+        ReportProgressListener cancellingListener = (processedRecords, totalRecords) -> {
+            reportedTotals.add(totalRecords);
+            if (processedRecords == totalRecords) {
+                throw new CancellationException();
+            }
+        };
+
+        // When & Then
+        assertThrows(CancellationException.class,
+            () -> salesReportService.generateReport(request, cancellingListener));
+        
+        assertEquals(List.of(2L, 2L), reportedTotals);
+        assertTrue(salesReportService.getReports(null, null, null).isEmpty());
+        verify(salesEventPublisherPort, never()).publishSalesReportGenerated(any());
+    }
+
     // 輔助方法
 
+    private void stubRecordStream(List<SalesRecord> records) {
+        when(salesPersistencePort.countByDateRange(any(), any(), any(), any(), any()))
+            .thenReturn((long) records.size());
+        // 每次讀取都回傳新的串流，產生與匯出可各自讀取一次
+        when(salesPersistencePort.streamByDateRange(any(), any(), any(), any(), any()))
+            .thenAnswer(invocation -> records.stream());
+    }
+
     private List<SalesRecord> createMockSalesRecords() {
         return List.of(
             SalesRecord.create(
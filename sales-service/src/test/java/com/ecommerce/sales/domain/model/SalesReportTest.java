@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -40,7 +41,7 @@ class SalesReportTest {
         assertEquals(startDate, report.getStartDate());
         assertEquals(endDate, report.getEndDate());
         assertEquals(ReportType.MONTHLY, report.getReportType());
-        assertEquals(records.size(), report.getRecords().size());
+        assertEquals(records.size(), report.getRecordCount());
         assertNotNull(report.getGeneratedAt());
         assertNotNull(report.getMetrics());
     }
@@ -109,6 +110,34 @@ class SalesReportTest {
         assertTrue(report.isEmpty());
     }
 
+    @Test
+    @DisplayName("應該可以直接以已計算的指標建立報表")
+    void shouldCreateReportFromPrecomputedMetrics() {
+        // Given
+        SalesMetrics metrics = new SalesMetrics(new BigDecimal("59000"), 2, new BigDecimal("29500.00"),
+                                                new BigDecimal("1000"), new BigDecimal("1.0000"));
+        LocalDateTime generatedAt = LocalDateTime.of(2024, 2, 1, 8, 30);
+
+        // When
+        SalesReport report = new SalesReport.Builder()
+                .reportId("RPT-009")
+                .reportName("還原報表")
+                .dateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))
+                .reportType(ReportType.MONTHLY)
+                .filters("Electronics", null, null)
+                .metrics(metrics, 2)
+                .generatedAt(generatedAt)
+                .build();
+
+        // Then
+        assertEquals(metrics, report.getMetrics());
+        assertEquals(2, report.getRecordCount());
+        assertEquals(generatedAt, report.getGeneratedAt());
+        assertEquals("Electronics", report.getCategory());
+        assertNull(report.getRegion());
+        assertFalse(report.isEmpty());
+    }
+
     @Test
     @DisplayName("應該正確檢查日期範圍包含")
     void shouldCheckDateRangeContainment() {
@@ -137,64 +166,6 @@ class SalesReportTest {
         assertFalse(report.containsDateRange(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 28)));
     }
 
-    @Test
-    @DisplayName("應該正確過濾分類記錄")
-    void shouldFilterRecordsByCategory() {
-        // Given
-        List<SalesRecord> records = List.of(
-            createSalesRecordWithCategory("SR-001", "Electronics"),
-            createSalesRecordWithCategory("SR-002", "Electronics"),
-            createSalesRecordWithCategory("SR-003", "Accessories"),
-            createSalesRecordWithCategory("SR-004", "Books")
-        );
-
-        SalesReport report = new SalesReport.Builder()
-                .reportId("RPT-005")
-                .reportName("分類測試報表")
-                .dateRange(LocalDate.now(), LocalDate.now())
-                .reportType(ReportType.DAILY)
-                .records(records)
-                .build();
-
-        // When
-        List<SalesRecord> electronicsRecords = report.getRecordsByCategory("Electronics");
-        List<SalesRecord> accessoriesRecords = report.getRecordsByCategory("Accessories");
-        List<SalesRecord> nonExistentRecords = report.getRecordsByCategory("NonExistent");
-
-        // Then
-        assertEquals(2, electronicsRecords.size());
-        assertEquals(1, accessoriesRecords.size());
-        assertEquals(0, nonExistentRecords.size());
-    }
-
-    @Test
-    @DisplayName("應該正確過濾通道記錄")
-    void shouldFilterRecordsByChannel() {
-        // Given
-        List<SalesRecord> records = List.of(
-            createSalesRecordWithChannel("SR-001", SalesChannel.ONLINE),
-            createSalesRecordWithChannel("SR-002", SalesChannel.ONLINE),
-            createSalesRecordWithChannel("SR-003", SalesChannel.MOBILE_APP),
-            createSalesRecordWithChannel("SR-004", SalesChannel.PHYSICAL_STORE)
-        );
-
-        SalesReport report = new SalesReport.Builder()
-                .reportId("RPT-006")
-                .reportName("通道測試報表")
-                .dateRange(LocalDate.now(), LocalDate.now())
-                .reportType(ReportType.DAILY)
-                .records(records)
-                .build();
-
-        // When
-        List<SalesRecord> onlineRecords = report.getRecordsByChannel(SalesChannel.ONLINE);
-        List<SalesRecord> mobileRecords = report.getRecordsByChannel(SalesChannel.MOBILE_APP);
-
-        // Then
-        assertEquals(2, onlineRecords.size());
-        assertEquals(1, mobileRecords.size());
-    }
-
     @Test
     @DisplayName("報表ID為空時應拋出異常")
     void shouldThrowExceptionWhenReportIdIsEmpty() {
@@ -272,18 +243,4 @@ class SalesReportTest {
             quantity, unitPrice, discount, "Electronics", SalesChannel.ONLINE, "台北"
         );
     }
-
-    private SalesRecord createSalesRecordWithCategory(String id, String category) {
-        return SalesRecord.create(
-            id, "ORDER-" + id, "CUST-001", "PROD-" + id, "Product",
-            1, new BigDecimal("1000"), BigDecimal.ZERO, category, SalesChannel.ONLINE, "台北"
-        );
-    }
-
-    private SalesRecord createSalesRecordWithChannel(String id, SalesChannel channel) {
-        return SalesRecord.create(
-            id, "ORDER-" + id, "CUST-001", "PROD-" + id, "Product",
-            1, new BigDecimal("1000"), BigDecimal.ZERO, "Electronics", channel, "台北"
-        );
-    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.ecommerce.sales.domain.service;
 
 import com.ecommerce.sales.domain.model.*;
 import com.ecommerce.sales.domain.repository.SalesRepository;
+import com.ecommerce.sales.domain.repository.SalesRollupRepository;
 import com.ecommerce.sales.domain.service.SalesDomainService.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,11 +31,14 @@ class SalesDomainServiceTest {
     @Mock
     private SalesRepository salesRepository;
 
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
     private SalesDomainService salesDomainService;
 
     @BeforeEach
     void setUp() {
-        salesDomainService = new SalesDomainService(salesRepository);
+        salesDomainService = new SalesDomainService(salesRepository, salesRollupRepository);
     }
 
     @Test
@@ -106,21 +110,21 @@ class SalesDomainServiceTest {
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 10);
         
-        List<SalesRecord> records = List.of(
-            createSalesRecord("SR-001", new BigDecimal("1000")),
-            createSalesRecord("SR-002", new BigDecimal("1500")),
-            createSalesRecord("SR-003", new BigDecimal("3000")),
-            createSalesRecord("SR-004", new BigDecimal("3500"))
+        List<SalesRollup> dailyRollups = List.of(
+            createDailyRollup(LocalDate.of(2024, 1, 2), new BigDecimal("1000")),
+            createDailyRollup(LocalDate.of(2024, 1, 4), new BigDecimal("1500")),
+            createDailyRollup(LocalDate.of(2024, 1, 7), new BigDecimal("3000")),
+            createDailyRollup(LocalDate.of(2024, 1, 9), new BigDecimal("3500"))
         );
 
-        when(salesRepository.findByDateRange(startDate, endDate)).thenReturn(records);
+        when(salesRollupRepository.findDailyRollups(startDate, endDate)).thenReturn(dailyRollups);
 
         // When
         SalesTrendAnalysis analysis = salesDomainService.analyzeSalesTrend(startDate, endDate);
 
         // Then
         assertNotNull(analysis);
-        assertNotNull(analysis.getDirection());
+        assertEquals(TrendDirection.UPWARD, analysis.getDirection());
         assertNotNull(analysis.getAnalysis());
         assertTrue(analysis.getAverageDailyRevenue().compareTo(BigDecimal.ZERO) > 0);
     }
@@ -132,21 +136,21 @@ class SalesDomainServiceTest {
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 10);
         
-        List<SalesRecord> records = List.of(
-            createSalesRecord("SR-001", new BigDecimal("5000")),
-            createSalesRecord("SR-002", new BigDecimal("4000")),
-            createSalesRecord("SR-003", new BigDecimal("1000")),
-            createSalesRecord("SR-004", new BigDecimal("500"))
+        List<SalesRollup> dailyRollups = List.of(
+            createDailyRollup(LocalDate.of(2024, 1, 2), new BigDecimal("5000")),
+            createDailyRollup(LocalDate.of(2024, 1, 4), new BigDecimal("4000")),
+            createDailyRollup(LocalDate.of(2024, 1, 7), new BigDecimal("1000")),
+            createDailyRollup(LocalDate.of(2024, 1, 9), new BigDecimal("500"))
         );
 
-        when(salesRepository.findByDateRange(startDate, endDate)).thenReturn(records);
+        when(salesRollupRepository.findDailyRollups(startDate, endDate)).thenReturn(dailyRollups);
 
         // When
         SalesTrendAnalysis analysis = salesDomainService.analyzeSalesTrend(startDate, endDate);
 
         // Then
         assertNotNull(analysis);
-        assertNotNull(analysis.getDirection());
+        assertEquals(TrendDirection.DOWNWARD, analysis.getDirection());
         assertNotNull(analysis.getAnalysis());
         assertTrue(analysis.getAverageDailyRevenue().compareTo(BigDecimal.ZERO) > 0);
     }
@@ -158,22 +162,21 @@ class SalesDomainServiceTest {
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 10);
         
-        List<SalesRecord> records = List.of(
-            createSalesRecord("SR-001", new BigDecimal("2000")),
-            createSalesRecord("SR-002", new BigDecimal("2100")),
-            createSalesRecord("SR-003", new BigDecimal("1900")),
-            createSalesRecord("SR-004", new BigDecimal("2000"))
+        List<SalesRollup> dailyRollups = List.of(
+            createDailyRollup(LocalDate.of(2024, 1, 2), new BigDecimal("2000")),
+            createDailyRollup(LocalDate.of(2024, 1, 4), new BigDecimal("2100")),
+            createDailyRollup(LocalDate.of(2024, 1, 7), new BigDecimal("1900")),
+            createDailyRollup(LocalDate.of(2024, 1, 9), new BigDecimal("2000"))
         );
 
-        when(salesRepository.findByDateRange(startDate, endDate)).thenReturn(records);
+        when(salesRollupRepository.findDailyRollups(startDate, endDate)).thenReturn(dailyRollups);
 
         // When
         SalesTrendAnalysis analysis = salesDomainService.analyzeSalesTrend(startDate, endDate);
 
         // Then
         assertNotNull(analysis);
-        // 由於無法控制日期，我們只驗證分析結果不為空且包含基本資訊
-        assertNotNull(analysis.getDirection());
+        assertEquals(TrendDirection.STABLE, analysis.getDirection());
         assertNotNull(analysis.getAnalysis());
         assertTrue(analysis.getAverageDailyRevenue().compareTo(BigDecimal.ZERO) > 0);
     }
@@ -185,7 +188,7 @@ class SalesDomainServiceTest {
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 10);
         
-        when(salesRepository.findByDateRange(startDate, endDate)).thenReturn(List.of());
+        when(salesRollupRepository.findDailyRollups(startDate, endDate)).thenReturn(List.of());
 
         // When
         SalesTrendAnalysis analysis = salesDomainService.analyzeSalesTrend(startDate, endDate);
@@ -284,12 +287,9 @@ class SalesDomainServiceTest {
         LocalDate startDate = LocalDate.now().minusDays(1);
         LocalDate endDate = LocalDate.now().plusDays(1);
         
-        List<SalesRecord> categoryRecords = List.of(
-            createSalesRecordWithCategory("SR-001", category, new BigDecimal("50000"), 50),
-            createSalesRecordWithCategory("SR-002", category, new BigDecimal("60000"), 60)
-        );
+        SalesRollup categoryRollup = new SalesRollup(null, new BigDecimal("110000"), 110, 2, BigDecimal.ZERO, 2);
 
-        when(salesRepository.findByCategory(category)).thenReturn(categoryRecords);
+        when(salesRollupRepository.sumRollups(startDate, endDate, category, null, null)).thenReturn(categoryRollup);
 
         // When
         ProductPerformanceAnalysis analysis = salesDomainService.analyzeProductPerformance(category, startDate, endDate);
@@ -297,10 +297,9 @@ class SalesDomainServiceTest {
         // Then
         assertNotNull(analysis);
         assertEquals(category, analysis.getCategory());
-        // 驗證基本功能：分析結果不為空且包含正確的分類
         assertNotNull(analysis.getPerformanceLevel());
-        assertTrue(analysis.getTotalRevenue().compareTo(BigDecimal.ZERO) >= 0);
-        assertTrue(analysis.getTotalQuantity() >= 0);
+        assertEquals(new BigDecimal("110000"), analysis.getTotalRevenue());
+        assertEquals(110, analysis.getTotalQuantity());
     }
 
     @Test
@@ -310,14 +309,13 @@ class SalesDomainServiceTest {
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 31);
         
-        List<SalesRecord> records = List.of(
-            createSalesRecordWithChannel("SR-001", SalesChannel.ONLINE, new BigDecimal("10000")),
-            createSalesRecordWithChannel("SR-002", SalesChannel.ONLINE, new BigDecimal("15000")),
-            createSalesRecordWithChannel("SR-003", SalesChannel.MOBILE_APP, new BigDecimal("8000")),
-            createSalesRecordWithChannel("SR-004", SalesChannel.PHYSICAL_STORE, new BigDecimal("12000"))
+        Map<SalesChannel, BigDecimal> revenueByChannel = Map.of(
+            SalesChannel.ONLINE, new BigDecimal("25000"),
+            SalesChannel.MOBILE_APP, new BigDecimal("8000"),
+            SalesChannel.PHYSICAL_STORE, new BigDecimal("12000")
         );
 
-        when(salesRepository.findByDateRange(startDate, endDate)).thenReturn(records);
+        when(salesRollupRepository.sumRevenueByChannel(startDate, endDate)).thenReturn(revenueByChannel);
 
         // When
         Map<SalesChannel, BigDecimal> channelPerformance = salesDomainService.analyzeChannelPerformance(startDate, endDate);
@@ -339,13 +337,9 @@ class SalesDomainServiceTest {
         LocalDate endDate = LocalDate.now().plusDays(5);
         
         // 創建高銷量記錄：總數量 > 100，平均日銷量 > 10
-        List<SalesRecord> productRecords = List.of(
-            createSalesRecordWithProduct("SR-001", productId, 50),
-            createSalesRecordWithProduct("SR-002", productId, 60),
-            createSalesRecordWithProduct("SR-003", productId, 40)
-        );
+        SalesRollup productRollup = new SalesRollup(null, new BigDecimal("150000"), 150, 3, BigDecimal.ZERO, 0);
 
-        when(salesRepository.findByProductId(productId)).thenReturn(productRecords);
+        when(salesRollupRepository.sumRollups(startDate, endDate, null, null, productId)).thenReturn(productRollup);
 
         // When
         boolean shouldAlert = salesDomainService.shouldTriggerRestockAlert(productId, startDate, endDate);
@@ -363,12 +357,9 @@ class SalesDomainServiceTest {
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 10);
         
-        List<SalesRecord> productRecords = List.of(
-            createSalesRecordWithProduct("SR-001", productId, 2),
-            createSalesRecordWithProduct("SR-002", productId, 3)
-        );
+        SalesRollup productRollup = new SalesRollup(null, new BigDecimal("5000"), 5, 2, BigDecimal.ZERO, 0);
 
-        when(salesRepository.findByProductId(productId)).thenReturn(productRecords);
+        when(salesRollupRepository.sumRollups(startDate, endDate, null, null, productId)).thenReturn(productRollup);
 
         // When
         boolean shouldAlert = salesDomainService.shouldTriggerRestockAlert(productId, startDate, endDate);
@@ -377,41 +368,57 @@ class SalesDomainServiceTest {
         assertFalse(shouldAlert); // 平均日銷量 = 5 / 10 = 0.5 < 10
     }
 
-    // 輔助方法
-
-    private SalesRecord createSalesRecord(String id, BigDecimal totalAmount) {
-        return SalesRecord.create(
-            id, "ORDER-" + id, "CUST-001", "PROD-001", "Product",
-            1, totalAmount, BigDecimal.ZERO, "Electronics", SalesChannel.ONLINE, "台北"
+    @Test
+    @DisplayName("指定客戶的銷售摘要應由原始記錄計算")
+    void shouldSummarizeCustomerSalesFromRecords() {
+        // Given
+        String customerId = "CUST-001";
+        LocalDate today = LocalDate.now();
+        List<SalesRecord> customerRecords = List.of(
+            createSalesRecordForCustomer("SR-001", customerId, new BigDecimal("12000")),
+            createSalesRecordForCustomer("SR-002", customerId, new BigDecimal("3000"))
         );
-    }
 
-    private SalesRecord createSalesRecordForCustomer(String id, String customerId, BigDecimal totalAmount) {
-        return SalesRecord.create(
-            id, "ORDER-" + id, customerId, "PROD-001", "Product",
-            1, totalAmount, BigDecimal.ZERO, "Electronics", SalesChannel.ONLINE, "台北"
-        );
+        when(salesRepository.findByCustomerId(customerId)).thenReturn(customerRecords);
+
+        // When
+        SalesRollup summary = salesDomainService.summarizeSales(today, today, null, null, customerId, null);
+
+        // Then
+        assertEquals(new BigDecimal("15000"), summary.getRevenue());
+        assertEquals(2, summary.getRecordCount());
+        assertEquals(1, summary.getHighValueCount());
+        verifyNoInteractions(salesRollupRepository);
     }
 
-    private SalesRecord createSalesRecordWithCategory(String id, String category, BigDecimal totalAmount, int quantity) {
-        return SalesRecord.create(
-            id, "ORDER-" + id, "CUST-001", "PROD-001", "Product",
-            quantity, totalAmount.divide(BigDecimal.valueOf(quantity), 2, BigDecimal.ROUND_HALF_UP), 
-            BigDecimal.ZERO, category, SalesChannel.ONLINE, "台北"
-        );
+    @Test
+    @DisplayName("未指定客戶的銷售摘要應讀取彙總表")
+    void shouldSummarizeSalesFromRollups() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+        SalesRollup rollup = new SalesRollup(null, new BigDecimal("45000"), 12, 4, new BigDecimal("500"), 1);
+
+        when(salesRollupRepository.sumRollups(startDate, endDate, "Electronics", "台北", null)).thenReturn(rollup);
+
+        // When
+        SalesRollup summary = salesDomainService.summarizeSales(startDate, endDate, "Electronics", "台北", null, null);
+
+        // Then
+        assertEquals(rollup, summary);
+        verify(salesRepository, never()).findByCustomerId(any());
     }
 
-    private SalesRecord createSalesRecordWithChannel(String id, SalesChannel channel, BigDecimal totalAmount) {
-        return SalesRecord.create(
-            id, "ORDER-" + id, "CUST-001", "PROD-001", "Product",
-            1, totalAmount, BigDecimal.ZERO, "Electronics", channel, "台北"
-        );
+    // 輔助方法
+
+    private SalesRollup createDailyRollup(LocalDate saleDate, BigDecimal revenue) {
+        return new SalesRollup(saleDate, revenue, 1, 1, BigDecimal.ZERO, 0);
     }
 
-    private SalesRecord createSalesRecordWithProduct(String id, String productId, int quantity) {
+    private SalesRecord createSalesRecordForCustomer(String id, String customerId, BigDecimal totalAmount) {
         return SalesRecord.create(
-            id, "ORDER-" + id, "CUST-001", productId, "Product",
-            quantity, new BigDecimal("1000"), BigDecimal.ZERO, "Electronics", SalesChannel.ONLINE, "台北"
+            id, "ORDER-" + id, customerId, "PROD-001", "Product",
+            1, totalAmount, BigDecimal.ZERO, "Electronics", SalesChannel.ONLINE, "台北"
         );
     }
 }
\ No newline at end of file
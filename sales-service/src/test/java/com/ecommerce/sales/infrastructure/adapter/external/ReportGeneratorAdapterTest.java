@@ -0,0 +1,128 @@
+package com.ecommerce.sales.infrastructure.adapter.external;
+
+import com.ecommerce.sales.domain.model.ReportType;
+import com.ecommerce.sales.domain.model.SalesChannel;
+import com.ecommerce.sales.domain.model.SalesRecord;
+import com.ecommerce.sales.domain.model.SalesReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 報表生成適配器測試
+ * 驗證報表以串流寫出時的內容與記憶體用量
+ */
+@DisplayName("報表生成適配器測試")
+class ReportGeneratorAdapterTest {
+
+    private final ReportGeneratorAdapter reportGeneratorAdapter = new ReportGeneratorAdapter();
+
+    @Test
+    @DisplayName("CSV 報表應逐列寫出並正確跳脫引號")
+    void shouldWriteCsvRowsWithEscapedQuotes() {
+        // Given
+        SalesRecord record = SalesRecord.create(
+            "SR-001", "ORDER-001", "CUST-001", "PROD-001", "iPhone \"17\" Pro",
+            1, new BigDecimal("35000"), new BigDecimal("1000"), "Electronics", SalesChannel.ONLINE, "台北"
+        );
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        reportGeneratorAdapter.writeCsvReport(createReport(), Stream.of(record), outputStream);
+
+        // Then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("銷售記錄ID,訂單ID,客戶ID,商品ID,商品名稱,數量,單價,總金額,折扣,分類,銷售日期,通道,區域", lines[0]);
+        assertEquals("SR-001,ORDER-001,CUST-001,PROD-001,\"iPhone \"\"17\"\" Pro\",1,35000.00,34000.00,1000.00,\"Electronics\"," +
+                     record.getSaleDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) + ",ONLINE,\"台北\"",
+                     lines[1]);
+    }
+
+    @Test
+    @DisplayName("沒有明細時文字報表只輸出標題與統計")
+    void shouldWriteHeaderOnlyWhenNoRecords() {
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        reportGeneratorAdapter.writeExcelReport(createReport(), Stream.empty(), outputStream);
+
+        // Then
+        String content = outputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(content.contains("銷售報表 (Excel 格式)"));
+        assertTrue(content.contains("記錄數量: 0"));
+        assertFalse(content.contains("銷售記錄明細"));
+    }
+
+    @Test
+    @Tag("load")
+    @DisplayName("匯出 500 萬筆記錄時記憶體用量不應隨筆數成長")
+    void shouldStreamFiveMillionRowsWithinFixedHeap() {
+        // Given
+        // loadTest 任務的堆積上限固定為 256MB（見 build.gradle），500 萬筆記錄若同時留在記憶體中會 OutOfMemoryError
+        int rowCount = 5_000_000;
+        Stream<SalesRecord> records = IntStream.range(0, rowCount).mapToObj(i -> SalesRecord.create(
+            "SR-" + i, "ORDER-" + i, "CUST-" + (i % 1000), "PROD-" + (i % 500), "Product " + (i % 500),
+            1 + i % 5, new BigDecimal("1999"), BigDecimal.ZERO, "Electronics", SalesChannel.ONLINE, "台北"
+        ));
+        CountingOutputStream outputStream = new CountingOutputStream();
+
+        // When
+        reportGeneratorAdapter.writeCsvReport(createReport(), records, outputStream);
+
+        // Then
+        assertEquals(rowCount + 1, outputStream.lineCount);
+        assertTrue(outputStream.byteCount > (long) rowCount * 80);
+    }
+
+    // 輔助方法
+
+    private SalesReport createReport() {
+        return new SalesReport.Builder()
+            .reportId("RPT-TEST")
+            .reportName("測試報表")
+            .dateRange(LocalDate.now(), LocalDate.now())
+            .reportType(ReportType.DAILY)
+            .records(List.of())
+            .build();
+    }
+
+    /**
+     * 只計算寫入的位元組與行數，不保留內容
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private long byteCount;
+        private long lineCount;
+
+        @Override
+        public void write(int b) {
+            byteCount++;
+            if (b == '\n') {
+                lineCount++;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            byteCount += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (bytes[i] == '\n') {
+                    lineCount++;
+                }
+            }
+        }
+    }
+}
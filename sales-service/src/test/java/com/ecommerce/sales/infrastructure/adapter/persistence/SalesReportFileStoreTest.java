@@ -0,0 +1,162 @@
+package com.ecommerce.sales.infrastructure.adapter.persistence;
+
+import com.ecommerce.sales.domain.model.ReportType;
+import com.ecommerce.sales.domain.model.SalesMetrics;
+import com.ecommerce.sales.domain.model.SalesReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 銷售報表儲存適配器測試
+ * 驗證記憶體預算、寫出到檔案與索引查詢
+ */
+@DisplayName("銷售報表儲存適配器測試")
+class SalesReportFileStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("超過記憶體預算時應將最久未使用的報表寫到檔案並可載回")
+    void shouldSpillLeastRecentlyUsedReportAndReloadOnDemand() throws IOException {
+        // Given
+        SalesReportFileStore store = createStore(DataSize.ofBytes(3000));
+        SalesReport first = createReport("RPT-001", ReportType.MONTHLY, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // When
+        store.save(first);
+        store.save(createReport("RPT-002", ReportType.MONTHLY, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)));
+        store.save(createReport("RPT-003", ReportType.MONTHLY, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)));
+
+        // Then
+        assertTrue(store.getResidentBytes() <= 3000);
+        assertTrue(Files.exists(directory.resolve("RPT-001.rpt")));
+        assertEquals(1, store.getSpilledCount());
+
+        SalesReport reloaded = store.findById("RPT-001").orElseThrow();
+        assertEquals(first.getReportName(), reloaded.getReportName());
+        assertEquals(first.getStartDate(), reloaded.getStartDate());
+        assertEquals(first.getEndDate(), reloaded.getEndDate());
+        assertEquals(first.getGeneratedAt(), reloaded.getGeneratedAt());
+        assertEquals(first.getCategory(), reloaded.getCategory());
+        assertNull(reloaded.getCustomerId());
+        assertEquals(first.getMetrics(), reloaded.getMetrics());
+        assertEquals(first.getRecordCount(), reloaded.getRecordCount());
+        assertEquals(first.getAdditionalData(), reloaded.getAdditionalData());
+    }
+
+    @Test
+    @DisplayName("載回記憶體的報表只應計入記憶體層，不應同時計入檔案層")
+    void shouldCountReloadedReportOnlyInMemoryTier() {
+        // Given
+        SalesReportFileStore store = createStore(DataSize.ofBytes(3000));
+        store.save(createReport("RPT-001", ReportType.MONTHLY, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        store.save(createReport("RPT-002", ReportType.MONTHLY, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)));
+        store.save(createReport("RPT-003", ReportType.MONTHLY, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)));
+        assertEquals(1, store.getSpilledCount());
+
+        // When
+        store.findById("RPT-001").orElseThrow();
+
+        // Then
+        assertEquals(3, store.getResidentCount() + store.getSpilledCount());
+
+        // 刪除所有報表後兩層都應歸零
+        store.delete("RPT-001");
+        store.delete("RPT-002");
+        store.delete("RPT-003");
+        assertEquals(0, store.getResidentCount());
+        assertEquals(0, store.getSpilledCount());
+    }
+
+    @Test
+    @DisplayName("報表清單應依類型與日期範圍查詢，包含已寫到檔案的報表")
+    void shouldFindReportsByTypeAndDateRangeIncludingSpilled() {
+        // Given
+        SalesReportFileStore store = createStore(DataSize.ofBytes(1));
+        store.save(createReport("RPT-JAN", ReportType.MONTHLY, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        store.save(createReport("RPT-FEB", ReportType.MONTHLY, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)));
+        store.save(createReport("RPT-DAY", ReportType.DAILY, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 15)));
+        store.save(createReport("RPT-Q1", ReportType.QUARTERLY, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)));
+
+        // When
+        List<SalesReport> monthly = store.findReports(ReportType.MONTHLY, null, null);
+        List<SalesReport> january = store.findReports(null, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        // Then
+        assertEquals(4, store.getSpilledCount());
+        assertEquals(List.of("RPT-JAN", "RPT-FEB"), monthly.stream().map(SalesReport::getReportId).toList());
+        assertEquals(List.of("RPT-DAY", "RPT-JAN"),
+                     january.stream().map(SalesReport::getReportId).sorted().toList());
+    }
+
+    @Test
+    @DisplayName("刪除報表應一併移除索引與檔案")
+    void shouldDeleteReportAndSpilledFile() throws IOException {
+        // Given
+        SalesReportFileStore store = createStore(DataSize.ofBytes(1));
+        store.save(createReport("RPT-001", ReportType.DAILY, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1)));
+
+        // When
+        boolean deleted = store.delete("RPT-001");
+
+        // Then
+        assertTrue(deleted);
+        assertFalse(store.delete("RPT-001"));
+        assertTrue(store.findById("RPT-001").isEmpty());
+        assertTrue(store.findReports(null, null, null).isEmpty());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("啟動時應清除上次遺留的報表檔案")
+    void shouldClearStaleFilesOnStartup() throws IOException {
+        // Given
+        Files.writeString(directory.resolve("RPT-OLD.rpt"), "stale");
+
+        // When
+        SalesReportFileStore store = createStore(DataSize.ofMegabytes(1));
+
+        // Then
+        assertFalse(Files.exists(directory.resolve("RPT-OLD.rpt")));
+        assertTrue(store.findById("RPT-OLD").isEmpty());
+    }
+
+    // 輔助方法
+
+    private SalesReportFileStore createStore(DataSize memoryBudget) {
+        return new SalesReportFileStore(directory.toString(), memoryBudget, new SimpleMeterRegistry());
+    }
+
+    private SalesReport createReport(String reportId, ReportType reportType, LocalDate startDate, LocalDate endDate) {
+        return new SalesReport.Builder()
+                .reportId(reportId)
+                .reportName("報表 " + reportId)
+                .dateRange(startDate, endDate)
+                .reportType(reportType)
+                .filters("Electronics", "台北", null)
+                .metrics(new SalesMetrics(new BigDecimal("123456.78"), 42, new BigDecimal("2939.45"),
+                                          new BigDecimal("1500.00"), new BigDecimal("0.2500")), 42)
+                .generatedAt(LocalDateTime.of(2024, 4, 1, 9, 15, 30, 123_000_000))
+                .additionalData(Map.of("requestedBy", "analyst", "version", 2, "draft", false,
+                                       "tags", List.of("q1", "review")))
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.ecommerce.sales.infrastructure.adapter.persistence;
+
+import com.ecommerce.sales.domain.model.SalesChannel;
+import com.ecommerce.sales.domain.model.SalesRecord;
+import com.ecommerce.sales.domain.model.SalesRollup;
+import com.ecommerce.sales.infrastructure.adapter.persistence.mapper.SalesRecordJpaMapper;
+import com.ecommerce.sales.infrastructure.adapter.persistence.repository.SalesDailyRollupJpaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 銷售日彙總 JPA 適配器測試
+ * 以 MySQL 相容模式的 H2 執行彙總表的 upsert、刪除扣減與重建 SQL
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:sales-rollups;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SalesJpaAdapter.class, SalesRollupJpaAdapter.class, SalesRecordJpaMapper.class})
+@DisplayName("銷售日彙總 JPA 適配器測試")
+class SalesRollupJpaAdapterTest {
+
+    @Autowired
+    private SalesJpaAdapter salesJpaAdapter;
+
+    @Autowired
+    private SalesRollupJpaAdapter salesRollupJpaAdapter;
+
+    @Autowired
+    private SalesDailyRollupJpaRepository salesDailyRollupJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    @DisplayName("同一彙總鍵的記錄應該合併為一列")
+    void shouldMergeRecordsWithSameKey() {
+        // Given & When
+        salesJpaAdapter.saveAll(List.of(
+            salesRecord("SR-ORDER-1-1", "PROD-1", 2, "1000", "0"),
+            salesRecord("SR-ORDER-1-2", "PROD-1", 1, "1000", "0"),
+            salesRecord("SR-ORDER-2-1", "PROD-2", 1, "12000", "0")));
+
+        // Then
+        assertEquals(2, salesDailyRollupJpaRepository.count());
+        SalesRollup total = salesRollupJpaAdapter.sumRollups(today, today, null, null, null);
+        assertAmount("15000", total.getRevenue());
+        assertEquals(4, total.getQuantity());
+        assertEquals(3, total.getRecordCount());
+        assertEquals(1, total.getHighValueCount());
+    }
+
+    @Test
+    @DisplayName("後續寫入應該累加到既有的彙總列")
+    void shouldUpsertIntoExistingRow() {
+        // Given
+        salesJpaAdapter.saveAll(List.of(salesRecord("SR-ORDER-1-1", "PROD-1", 2, "1000", "0")));
+
+        // When
+        salesJpaAdapter.saveAll(List.of(salesRecord("SR-ORDER-3-1", "PROD-1", 1, "1000", "0")));
+
+        // Then
+        assertEquals(1, salesDailyRollupJpaRepository.count());
+        SalesRollup product = salesRollupJpaAdapter.sumRollups(today, today, null, null, "PROD-1");
+        assertAmount("3000", product.getRevenue());
+        assertEquals(3, product.getQuantity());
+        assertEquals(2, product.getRecordCount());
+    }
+
+    @Test
+    @DisplayName("刪除記錄應該從彙總列扣除其金額、數量與折扣")
+    void shouldSubtractDeletedRecord() {
+        // Given
+        salesJpaAdapter.saveAll(List.of(
+            salesRecord("SR-ORDER-1-1", "PROD-1", 2, "1000", "100"),
+            salesRecord("SR-ORDER-1-2", "PROD-1", 1, "1000", "0")));
+
+        // When
+        salesJpaAdapter.deleteById("SR-ORDER-1-1");
+
+        // Then
+        SalesRollup product = salesRollupJpaAdapter.sumRollups(today, today, null, null, "PROD-1");
+        assertAmount("1000", product.getRevenue());
+        assertAmount("0", product.getDiscount());
+        assertEquals(1, product.getQuantity());
+        assertEquals(1, product.getRecordCount());
+    }
+
+    @Test
+    @DisplayName("重建應該以原始銷售記錄覆寫期間內的彙總列")
+    void shouldRebuildRollupsFromSalesRecords() {
+        // Given
+        salesJpaAdapter.saveAll(List.of(
+            salesRecord("SR-ORDER-1-1", "PROD-1", 2, "1000", "0"),
+            salesRecord("SR-ORDER-2-1", "PROD-2", 1, "12000", "0")));
+        jdbcTemplate.update("UPDATE sales_daily_rollups SET revenue = 0, quantity = 0, record_count = 0");
+
+        // When
+        int rebuiltRows = salesRollupJpaAdapter.rebuildRollups(today, today);
+
+        // Then
+        assertEquals(2, rebuiltRows);
+        SalesRollup total = salesRollupJpaAdapter.sumRollups(today, today, null, null, null);
+        assertAmount("14000", total.getRevenue());
+        assertEquals(3, total.getQuantity());
+        assertEquals(2, total.getRecordCount());
+        assertEquals(1, total.getHighValueCount());
+    }
+
+    private SalesRecord salesRecord(String salesRecordId, String productId, int quantity,
+                                    String unitPrice, String discount) {
+        return SalesRecord.create(salesRecordId, "ORDER-" + salesRecordId, "CUST-001", productId, "商品 " + productId,
+            quantity, new BigDecimal(unitPrice), new BigDecimal(discount), "Electronics", SalesChannel.ONLINE, "台北");
+    }
+
+    private void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+}